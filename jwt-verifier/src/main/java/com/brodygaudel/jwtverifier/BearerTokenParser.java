@@ -0,0 +1,78 @@
+package com.brodygaudel.jwtverifier;
+
+/**
+ * Parser of {@code Authorization} headers carrying a bearer token.
+ * Every check works on the header in place, without allocating a substring.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public final class BearerTokenParser {
+
+    /**
+     * The prefix of a bearer {@code Authorization} header.
+     */
+    public static final String BEARER = "Bearer ";
+
+    /**
+     * The maximum length of an accepted token.
+     */
+    public static final int MAX_TOKEN_LENGTH = 8192;
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private BearerTokenParser() {
+        super();
+    }
+
+    /**
+     * Checks whether an {@code Authorization} header carries a bearer token.
+     *
+     * @param header The header, possibly {@code null}.
+     * @return {@code true} if the header starts with the bearer prefix, {@code false} otherwise.
+     */
+    public static boolean isBearer(String header) {
+        return header != null && header.startsWith(BEARER);
+    }
+
+    /**
+     * Checks that the token of a bearer header is made of three non-empty base64url segments separated by dots.
+     *
+     * @param header The bearer header.
+     * @return {@code true} if the token is well-formed, {@code false} otherwise.
+     */
+    public static boolean isWellFormed(String header) {
+        int start = BEARER.length();
+        int length = header.length();
+        if (length == start || length - start > MAX_TOKEN_LENGTH) {
+            return false;
+        }
+        int dots = 0;
+        int segmentStart = start;
+        for (int i = start; i < length; i++) {
+            char c = header.charAt(i);
+            if (c == '.') {
+                if (i == segmentStart) {
+                    return false;
+                }
+                dots++;
+                segmentStart = i + 1;
+            } else if (!isBase64Url(c)) {
+                return false;
+            }
+        }
+        return dots == 2;
+    }
+
+    /**
+     * Checks whether a character belongs to the base64url alphabet.
+     *
+     * @param c The character to check.
+     * @return {@code true} if the character is a base64url character, {@code false} otherwise.
+     */
+    private static boolean isBase64Url(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '_';
+    }
+}
@@ -0,0 +1,37 @@
+package com.brodygaudel.jwtverifier;
+
+import com.auth0.jwt.algorithms.Algorithm;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of HMAC-SHA256 algorithms by secret.
+ * Building an algorithm derives a key from the secret; services verifying or signing tokens with the same secret
+ * share a single instance instead of building one per request.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public final class HmacKeys {
+
+    private static final Map<String, Algorithm> ALGORITHMS = new ConcurrentHashMap<>();
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private HmacKeys() {
+        super();
+    }
+
+    /**
+     * Returns the shared HMAC-SHA256 algorithm of a secret.
+     *
+     * @param secret The secret.
+     * @return The algorithm signing and verifying with the secret.
+     */
+    public static Algorithm hmac256(String secret) {
+        return ALGORITHMS.computeIfAbsent(secret, Algorithm::HMAC256);
+    }
+}
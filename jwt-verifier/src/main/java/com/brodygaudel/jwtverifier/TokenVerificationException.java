@@ -0,0 +1,63 @@
+package com.brodygaudel.jwtverifier;
+
+/**
+ * Exception signalling that a bearer token was rejected.
+ * One shared instance exists per {@link Reason}, without stack trace, so that rejecting a flood of bad tokens
+ * allocates nothing.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public final class TokenVerificationException extends Exception {
+
+    /**
+     * Reasons for rejecting a bearer token.
+     */
+    public enum Reason {
+        /**
+         * The token is not a structurally valid JWT.
+         */
+        MALFORMED,
+        /**
+         * The token has expired.
+         */
+        EXPIRED,
+        /**
+         * The signature or the claims of the token are invalid.
+         */
+        INVALID
+    }
+
+    private static final TokenVerificationException[] INSTANCES = {
+            new TokenVerificationException(Reason.MALFORMED),
+            new TokenVerificationException(Reason.EXPIRED),
+            new TokenVerificationException(Reason.INVALID)
+    };
+
+    private final transient Reason reason;
+
+    private TokenVerificationException(Reason reason) {
+        super(reason.name(), null, false, false);
+        this.reason = reason;
+    }
+
+    /**
+     * Returns the shared exception of a reason.
+     *
+     * @param reason The reason of the rejection.
+     * @return The exception signalling the reason.
+     */
+    public static TokenVerificationException of(Reason reason) {
+        return INSTANCES[reason.ordinal()];
+    }
+
+    /**
+     * Returns the reason of the rejection.
+     *
+     * @return The reason of the rejection.
+     */
+    public Reason getReason() {
+        return reason;
+    }
+}
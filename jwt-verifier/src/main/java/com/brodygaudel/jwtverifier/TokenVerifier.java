@@ -0,0 +1,234 @@
+package com.brodygaudel.jwtverifier;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.exceptions.JWTDecodeException;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.exceptions.TokenExpiredException;
+import com.auth0.jwt.interfaces.Claim;
+import com.auth0.jwt.interfaces.DecodedJWT;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Verifier of HMAC-signed bearer tokens.
+ * An instance is built once per secret and shared by every request. Headers are validated in place before
+ * any decoding, verified tokens are cached by header so that a token presented again costs a single lookup and
+ * an expiry check, and every rejection is signalled with a shared {@link TokenVerificationException}.
+ * Dynamic checks such as revocation are left to the caller, since they must not be cached.
+ * Cache hits and misses are counted with {@link LongAdder}s, which stay uncontended under concurrent requests.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public final class TokenVerifier {
+
+    private final JWTVerifier verifier;
+    private final VerifiedTokenCache cache;
+    private final String rolesClaim;
+    private final String roleMaskClaim;
+    private final String versionClaim;
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+
+    private TokenVerifier(Builder builder) {
+        this.verifier = JWT.require(HmacKeys.hmac256(builder.secret)).build();
+        this.cache = new VerifiedTokenCache(builder.cacheSize);
+        this.rolesClaim = builder.rolesClaim;
+        this.roleMaskClaim = builder.roleMaskClaim;
+        this.versionClaim = builder.versionClaim;
+    }
+
+    /**
+     * Starts building a verifier of tokens signed with the given secret.
+     *
+     * @param secret The HMAC-SHA256 secret.
+     * @return A builder of TokenVerifier.
+     */
+    public static Builder builder(String secret) {
+        return new Builder(secret);
+    }
+
+    /**
+     * Verifies the bearer token of an {@code Authorization} header.
+     *
+     * @param header The {@code Authorization} header.
+     * @return The verified token.
+     * @throws TokenVerificationException If the token is malformed, expired or invalid.
+     */
+    public VerifiedToken verify(String header) throws TokenVerificationException {
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = header == null ? null : cache.get(header);
+        if (cached != null) {
+            if (cached.isExpired(now)) {
+                cache.remove(cached);
+                throw TokenVerificationException.of(TokenVerificationException.Reason.EXPIRED);
+            }
+            cacheHits.increment();
+            return cached;
+        }
+        cacheMisses.increment();
+        if (!BearerTokenParser.isBearer(header) || !BearerTokenParser.isWellFormed(header)) {
+            throw TokenVerificationException.of(TokenVerificationException.Reason.MALFORMED);
+        }
+        DecodedJWT decodedJWT;
+        try {
+            decodedJWT = JWT.decode(header.substring(BearerTokenParser.BEARER.length()));
+        } catch (JWTDecodeException e) {
+            throw TokenVerificationException.of(TokenVerificationException.Reason.MALFORMED);
+        }
+        Date expiresAt = decodedJWT.getExpiresAt();
+        if (expiresAt != null && expiresAt.getTime() <= now) {
+            throw TokenVerificationException.of(TokenVerificationException.Reason.EXPIRED);
+        }
+        try {
+            verifier.verify(decodedJWT);
+        } catch (TokenExpiredException e) {
+            throw TokenVerificationException.of(TokenVerificationException.Reason.EXPIRED);
+        } catch (JWTVerificationException e) {
+            throw TokenVerificationException.of(TokenVerificationException.Reason.INVALID);
+        }
+        VerifiedToken token = extract(header, decodedJWT);
+        cache.put(token);
+        return token;
+    }
+
+    /**
+     * Returns the number of tokens found in the verified-token cache since the verifier was built.
+     *
+     * @return The number of cache hits.
+     */
+    public long cacheHits() {
+        return cacheHits.sum();
+    }
+
+    /**
+     * Returns the number of tokens that had to be decoded and verified since the verifier was built.
+     *
+     * @return The number of cache misses.
+     */
+    public long cacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    /**
+     * Extracts the claims needed for authorization from a verified token.
+     *
+     * @param header     The {@code Authorization} header.
+     * @param decodedJWT The verified token.
+     * @return The verified token.
+     * @throws TokenVerificationException If the subject, the roles or the version of the token are invalid.
+     */
+    private VerifiedToken extract(String header, DecodedJWT decodedJWT) throws TokenVerificationException {
+        try {
+            String subject = decodedJWT.getSubject();
+            if (subject == null) {
+                throw TokenVerificationException.of(TokenVerificationException.Reason.INVALID);
+            }
+            long roleMask = -1L;
+            List<String> roles = null;
+            Claim mask = decodedJWT.getClaim(roleMaskClaim);
+            if (!mask.isMissing()) {
+                Long value = mask.asLong();
+                if (value == null || value < 0) {
+                    throw TokenVerificationException.of(TokenVerificationException.Reason.INVALID);
+                }
+                roleMask = value;
+            } else {
+                List<String> names = decodedJWT.getClaim(rolesClaim).asList(String.class);
+                if (names != null) {
+                    if (names.contains(null)) {
+                        throw TokenVerificationException.of(TokenVerificationException.Reason.INVALID);
+                    }
+                    roles = List.copyOf(names);
+                }
+            }
+            long version = 0L;
+            Claim versionValue = decodedJWT.getClaim(versionClaim);
+            if (!versionValue.isMissing()) {
+                Long value = versionValue.asLong();
+                if (value == null) {
+                    throw TokenVerificationException.of(TokenVerificationException.Reason.INVALID);
+                }
+                version = value;
+            }
+            Date expiresAt = decodedJWT.getExpiresAt();
+            return new VerifiedToken(header, subject, decodedJWT.getId(), roles, roleMask, version,
+                    expiresAt == null ? Long.MAX_VALUE : expiresAt.getTime());
+        } catch (JWTDecodeException e) {
+            throw TokenVerificationException.of(TokenVerificationException.Reason.INVALID);
+        }
+    }
+
+    /**
+     * Builder of TokenVerifier.
+     */
+    public static final class Builder {
+
+        private final String secret;
+        private String rolesClaim = "roles";
+        private String roleMaskClaim = "rm";
+        private String versionClaim = "ver";
+        private int cacheSize = 4096;
+
+        private Builder(String secret) {
+            this.secret = secret;
+        }
+
+        /**
+         * Sets the name of the claim carrying the role names, {@code roles} by default.
+         *
+         * @param rolesClaim The name of the claim.
+         * @return This builder.
+         */
+        public Builder rolesClaim(String rolesClaim) {
+            this.rolesClaim = rolesClaim;
+            return this;
+        }
+
+        /**
+         * Sets the name of the claim carrying the roles as a bitmask, {@code rm} by default.
+         *
+         * @param roleMaskClaim The name of the claim.
+         * @return This builder.
+         */
+        public Builder roleMaskClaim(String roleMaskClaim) {
+            this.roleMaskClaim = roleMaskClaim;
+            return this;
+        }
+
+        /**
+         * Sets the name of the claim carrying the version of the subject, {@code ver} by default.
+         *
+         * @param versionClaim The name of the claim.
+         * @return This builder.
+         */
+        public Builder versionClaim(String versionClaim) {
+            this.versionClaim = versionClaim;
+            return this;
+        }
+
+        /**
+         * Sets the number of verified tokens kept in cache, {@code 4096} by default.
+         *
+         * @param cacheSize The size of the cache, rounded up to a power of two.
+         * @return This builder.
+         */
+        public Builder cacheSize(int cacheSize) {
+            this.cacheSize = cacheSize;
+            return this;
+        }
+
+        /**
+         * Builds the verifier.
+         *
+         * @return The TokenVerifier.
+         */
+        public TokenVerifier build() {
+            return new TokenVerifier(this);
+        }
+    }
+}
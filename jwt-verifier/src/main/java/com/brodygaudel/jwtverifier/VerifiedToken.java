@@ -0,0 +1,124 @@
+package com.brodygaudel.jwtverifier;
+
+import java.util.List;
+
+/**
+ * Immutable view of a token whose signature and structure have been verified.
+ * The claims needed for authorization are extracted once, so that cached tokens are never decoded again.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public final class VerifiedToken {
+
+    private final String header;
+    private final String subject;
+    private final String id;
+    private final List<String> roles;
+    private final long roleMask;
+    private final long version;
+    private final long expiresAt;
+
+    VerifiedToken(String header, String subject, String id, List<String> roles, long roleMask, long version, long expiresAt) {
+        this.header = header;
+        this.subject = subject;
+        this.id = id;
+        this.roles = roles;
+        this.roleMask = roleMask;
+        this.version = version;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Returns the {@code Authorization} header the token was read from.
+     *
+     * @return The bearer header.
+     */
+    public String getHeader() {
+        return header;
+    }
+
+    /**
+     * Returns the subject of the token.
+     *
+     * @return The subject, never {@code null}.
+     */
+    public String getSubject() {
+        return subject;
+    }
+
+    /**
+     * Returns the identifier of the token.
+     *
+     * @return The {@code jti} claim, or {@code null} if the token has none.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Returns the role names carried by the token.
+     *
+     * @return The immutable role names, empty if the token carries a role mask or no roles.
+     */
+    public List<String> getRoles() {
+        return roles == null ? List.of() : roles;
+    }
+
+    /**
+     * Checks whether the token carries its roles at all, as role names or as a bitmask.
+     * An empty {@code roles} claim counts as carrying roles, for a subject that has none.
+     *
+     * @return {@code true} if the token carries a roles claim or a role mask, {@code false} otherwise.
+     */
+    public boolean hasRoles() {
+        return roles != null || roleMask >= 0;
+    }
+
+    /**
+     * Checks whether the token carries its roles as a bitmask.
+     *
+     * @return {@code true} if the token carries a role mask, {@code false} otherwise.
+     */
+    public boolean hasRoleMask() {
+        return roleMask >= 0;
+    }
+
+    /**
+     * Returns the bitmask of the roles carried by the token.
+     *
+     * @return The role mask, or {@code -1} if the token carries role names instead.
+     */
+    public long getRoleMask() {
+        return roleMask;
+    }
+
+    /**
+     * Returns the version of the subject the token was issued with.
+     *
+     * @return The token version, or {@code 0} if the token has none.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the expiration time of the token.
+     *
+     * @return The expiration time in milliseconds since the epoch, or {@link Long#MAX_VALUE} if the token never expires.
+     */
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * Checks whether the token has expired.
+     *
+     * @param now The current time in milliseconds since the epoch.
+     * @return {@code true} if the token has expired, {@code false} otherwise.
+     */
+    public boolean isExpired(long now) {
+        return expiresAt <= now;
+    }
+}
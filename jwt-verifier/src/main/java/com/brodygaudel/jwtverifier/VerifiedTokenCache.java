@@ -0,0 +1,42 @@
+package com.brodygaudel.jwtverifier;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size, direct-mapped cache of verified tokens keyed by their {@code Authorization} header.
+ * A lookup costs the cached hash of the header and one comparison, without lock nor allocation; colliding
+ * headers simply replace each other, which only costs a new verification.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+final class VerifiedTokenCache {
+
+    private final AtomicReferenceArray<VerifiedToken> slots;
+    private final int mask;
+
+    VerifiedTokenCache(int size) {
+        int capacity = size <= 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    VerifiedToken get(String header) {
+        VerifiedToken token = slots.get(slot(header));
+        return token != null && token.getHeader().equals(header) ? token : null;
+    }
+
+    void put(VerifiedToken token) {
+        slots.set(slot(token.getHeader()), token);
+    }
+
+    void remove(VerifiedToken token) {
+        slots.compareAndSet(slot(token.getHeader()), token, null);
+    }
+
+    private int slot(String header) {
+        int hash = header.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
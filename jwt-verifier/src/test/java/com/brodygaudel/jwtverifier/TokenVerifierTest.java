@@ -0,0 +1,100 @@
+package com.brodygaudel.jwtverifier;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTCreator;
+import com.auth0.jwt.algorithms.Algorithm;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link TokenVerifier} class.
+ * These tests validate the extraction of claims, the rejection of bad tokens and the cache of verified tokens.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+class TokenVerifierTest {
+
+    private static final String SECRET = "secret";
+
+    private final TokenVerifier verifier = TokenVerifier.builder(SECRET).cacheSize(16).build();
+
+    /**
+     * Test that the claims of a valid token are extracted, and that the token is then served from the cache.
+     *
+     * @throws Exception If the token is rejected.
+     */
+    @Test
+    void verifyValidToken() throws Exception {
+        String header = "Bearer " + token(60000).withArrayClaim("roles", new String[]{"USER", "ADMIN"})
+                .withClaim("ver", 3L).withJWTId("id").sign(Algorithm.HMAC256(SECRET));
+        VerifiedToken token = verifier.verify(header);
+        assertEquals("username", token.getSubject());
+        assertEquals("id", token.getId());
+        assertEquals(List.of("USER", "ADMIN"), token.getRoles());
+        assertFalse(token.hasRoleMask());
+        assertEquals(3L, token.getVersion());
+        assertSame(token, verifier.verify(new String(header.toCharArray())));
+        assertEquals(1, verifier.cacheMisses());
+        assertEquals(1, verifier.cacheHits());
+    }
+
+    /**
+     * Test that a compact token carries its role mask.
+     *
+     * @throws Exception If the token is rejected.
+     */
+    @Test
+    void verifyCompactToken() throws Exception {
+        VerifiedToken token = verifier.verify("Bearer " + token(60000).withClaim("rm", 5L).sign(Algorithm.HMAC256(SECRET)));
+        assertTrue(token.hasRoleMask());
+        assertTrue(token.hasRoles());
+        assertEquals(5L, token.getRoleMask());
+        assertTrue(token.getRoles().isEmpty());
+        assertFalse(verifier.verify("Bearer " + token(60000).sign(Algorithm.HMAC256(SECRET))).hasRoles());
+    }
+
+    /**
+     * Test that malformed, expired, wrongly signed and badly claimed tokens are rejected with their reason.
+     */
+    @Test
+    void rejectBadTokens() {
+        assertRejected(null, TokenVerificationException.Reason.MALFORMED);
+        assertRejected("Basic dXNlcjpwYXNz", TokenVerificationException.Reason.MALFORMED);
+        assertRejected("Bearer a.b", TokenVerificationException.Reason.MALFORMED);
+        assertRejected("Bearer a..c", TokenVerificationException.Reason.MALFORMED);
+        assertRejected("Bearer a+b.c.d", TokenVerificationException.Reason.MALFORMED);
+        assertRejected("Bearer " + token(-60000).sign(Algorithm.HMAC256(SECRET)), TokenVerificationException.Reason.EXPIRED);
+        assertRejected("Bearer " + token(60000).sign(Algorithm.HMAC256("other")), TokenVerificationException.Reason.INVALID);
+        assertRejected("Bearer " + JWT.create().sign(Algorithm.HMAC256(SECRET)), TokenVerificationException.Reason.INVALID);
+    }
+
+    /**
+     * Test that a cached token is rejected once it has expired.
+     *
+     * @throws Exception If the thread is interrupted.
+     */
+    @Test
+    void expireCachedToken() throws Exception {
+        String header = "Bearer " + JWT.create().withSubject("username")
+                .withExpiresAt(new Date(System.currentTimeMillis() + 1500)).sign(Algorithm.HMAC256(SECRET));
+        assertEquals("username", verifier.verify(header).getSubject());
+        Thread.sleep(1600);
+        assertRejected(header, TokenVerificationException.Reason.EXPIRED);
+    }
+
+    private void assertRejected(String header, TokenVerificationException.Reason reason) {
+        TokenVerificationException exception = assertThrows(TokenVerificationException.class, () -> verifier.verify(header));
+        assertEquals(reason, exception.getReason());
+        assertSame(exception, TokenVerificationException.of(reason));
+    }
+
+    private static JWTCreator.Builder token(long lifetime) {
+        return JWT.create().withSubject("username").withExpiresAt(new Date(System.currentTimeMillis() + lifetime));
+    }
+}
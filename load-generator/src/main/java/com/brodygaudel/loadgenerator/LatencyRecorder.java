@@ -0,0 +1,121 @@
+package com.brodygaudel.loadgenerator;
+
+import java.util.Arrays;
+
+/**
+ * Thread-safe recorder of the latencies and errors of one operation.
+ * Latencies are kept in full, which at the rates of a single machine is a few megabytes at most, so percentiles
+ * are exact.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public class LatencyRecorder {
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private long errors;
+    private long dropped;
+
+    /**
+     * Records a completed request.
+     *
+     * @param latency The latency in nanoseconds, measured from the intended start of the request.
+     * @param success Whether the request succeeded.
+     */
+    public synchronized void record(long latency, boolean success) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latency;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    /**
+     * Records a request that was not sent because too many requests were in flight.
+     */
+    public synchronized void drop() {
+        dropped++;
+    }
+
+    /**
+     * Returns the number of completed requests.
+     *
+     * @return The number of completed requests.
+     */
+    public synchronized int count() {
+        return count;
+    }
+
+    /**
+     * Returns the number of failed requests.
+     *
+     * @return The number of failed requests.
+     */
+    public synchronized long errors() {
+        return errors;
+    }
+
+    /**
+     * Returns the number of dropped requests.
+     *
+     * @return The number of dropped requests.
+     */
+    public synchronized long dropped() {
+        return dropped;
+    }
+
+    /**
+     * Returns the recorded latencies, sorted.
+     *
+     * @return A sorted copy of the latencies, in nanoseconds.
+     */
+    public synchronized long[] sorted() {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * Adds the recordings of another recorder to this one.
+     *
+     * @param other The other recorder.
+     */
+    public void addAll(LatencyRecorder other) {
+        long[] latenciesOfOther;
+        long errorsOfOther;
+        long droppedOfOther;
+        synchronized (other) {
+            latenciesOfOther = Arrays.copyOf(other.latencies, other.count);
+            errorsOfOther = other.errors;
+            droppedOfOther = other.dropped;
+        }
+        synchronized (this) {
+            if (count + latenciesOfOther.length > latencies.length) {
+                latencies = Arrays.copyOf(latencies, Math.max(latencies.length * 2, count + latenciesOfOther.length));
+            }
+            System.arraycopy(latenciesOfOther, 0, latencies, count, latenciesOfOther.length);
+            count += latenciesOfOther.length;
+            errors += errorsOfOther;
+            dropped += droppedOfOther;
+        }
+    }
+
+    /**
+     * Returns a percentile of sorted latencies, with the nearest-rank method.
+     *
+     * @param sorted     The sorted latencies.
+     * @param percentile The percentile, from 0 to 100.
+     * @return The latency at the percentile, or 0 if there is none.
+     */
+    public static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.min(sorted.length, Math.max(rank, 1)) - 1];
+    }
+}
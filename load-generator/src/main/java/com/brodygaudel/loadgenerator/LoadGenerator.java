@@ -0,0 +1,276 @@
+package com.brodygaudel.loadgenerator;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator of security-service.
+ * Requests are started at a fixed target rate whatever the response times, each on its own virtual thread, and
+ * their latency is measured from the time they were due, so that a slow server shows up as latency instead of
+ * silently lowering the offered load. The seeded users are split in two halves: the first half holds the bearer
+ * tokens of the authorized reads, the second half gets its {@code ADMIN} role toggled, so that role changes never
+ * revoke the tokens in use. Throughput, error rates and latency percentiles of each operation are reported at the end.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public final class LoadGenerator {
+
+    private static final String USER_PREFIX = "user-";
+    private static final String ROLE = "ADMIN";
+    private static final int MAX_TOKENS = 100;
+    private static final int SETUP_CONCURRENCY = 4;
+    private static final int LISTING_PAGE_SIZE = 500;
+
+    private final LoadOptions options;
+    private final ExecutorService executor;
+    private final SecurityServiceClient client;
+    private final Semaphore inFlight;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+    private final AtomicIntegerArray roleGranted;
+    private String adminToken;
+    private String[] tokens;
+    private String[] ids;
+
+    /**
+     * Constructs a new LoadGenerator.
+     *
+     * @param options The options of the load test.
+     */
+    public LoadGenerator(LoadOptions options) {
+        this.options = options;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.client = new SecurityServiceClient(options.baseUri(), executor);
+        this.inFlight = new Semaphore(options.maxInFlight());
+        this.operations = options.mix().keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += options.mix().get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new LatencyRecorder());
+        }
+        this.roleGranted = new AtomicIntegerArray(options.users() - options.users() / 2);
+    }
+
+    /**
+     * Runs a load test and prints its report.
+     *
+     * @param args The command line arguments, described by {@link LoadOptions#USAGE}.
+     * @throws Exception If the setup fails.
+     */
+    public static void main(String[] args) throws Exception {
+        LoadOptions options;
+        try {
+            options = LoadOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(LoadOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        LoadGenerator generator = new LoadGenerator(options);
+        generator.run();
+        generator.report(System.out);
+        System.exit(0);
+    }
+
+    /**
+     * Prepares the tokens and user identifiers, then drives the warm-up and the measured load.
+     *
+     * @throws Exception If the setup fails.
+     */
+    public void run() throws Exception {
+        setUp();
+        if (options.warmup() > 0) {
+            System.out.printf("warming up for %d s at %d req/s%n", options.warmup(), options.rate());
+            drive(options.warmup(), false);
+        }
+        System.out.printf("measuring for %d s at %d req/s%n", options.duration(), options.rate());
+        drive(options.duration(), true);
+        if (!inFlight.tryAcquire(options.maxInFlight(), 60, TimeUnit.SECONDS)) {
+            System.out.println("some requests were still in flight after 60 s");
+        }
+        executor.shutdownNow();
+    }
+
+    /**
+     * Prints the report of the measured load.
+     *
+     * @param out The stream to print to.
+     */
+    public void report(PrintStream out) {
+        LatencyRecorder all = new LatencyRecorder();
+        out.printf(Locale.ROOT, "%-6s %9s %8s %7s %8s %9s %9s %9s %9s %9s %9s%n",
+                "op", "requests", "errors", "error%", "dropped", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Operation operation : operations) {
+            LatencyRecorder recorder = recorders.get(operation);
+            print(out, operation.key(), recorder);
+            all.addAll(recorder);
+        }
+        print(out, "all", all);
+    }
+
+    /**
+     * Logs in the administrator and the token holders, and reads the identifiers of the users.
+     *
+     * @throws Exception If a login or the listing fails.
+     */
+    private void setUp() throws Exception {
+        System.out.printf("logging in %s and %d users at %s%n", options.admin(), Math.min(MAX_TOKENS, options.users() / 2), options.baseUri());
+        adminToken = client.token(options.admin(), options.password());
+        ExecutorService setup = Executors.newFixedThreadPool(SETUP_CONCURRENCY);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < Math.min(MAX_TOKENS, options.users() / 2); i++) {
+                String username = USER_PREFIX + i;
+                futures.add(setup.submit(() -> client.token(username, options.password())));
+            }
+            tokens = new String[futures.size()];
+            for (int i = 0; i < tokens.length; i++) {
+                tokens[i] = futures.get(i).get();
+            }
+        } catch (ExecutionException e) {
+            throw new IOException("setup failed, are the users seeded? " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            setup.shutdown();
+        }
+        ids = client.userIds(adminToken, options.users(), LISTING_PAGE_SIZE).values().toArray(new String[0]);
+        System.out.printf("%d tokens and %d user ids ready%n", tokens.length, ids.length);
+    }
+
+    /**
+     * Starts requests at the target rate for a duration.
+     *
+     * @param seconds  The duration.
+     * @param measured Whether the requests are recorded.
+     */
+    private void drive(int seconds, boolean measured) {
+        long start = System.nanoTime();
+        long total = (long) seconds * options.rate();
+        for (long i = 0; i < total; i++) {
+            long due = start + i * 1_000_000_000L / options.rate();
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = pick();
+            LatencyRecorder recorder = measured ? recorders.get(operation) : null;
+            if (!inFlight.tryAcquire()) {
+                if (recorder != null) {
+                    recorder.drop();
+                }
+                continue;
+            }
+            executor.execute(() -> issue(operation, due, recorder));
+        }
+    }
+
+    /**
+     * Issues a request and records its outcome.
+     *
+     * @param operation The operation.
+     * @param due       The time the request was due, as returned by {@link System#nanoTime()}.
+     * @param recorder  The recorder, or {@code null} during the warm-up.
+     */
+    private void issue(Operation operation, long due, LatencyRecorder recorder) {
+        boolean success = false;
+        try {
+            success = call(operation);
+        } catch (IOException e) {
+            success = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (recorder != null) {
+                recorder.record(System.nanoTime() - due, success);
+            }
+            inFlight.release();
+        }
+    }
+
+    /**
+     * Sends the request of an operation.
+     *
+     * @param operation The operation.
+     * @return {@code true} if the request succeeded, {@code false} otherwise.
+     * @throws IOException          If the request fails.
+     * @throws InterruptedException If the thread is interrupted.
+     */
+    private boolean call(Operation operation) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (operation) {
+            case LOGIN -> ok(client.login(USER_PREFIX + random.nextInt(options.users()), options.password()));
+            case GET -> ok(client.get(tokens[random.nextInt(tokens.length)], ids[random.nextInt(ids.length)]));
+            case PAGE -> ok(client.page(tokens[random.nextInt(tokens.length)],
+                    random.nextInt(Math.max(1, options.users() / options.pageSize())), options.pageSize()));
+            case ROLE -> {
+                int index = random.nextInt(roleGranted.length());
+                boolean add = roleGranted.getAndUpdate(index, granted -> 1 - granted) == 0;
+                HttpResponse<String> response = client.changeRole(adminToken, USER_PREFIX + (options.users() / 2 + index), ROLE, add);
+                yield ok(response) && "true".equals(response.body());
+            }
+        };
+    }
+
+    /**
+     * Picks an operation according to the weights of the mix.
+     *
+     * @return The operation.
+     */
+    private Operation pick() {
+        int value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    /**
+     * Prints a line of the report.
+     *
+     * @param out      The stream to print to.
+     * @param name     The name of the line.
+     * @param recorder The recordings.
+     */
+    private void print(PrintStream out, String name, LatencyRecorder recorder) {
+        long[] sorted = recorder.sorted();
+        int count = recorder.count();
+        out.printf(Locale.ROOT, "%-6s %9d %8d %6.2f%% %8d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, count, recorder.errors(), count == 0 ? 0.0 : 100.0 * recorder.errors() / count, recorder.dropped(),
+                (double) count / options.duration(),
+                millis(LatencyRecorder.percentile(sorted, 50)), millis(LatencyRecorder.percentile(sorted, 90)),
+                millis(LatencyRecorder.percentile(sorted, 99)), millis(LatencyRecorder.percentile(sorted, 99.9)),
+                millis(LatencyRecorder.percentile(sorted, 100)));
+    }
+
+    private static boolean ok(HttpResponse<String> response) {
+        return response.statusCode() / 100 == 2;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
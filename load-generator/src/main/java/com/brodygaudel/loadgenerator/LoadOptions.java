@@ -0,0 +1,127 @@
+package com.brodygaudel.loadgenerator;
+
+import java.net.URI;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Options of a load test, parsed from {@code --name value} command line arguments.
+ *
+ * @param baseUri       The base URI of the service, including its context path.
+ * @param rate          The target number of requests per second.
+ * @param duration      The measured duration, in seconds.
+ * @param warmup        The duration of the unmeasured warm-up, in seconds.
+ * @param users         The number of seeded users, named {@code user-0} to {@code user-<n-1>}.
+ * @param password      The password of the seeded users and of the administrator.
+ * @param admin         The username of the administrator changing roles.
+ * @param pageSize      The size of the requested pages of users.
+ * @param maxInFlight   The maximum number of requests in flight; requests beyond it are dropped and reported.
+ * @param mix           The weight of each operation.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public record LoadOptions(URI baseUri, int rate, int duration, int warmup, int users, String password, String admin,
+                          int pageSize, int maxInFlight, Map<Operation, Integer> mix) {
+
+    /**
+     * The usage message.
+     */
+    public static final String USAGE = """
+            usage: java -jar load-generator.jar [options]
+              --url <uri>            base URI of the service (http://localhost:8888/security)
+              --rate <n>             target requests per second (100)
+              --duration <s>         measured duration in seconds (60)
+              --warmup <s>           unmeasured warm-up in seconds (10)
+              --users <n>            number of seeded users (1000)
+              --password <p>         password of the seeded users (password)
+              --admin <username>     administrator changing roles (load-admin)
+              --page-size <n>        size of the requested pages (20)
+              --max-in-flight <n>    requests in flight before dropping (1000)
+              --mix <op=w,...>       weights of login, get, page and role (login=10,get=60,page=25,role=5)
+            """;
+
+    /**
+     * Parses the command line arguments, falling back to the defaults of {@link #USAGE}.
+     *
+     * @param args The command line arguments.
+     * @return The options.
+     * @throws IllegalArgumentException If an option is unknown, has no value or has an invalid value.
+     */
+    public static LoadOptions parse(String... args) {
+        URI baseUri = URI.create("http://localhost:8888/security");
+        int rate = 100;
+        int duration = 60;
+        int warmup = 10;
+        int users = 1000;
+        String password = "password";
+        String admin = "load-admin";
+        int pageSize = 20;
+        int maxInFlight = 1000;
+        Map<Operation, Integer> mix = mix("login=10,get=60,page=25,role=5");
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("missing value of " + args[i]);
+            }
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--url" -> baseUri = URI.create(value.endsWith("/") ? value.substring(0, value.length() - 1) : value);
+                case "--rate" -> rate = positive(args[i], value);
+                case "--duration" -> duration = positive(args[i], value);
+                case "--warmup" -> warmup = Integer.parseInt(value);
+                case "--users" -> users = positive(args[i], value);
+                case "--password" -> password = value;
+                case "--admin" -> admin = value;
+                case "--page-size" -> pageSize = positive(args[i], value);
+                case "--max-in-flight" -> maxInFlight = positive(args[i], value);
+                case "--mix" -> mix = mix(value);
+                default -> throw new IllegalArgumentException("unknown option " + args[i]);
+            }
+        }
+        if (users < 2) {
+            throw new IllegalArgumentException("at least 2 users are needed");
+        }
+        return new LoadOptions(baseUri, rate, duration, warmup, users, password, admin, pageSize, maxInFlight, mix);
+    }
+
+    /**
+     * Parses the weights of the operations, such as {@code login=10,get=60}. Operations left out get no traffic.
+     *
+     * @param value The weights.
+     * @return The weight of each operation.
+     */
+    private static Map<Operation, Integer> mix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            String[] pair = entry.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("invalid mix entry : " + entry);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("negative weight : " + entry);
+            }
+            mix.put(Operation.of(pair[0].trim()), weight);
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("the mix has no traffic");
+        }
+        return mix;
+    }
+
+    /**
+     * Parses a positive number.
+     *
+     * @param option The name of the option.
+     * @param value  The value of the option.
+     * @return The number.
+     */
+    private static int positive(String option, String value) {
+        int number = Integer.parseInt(value);
+        if (number <= 0) {
+            throw new IllegalArgumentException(option + " must be positive");
+        }
+        return number;
+    }
+}
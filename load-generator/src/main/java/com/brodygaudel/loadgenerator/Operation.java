@@ -0,0 +1,62 @@
+package com.brodygaudel.loadgenerator;
+
+/**
+ * The kinds of requests issued by the {@link LoadGenerator}.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public enum Operation {
+
+    /**
+     * A login of a seeded user, dominated by the bcrypt match.
+     */
+    LOGIN("login"),
+
+    /**
+     * A lookup of a user by id, authorized by the bearer token of a seeded user.
+     */
+    GET("get"),
+
+    /**
+     * A page of users, authorized by the bearer token of a seeded user.
+     */
+    PAGE("page"),
+
+    /**
+     * The addition or removal of the {@code ADMIN} role of a seeded user by the administrator.
+     */
+    ROLE("role");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Returns the name of the operation in the {@code --mix} option and in the report.
+     *
+     * @return The name of the operation.
+     */
+    public String key() {
+        return key;
+    }
+
+    /**
+     * Returns the operation with the given name.
+     *
+     * @param key The name of the operation.
+     * @return The operation.
+     * @throws IllegalArgumentException If no operation has this name.
+     */
+    public static Operation of(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("unknown operation : " + key);
+    }
+}
@@ -0,0 +1,189 @@
+package com.brodygaudel.loadgenerator;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Minimal HTTP client of the endpoints of security-service driven by the {@link LoadGenerator}.
+ * It relies on the JDK HTTP client alone and extracts the few fields it needs from the JSON responses with
+ * patterns, so that the load generator has no dependency.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public class SecurityServiceClient {
+
+    private static final Pattern JWT = Pattern.compile("\"jwt\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern USER = Pattern.compile("\"id\"\\s*:\\s*\"([^\"]+)\"\\s*,\\s*\"username\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI baseUri;
+    private final HttpClient httpClient;
+
+    /**
+     * Constructs a new SecurityServiceClient.
+     *
+     * @param baseUri  The base URI of the service, including its context path.
+     * @param executor The executor of the HTTP client.
+     */
+    public SecurityServiceClient(URI baseUri, Executor executor) {
+        this.baseUri = baseUri;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(TIMEOUT)
+                .executor(executor)
+                .build();
+    }
+
+    /**
+     * Logs a user in.
+     *
+     * @param username The username.
+     * @param password The password.
+     * @return The response.
+     * @throws IOException          If the request fails.
+     * @throws InterruptedException If the thread is interrupted.
+     */
+    public HttpResponse<String> login(String username, String password) throws IOException, InterruptedException {
+        return send(request("/authentication/login", null)
+                .POST(json("{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}")));
+    }
+
+    /**
+     * Logs a user in and returns the issued token.
+     *
+     * @param username The username.
+     * @param password The password.
+     * @return The issued JWT.
+     * @throws IOException          If the request fails or is rejected.
+     * @throws InterruptedException If the thread is interrupted.
+     */
+    public String token(String username, String password) throws IOException, InterruptedException {
+        HttpResponse<String> response = login(username, password);
+        Matcher matcher = JWT.matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+            throw new IOException("login of " + username + " failed with status " + response.statusCode());
+        }
+        return matcher.group(1);
+    }
+
+    /**
+     * Gets a user by id.
+     *
+     * @param jwt The bearer token.
+     * @param id  The identifier of the user.
+     * @return The response.
+     * @throws IOException          If the request fails.
+     * @throws InterruptedException If the thread is interrupted.
+     */
+    public HttpResponse<String> get(String jwt, String id) throws IOException, InterruptedException {
+        return send(request("/users/get/" + id, jwt).GET());
+    }
+
+    /**
+     * Gets a page of users.
+     *
+     * @param jwt  The bearer token.
+     * @param page The page number, zero-based.
+     * @param size The size of the page.
+     * @return The response.
+     * @throws IOException          If the request fails.
+     * @throws InterruptedException If the thread is interrupted.
+     */
+    public HttpResponse<String> page(String jwt, int page, int size) throws IOException, InterruptedException {
+        return send(request("/users/list/" + page + "/" + size, jwt).GET());
+    }
+
+    /**
+     * Adds a role to a user, or removes it.
+     *
+     * @param jwt      The bearer token of an administrator.
+     * @param username The username of the user.
+     * @param role     The name of the role.
+     * @param add      {@code true} to add the role, {@code false} to remove it.
+     * @return The response.
+     * @throws IOException          If the request fails.
+     * @throws InterruptedException If the thread is interrupted.
+     */
+    public HttpResponse<String> changeRole(String jwt, String username, String role, boolean add) throws IOException, InterruptedException {
+        return send(request(add ? "/users/add-role" : "/users/remove-role", jwt)
+                .PUT(json("{\"username\":\"" + username + "\",\"roleName\":\"" + role + "\"}")));
+    }
+
+    /**
+     * Returns the identifiers of the users by username, read page by page.
+     *
+     * @param jwt      The bearer token.
+     * @param expected The number of users to read at least.
+     * @param size     The size of the pages.
+     * @return The identifier of each user by username.
+     * @throws IOException          If a request fails or is rejected.
+     * @throws InterruptedException If the thread is interrupted.
+     */
+    public Map<String, String> userIds(String jwt, int expected, int size) throws IOException, InterruptedException {
+        Map<String, String> ids = new HashMap<>();
+        for (int page = 0; ids.size() < expected; page++) {
+            HttpResponse<String> response = page(jwt, page, size);
+            if (response.statusCode() != 200) {
+                throw new IOException("listing of users failed with status " + response.statusCode());
+            }
+            Matcher matcher = USER.matcher(response.body());
+            int found = 0;
+            while (matcher.find()) {
+                ids.put(matcher.group(2), matcher.group(1));
+                found++;
+            }
+            if (found == 0) {
+                break;
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Builds a request to an endpoint of the service.
+     *
+     * @param path The path of the endpoint, below the base URI.
+     * @param jwt  The bearer token, or {@code null}.
+     * @return The request builder.
+     */
+    private HttpRequest.Builder request(String path, String jwt) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUri + path)).timeout(TIMEOUT);
+        if (jwt != null) {
+            builder.header("Authorization", "Bearer " + jwt);
+        }
+        return builder;
+    }
+
+    /**
+     * Builds a JSON request body.
+     *
+     * @param json The JSON document.
+     * @return The body publisher.
+     */
+    private static HttpRequest.BodyPublisher json(String json) {
+        return HttpRequest.BodyPublishers.ofString(json);
+    }
+
+    /**
+     * Sends a request, with a JSON content type.
+     *
+     * @param builder The request builder.
+     * @return The response.
+     * @throws IOException          If the request fails.
+     * @throws InterruptedException If the thread is interrupted.
+     */
+    private HttpResponse<String> send(HttpRequest.Builder builder) throws IOException, InterruptedException {
+        return httpClient.send(builder.header("Content-Type", "application/json").build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
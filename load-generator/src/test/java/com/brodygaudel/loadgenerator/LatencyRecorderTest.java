@@ -0,0 +1,39 @@
+package com.brodygaudel.loadgenerator;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyRecorderTest {
+
+    @Test
+    void testPercentilesUseTheNearestRank() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (int i = 100; i >= 1; i--) {
+            recorder.record(i, true);
+        }
+        long[] sorted = recorder.sorted();
+        assertEquals(50, LatencyRecorder.percentile(sorted, 50));
+        assertEquals(99, LatencyRecorder.percentile(sorted, 99));
+        assertEquals(100, LatencyRecorder.percentile(sorted, 99.9));
+        assertEquals(100, LatencyRecorder.percentile(sorted, 100));
+        assertEquals(1, LatencyRecorder.percentile(sorted, 0));
+        assertEquals(0, LatencyRecorder.percentile(new long[0], 50));
+    }
+
+    @Test
+    void testAddAllMergesCountsErrorsAndDrops() {
+        LatencyRecorder first = new LatencyRecorder();
+        LatencyRecorder second = new LatencyRecorder();
+        for (int i = 0; i < 2000; i++) {
+            first.record(i, i % 10 != 0);
+        }
+        second.record(5000, false);
+        second.drop();
+        first.addAll(second);
+        assertEquals(2001, first.count());
+        assertEquals(201, first.errors());
+        assertEquals(1, first.dropped());
+        assertEquals(5000, LatencyRecorder.percentile(first.sorted(), 100));
+    }
+}
@@ -0,0 +1,41 @@
+package com.brodygaudel.loadgenerator;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadOptionsTest {
+
+    @Test
+    void testDefaults() {
+        LoadOptions options = LoadOptions.parse();
+        assertEquals(URI.create("http://localhost:8888/security"), options.baseUri());
+        assertEquals(100, options.rate());
+        assertEquals(1000, options.users());
+        assertEquals(Map.of(Operation.LOGIN, 10, Operation.GET, 60, Operation.PAGE, 25, Operation.ROLE, 5), options.mix());
+    }
+
+    @Test
+    void testParse() {
+        LoadOptions options = LoadOptions.parse("--url", "http://host:9000/security/", "--rate", "500",
+                "--duration", "30", "--warmup", "0", "--mix", "get=3, page=1");
+        assertEquals(URI.create("http://host:9000/security"), options.baseUri());
+        assertEquals(500, options.rate());
+        assertEquals(30, options.duration());
+        assertEquals(0, options.warmup());
+        assertEquals(Map.of(Operation.GET, 3, Operation.PAGE, 1), options.mix());
+    }
+
+    @Test
+    void testInvalidOptionsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> LoadOptions.parse("--rate"));
+        assertThrows(IllegalArgumentException.class, () -> LoadOptions.parse("--rate", "0"));
+        assertThrows(IllegalArgumentException.class, () -> LoadOptions.parse("--speed", "1"));
+        assertThrows(IllegalArgumentException.class, () -> LoadOptions.parse("--mix", "get=0"));
+        assertThrows(IllegalArgumentException.class, () -> LoadOptions.parse("--mix", "delete=1"));
+        assertThrows(IllegalArgumentException.class, () -> LoadOptions.parse("--users", "1"));
+    }
+}
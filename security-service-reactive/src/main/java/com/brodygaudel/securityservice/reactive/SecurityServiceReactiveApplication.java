@@ -0,0 +1,12 @@
+package com.brodygaudel.securityservice.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class SecurityServiceReactiveApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(SecurityServiceReactiveApplication.class, args);
+    }
+}
@@ -1,4 +1,4 @@
-package com.brodygaudel.securityservice.dto;
+package com.brodygaudel.securityservice.reactive.dto;
 
 import java.util.Set;
 
@@ -0,0 +1,13 @@
+package com.brodygaudel.securityservice.reactive.dto;
+
+/**
+ * A data transfer object (DTO) representing the name of a role held by a user.
+ * This record is a projection of the join between the {@code user_role} and {@code role} tables, used to load
+ * the roles of a whole page of users in a single query.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public record UserRoleNameDTO(String userId, String name) {
+}
@@ -0,0 +1,18 @@
+package com.brodygaudel.securityservice.reactive.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("role")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@ToString
+public class Role {
+
+    @Id
+    private Long id;
+    private String name;
+}
@@ -0,0 +1,43 @@
+package com.brodygaudel.securityservice.reactive.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.domain.Persistable;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * User row of the table shared with the servlet application.
+ * Identifiers are UUIDs assigned by the application, so the entity tells Spring Data whether it must be
+ * inserted or updated. Roles live in the {@code user_role} join table and are loaded separately.
+ */
+@Table("user")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+@ToString
+public class User implements Persistable<String> {
+
+    @Id
+    private String id;
+    private String username;
+    private String email;
+    private String password;
+    private Boolean enabled;
+    private LocalDateTime creation;
+    private LocalDateTime lastUpdate;
+    private long tokenVersion;
+
+    @Transient
+    @ToString.Exclude
+    private boolean newEntity;
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+}
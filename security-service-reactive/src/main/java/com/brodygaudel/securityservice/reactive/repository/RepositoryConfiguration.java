@@ -0,0 +1,38 @@
+package com.brodygaudel.securityservice.reactive.repository;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+import org.springframework.data.relational.core.mapping.DefaultNamingStrategy;
+import org.springframework.data.relational.core.mapping.NamingStrategy;
+
+import java.util.Optional;
+
+/**
+ * Configuration class for the R2DBC repositories.
+ * The users live in a table named {@code user}, which some databases parse as a keyword when it qualifies
+ * a column, so every generated identifier is quoted.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@Configuration
+public class RepositoryConfiguration {
+
+    /**
+     * Provides the R2dbcMappingContext quoting generated identifiers.
+     *
+     * @param namingStrategy    The naming strategy, if one is defined.
+     * @param customConversions The custom conversions declaring the simple types.
+     * @return The configured R2dbcMappingContext bean.
+     */
+    @Bean
+    public R2dbcMappingContext r2dbcMappingContext(Optional<NamingStrategy> namingStrategy, R2dbcCustomConversions customConversions) {
+        R2dbcMappingContext mappingContext = new R2dbcMappingContext(namingStrategy.orElse(DefaultNamingStrategy.INSTANCE));
+        mappingContext.setSimpleTypeHolder(customConversions.getSimpleTypeHolder());
+        mappingContext.setForceQuote(true);
+        return mappingContext;
+    }
+}
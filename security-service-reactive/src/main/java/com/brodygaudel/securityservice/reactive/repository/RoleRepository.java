@@ -0,0 +1,91 @@
+package com.brodygaudel.securityservice.reactive.repository;
+
+import com.brodygaudel.securityservice.reactive.dto.UserRoleNameDTO;
+import com.brodygaudel.securityservice.reactive.entity.Role;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * Reactive repository interface for managing Role entities and their association with users.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@Repository
+public interface RoleRepository extends ReactiveCrudRepository<Role, Long> {
+
+    /**
+     * Finds a role by the specified name.
+     *
+     * @param name The name of the role to be found.
+     * @return A Mono emitting the role with the specified name, or empty if not found.
+     */
+    Mono<Role> findByName(String name);
+
+    /**
+     * Finds the names of the roles held by the specified users, in a single query.
+     *
+     * @param userIds The IDs of the users.
+     * @return A Flux emitting one element per role held by one of the users.
+     */
+    @Query("select ur.user_id, r.name from user_role ur join role r on r.id = ur.role_id where ur.user_id in (:userIds)")
+    Flux<UserRoleNameDTO> findNamesByUserIds(Collection<String> userIds);
+
+    /**
+     * Checks whether a user holds a role.
+     *
+     * @param userId The ID of the user.
+     * @param roleId The ID of the role.
+     * @return A Mono emitting {@code true} if the user holds the role, {@code false} otherwise.
+     */
+    @Query("select count(*) > 0 from user_role where user_id = :userId and role_id = :roleId")
+    Mono<Boolean> isGranted(String userId, Long roleId);
+
+    /**
+     * Grants a role to a user.
+     *
+     * @param userId The ID of the user.
+     * @param roleId The ID of the role.
+     * @return A Mono emitting the number of inserted rows.
+     */
+    @Modifying
+    @Query("insert into user_role (user_id, role_id) values (:userId, :roleId)")
+    Mono<Integer> grant(String userId, Long roleId);
+
+    /**
+     * Revokes a role from a user.
+     *
+     * @param userId The ID of the user.
+     * @param roleId The ID of the role.
+     * @return A Mono emitting the number of deleted rows.
+     */
+    @Modifying
+    @Query("delete from user_role where user_id = :userId and role_id = :roleId")
+    Mono<Integer> revoke(String userId, Long roleId);
+
+    /**
+     * Revokes every role of a user.
+     *
+     * @param userId The ID of the user.
+     * @return A Mono emitting the number of deleted rows.
+     */
+    @Modifying
+    @Query("delete from user_role where user_id = :userId")
+    Mono<Integer> revokeAll(String userId);
+
+    /**
+     * Revokes every role of every user.
+     *
+     * @return A Mono emitting the number of deleted rows.
+     */
+    @Modifying
+    @Query("delete from user_role")
+    Mono<Integer> revokeAllOfAllUsers();
+}
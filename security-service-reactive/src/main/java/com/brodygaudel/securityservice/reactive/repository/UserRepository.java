@@ -0,0 +1,59 @@
+package com.brodygaudel.securityservice.reactive.repository;
+
+import com.brodygaudel.securityservice.reactive.entity.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive repository interface for managing User entities.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@Repository
+public interface UserRepository extends ReactiveCrudRepository<User, String> {
+
+    /**
+     * Finds a user by the specified username.
+     *
+     * @param username The username of the user to be found.
+     * @return A Mono emitting the user with the specified username, or empty if not found.
+     */
+    Mono<User> findByUsername(String username);
+
+    /**
+     * Finds a user by the specified email.
+     *
+     * @param email The email of the user to be found.
+     * @return A Mono emitting the user with the specified email, or empty if not found.
+     */
+    Mono<User> findByEmail(String email);
+
+    /**
+     * Checks if a user with the specified username exists.
+     *
+     * @param username The username to check for existence.
+     * @return A Mono emitting {@code true} if a user with the username exists, {@code false} otherwise.
+     */
+    Mono<Boolean> existsByUsername(String username);
+
+    /**
+     * Checks if a user with the specified email exists.
+     *
+     * @param email The email to check for existence.
+     * @return A Mono emitting {@code true} if a user with the email exists, {@code false} otherwise.
+     */
+    Mono<Boolean> existsByEmail(String email);
+
+    /**
+     * Finds a page of users.
+     *
+     * @param pageable The page to be found.
+     * @return A Flux emitting the users of the page.
+     */
+    Flux<User> findAllBy(Pageable pageable);
+}
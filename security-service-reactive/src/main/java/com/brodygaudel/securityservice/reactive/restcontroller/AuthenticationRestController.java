@@ -1,16 +1,17 @@
-package com.brodygaudel.securityservice.restcontroller;
+package com.brodygaudel.securityservice.reactive.restcontroller;
 
-import com.brodygaudel.securityservice.dto.LoginRequestDTO;
-import com.brodygaudel.securityservice.dto.LoginResponseDTO;
-import com.brodygaudel.securityservice.service.AuthenticationService;
+import com.brodygaudel.securityservice.reactive.dto.LoginRequestDTO;
+import com.brodygaudel.securityservice.reactive.dto.LoginResponseDTO;
+import com.brodygaudel.securityservice.reactive.service.AuthenticationService;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 /**
- * Rest controller for handling authentication-related HTTP requests.
- * This controller exposes endpoints for authentication operations, such as user login.
+ * Reactive rest controller for handling authentication-related HTTP requests.
+ * This controller exposes the same login endpoint as the servlet application.
  *
  * @since 2024
  * @author Brody Gaudel MOUNANGA BOUKA
@@ -35,12 +36,10 @@ public class AuthenticationRestController {
      * Handles HTTP POST requests for user login/authentication.
      *
      * @param loginRequestDTO The LoginRequestDTO containing user credentials for authentication.
-     * @return The result of the login operation encapsulated in a LoginResponseDTO.
-     *         If the login is successful, the response may include user details and a JWT token.
-     *         If the login fails, appropriate error details may be included in the response.
+     * @return A Mono emitting the username, the JWT and the roles of the user.
      */
     @PostMapping("/login")
-    public LoginResponseDTO login(@RequestBody LoginRequestDTO loginRequestDTO){
+    public Mono<LoginResponseDTO> login(@RequestBody LoginRequestDTO loginRequestDTO) {
         return authenticationService.login(loginRequestDTO);
     }
 
@@ -55,4 +54,3 @@ public class AuthenticationRestController {
         return new ResponseEntity<>(exception.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
     }
 }
-
@@ -0,0 +1,147 @@
+package com.brodygaudel.securityservice.reactive.restcontroller;
+
+import com.brodygaudel.securityservice.reactive.dto.UserRequestDTO;
+import com.brodygaudel.securityservice.reactive.dto.UserResponseDTO;
+import com.brodygaudel.securityservice.reactive.dto.UserRoleRequestDTO;
+import com.brodygaudel.securityservice.reactive.dto.UsersPageResponseDTO;
+import com.brodygaudel.securityservice.reactive.service.UserService;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive REST controller for handling user-related operations.
+ * Exposes the same endpoints as the servlet application for creating, updating, deleting, and retrieving user information.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/users")
+public class UserRestController {
+
+    private final UserService userService;
+
+    /**
+     * Constructs a new instance of {@code UserRestController}.
+     *
+     * @param userService The user service to be used for handling user-related operations.
+     */
+    public UserRestController(UserService userService) {
+        this.userService = userService;
+    }
+
+    /**
+     * Endpoint for creating a new user.
+     *
+     * @param userRequestDTO The request payload containing user information.
+     * @return A Mono emitting the response DTO containing information about the created user.
+     */
+    @PostMapping("/create")
+    public Mono<UserResponseDTO> save(@RequestBody UserRequestDTO userRequestDTO) {
+        return userService.save(userRequestDTO);
+    }
+
+    /**
+     * Endpoint for updating an existing user.
+     *
+     * @param id             The ID of the user to be updated.
+     * @param userRequestDTO The request payload containing updated user information.
+     * @return A Mono emitting the response DTO containing information about the updated user.
+     */
+    @PutMapping("/update/{id}")
+    public Mono<UserResponseDTO> update(@PathVariable String id, @RequestBody UserRequestDTO userRequestDTO) {
+        return userService.update(id, userRequestDTO);
+    }
+
+    /**
+     * Endpoint for adding a role to a user.
+     *
+     * @param userRoleRequestDTO The request payload containing user and role information for the association.
+     * @return A Mono emitting {@code true} if the role is successfully added to the user, {@code false} otherwise.
+     */
+    @PutMapping("/add-role")
+    public Mono<Boolean> addRoleToUser(@RequestBody UserRoleRequestDTO userRoleRequestDTO) {
+        return userService.addRoleToUser(userRoleRequestDTO);
+    }
+
+    /**
+     * Endpoint for removing a role from a user.
+     *
+     * @param userRoleRequestDTO The request payload containing user and role information for the removal.
+     * @return A Mono emitting {@code true} if the role is successfully removed from the user, {@code false} otherwise.
+     */
+    @PutMapping("/remove-role")
+    public Mono<Boolean> removeRoleToUser(@RequestBody UserRoleRequestDTO userRoleRequestDTO) {
+        return userService.removeRoleToUser(userRoleRequestDTO);
+    }
+
+    /**
+     * Endpoint for retrieving a user by the specified ID.
+     *
+     * @param id The ID of the user to be retrieved.
+     * @return A Mono emitting the response DTO containing details of the found user.
+     */
+    @GetMapping("/get/{id}")
+    public Mono<UserResponseDTO> findById(@PathVariable String id) {
+        return userService.findById(id);
+    }
+
+    /**
+     * Endpoint for retrieving all users in the system.
+     *
+     * @return A Flux emitting the response DTOs containing details of all users.
+     */
+    @GetMapping("/all")
+    public Flux<UserResponseDTO> findAll() {
+        return userService.findAll();
+    }
+
+    /**
+     * Endpoint for retrieving a page of users with the specified page number and size.
+     *
+     * @param page The page number (zero-based).
+     * @param size The size of the page.
+     * @return A Mono emitting a response DTO containing a page of users.
+     */
+    @GetMapping("/list/{page}/{size}")
+    public Mono<UsersPageResponseDTO> findAll(@PathVariable(name = "page") int page, @PathVariable(name = "size") int size) {
+        return userService.findAll(page, size);
+    }
+
+    /**
+     * Endpoint for deleting a user by the specified ID.
+     *
+     * @param id The ID of the user to be deleted.
+     * @return A Mono completing once the user is deleted.
+     */
+    @DeleteMapping("/delete/{id}")
+    public Mono<Void> deleteById(@PathVariable String id) {
+        return userService.deleteById(id);
+    }
+
+    /**
+     * Endpoint for deleting all users in the system.
+     *
+     * @return A Mono completing once the users are deleted.
+     */
+    @DeleteMapping("/delete-all")
+    public Mono<Void> deleteAll() {
+        return userService.deleteAll();
+    }
+
+    /**
+     * Exception handler for handling exceptions thrown within this controller.
+     *
+     * @param exception The exception to handle.
+     * @return A ResponseEntity with an error message and HTTP status code.
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<String> exceptionHandler(@NotNull Exception exception) {
+        return new ResponseEntity<>(exception.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+}
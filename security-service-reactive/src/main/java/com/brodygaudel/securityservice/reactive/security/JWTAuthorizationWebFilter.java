@@ -0,0 +1,82 @@
+package com.brodygaudel.securityservice.reactive.security;
+
+import com.brodygaudel.jwtverifier.BearerTokenParser;
+import com.brodygaudel.jwtverifier.TokenVerificationException;
+import com.brodygaudel.jwtverifier.TokenVerifier;
+import com.brodygaudel.jwtverifier.VerifiedToken;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Web filter responsible for processing JWT-based authorization in Spring Security WebFlux.
+ * This filter verifies the bearer token of the "Authorization" header on the event loop with a shared
+ * {@link TokenVerifier}, since an HMAC check or a cache hit never blocks, and propagates the resulting
+ * authentication through the reactive security context.
+ * Rejected tokens are answered directly with a precomputed {@link TokenRejection} response. Tokens carrying no role
+ * names, including those carrying a role mask this variant has no registry to decode, are rejected as invalid.
+ * It is registered on the security filter chain only, and must not be declared as a bean.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public class JWTAuthorizationWebFilter implements WebFilter {
+
+    private final TokenVerifier verifier;
+    private final Map<String, GrantedAuthority> authorities = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new JWTAuthorizationWebFilter with the specified security parameters.
+     *
+     * @param securityParameters The security parameters used for JWT verification.
+     */
+    public JWTAuthorizationWebFilter(@NotNull SecurityParameters securityParameters) {
+        this.verifier = TokenVerifier.builder(securityParameters.getSecret())
+                .rolesClaim(StaticParameters.ROLES_CLAIM)
+                .build();
+    }
+
+    /**
+     * Performs the JWT-based authorization filter logic.
+     *
+     * @param exchange The current server exchange.
+     * @param chain    The filter chain for additional filters.
+     * @return A Mono completing once the request has been handled.
+     */
+    @Override
+    public @NotNull Mono<Void> filter(@NotNull ServerWebExchange exchange, @NotNull WebFilterChain chain) {
+        String jwt = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (!BearerTokenParser.isBearer(jwt)) {
+            return chain.filter(exchange);
+        }
+        VerifiedToken token;
+        try {
+            token = verifier.verify(jwt);
+        } catch (TokenVerificationException e) {
+            return TokenRejection.valueOf(e.getReason().name()).write(exchange.getResponse());
+        }
+        List<String> roles = token.getRoles();
+        if (roles.isEmpty()) {
+            return TokenRejection.INVALID.write(exchange.getResponse());
+        }
+        List<GrantedAuthority> grantedAuthorities = new ArrayList<>(roles.size());
+        for (String role : roles) {
+            grantedAuthorities.add(authorities.computeIfAbsent(role, SimpleGrantedAuthority::new));
+        }
+        UsernamePasswordAuthenticationToken user = new UsernamePasswordAuthenticationToken(token.getSubject(), null, grantedAuthorities);
+        return chain.filter(exchange).contextWrite(ReactiveSecurityContextHolder.withAuthentication(user));
+    }
+}
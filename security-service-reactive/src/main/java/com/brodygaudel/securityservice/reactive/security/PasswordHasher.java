@@ -0,0 +1,79 @@
+package com.brodygaudel.securityservice.reactive.security;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Reactive facade of the password encoder.
+ * Hashing is CPU-bound and would stall the event loop, so it runs on a dedicated bounded elastic scheduler
+ * sized by the password hashing concurrency: excess logins queue there instead of occupying event-loop threads.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@Component
+public class PasswordHasher {
+
+    private static final int QUEUED_TASKS = 100_000;
+
+    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private final Scheduler scheduler;
+    private final String unknownUserPassword;
+
+    /**
+     * Constructs a new PasswordHasher configured by the specified security parameters.
+     *
+     * @param securityParameters The SecurityParameters providing the password hashing concurrency.
+     */
+    public PasswordHasher(SecurityParameters securityParameters) {
+        int concurrency = securityParameters.getPasswordHashingConcurrency();
+        this.scheduler = Schedulers.newBoundedElastic(concurrency > 0 ? concurrency : Runtime.getRuntime().availableProcessors(),
+                QUEUED_TASKS, "password-hashing");
+        this.unknownUserPassword = passwordEncoder.encode("unknown-user");
+    }
+
+    /**
+     * Encodes a raw password.
+     *
+     * @param rawPassword The password to encode.
+     * @return A Mono emitting the encoded password.
+     */
+    public Mono<String> encode(CharSequence rawPassword) {
+        return Mono.fromCallable(() -> passwordEncoder.encode(rawPassword)).subscribeOn(scheduler);
+    }
+
+    /**
+     * Verifies a raw password against an encoded one.
+     *
+     * @param rawPassword     The password to verify.
+     * @param encodedPassword The encoded password.
+     * @return A Mono emitting {@code true} if the passwords match, {@code false} otherwise.
+     */
+    public Mono<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return Mono.fromCallable(() -> passwordEncoder.matches(rawPassword, encodedPassword)).subscribeOn(scheduler);
+    }
+
+    /**
+     * Hashes a password for a login whose user does not exist, so that it takes as long as a login with a wrong password.
+     *
+     * @param rawPassword The password of the attempt.
+     * @return A Mono completing once the password has been hashed.
+     */
+    public Mono<Void> mismatch(CharSequence rawPassword) {
+        return matches(rawPassword, unknownUserPassword).then();
+    }
+
+    /**
+     * Disposes the hashing threads.
+     */
+    @PreDestroy
+    public void dispose() {
+        scheduler.dispose();
+    }
+}
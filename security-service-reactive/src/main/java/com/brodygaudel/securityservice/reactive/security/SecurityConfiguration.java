@@ -0,0 +1,84 @@
+package com.brodygaudel.securityservice.reactive.security;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.web.cors.CorsConfiguration;
+
+/**
+ * Configuration class for defining Spring Security WebFlux settings.
+ * This class enables web security, configures CORS (Cross-Origin Resource Sharing),
+ * keeps the application stateless, and defines the same access rules as the servlet application.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@Configuration
+@EnableWebFluxSecurity
+public class SecurityConfiguration {
+
+    private final SecurityParameters securityParameters;
+
+    /**
+     * Constructs a new SecurityConfiguration with the specified SecurityParameters.
+     *
+     * @param securityParameters The SecurityParameters containing security-related configurations.
+     */
+    public SecurityConfiguration(SecurityParameters securityParameters) {
+        this.securityParameters = securityParameters;
+    }
+
+    /**
+     * Configures the SecurityWebFilterChain for the application.
+     *
+     * @param http The ServerHttpSecurity to configure.
+     * @return The configured SecurityWebFilterChain.
+     */
+    @Bean
+    SecurityWebFilterChain securityWebFilterChain(@NotNull ServerHttpSecurity http) {
+        return http.csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .logout(ServerHttpSecurity.LogoutSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .exceptionHandling(exceptions -> exceptions.authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.FORBIDDEN)))
+                .cors(cors -> cors.configurationSource(exchange -> corsConfiguration()))
+                .authorizeExchange(exchanges -> exchanges
+                        .pathMatchers("/users/list/**").hasAnyAuthority(StaticParameters.SUPER_ADMIN, StaticParameters.ADMIN, StaticParameters.USER)
+                        .pathMatchers("/users/get/**").hasAnyAuthority(StaticParameters.SUPER_ADMIN, StaticParameters.ADMIN, StaticParameters.USER)
+                        .pathMatchers("/users/all").hasAnyAuthority(StaticParameters.SUPER_ADMIN, StaticParameters.ADMIN, StaticParameters.USER)
+                        .pathMatchers("/users/create/**").hasAnyAuthority(StaticParameters.SUPER_ADMIN, StaticParameters.ADMIN)
+                        .pathMatchers("/users/update/**").hasAnyAuthority(StaticParameters.SUPER_ADMIN, StaticParameters.ADMIN)
+                        .pathMatchers("/users/add-role/**").hasAuthority(StaticParameters.SUPER_ADMIN)
+                        .pathMatchers("/users/remove-role/**").hasAuthority(StaticParameters.SUPER_ADMIN)
+                        .pathMatchers("/users/delete/**").hasAnyAuthority(StaticParameters.SUPER_ADMIN)
+                        .pathMatchers("/users/delete-all/**").hasAuthority(StaticParameters.SUPER_ADMIN)
+                        .pathMatchers("/authentication/login").permitAll()
+                        .anyExchange().permitAll())
+                .addFilterAt(new JWTAuthorizationWebFilter(securityParameters), SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+
+    /**
+     * Builds and returns a CorsConfiguration based on the security parameters.
+     *
+     * @return The configured CorsConfiguration.
+     */
+    private @NotNull CorsConfiguration corsConfiguration(){
+        CorsConfiguration cors = new CorsConfiguration();
+        cors.setAllowedOrigins(securityParameters.getAllowedOrigins());
+        cors.setAllowedMethods(StaticParameters.METHODS);
+        cors.setAllowedHeaders(StaticParameters.HEADERS);
+        cors.setExposedHeaders(StaticParameters.HEADERS);
+        cors.setMaxAge(StaticParameters.MAX_AGE);
+        return cors;
+    }
+}
@@ -1,4 +1,4 @@
-package com.brodygaudel.securityservice.security;
+package com.brodygaudel.securityservice.reactive.security;
 
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -38,5 +38,10 @@ public class SecurityParameters {
      */
     @Value("#{'${allowed-origins}'.split(',')}")
     private List<String> allowedOrigins;
-}
 
+    /**
+     * The maximum number of password hashes computed at once, or {@code 0} for the number of available processors.
+     */
+    @Value("${password-hashing-concurrency}")
+    private Integer passwordHashingConcurrency;
+}
@@ -1,4 +1,4 @@
-package com.brodygaudel.securityservice.security;
+package com.brodygaudel.securityservice.reactive.security;
 
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -27,6 +27,11 @@ public class StaticParameters {
      */
     public static final String USER = "USER";
 
+    /**
+     * Represents the name of the token claim carrying the roles of the user.
+     */
+    public static final String ROLES_CLAIM = "roles";
+
     /**
      * Represents the maximum age (in seconds) for certain functionalities.
      */
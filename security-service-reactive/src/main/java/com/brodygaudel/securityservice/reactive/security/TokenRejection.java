@@ -0,0 +1,46 @@
+package com.brodygaudel.securityservice.reactive.security;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reasons for rejecting a bearer token, each with a precomputed {@code 401 Unauthorized} response.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+enum TokenRejection {
+
+    MALFORMED("The token is malformed"),
+    EXPIRED("The token has expired"),
+    INVALID("The token is invalid");
+
+    private final String authenticate;
+    private final byte[] body;
+
+    TokenRejection(String description) {
+        this.authenticate = "Bearer error=\"invalid_token\", error_description=\"" + description + "\"";
+        this.body = ("{\"error\":\"invalid_token\",\"error_description\":\"" + description + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the rejection to the response.
+     *
+     * @param response The HTTP response.
+     * @return A Mono completing once the response is written.
+     */
+    Mono<Void> write(ServerHttpResponse response) {
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        HttpHeaders headers = response.getHeaders();
+        headers.set(HttpHeaders.WWW_AUTHENTICATE, authenticate);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setContentLength(body.length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(body)));
+    }
+}
@@ -0,0 +1,23 @@
+package com.brodygaudel.securityservice.reactive.service;
+
+import com.brodygaudel.securityservice.reactive.dto.LoginRequestDTO;
+import com.brodygaudel.securityservice.reactive.dto.LoginResponseDTO;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive service interface for handling user authentication operations.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public interface AuthenticationService {
+
+    /**
+     * Performs user login/authentication based on the provided LoginRequestDTO.
+     *
+     * @param loginRequestDTO The LoginRequestDTO containing user credentials for authentication.
+     * @return A Mono emitting the username, the JWT and the roles of the user, or a BadCredentialsException.
+     */
+    Mono<LoginResponseDTO> login(LoginRequestDTO loginRequestDTO);
+}
@@ -0,0 +1,92 @@
+package com.brodygaudel.securityservice.reactive.service;
+
+import com.brodygaudel.securityservice.reactive.dto.UserRequestDTO;
+import com.brodygaudel.securityservice.reactive.dto.UserResponseDTO;
+import com.brodygaudel.securityservice.reactive.dto.UserRoleRequestDTO;
+import com.brodygaudel.securityservice.reactive.dto.UsersPageResponseDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive service interface for managing user-related operations.
+ * This interface defines methods for saving, updating, finding, and deleting users.
+ * Failures are signalled as errors of the returned publishers, with the exceptions of the servlet application.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public interface UserService {
+
+    /**
+     * Saves a new user based on the provided {@link UserRequestDTO}.
+     *
+     * @param userRequestDTO The DTO containing user information to be saved.
+     * @return A Mono emitting the details of the saved user, or an ItemAlreadyExistException.
+     */
+    Mono<UserResponseDTO> save(UserRequestDTO userRequestDTO);
+
+    /**
+     * Updates an existing user with the specified ID using the information in the {@link UserRequestDTO}.
+     *
+     * @param id             The ID of the user to be updated.
+     * @param userRequestDTO The DTO containing updated user information.
+     * @return A Mono emitting the details of the updated user, or a UserNotFoundException or an ItemAlreadyExistException.
+     */
+    Mono<UserResponseDTO> update(String id, UserRequestDTO userRequestDTO);
+
+    /**
+     * Finds a user by the specified ID.
+     *
+     * @param id The ID of the user to be found.
+     * @return A Mono emitting the details of the found user, or a UserNotFoundException.
+     */
+    Mono<UserResponseDTO> findById(String id);
+
+    /**
+     * Finds all users in the system.
+     *
+     * @return A Flux emitting the details of all users.
+     */
+    Flux<UserResponseDTO> findAll();
+
+    /**
+     * Finds a page of users with the specified page number and page size.
+     *
+     * @param page The page number (zero-based).
+     * @param size The size of the page.
+     * @return A Mono emitting a page of users.
+     */
+    Mono<UsersPageResponseDTO> findAll(int page, int size);
+
+    /**
+     * Deletes a user by the specified ID.
+     *
+     * @param id The ID of the user to be deleted.
+     * @return A Mono completing once the user is deleted.
+     */
+    Mono<Void> deleteById(String id);
+
+    /**
+     * Deletes all users in the system.
+     *
+     * @return A Mono completing once the users are deleted.
+     */
+    Mono<Void> deleteAll();
+
+    /**
+     * Adds a role to a user based on the provided {@link UserRoleRequestDTO}.
+     *
+     * @param userRoleRequestDTO The DTO containing user and role information for the association.
+     * @return A Mono emitting {@code true} if the role is added, {@code false} otherwise, or a UserNotFoundException or a RoleNotFoundException.
+     */
+    Mono<Boolean> addRoleToUser(UserRoleRequestDTO userRoleRequestDTO);
+
+    /**
+     * Removes a role from a user based on the provided {@link UserRoleRequestDTO}.
+     *
+     * @param userRoleRequestDTO The DTO containing user and role information for the removal.
+     * @return A Mono emitting {@code true} if the role is removed, {@code false} otherwise, or a UserNotFoundException or a RoleNotFoundException.
+     */
+    Mono<Boolean> removeRoleToUser(UserRoleRequestDTO userRoleRequestDTO);
+}
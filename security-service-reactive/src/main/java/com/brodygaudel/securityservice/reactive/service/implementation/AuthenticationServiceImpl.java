@@ -0,0 +1,101 @@
+package com.brodygaudel.securityservice.reactive.service.implementation;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.brodygaudel.securityservice.reactive.dto.LoginRequestDTO;
+import com.brodygaudel.securityservice.reactive.dto.LoginResponseDTO;
+import com.brodygaudel.securityservice.reactive.dto.UserRoleNameDTO;
+import com.brodygaudel.securityservice.reactive.entity.User;
+import com.brodygaudel.securityservice.reactive.repository.RoleRepository;
+import com.brodygaudel.securityservice.reactive.repository.UserRepository;
+import com.brodygaudel.securityservice.reactive.security.PasswordHasher;
+import com.brodygaudel.securityservice.reactive.security.SecurityParameters;
+import com.brodygaudel.securityservice.reactive.security.StaticParameters;
+import com.brodygaudel.securityservice.reactive.service.AuthenticationService;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Reactive service implementation for handling user authentication operations.
+ * Users are looked up by email first and by username otherwise, like in the servlet application. The password
+ * is verified on the hashing scheduler, and logins for unknown users hash too so that they cannot be told apart.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@Service
+@Slf4j
+public class AuthenticationServiceImpl implements AuthenticationService {
+
+    private static final String BAD_CREDENTIALS = "Bad credentials";
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final PasswordHasher passwordHasher;
+    private final SecurityParameters securityParameters;
+    private final Algorithm algorithm;
+
+    /**
+     * Constructs a new AuthenticationServiceImpl with the specified dependencies.
+     *
+     * @param userRepository     The UserRepository for accessing user data.
+     * @param roleRepository     The RoleRepository for accessing the roles of the user.
+     * @param passwordHasher     The PasswordHasher verifying passwords off the event loop.
+     * @param securityParameters The SecurityParameters containing security-related configurations.
+     */
+    public AuthenticationServiceImpl(UserRepository userRepository, RoleRepository roleRepository, PasswordHasher passwordHasher, @NotNull SecurityParameters securityParameters) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.passwordHasher = passwordHasher;
+        this.securityParameters = securityParameters;
+        this.algorithm = Algorithm.HMAC256(securityParameters.getSecret());
+    }
+
+    /**
+     * Performs user login/authentication based on the provided LoginRequestDTO.
+     *
+     * @param loginRequestDTO The LoginRequestDTO containing user credentials for authentication.
+     * @return A Mono emitting the username, the JWT and the roles of the user, or a BadCredentialsException.
+     */
+    @Override
+    public Mono<LoginResponseDTO> login(@NotNull LoginRequestDTO loginRequestDTO) {
+        log.info("In login() :");
+        return userRepository.findByEmail(loginRequestDTO.username())
+                .switchIfEmpty(userRepository.findByUsername(loginRequestDTO.username()))
+                .switchIfEmpty(passwordHasher.mismatch(loginRequestDTO.password()).then(Mono.error(new BadCredentialsException(BAD_CREDENTIALS))))
+                .filterWhen(user -> passwordHasher.matches(loginRequestDTO.password(), user.getPassword()))
+                .filter(user -> Boolean.TRUE.equals(user.getEnabled()))
+                .switchIfEmpty(Mono.error(new BadCredentialsException(BAD_CREDENTIALS)))
+                .flatMap(this::authentication);
+    }
+
+    /**
+     * Issues a token for an authenticated user.
+     *
+     * @param user The authenticated user.
+     * @return A Mono emitting the username, the JWT and the roles of the user.
+     */
+    private Mono<LoginResponseDTO> authentication(@NotNull User user) {
+        return roleRepository.findNamesByUserIds(List.of(user.getId()))
+                .map(UserRoleNameDTO::name)
+                .collect(Collectors.toUnmodifiableSet())
+                .map(roles -> {
+                    String jwt = JWT.create().withSubject(user.getUsername())
+                            .withArrayClaim(StaticParameters.ROLES_CLAIM, roles.toArray(new String[0]))
+                            .withJWTId(UUID.randomUUID().toString())
+                            .withExpiresAt(new Date(System.currentTimeMillis() + securityParameters.getExpiredTime()))
+                            .sign(algorithm);
+                    log.info("user authenticated");
+                    return new LoginResponseDTO(user.getUsername(), jwt, roles);
+                });
+    }
+}
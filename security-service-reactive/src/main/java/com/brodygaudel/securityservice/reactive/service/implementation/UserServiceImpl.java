@@ -0,0 +1,338 @@
+package com.brodygaudel.securityservice.reactive.service.implementation;
+
+import com.brodygaudel.securityservice.reactive.dto.UserRequestDTO;
+import com.brodygaudel.securityservice.reactive.dto.UserResponseDTO;
+import com.brodygaudel.securityservice.reactive.dto.UserRoleNameDTO;
+import com.brodygaudel.securityservice.reactive.dto.UserRoleRequestDTO;
+import com.brodygaudel.securityservice.reactive.dto.UsersPageResponseDTO;
+import com.brodygaudel.securityservice.reactive.entity.Role;
+import com.brodygaudel.securityservice.reactive.entity.User;
+import com.brodygaudel.securityservice.reactive.exceptions.ItemAlreadyExistException;
+import com.brodygaudel.securityservice.reactive.exceptions.RoleNotFoundException;
+import com.brodygaudel.securityservice.reactive.exceptions.UserNotFoundException;
+import com.brodygaudel.securityservice.reactive.repository.RoleRepository;
+import com.brodygaudel.securityservice.reactive.repository.UserRepository;
+import com.brodygaudel.securityservice.reactive.security.PasswordHasher;
+import com.brodygaudel.securityservice.reactive.service.UserService;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Reactive service implementation for managing user-related operations.
+ * Roles are loaded with one query per batch of users rather than one per user.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@Service
+@Slf4j
+public class UserServiceImpl implements UserService {
+
+    private static final int ROLE_BATCH_SIZE = 256;
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final PasswordHasher passwordHasher;
+
+    /**
+     * Constructs a new UserServiceImpl with the specified dependencies.
+     *
+     * @param userRepository The UserRepository for accessing user data.
+     * @param roleRepository The RoleRepository for accessing role data.
+     * @param passwordHasher The PasswordHasher encoding user passwords off the event loop.
+     */
+    public UserServiceImpl(UserRepository userRepository, RoleRepository roleRepository, PasswordHasher passwordHasher) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.passwordHasher = passwordHasher;
+    }
+
+    /**
+     * Saves a new user based on the provided {@link UserRequestDTO}.
+     *
+     * @param userRequestDTO The DTO containing user information to be saved.
+     * @return A Mono emitting the details of the saved user, or an ItemAlreadyExistException.
+     */
+    @Transactional
+    @Override
+    public Mono<UserResponseDTO> save(@NotNull UserRequestDTO userRequestDTO) {
+        log.info("In save()");
+        return checkIfUsernameOrEmailAlreadyExists(userRequestDTO.username(), userRequestDTO.email())
+                .then(Mono.zip(passwordHasher.encode(userRequestDTO.password()), getUserRole()))
+                .flatMap(tuple -> {
+                    User user = User.builder()
+                            .id(UUID.randomUUID().toString())
+                            .username(userRequestDTO.username())
+                            .email(userRequestDTO.email())
+                            .password(tuple.getT1())
+                            .enabled(true)
+                            .creation(LocalDateTime.now())
+                            .newEntity(true)
+                            .build();
+                    Role role = tuple.getT2();
+                    return userRepository.save(user)
+                            .flatMap(saved -> roleRepository.grant(saved.getId(), role.getId())
+                                    .thenReturn(fromUser(saved, Set.of(role.getName()))));
+                })
+                .doOnNext(user -> log.info("user saved"));
+    }
+
+    /**
+     * Updates an existing user with the specified ID using the information in the {@link UserRequestDTO}.
+     *
+     * @param id             The ID of the user to be updated.
+     * @param userRequestDTO The DTO containing updated user information.
+     * @return A Mono emitting the details of the updated user, or a UserNotFoundException or an ItemAlreadyExistException.
+     */
+    @Transactional
+    @Override
+    public Mono<UserResponseDTO> update(String id, @NotNull UserRequestDTO userRequestDTO) {
+        log.info("In update()");
+        return userRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException("user with id '"+id+"' not found")))
+                .flatMap(user -> checkingBeforeUpdate(user, userRequestDTO)
+                        .then(passwordHasher.encode(userRequestDTO.password()))
+                        .flatMap(password -> {
+                            user.setPassword(password);
+                            user.setEmail(userRequestDTO.email());
+                            user.setUsername(userRequestDTO.username());
+                            user.setLastUpdate(LocalDateTime.now());
+                            user.setTokenVersion(user.getTokenVersion() + 1);
+                            return userRepository.save(user);
+                        }))
+                .flatMap(this::withRoles)
+                .doOnNext(user -> log.info("user updated"));
+    }
+
+    /**
+     * Finds a user by the specified ID.
+     *
+     * @param id The ID of the user to be found.
+     * @return A Mono emitting the details of the found user, or a UserNotFoundException.
+     */
+    @Override
+    public Mono<UserResponseDTO> findById(String id) {
+        log.info("In findById()");
+        return userRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException("user with id '"+id+"' not found")))
+                .flatMap(this::withRoles)
+                .doOnNext(user -> log.info("user found"));
+    }
+
+    /**
+     * Finds all users in the system, streaming them in batches.
+     *
+     * @return A Flux emitting the details of all users.
+     */
+    @Override
+    public Flux<UserResponseDTO> findAll() {
+        log.info("In findAll()");
+        return userRepository.findAll()
+                .buffer(ROLE_BATCH_SIZE)
+                .concatMap(this::withRoles);
+    }
+
+    /**
+     * Finds a page of users with the specified page number and page size.
+     *
+     * @param page The page number (zero-based).
+     * @param size The size of the page.
+     * @return A Mono emitting a page of users.
+     */
+    @Override
+    public Mono<UsersPageResponseDTO> findAll(int page, int size) {
+        log.info("In findAll()");
+        Mono<List<UserResponseDTO>> users = userRepository.findAllBy(PageRequest.of(page, size))
+                .collectList()
+                .flatMapMany(this::withRoles)
+                .collectList();
+        return Mono.zip(userRepository.count(), users)
+                .map(tuple -> {
+                    log.info(tuple.getT2().size()+" found(s)");
+                    return new UsersPageResponseDTO((int) ((tuple.getT1() + size - 1) / size), page, size, tuple.getT2());
+                });
+    }
+
+    /**
+     * Deletes a user by the specified ID, together with its roles.
+     *
+     * @param id The ID of the user to be deleted.
+     * @return A Mono completing once the user is deleted.
+     */
+    @Transactional
+    @Override
+    public Mono<Void> deleteById(String id) {
+        log.info("In deleteById()");
+        return roleRepository.revokeAll(id)
+                .then(userRepository.deleteById(id))
+                .doOnSuccess(v -> log.info("user deleted"));
+    }
+
+    /**
+     * Deletes all users in the system, together with their roles.
+     *
+     * @return A Mono completing once the users are deleted.
+     */
+    @Transactional
+    @Override
+    public Mono<Void> deleteAll() {
+        log.info("In deleteAll()");
+        return roleRepository.revokeAllOfAllUsers()
+                .then(userRepository.deleteAll())
+                .doOnSuccess(v -> log.info("users deleted"));
+    }
+
+    /**
+     * Adds a role to a user based on the provided {@link UserRoleRequestDTO}.
+     *
+     * @param userRoleRequestDTO The DTO containing user and role information for the association.
+     * @return A Mono emitting {@code true} if the role is added, {@code false} otherwise, or a UserNotFoundException or a RoleNotFoundException.
+     */
+    @Transactional
+    @Override
+    public Mono<Boolean> addRoleToUser(@NotNull UserRoleRequestDTO userRoleRequestDTO) {
+        log.info("In addRoleToUser()");
+        return checkingIfUserAndRoleExist(userRoleRequestDTO)
+                .flatMap(tuple -> roleRepository.isGranted(tuple.getT1().getId(), tuple.getT2().getId())
+                        .flatMap(granted -> Boolean.TRUE.equals(granted) ? Mono.just(1)
+                                : roleRepository.grant(tuple.getT1().getId(), tuple.getT2().getId()))
+                        .then(bumpTokenVersion(tuple.getT1()))
+                        .thenReturn(true)
+                        .doOnNext(added -> log.info("role added"))
+                        .onErrorResume(e -> {
+                            log.error("role not added : "+e.getMessage());
+                            return Mono.just(false);
+                        }));
+    }
+
+    /**
+     * Removes a role from a user based on the provided {@link UserRoleRequestDTO}.
+     *
+     * @param userRoleRequestDTO The DTO containing user and role information for the removal.
+     * @return A Mono emitting {@code true} if the role is removed, {@code false} otherwise, or a UserNotFoundException or a RoleNotFoundException.
+     */
+    @Transactional
+    @Override
+    public Mono<Boolean> removeRoleToUser(@NotNull UserRoleRequestDTO userRoleRequestDTO) {
+        return checkingIfUserAndRoleExist(userRoleRequestDTO)
+                .flatMap(tuple -> roleRepository.revoke(tuple.getT1().getId(), tuple.getT2().getId())
+                        .then(bumpTokenVersion(tuple.getT1()))
+                        .thenReturn(true)
+                        .doOnNext(removed -> log.info("role removed"))
+                        .onErrorResume(e -> {
+                            log.error("role not removed : "+e.getMessage());
+                            return Mono.just(false);
+                        }));
+    }
+
+    /**
+     * Retrieves the "USER" role from the role repository, creating it if it does not exist.
+     *
+     * @return A Mono emitting the "USER" role.
+     */
+    private Mono<Role> getUserRole() {
+        return roleRepository.findByName("USER")
+                .switchIfEmpty(Mono.defer(() -> roleRepository.save(new Role(null, "USER"))));
+    }
+
+    /**
+     * Checks if the provided username or email already exists in the user repository.
+     *
+     * @param username The username to check for existence.
+     * @param email    The email to check for existence.
+     * @return A Mono completing empty, or signalling an ItemAlreadyExistException.
+     */
+    private Mono<Void> checkIfUsernameOrEmailAlreadyExists(String username, String email) {
+        return userRepository.existsByUsername(username)
+                .flatMap(exists -> Boolean.TRUE.equals(exists) ? Mono.error(new ItemAlreadyExistException("Username already exists")) : userRepository.existsByEmail(email))
+                .flatMap(exists -> Boolean.TRUE.equals(exists) ? Mono.error(new ItemAlreadyExistException("Email already exists")) : Mono.empty());
+    }
+
+    /**
+     * Checks that the new username and email of a user do not conflict with existing ones.
+     *
+     * @param user The existing user to be updated.
+     * @param dto  The DTO containing the updated user information.
+     * @return A Mono completing empty, or signalling an ItemAlreadyExistException.
+     */
+    private Mono<Void> checkingBeforeUpdate(@NotNull User user, @NotNull UserRequestDTO dto) {
+        Mono<Boolean> usernameTaken = user.getUsername().equals(dto.username()) ? Mono.just(false) : userRepository.existsByUsername(dto.username());
+        Mono<Boolean> emailTaken = user.getEmail().equals(dto.email()) ? Mono.just(false) : userRepository.existsByEmail(dto.email());
+        return usernameTaken
+                .flatMap(taken -> Boolean.TRUE.equals(taken) ? Mono.error(new ItemAlreadyExistException("Username already exists")) : emailTaken)
+                .flatMap(taken -> Boolean.TRUE.equals(taken) ? Mono.error(new ItemAlreadyExistException("Email already exists")) : Mono.empty());
+    }
+
+    /**
+     * Finds the user and the role of a {@link UserRoleRequestDTO}.
+     *
+     * @param dto The DTO containing user and role information.
+     * @return A Mono emitting the user and the role, or a UserNotFoundException or a RoleNotFoundException.
+     */
+    private Mono<Tuple2<User, Role>> checkingIfUserAndRoleExist(@NotNull UserRoleRequestDTO dto) {
+        return Mono.zip(
+                userRepository.findByUsername(dto.username()).switchIfEmpty(Mono.error(() -> new UserNotFoundException("User not found"))),
+                roleRepository.findByName(dto.roleName()).switchIfEmpty(Mono.error(() -> new RoleNotFoundException("Role not found"))));
+    }
+
+    /**
+     * Increments the token version of a user whose roles changed.
+     *
+     * @param user The user whose roles changed.
+     * @return A Mono emitting the saved user.
+     */
+    private Mono<User> bumpTokenVersion(@NotNull User user) {
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        return userRepository.save(user);
+    }
+
+    /**
+     * Loads the roles of a user and converts it to a UserResponseDTO.
+     *
+     * @param user The user to convert.
+     * @return A Mono emitting the corresponding UserResponseDTO.
+     */
+    private Mono<UserResponseDTO> withRoles(@NotNull User user) {
+        return withRoles(List.of(user)).next();
+    }
+
+    /**
+     * Loads the roles of a batch of users with a single query and converts them to UserResponseDTOs.
+     *
+     * @param users The users to convert.
+     * @return A Flux emitting the corresponding UserResponseDTOs, in the order of the users.
+     */
+    private Flux<UserResponseDTO> withRoles(@NotNull List<User> users) {
+        if (users.isEmpty()) {
+            return Flux.empty();
+        }
+        return roleRepository.findNamesByUserIds(users.stream().map(User::getId).toList())
+                .collect(Collectors.groupingBy(UserRoleNameDTO::userId, Collectors.mapping(UserRoleNameDTO::name, Collectors.toUnmodifiableSet())))
+                .flatMapMany(roles -> Flux.fromIterable(users).map(user -> fromUser(user, roles.getOrDefault(user.getId(), Collections.emptySet()))));
+    }
+
+    /**
+     * Converts a User entity to a UserResponseDTO.
+     *
+     * @param user  The User entity to convert.
+     * @param roles The role names of the user.
+     * @return The corresponding UserResponseDTO.
+     */
+    private static @NotNull UserResponseDTO fromUser(@NotNull User user, Set<String> roles) {
+        return new UserResponseDTO(user.getId(), user.getUsername(), user.getEmail(), user.getEnabled(), roles, user.getCreation(), user.getLastUpdate());
+    }
+}
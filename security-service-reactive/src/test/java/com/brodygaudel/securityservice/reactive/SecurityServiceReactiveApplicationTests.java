@@ -0,0 +1,152 @@
+package com.brodygaudel.securityservice.reactive;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.brodygaudel.securityservice.reactive.dto.LoginRequestDTO;
+import com.brodygaudel.securityservice.reactive.dto.LoginResponseDTO;
+import com.brodygaudel.securityservice.reactive.dto.UserRequestDTO;
+import com.brodygaudel.securityservice.reactive.dto.UserResponseDTO;
+import com.brodygaudel.securityservice.reactive.dto.UserRoleRequestDTO;
+import com.brodygaudel.securityservice.reactive.dto.UsersPageResponseDTO;
+import com.brodygaudel.securityservice.reactive.security.SecurityParameters;
+import com.brodygaudel.securityservice.reactive.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.test.StepVerifier;
+
+import java.util.Date;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests of the reactive application against an embedded R2DBC H2 database.
+ * These tests validate the login and user endpoints and the reactive JWT filter.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class SecurityServiceReactiveApplicationTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private SecurityParameters securityParameters;
+
+    @BeforeEach
+    void setUp() {
+        StepVerifier.create(userService.deleteAll()).verifyComplete();
+        StepVerifier.create(userService.save(new UserRequestDTO(null, "username", "user@mail.com", "password")))
+                .assertNext(user -> assertEquals(Set.of("USER"), user.roles()))
+                .verifyComplete();
+    }
+
+    /**
+     * Test that a user logs in by username or email and reads users with the issued token.
+     */
+    @Test
+    void loginAndReadUsers() {
+        String jwt = login("user@mail.com", "password").jwt();
+        assertEquals("username", login("username", "password").username());
+
+        webTestClient.get().uri("/users/all")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwt)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(UserResponseDTO.class)
+                .value(users -> assertEquals("username", users.get(0).username()));
+        webTestClient.get().uri("/users/list/0/10")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwt)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(UsersPageResponseDTO.class)
+                .value(page -> {
+                    assertEquals(1, page.totalPage());
+                    assertEquals(1, page.users().size());
+                });
+    }
+
+    /**
+     * Test that wrong credentials are rejected.
+     */
+    @Test
+    void wrongCredentials() {
+        webTestClient.post().uri("/authentication/login")
+                .bodyValue(new LoginRequestDTO("username", "wrong"))
+                .exchange()
+                .expectStatus().is5xxServerError();
+        webTestClient.post().uri("/authentication/login")
+                .bodyValue(new LoginRequestDTO("unknown", "password"))
+                .exchange()
+                .expectStatus().is5xxServerError();
+    }
+
+    /**
+     * Test that missing, malformed and insufficient tokens are rejected.
+     */
+    @Test
+    void rejectedRequests() {
+        webTestClient.get().uri("/users/all")
+                .exchange()
+                .expectStatus().isForbidden();
+        webTestClient.get().uri("/users/all")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer not-a-token")
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectHeader().valueMatches(HttpHeaders.WWW_AUTHENTICATE, ".*invalid_token.*");
+        webTestClient.delete().uri("/users/delete-all")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + login("username", "password").jwt())
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    /**
+     * Test that authentic tokens carrying no role names, or a role mask instead, are rejected.
+     */
+    @Test
+    void tokensWithoutRoleNames() {
+        Algorithm algorithm = Algorithm.HMAC256(securityParameters.getSecret());
+        Date expiresAt = new Date(System.currentTimeMillis() + 60000);
+        String withoutRoles = JWT.create().withSubject("username").withExpiresAt(expiresAt).sign(algorithm);
+        String withRoleMask = JWT.create().withSubject("username").withClaim("rm", 1L).withExpiresAt(expiresAt).sign(algorithm);
+        for (String jwt : new String[]{withoutRoles, withRoleMask}) {
+            webTestClient.get().uri("/users/all")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwt)
+                    .exchange()
+                    .expectStatus().isUnauthorized()
+                    .expectHeader().valueMatches(HttpHeaders.WWW_AUTHENTICATE, ".*invalid_token.*");
+        }
+    }
+
+    /**
+     * Test that roles added to a user show up in its details and in its next token.
+     */
+    @Test
+    void addRole() {
+        StepVerifier.create(userService.addRoleToUser(new UserRoleRequestDTO("username", "ADMIN")))
+                .expectNext(true)
+                .verifyComplete();
+        assertEquals(Set.of("USER", "ADMIN"), login("username", "password").roles());
+    }
+
+    private LoginResponseDTO login(String username, String password) {
+        LoginResponseDTO response = webTestClient.post().uri("/authentication/login")
+                .bodyValue(new LoginRequestDTO(username, password))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(LoginResponseDTO.class)
+                .returnResult().getResponseBody();
+        assertNotNull(response);
+        return response;
+    }
+}
@@ -0,0 +1 @@
+merge into role (id, name) key (id) values (1, 'USER'), (2, 'ADMIN'), (3, 'SUPER_ADMIN');
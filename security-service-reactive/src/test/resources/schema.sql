@@ -0,0 +1,20 @@
+create table if not exists role (
+    id bigint auto_increment primary key,
+    name varchar(255)
+);
+
+create table if not exists user (
+    id varchar(255) primary key,
+    username varchar(255) not null unique,
+    email varchar(255) not null unique,
+    password varchar(255) not null,
+    enabled boolean not null,
+    creation timestamp not null,
+    last_update timestamp,
+    token_version bigint not null default 0
+);
+
+create table if not exists user_role (
+    user_id varchar(255) not null references user(id),
+    role_id bigint not null references role(id)
+);
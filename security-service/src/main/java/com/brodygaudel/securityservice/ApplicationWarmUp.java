@@ -0,0 +1,304 @@
+package com.brodygaudel.securityservice;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTCreator;
+import com.brodygaudel.jwtverifier.HmacKeys;
+import com.brodygaudel.securityservice.dto.LoginRequestDTO;
+import com.brodygaudel.securityservice.dto.LoginResponseDTO;
+import com.brodygaudel.securityservice.dto.TokenIntrospectionDTO;
+import com.brodygaudel.securityservice.dto.UserRequestDTO;
+import com.brodygaudel.securityservice.dto.UsersPageResponseDTO;
+import com.brodygaudel.securityservice.repository.UserRepository;
+import com.brodygaudel.securityservice.security.RoleRegistry;
+import com.brodygaudel.securityservice.security.SecurityParameters;
+import com.brodygaudel.securityservice.security.StaticParameters;
+import com.brodygaudel.securityservice.security.TokenInspector;
+import com.brodygaudel.securityservice.security.TokenProfile;
+import com.brodygaudel.securityservice.security.TokenVersionRegistry;
+import com.brodygaudel.securityservice.security.UserCache;
+import com.brodygaudel.securityservice.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warm-up of the application, run once it is started and before it reports itself ready.
+ * Spring Boot only switches the readiness state to {@code ACCEPTING_TRAFFIC} after the listeners of the
+ * {@link ApplicationReadyEvent} return, so while the warm-up runs {@code /actuator/health/readiness} reports
+ * {@code OUT_OF_SERVICE} and no traffic is routed to the instance. Within a time budget, the warm-up synchronizes
+ * the token versions, restores the snapshot of the user cache, loads the users who logged in most recently, matches a few passwords, signs and verifies
+ * synthetic tokens, serializes and parses the DTOs of the API and runs the queries of login and paging, so that
+ * the JIT compiler, the Hibernate query plans, the Jackson serializers and the connection pool are warm when the
+ * first requests arrive. A failing step is logged and skipped, it never prevents startup.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@Component
+@Profile("!edge")
+@Slf4j
+public class ApplicationWarmUp {
+
+    private static final String SUBJECT = "warm-up";
+    private static final Set<String> ROLES = Set.of(StaticParameters.USER);
+    private static final int PAGE_SIZE = 20;
+
+    /**
+     * The number of password matches. A single bcrypt match runs thousands of rounds of its key schedule, so a
+     * handful is enough to compile it, and more would only spend the budget.
+     */
+    private static final int PASSWORD_MATCHES = 4;
+
+    private final UserRepository userRepository;
+    private final UserService userService;
+    private final PasswordEncoder passwordEncoder;
+    private final TokenInspector tokenInspector;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final UserCache userCache;
+    private final RoleRegistry roleRegistry;
+    private final SecurityParameters securityParameters;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final long budget;
+    private final int iterations;
+    private final int queryRounds;
+    private final int activeUsers;
+
+    /**
+     * Constructs a new ApplicationWarmUp with the specified dependencies.
+     *
+     * @param userRepository       The UserRepository whose queries are prepared.
+     * @param userService          The UserService whose pages of users are read.
+     * @param passwordEncoder      The PasswordEncoder matching passwords against a dummy hash.
+     * @param tokenInspector       The TokenInspector verifying the synthetic tokens.
+     * @param tokenVersionRegistry The TokenVersionRegistry synchronized before traffic is accepted.
+     * @param userCache            The UserCache restored and filled with the active users.
+     * @param roleRegistry         The RoleRegistry encoding the roles of compact tokens.
+     * @param securityParameters   The SecurityParameters providing the secret and the token profile.
+     * @param objectMapper         The ObjectMapper of the web layer, whose serializers are built.
+     * @param enabled              Whether the warm-up runs.
+     * @param budget               The maximum duration of the warm-up, in milliseconds.
+     * @param iterations           The number of token and serialization iterations.
+     * @param queryRounds          The number of query rounds, kept small since each one reaches the database.
+     * @param activeUsers          The number of most recently active users to load.
+     */
+    public ApplicationWarmUp(UserRepository userRepository, UserService userService, PasswordEncoder passwordEncoder,
+                             TokenInspector tokenInspector, TokenVersionRegistry tokenVersionRegistry, UserCache userCache, RoleRegistry roleRegistry,
+                             SecurityParameters securityParameters, ObjectMapper objectMapper,
+                             @Value("${warm-up-enabled}") boolean enabled,
+                             @Value("${warm-up-budget}") long budget,
+                             @Value("${warm-up-iterations}") int iterations,
+                             @Value("${warm-up-query-rounds}") int queryRounds,
+                             @Value("${warm-up-active-users}") int activeUsers) {
+        this.userRepository = userRepository;
+        this.userService = userService;
+        this.passwordEncoder = passwordEncoder;
+        this.tokenInspector = tokenInspector;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.userCache = userCache;
+        this.roleRegistry = roleRegistry;
+        this.securityParameters = securityParameters;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.budget = budget;
+        this.iterations = iterations;
+        this.queryRounds = queryRounds;
+        this.activeUsers = activeUsers;
+    }
+
+    /**
+     * Warms the application up once it is started, holding back its readiness until done.
+     * It runs after the other listeners of the event, such as the seeding of the {@code embedded} profile.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        Result result = warmUp();
+        log.info("warm-up done in {} ms: {} token cycles, {} serializations, {} query rounds, {} active users, {} password matches",
+                result.elapsedMillis(), result.tokenCycles(), result.serializations(), result.queryRounds(),
+                result.activeUsers(), result.passwordMatches());
+    }
+
+    /**
+     * Runs the steps of the warm-up until each is done or the budget is spent.
+     * The bounded steps run first, the active users and the few bcrypt matches, and the repeated steps then fill
+     * what remains of the budget. The CPU-only steps run {@code iterations} times, enough for the JIT compiler, while
+     * the queries only run {@code queryRounds} times: a few rounds prepare the query plans and fill the connection
+     * pool, and more would only load the primary while the instance is not even serving.
+     *
+     * @return The number of iterations completed by each step.
+     */
+    public @NotNull Result warmUp() {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(budget);
+        int loadedUsers = preloadActiveUsers(deadline);
+        int passwordMatches = matchPasswords(deadline);
+        int tokenCycles = repeat("token", iterations, deadline, iteration -> tokenCycle());
+        int serializations = repeat("serialization", iterations, deadline, iteration -> serialization());
+        int rounds = repeat("query", queryRounds, deadline, iteration -> queryRound());
+        return new Result(tokenCycles, serializations, rounds, loadedUsers, passwordMatches,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Signs a synthetic token shaped like the issued ones and verifies it twice, through the verification
+     * and then through the cache of verified tokens.
+     */
+    private void tokenCycle() {
+        String header = "Bearer " + signedToken();
+        tokenInspector.inspect(header);
+        tokenInspector.inspect(header);
+    }
+
+    /**
+     * Serializes the DTOs returned by the API and parses the request bodies of login and user creation.
+     *
+     * @throws Exception If a DTO cannot be serialized or parsed.
+     */
+    private void serialization() throws Exception {
+        String jwt = signedToken();
+        objectMapper.writeValueAsBytes(new LoginResponseDTO(SUBJECT, jwt, ROLES, UUID.randomUUID().toString()));
+        objectMapper.writeValueAsBytes(new TokenIntrospectionDTO(true, "ACTIVE", SUBJECT, ROLES, System.currentTimeMillis()));
+        objectMapper.readValue(objectMapper.writeValueAsBytes(new LoginRequestDTO(SUBJECT, SUBJECT)), LoginRequestDTO.class);
+        objectMapper.readValue(objectMapper.writeValueAsBytes(new UserRequestDTO(null, SUBJECT, SUBJECT, SUBJECT)), UserRequestDTO.class);
+    }
+
+    /**
+     * Runs the queries of login, of the existence checks and of the first page of users, and serializes the page.
+     *
+     * @throws Exception If a query fails or the page cannot be serialized.
+     */
+    private void queryRound() throws Exception {
+        userRepository.findByUsername(SUBJECT);
+        userRepository.findByEmail(SUBJECT);
+        userRepository.checkIfUsernameExists(SUBJECT);
+        userRepository.checkIfEmailExists(SUBJECT);
+        UsersPageResponseDTO page = userService.findAll(0, PAGE_SIZE);
+        objectMapper.writeValueAsBytes(page);
+    }
+
+    /**
+     * Synchronizes the token versions, restores the snapshot of the user cache and loads the users who logged in
+     * most recently through the cache, so that the ones missing from the snapshot are cached and their rows are in
+     * the buffer pool of the database.
+     *
+     * @param deadline The deadline of the warm-up, as returned by {@link System#nanoTime()}.
+     * @return The number of loaded users.
+     */
+    private int preloadActiveUsers(long deadline) {
+        if (activeUsers <= 0 || System.nanoTime() >= deadline) {
+            return 0;
+        }
+        List<String> usernames;
+        try {
+            tokenVersionRegistry.synchronize();
+            userCache.restore();
+            usernames = userRepository.findMostRecentlyActiveUsernames(PageRequest.of(0, activeUsers));
+        } catch (RuntimeException e) {
+            log.warn("warm-up of the active users failed: {}", e.getMessage());
+            return 0;
+        }
+        return repeat("active users", usernames.size(), deadline, iteration -> userCache.get(usernames.get(iteration)));
+    }
+
+    /**
+     * Hashes a dummy password and matches it a few times.
+     *
+     * @param deadline The deadline of the warm-up, as returned by {@link System#nanoTime()}.
+     * @return The number of password matches.
+     */
+    private int matchPasswords(long deadline) {
+        if (System.nanoTime() >= deadline) {
+            return 0;
+        }
+        String hash = passwordEncoder.encode(SUBJECT);
+        return repeat("password", PASSWORD_MATCHES, deadline, iteration -> passwordEncoder.matches(SUBJECT, hash));
+    }
+
+    /**
+     * Signs a synthetic token carrying the claims of the configured token profile.
+     *
+     * @return The signed token.
+     */
+    private String signedToken() {
+        JWTCreator.Builder builder = JWT.create().withSubject(SUBJECT);
+        if (securityParameters.getTokenProfile() == TokenProfile.COMPACT) {
+            builder.withClaim(StaticParameters.ROLE_MASK_CLAIM, roleRegistry.mask(ROLES));
+        } else {
+            builder.withArrayClaim(StaticParameters.ROLES_CLAIM, ROLES.toArray(new String[0]));
+        }
+        return builder.withClaim(StaticParameters.TOKEN_VERSION_CLAIM, 0L)
+                .withJWTId(UUID.randomUUID().toString())
+                .withExpiresAt(new Date(System.currentTimeMillis() + securityParameters.getExpiredTime()))
+                .sign(HmacKeys.hmac256(securityParameters.getSecret()));
+    }
+
+    /**
+     * Repeats a step until it is done, the deadline is reached or it fails.
+     *
+     * @param name     The name of the step, for the log.
+     * @param times    The number of iterations of the step.
+     * @param deadline The deadline of the warm-up, as returned by {@link System#nanoTime()}.
+     * @param step     The step.
+     * @return The number of completed iterations.
+     */
+    private int repeat(String name, int times, long deadline, Step step) {
+        int done = 0;
+        try {
+            while (done < times && System.nanoTime() < deadline) {
+                step.run(done);
+                done++;
+            }
+        } catch (Exception e) {
+            log.warn("warm-up step {} failed after {} iterations: {}", name, done, e.getMessage());
+        }
+        return done;
+    }
+
+    /**
+     * An iteration of a warm-up step.
+     */
+    @FunctionalInterface
+    private interface Step {
+
+        /**
+         * Runs an iteration.
+         *
+         * @param iteration The zero-based index of the iteration.
+         * @throws Exception If the iteration fails.
+         */
+        void run(int iteration) throws Exception;
+    }
+
+    /**
+     * The outcome of a warm-up.
+     *
+     * @param tokenCycles     The number of synthetic tokens signed and verified.
+     * @param serializations  The number of rounds of DTO serialization.
+     * @param queryRounds     The number of rounds of repository queries.
+     * @param activeUsers     The number of most recently active users loaded.
+     * @param passwordMatches The number of password matches.
+     * @param elapsedMillis   The duration of the warm-up, in milliseconds.
+     */
+    public record Result(int tokenCycles, int serializations, int queryRounds, int activeUsers, int passwordMatches, long elapsedMillis) {
+    }
+}
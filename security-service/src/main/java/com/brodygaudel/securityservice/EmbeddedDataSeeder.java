@@ -0,0 +1,128 @@
+package com.brodygaudel.securityservice;
+
+import com.brodygaudel.securityservice.entity.Role;
+import com.brodygaudel.securityservice.repository.RoleRepository;
+import com.brodygaudel.securityservice.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Seeder of the users driven by the load generator in the {@code embedded} profile.
+ * Once the roles and the initial administrator exist, it inserts {@code load-admin}, holding every role, and the
+ * users {@code user-0} to {@code user-<n-1>}, holding the {@code USER} role, all with the same password. The
+ * password is hashed once and the rows are inserted in JDBC batches, so that seeding thousands of users takes
+ * a second instead of a bcrypt hash per user.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@Component
+@Profile("embedded")
+@Slf4j
+public class EmbeddedDataSeeder {
+
+    /**
+     * The username of the seeded administrator.
+     */
+    public static final String ADMIN = "load-admin";
+
+    /**
+     * The prefix of the usernames of the seeded users, followed by their index.
+     */
+    public static final String USER_PREFIX = "user-";
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String INSERT_USER = "insert into user (id, username, email, password, enabled, creation, token_version) values (?, ?, ?, ?, true, ?, 0)";
+    private static final String INSERT_USER_ROLE = "insert into user_role (user_id, role_id) values (?, ?)";
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final int users;
+    private final String password;
+
+    /**
+     * Constructs a new EmbeddedDataSeeder with the specified dependencies.
+     *
+     * @param userRepository  The UserRepository checking whether the users are already seeded.
+     * @param roleRepository  The RoleRepository providing the roles to grant.
+     * @param passwordEncoder The PasswordEncoder hashing the shared password.
+     * @param jdbcTemplate    The JdbcTemplate inserting the users in batches.
+     * @param users           The number of users to seed.
+     * @param password        The password of the seeded users.
+     */
+    public EmbeddedDataSeeder(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder, JdbcTemplate jdbcTemplate,
+                              @Value("${embedded-seed-users}") int users, @Value("${embedded-seed-password}") String password) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jdbcTemplate = jdbcTemplate;
+        this.users = users;
+        this.password = password;
+    }
+
+    /**
+     * Seeds the users once the application has started, before the {@link ApplicationWarmUp} loads them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void seed() {
+        if (userRepository.findByUsername(ADMIN) != null) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        String hash = passwordEncoder.encode(password);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Long userRole = roleRepository.findByName("USER").getId();
+
+        String adminId = insertUser(ADMIN, hash, now);
+        for (Role role : roleRepository.findAll()) {
+            jdbcTemplate.update(INSERT_USER_ROLE, adminId, role.getId());
+        }
+        List<Object[]> userRows = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> roleRows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < users; i++) {
+            String id = UUID.randomUUID().toString();
+            String username = USER_PREFIX + i;
+            userRows.add(new Object[]{id, username, username + "@load.test", hash, now});
+            roleRows.add(new Object[]{id, userRole});
+            if (userRows.size() == BATCH_SIZE || i == users - 1) {
+                jdbcTemplate.batchUpdate(INSERT_USER, userRows);
+                jdbcTemplate.batchUpdate(INSERT_USER_ROLE, roleRows);
+                userRows.clear();
+                roleRows.clear();
+            }
+        }
+        log.info("{} load test users seeded in {} ms", users, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Inserts a single user.
+     *
+     * @param username The username, also used to build the email.
+     * @param hash     The password hash.
+     * @param now      The creation time.
+     * @return The identifier of the user.
+     */
+    private String insertUser(String username, String hash, Timestamp now) {
+        String id = UUID.randomUUID().toString();
+        jdbcTemplate.update(INSERT_USER, id, username, username + "@load.test", hash, now);
+        return id;
+    }
+}
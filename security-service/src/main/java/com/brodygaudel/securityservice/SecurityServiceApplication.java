@@ -9,7 +9,11 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -18,6 +22,7 @@ import java.util.UUID;
 
 @Slf4j
 @SpringBootApplication
+@EnableScheduling
 public class SecurityServiceApplication {
 
     public static void main(String[] args) {
@@ -25,18 +30,18 @@ public class SecurityServiceApplication {
     }
 
     @Bean
-    CommandLineRunner commandLineRunner(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder){
-        return args -> {
-            List<Role> roles = roleRepository.findAll();
-            if(roles.isEmpty()){
+    @Profile("!edge")
+    CommandLineRunner commandLineRunner(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder, PlatformTransactionManager transactionManager){
+        // a read-write transaction, so that the checks read the primary rather than a read replica
+        return args -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            if(roleRepository.count() == 0){
                 log.info("******************* init roles ***********************************");
                 roleRepository.save(new Role(null, "USER"));
                 roleRepository.save(new Role(null, "ADMIN"));
                 roleRepository.save(new Role(null, "SUPER_ADMIN"));
                 log.info("********************* roles initialized **************************");
             }
-            List<User> users = userRepository.findAll();
-            if(users.isEmpty()){
+            if(!userRepository.existsByIdNotNull()){
                 log.info("******************** START USER INITIALIZATION *************************");
                 String password = UUID.randomUUID().toString();
                 User user = User.builder()
@@ -54,7 +59,7 @@ public class SecurityServiceApplication {
                 log.info("PASSWORD = "+password);
                 log.info("******************** You must change the username and password after your first authentication *************************");
             }
-        };
+        });
     }
 
 
@@ -0,0 +1,113 @@
+package com.brodygaudel.securityservice.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration class sending the read-only transactions to read replicas when {@code replica-datasource-urls} is set.
+ * The pool configured by {@code spring.datasource.*} becomes the primary, one pool is created per replica with the
+ * same credentials and pool size, and the application uses a {@link LazyConnectionDataSourceProxy} over a
+ * {@link ReplicaRoutingDataSource}, so that the connection of a transaction is chosen at its first statement.
+ * Hibernate releases the connection at the end of each transaction instead of holding it for the whole request, so
+ * that a read-write transaction following a read-only one in the same request gets a connection to the primary.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@Configuration
+@Profile("!edge")
+@ConditionalOnExpression("!'${replica-datasource-urls:}'.isBlank()")
+@Slf4j
+public class ReplicaDataSourceConfiguration {
+
+    /**
+     * Creates the pool of the primary from the {@code spring.datasource.*} properties.
+     *
+     * @param properties The DataSourceProperties.
+     * @return The HikariDataSource of the primary.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Creates one read-only pool per replica and the DataSource routing between them and the primary.
+     *
+     * @param primaryDataSource The pool of the primary.
+     * @param properties        The DataSourceProperties.
+     * @param meterRegistry     The MeterRegistry the pools of the replicas report to.
+     * @param urls              The JDBC URLs of the replicas.
+     * @param connectionTimeout The time (in milliseconds) to wait for a connection to a replica.
+     * @param retryInterval     The time (in milliseconds) an unavailable replica is skipped.
+     * @param stickyWindow      The time (in milliseconds) the reads of a user go to the primary after a write.
+     * @return The ReplicaRoutingDataSource.
+     */
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource, DataSourceProperties properties, MeterRegistry meterRegistry,
+                                                             @Value("${replica-datasource-urls}") List<String> urls,
+                                                             @Value("${replica-connection-timeout}") long connectionTimeout,
+                                                             @Value("${replica-retry-interval}") long retryInterval,
+                                                             @Value("${replica-sticky-window}") long stickyWindow) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setJdbcUrl(url.strip());
+            replica.setUsername(properties.determineUsername());
+            replica.setPassword(properties.determinePassword());
+            replica.setMaximumPoolSize(primaryDataSource.getMaximumPoolSize());
+            replica.setConnectionTimeout(connectionTimeout);
+            replica.setInitializationFailTimeout(-1);
+            replica.setReadOnly(true);
+            replica.setMetricRegistry(meterRegistry);
+            replicas.add(replica);
+        }
+        log.info("{} read replica(s) configured", replicas.size());
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, retryInterval, stickyWindow);
+    }
+
+    /**
+     * Creates the DataSource of the application, fetching the connection of a transaction at its first statement.
+     *
+     * @param replicaRoutingDataSource The ReplicaRoutingDataSource.
+     * @return The DataSource.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    /**
+     * Makes Hibernate release the connection at the end of each transaction.
+     *
+     * @return The HibernatePropertiesCustomizer.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer connectionReleaseCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
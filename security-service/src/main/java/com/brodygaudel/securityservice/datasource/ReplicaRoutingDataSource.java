@@ -0,0 +1,294 @@
+package com.brodygaudel.securityservice.datasource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DataSource routing the connections of read-only transactions to replicas and every other connection to the primary.
+ * It is meant to sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, so that
+ * connections are only fetched at the first statement of a transaction, once its read-only flag is known.
+ * <p>
+ * Replicas are used in turn. A replica that fails to hand out a connection, or fails the periodic health check, is
+ * skipped for the retry interval, and the primary serves the reads when no replica is available. To read one's own
+ * writes despite the replication lag, the read-only transactions of a user are sent to the primary for a short window
+ * after each read-write transaction of the same user on this node.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements MeterBinder, AutoCloseable {
+
+    /**
+     * The number of sticky users above which expired windows are purged.
+     */
+    private static final int MAX_STICKY_USERS = 10000;
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long retryInterval;
+    private final long stickyWindow;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+    private final LongAdder primaryConnections = new LongAdder();
+    private final LongAdder replicaConnections = new LongAdder();
+
+    /**
+     * Constructs a new ReplicaRoutingDataSource.
+     *
+     * @param primary       The DataSource of the primary.
+     * @param replicas      The DataSources of the replicas.
+     * @param retryInterval The time (in milliseconds) an unavailable replica is skipped.
+     * @param stickyWindow  The time (in milliseconds) the reads of a user go to the primary after a write.
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, long retryInterval, long stickyWindow) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("at least one replica is needed");
+        }
+        this.primary = primary;
+        for (int i = 0; i < replicas.size(); i++) {
+            this.replicas.add(new Replica("replica-" + i, replicas.get(i)));
+        }
+        this.retryInterval = retryInterval;
+        this.stickyWindow = stickyWindow;
+    }
+
+    /**
+     * Returns a connection to a replica for a read-only transaction, unless the current user wrote recently, and a
+     * connection to the primary otherwise. Read-write transactions open the read-your-writes window of the user.
+     *
+     * @return The connection.
+     * @throws SQLException If no connection can be obtained from the primary.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        String user = currentUser();
+        if (readOnly && !isSticky(user)) {
+            Connection connection = replicaConnection();
+            if (connection != null) {
+                return connection;
+            }
+        }
+        if (!readOnly && user != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+            recordWrite(user);
+        }
+        primaryConnections.increment();
+        return primary.getConnection();
+    }
+
+    /**
+     * Not supported: the replicas and the primary are configured with their own credentials.
+     *
+     * @param username The username.
+     * @param password The password.
+     * @return Never.
+     * @throws SQLException Always.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("connections are routed with the configured credentials");
+    }
+
+    /**
+     * Checks the replicas, marking the failing ones unavailable and the healthy ones available again.
+     */
+    @Scheduled(fixedDelayString = "${replica-health-check-interval}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource().getConnection()) {
+                if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    throw new SQLException("connection not valid");
+                }
+                if (replica.downUntil > 0) {
+                    log.info("replica {} available again", replica.name());
+                }
+                replica.downUntil = 0;
+            } catch (SQLException e) {
+                markDown(replica, e);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of replicas currently used for reads.
+     *
+     * @return The number of available replicas.
+     */
+    public int availableReplicas() {
+        long now = System.currentTimeMillis();
+        return (int) replicas.stream().filter(replica -> replica.downUntil <= now).count();
+    }
+
+    /**
+     * Returns the number of connections obtained from the primary.
+     *
+     * @return The number of primary connections.
+     */
+    public long primaryConnections() {
+        return primaryConnections.sum();
+    }
+
+    /**
+     * Returns the number of connections obtained from the replicas.
+     *
+     * @return The number of replica connections.
+     */
+    public long replicaConnections() {
+        return replicaConnections.sum();
+    }
+
+    /**
+     * Registers the counters of routed connections and the gauge of available replicas.
+     *
+     * @param registry The registry to bind to.
+     */
+    @Override
+    public void bindTo(@NotNull MeterRegistry registry) {
+        FunctionCounter.builder("datasource.routing.connections", this, ReplicaRoutingDataSource::primaryConnections)
+                .tag("target", "primary").description("Connections routed to the primary").register(registry);
+        FunctionCounter.builder("datasource.routing.connections", this, ReplicaRoutingDataSource::replicaConnections)
+                .tag("target", "replica").description("Connections routed to a replica").register(registry);
+        Gauge.builder("datasource.replicas.available", this, ReplicaRoutingDataSource::availableReplicas)
+                .description("Replicas serving read-only transactions").register(registry);
+    }
+
+    /**
+     * Closes the replicas. The primary is owned by the caller.
+     *
+     * @throws Exception If a replica cannot be closed.
+     */
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /**
+     * Returns a connection to the next available replica, skipping the replicas that fail to hand one out.
+     *
+     * @return The connection, or {@code null} if no replica is available.
+     */
+    private Connection replicaConnection() {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.downUntil > now) {
+                continue;
+            }
+            try {
+                Connection connection = replica.dataSource().getConnection();
+                replicaConnections.increment();
+                return connection;
+            } catch (SQLException e) {
+                markDown(replica, e);
+            }
+        }
+        return null;
+    }
+
+    private void markDown(Replica replica, SQLException e) {
+        if (replica.downUntil == 0) {
+            log.warn("replica {} unavailable, skipped for {} ms : {}", replica.name(), retryInterval, e.getMessage());
+        }
+        replica.downUntil = System.currentTimeMillis() + retryInterval;
+    }
+
+    /**
+     * Checks whether a user wrote recently enough for their reads to go to the primary.
+     *
+     * @param user The name of the user, or {@code null}.
+     * @return {@code true} if the reads of the user go to the primary, {@code false} otherwise.
+     */
+    private boolean isSticky(String user) {
+        if (user == null) {
+            return false;
+        }
+        Long until = stickyUntil.get(user);
+        if (until == null) {
+            return false;
+        }
+        if (until <= System.currentTimeMillis()) {
+            stickyUntil.remove(user, until);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Opens the read-your-writes window of a user.
+     *
+     * @param user The name of the user.
+     */
+    private void recordWrite(String user) {
+        long now = System.currentTimeMillis();
+        stickyUntil.put(user, now + stickyWindow);
+        if (stickyUntil.size() > MAX_STICKY_USERS) {
+            stickyUntil.values().removeIf(until -> until <= now);
+        }
+    }
+
+    /**
+     * Returns the name of the authenticated user of the current thread.
+     *
+     * @return The name of the user, or {@code null} if the thread is not authenticated.
+     */
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    /**
+     * A replica and the time until which it is skipped.
+     */
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile long downUntil;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        private String name() {
+            return name;
+        }
+
+        private DataSource dataSource() {
+            return dataSource;
+        }
+    }
+}
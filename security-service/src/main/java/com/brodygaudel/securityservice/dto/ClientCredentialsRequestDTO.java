@@ -0,0 +1,13 @@
+package com.brodygaudel.securityservice.dto;
+
+/**
+ * A data transfer object (DTO) representing a client-credentials token request.
+ * This record holds the client identifier and API key of a service account, and an optional scope
+ * listing, separated by spaces, the roles the token is limited to.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public record ClientCredentialsRequestDTO(String clientId, String clientSecret, String scope) {
+}
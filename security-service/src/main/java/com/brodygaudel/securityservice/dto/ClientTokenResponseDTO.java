@@ -0,0 +1,15 @@
+package com.brodygaudel.securityservice.dto;
+
+import java.util.Set;
+
+/**
+ * A data transfer object (DTO) representing a client-credentials token response.
+ * This record encapsulates the token issued to a service account, the roles it carries
+ * and its expiration time in epoch milliseconds.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public record ClientTokenResponseDTO(String clientId, String jwt, Set<String> roles, long expiresAt) {
+}
@@ -0,0 +1,19 @@
+package com.brodygaudel.securityservice.dto;
+
+import java.util.List;
+
+/**
+ * A data transfer object (DTO) representing the Hibernate statistics since startup or since they were last cleared.
+ * This record gives the number of prepared statements, executed queries, entity and collection loads and fetches,
+ * the slowest query with its execution time (milliseconds), and samples of the queries slower than the configured
+ * threshold. Every count stays at zero while the statistics are disabled.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public record HibernateStatisticsDTO(boolean enabled, long prepareStatementCount, long queryExecutionCount,
+                                     long entityLoadCount, long entityFetchCount, long collectionLoadCount,
+                                     long collectionFetchCount, long transactionCount, long queryExecutionMaxTime,
+                                     String queryExecutionMaxTimeQueryString, List<SlowQueryDTO> slowQueries) {
+}
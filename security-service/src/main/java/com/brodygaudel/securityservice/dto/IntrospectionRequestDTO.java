@@ -0,0 +1,15 @@
+package com.brodygaudel.securityservice.dto;
+
+import java.util.List;
+
+/**
+ * A data transfer object (DTO) representing a batch token introspection request.
+ * This record holds the tokens a gateway wants introspected in a single round trip,
+ * without their {@code "Bearer "} prefix.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public record IntrospectionRequestDTO(List<String> tokens) {
+}
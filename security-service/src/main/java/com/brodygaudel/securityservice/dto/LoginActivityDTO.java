@@ -0,0 +1,16 @@
+package com.brodygaudel.securityservice.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A data transfer object (DTO) representing the pending login activity of a user.
+ * This record accumulates the login outcomes of a user between two flushes: {@code reset} tells whether a
+ * successful login at {@code lastLogin} reset the failure counter, and {@code failedAttempts} counts the
+ * failures since then, or since the previous flush otherwise.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public record LoginActivityDTO(String username, boolean reset, LocalDateTime lastLogin, int failedAttempts) {
+}
@@ -0,0 +1,12 @@
+package com.brodygaudel.securityservice.dto;
+
+/**
+ * A data transfer object (DTO) representing a refresh request.
+ * This record holds the refresh token to exchange for a new JWT and a new refresh token.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public record RefreshRequestDTO(String refreshToken) {
+}
@@ -0,0 +1,14 @@
+package com.brodygaudel.securityservice.dto;
+
+import java.util.List;
+
+/**
+ * A data transfer object (DTO) representing a service account creation request.
+ * This record holds the client identifier of the service account and the names of the roles it may request.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public record ServiceAccountRequestDTO(String clientId, List<String> roles) {
+}
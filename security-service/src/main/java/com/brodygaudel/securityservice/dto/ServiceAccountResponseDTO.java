@@ -0,0 +1,15 @@
+package com.brodygaudel.securityservice.dto;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * A data transfer object (DTO) representing a service account.
+ * The API key is only returned once, when the service account is created, since only its hash is stored.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public record ServiceAccountResponseDTO(String id, String clientId, String apiKey, Set<String> roles, LocalDateTime creation) {
+}
@@ -0,0 +1,12 @@
+package com.brodygaudel.securityservice.dto;
+
+/**
+ * A data transfer object (DTO) representing a sample of a slow SQL query.
+ * This record encapsulates the SQL of the query and its longest execution time (milliseconds).
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public record SlowQueryDTO(String sql, long maxTime) {
+}
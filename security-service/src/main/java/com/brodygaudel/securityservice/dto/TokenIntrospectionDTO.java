@@ -0,0 +1,16 @@
+package com.brodygaudel.securityservice.dto;
+
+import java.util.Set;
+
+/**
+ * A data transfer object (DTO) representing the introspection of a single token.
+ * This record tells whether the token is active and gives its status, one of {@code ACTIVE}, {@code REVOKED},
+ * {@code EXPIRED}, {@code INVALID} or {@code MALFORMED}. The subject, roles and expiry (epoch milliseconds)
+ * are only given for authentic tokens, that is active or revoked ones.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public record TokenIntrospectionDTO(boolean active, String status, String subject, Set<String> roles, Long expiresAt) {
+}
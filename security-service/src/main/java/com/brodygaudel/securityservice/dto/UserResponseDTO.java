@@ -0,0 +1,17 @@
+package com.brodygaudel.securityservice.dto;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * A data transfer object (DTO) representing a user response.
+ * This record encapsulates the information returned when querying user details,
+ * including the user's ID, username, email, enabled status, a set of roles, the time of the last successful
+ * login and the number of failed login attempts since then.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public record UserResponseDTO(String id, String username, String email, Boolean enabled, Set<String> roles, LocalDateTime creation, LocalDateTime lastUpdate, LocalDateTime lastLogin, Integer failedAttempts) {
+}
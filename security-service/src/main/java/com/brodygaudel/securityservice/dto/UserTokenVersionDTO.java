@@ -0,0 +1,13 @@
+package com.brodygaudel.securityservice.dto;
+
+/**
+ * A data transfer object (DTO) representing the token version of a user.
+ * This record is a lightweight projection used to synchronize the in-memory token version
+ * registry with the database without loading full user entities and their roles.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public record UserTokenVersionDTO(String username, long tokenVersion, Boolean enabled) {
+}
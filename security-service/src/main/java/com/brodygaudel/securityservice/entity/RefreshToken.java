@@ -0,0 +1,35 @@
+package com.brodygaudel.securityservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder(toBuilder = true)
+@ToString
+public class RefreshToken {
+
+    @Id
+    private String id;
+
+    @Column(nullable = false)
+    private String family;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(nullable = false)
+    private long tokenVersion;
+
+    @Column(nullable = false)
+    private long expiresAt;
+
+    @Column(nullable = false)
+    private boolean rotated;
+
+    @Column(nullable = false)
+    private boolean revoked;
+}
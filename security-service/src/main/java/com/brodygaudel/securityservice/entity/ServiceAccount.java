@@ -0,0 +1,40 @@
+package com.brodygaudel.securityservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+@ToString
+public class ServiceAccount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @Column(nullable = false, unique = true)
+    private String clientId;
+
+    @Column(nullable = false)
+    private String apiKeyHash;
+
+    @Column(nullable = false)
+    private Boolean enabled;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime creation;
+
+    @Column(nullable = false)
+    private long tokenVersion;
+
+    @ManyToMany(fetch = FetchType.EAGER)
+    @JoinTable(name="service_account_role",joinColumns = @JoinColumn(name="service_account_id") , inverseJoinColumns = @JoinColumn(name="role_id"))
+    private List<Role> roles;
+}
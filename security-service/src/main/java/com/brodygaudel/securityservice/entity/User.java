@@ -36,6 +36,15 @@ public class User {
 
     private LocalDateTime lastUpdate;
 
+    @Column(nullable = false)
+    private long tokenVersion;
+
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime lastLogin;
+
+    @Column(insertable = false, updatable = false)
+    private Integer failedAttempts;
+
     @ManyToMany(cascade=CascadeType.ALL, fetch = FetchType.EAGER)
     @JoinTable(name="user_role",joinColumns = @JoinColumn(name="user_id") , inverseJoinColumns = @JoinColumn(name="role_id"))
     private List<Role> roles;
@@ -0,0 +1,24 @@
+package com.brodygaudel.securityservice.exceptions;
+
+/**
+ * Exception thrown when a refresh token cannot be exchanged.
+ * This exception is typically used to indicate that a refresh token is unknown, expired, revoked,
+ * or has already been used, in which case its whole family has been revoked.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public class InvalidRefreshTokenException extends Exception {
+
+    /**
+     * Constructs a new {@code InvalidRefreshTokenException} with the specified detail message.
+     * The stack trace is not filled in, since replayed and expired refresh tokens are expected.
+     *
+     * @param message the detail message. The detail message is saved for
+     *                later retrieval by the {@link #getMessage()} method.
+     */
+    public InvalidRefreshTokenException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,34 @@
+package com.brodygaudel.securityservice.exceptions;
+
+import lombok.Getter;
+
+/**
+ * Exception thrown when a login attempt is throttled.
+ * This exception is typically used to indicate that too many failed login attempts were made
+ * for a username or from a client address, and that the attempt was rejected without being checked.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@Getter
+public class LoginThrottledException extends Exception {
+
+    /**
+     * The number of seconds the client must wait before attempting to log in again.
+     */
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructs a new {@code LoginThrottledException} with the specified detail message and delay.
+     * The stack trace is not filled in, since throttled attempts are expected to be frequent under attack.
+     *
+     * @param message           the detail message. The detail message is saved for
+     *                          later retrieval by the {@link #getMessage()} method.
+     * @param retryAfterSeconds the number of seconds to wait before attempting to log in again.
+     */
+    public LoginThrottledException(String message, long retryAfterSeconds) {
+        super(message, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,24 @@
+package com.brodygaudel.securityservice.exceptions;
+
+/**
+ * Exception thrown when a service account is not found.
+ * This exception is typically used to indicate that a service account with the specified criteria
+ * (such as ID) is not present in the system.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public class ServiceAccountNotFoundException extends Exception {
+
+    /**
+     * Constructs a new {@code ServiceAccountNotFoundException} with the specified detail message.
+     * The cause is not initialized and may subsequently be initialized by a call to {@link #initCause}.
+     *
+     * @param message the detail message. The detail message is saved for
+     *                later retrieval by the {@link #getMessage()} method.
+     */
+    public ServiceAccountNotFoundException(String message) {
+        super(message);
+    }
+}
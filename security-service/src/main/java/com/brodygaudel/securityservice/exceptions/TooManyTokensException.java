@@ -0,0 +1,23 @@
+package com.brodygaudel.securityservice.exceptions;
+
+/**
+ * Exception thrown when an introspection request holds more tokens than allowed per call.
+ * This exception is typically used to reject oversized batches before any token is verified.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public class TooManyTokensException extends Exception {
+
+    /**
+     * Constructs a new {@code TooManyTokensException} with the specified detail message.
+     * The cause is not initialized and may subsequently be initialized by a call to {@link #initCause}.
+     *
+     * @param message the detail message. The detail message is saved for
+     *                later retrieval by the {@link #getMessage()} method.
+     */
+    public TooManyTokensException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,123 @@
+package com.brodygaudel.securityservice.filter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit adapting itself to the observed latency, in the style of a gradient limiter.
+ * A short-term and a long-term moving average of the latency are tracked, the long-term one rising much
+ * more slowly than it falls so that a degradation is not mistaken for the new normal: while the short-term latency
+ * stays within the tolerance of the long-term one and the limit is being used, the limit grows by about
+ * the square root of itself; when the latency degrades the limit shrinks proportionally, and failures
+ * shrink it multiplicatively. Requests beyond the limit are rejected instead of queued.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public final class AdaptiveConcurrencyLimit {
+
+    private static final double SHORT_SMOOTHING = 0.1;
+    private static final double LONG_SMOOTHING_DOWN = 0.01;
+    private static final double LONG_SMOOTHING_UP = 0.002;
+    private static final double LIMIT_SMOOTHING = 0.2;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double FAILURE_BACKOFF = 0.9;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+    private double estimatedLimit;
+    private double shortRtt;
+    private double longRtt;
+
+    /**
+     * Constructs a new AdaptiveConcurrencyLimit.
+     *
+     * @param name         The name of the group of requests the limit applies to.
+     * @param initialLimit The initial limit.
+     * @param minLimit     The minimum limit.
+     * @param maxLimit     The maximum limit.
+     * @param tolerance    The ratio between the short-term and the long-term latency above which the limit shrinks.
+     */
+    public AdaptiveConcurrencyLimit(String name, int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.limit = Math.min(Math.max(initialLimit, minLimit), maxLimit);
+        this.estimatedLimit = limit;
+    }
+
+    /**
+     * Tries to admit a request.
+     *
+     * @return {@code true} if the request is admitted and must later be released, {@code false} if it must be shed.
+     */
+    public boolean tryAcquire() {
+        int current = inFlight.get();
+        while (current < limit) {
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+            current = inFlight.get();
+        }
+        return false;
+    }
+
+    /**
+     * Releases an admitted request and adapts the limit to its outcome.
+     *
+     * @param rttNanos The time the request took, in nanoseconds.
+     * @param failed   Whether the request failed because of the server, signalling overload.
+     */
+    public void release(long rttNanos, boolean failed) {
+        int concurrency = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (failed) {
+                estimatedLimit = Math.max(minLimit, estimatedLimit * FAILURE_BACKOFF);
+            } else {
+                if (longRtt == 0) {
+                    shortRtt = rttNanos;
+                    longRtt = rttNanos;
+                }
+                shortRtt += (rttNanos - shortRtt) * SHORT_SMOOTHING;
+                longRtt += (rttNanos - longRtt) * (rttNanos > longRtt ? LONG_SMOOTHING_UP : LONG_SMOOTHING_DOWN);
+                double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRtt / shortRtt));
+                double growth = gradient == 1.0 && concurrency * 2 >= estimatedLimit ? Math.sqrt(estimatedLimit) : 0;
+                double target = estimatedLimit * gradient + growth;
+                estimatedLimit = Math.min(maxLimit, Math.max(minLimit, estimatedLimit * (1 - LIMIT_SMOOTHING) + target * LIMIT_SMOOTHING));
+            }
+            limit = (int) estimatedLimit;
+        }
+    }
+
+    /**
+     * Returns the name of the group of requests the limit applies to.
+     *
+     * @return The name of the limit.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the current limit.
+     *
+     * @return The current limit.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Returns the number of requests currently admitted.
+     *
+     * @return The number of requests in flight.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,133 @@
+package com.brodygaudel.securityservice.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Filter shedding requests beyond adaptive concurrency limits.
+ * Requests are split into three groups, each with its own {@link AdaptiveConcurrencyLimit}: logins, which hash a
+ * password, reads, along with the other authentication requests, which only handle tokens, and admin writes. A request
+ * exceeding the limit of its group is rejected at once with a precomputed {@code 503} response instead of waiting for
+ * a Tomcat thread or a database connection, so that a slow database degrades throughput gradually instead of
+ * collapsing latency. The filter runs before Spring Security, so shed requests do not even pay for token verification.
+ * Health probes are never shed, so that an overloaded but healthy instance is not restarted or taken out of rotation.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String LOGIN_PATH = "/authentication/login";
+    private static final String AUTHENTICATION_PATH = "/authentication/";
+    private static final String HEALTH_PATH = "/actuator/health";
+    private static final String RETRY_AFTER_SECONDS = "1";
+    private static final byte[] BODY = "{\"error\":\"service_unavailable\",\"error_description\":\"The server is overloaded, retry later\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final boolean enabled;
+    private final AdaptiveConcurrencyLimit loginLimit;
+    private final AdaptiveConcurrencyLimit readLimit;
+    private final AdaptiveConcurrencyLimit writeLimit;
+
+    /**
+     * Constructs a new ConcurrencyLimitFilter with the specified parameters.
+     *
+     * @param parameters The ConcurrencyLimitParameters configuring the limits.
+     */
+    public ConcurrencyLimitFilter(@NotNull ConcurrencyLimitParameters parameters) {
+        this.enabled = Boolean.TRUE.equals(parameters.getEnabled());
+        this.loginLimit = new AdaptiveConcurrencyLimit("login", parameters.getLoginInitialLimit(), parameters.getMinLimit(), parameters.getLoginMaxLimit(), parameters.getTolerance());
+        this.readLimit = new AdaptiveConcurrencyLimit("read", parameters.getReadInitialLimit(), parameters.getMinLimit(), parameters.getReadMaxLimit(), parameters.getTolerance());
+        this.writeLimit = new AdaptiveConcurrencyLimit("write", parameters.getWriteInitialLimit(), parameters.getMinLimit(), parameters.getWriteMaxLimit(), parameters.getTolerance());
+    }
+
+    /**
+     * Admits the request within the limit of its group, or sheds it with a {@code 503} response.
+     *
+     * @param request The HTTP request.
+     * @param response The HTTP response.
+     * @param filterChain The filter chain for additional filters.
+     * @throws ServletException If an error occurs during the filter processing.
+     * @throws IOException If an I/O error occurs during the filter processing.
+     */
+    @Override
+    protected void doFilterInternal(@NotNull HttpServletRequest request, @NotNull HttpServletResponse response, @NotNull FilterChain filterChain) throws ServletException, IOException {
+        if (!enabled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        AdaptiveConcurrencyLimit limit = limitOf(request);
+        if (!limit.tryAcquire()) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(BODY.length);
+            response.getOutputStream().write(BODY);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() == HttpServletResponse.SC_SERVICE_UNAVAILABLE
+                    || response.getStatus() == HttpServletResponse.SC_GATEWAY_TIMEOUT;
+        } finally {
+            limit.release(System.nanoTime() - start, failed);
+        }
+    }
+
+    /**
+     * Lets the health probes through without taking a slot of any limit.
+     *
+     * @param request The HTTP request.
+     * @return {@code true} if the request is a health probe, {@code false} otherwise.
+     */
+    @Override
+    protected boolean shouldNotFilter(@NotNull HttpServletRequest request) {
+        String path = path(request);
+        return path.equals(HEALTH_PATH) || path.startsWith(HEALTH_PATH + "/");
+    }
+
+    /**
+     * Returns the limits of every group of requests.
+     *
+     * @return The login, read and write limits.
+     */
+    public List<AdaptiveConcurrencyLimit> getLimits() {
+        return List.of(loginLimit, readLimit, writeLimit);
+    }
+
+    /**
+     * Finds the limit of the group a request belongs to.
+     *
+     * @param request The HTTP request.
+     * @return The limit applying to the request.
+     */
+    private AdaptiveConcurrencyLimit limitOf(@NotNull HttpServletRequest request) {
+        String path = path(request);
+        if (path.equals(LOGIN_PATH)) {
+            return loginLimit;
+        }
+        return path.startsWith(AUTHENTICATION_PATH) || HttpMethod.GET.matches(request.getMethod()) ? readLimit : writeLimit;
+    }
+
+    private static @NotNull String path(@NotNull HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
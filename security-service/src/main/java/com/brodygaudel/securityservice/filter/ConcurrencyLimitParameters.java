@@ -0,0 +1,75 @@
+package com.brodygaudel.securityservice.filter;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration class representing the parameters of the adaptive concurrency limits.
+ * Each group of endpoints (logins, reads along with the other authentication requests, and admin writes) has its own
+ * initial and maximum limit, while the latency tolerance and the minimum limit are shared.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@NoArgsConstructor
+@Getter
+@Component
+public class ConcurrencyLimitParameters {
+
+    /**
+     * Whether requests exceeding the limits are shed.
+     */
+    @Value("${concurrency-limit-enabled}")
+    private Boolean enabled;
+
+    /**
+     * The minimum concurrency limit of every group.
+     */
+    @Value("${concurrency-limit-min}")
+    private Integer minLimit;
+
+    /**
+     * The ratio between the recent and the long-term latency above which limits start to shrink.
+     */
+    @Value("${concurrency-limit-tolerance}")
+    private Double tolerance;
+
+    /**
+     * The initial concurrency limit of login requests.
+     */
+    @Value("${concurrency-limit-login-initial}")
+    private Integer loginInitialLimit;
+
+    /**
+     * The maximum concurrency limit of login requests.
+     */
+    @Value("${concurrency-limit-login-max}")
+    private Integer loginMaxLimit;
+
+    /**
+     * The initial concurrency limit of read requests.
+     */
+    @Value("${concurrency-limit-read-initial}")
+    private Integer readInitialLimit;
+
+    /**
+     * The maximum concurrency limit of read requests.
+     */
+    @Value("${concurrency-limit-read-max}")
+    private Integer readMaxLimit;
+
+    /**
+     * The initial concurrency limit of admin write requests.
+     */
+    @Value("${concurrency-limit-write-initial}")
+    private Integer writeInitialLimit;
+
+    /**
+     * The maximum concurrency limit of admin write requests.
+     */
+    @Value("${concurrency-limit-write-max}")
+    private Integer writeMaxLimit;
+}
@@ -0,0 +1,81 @@
+package com.brodygaudel.securityservice.profiling;
+
+import com.brodygaudel.securityservice.dto.HibernateStatisticsDTO;
+import com.brodygaudel.securityservice.dto.SlowQueryDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Actuator endpoint exposing the Hibernate statistics at {@code /actuator/hibernate}.
+ * The statistics are only collected when {@code hibernate-statistics-enabled} is set; queries slower than
+ * {@code hibernate-slow-query-threshold} milliseconds are then sampled, and the slowest ones returned first.
+ * A {@code DELETE} clears the statistics, for instance before replaying a scenario.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@Component
+@Profile("!edge")
+@Endpoint(id = "hibernate")
+public class HibernateStatisticsEndpoint {
+
+    private static final int MAX_SLOW_QUERIES = 20;
+
+    private final Statistics statistics;
+
+    /**
+     * Constructs a new HibernateStatisticsEndpoint.
+     *
+     * @param entityManagerFactory The EntityManagerFactory whose statistics are exposed.
+     */
+    public HibernateStatisticsEndpoint(@NotNull EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Returns the Hibernate statistics.
+     *
+     * @return The statistics encapsulated in a HibernateStatisticsDTO.
+     */
+    @ReadOperation
+    public HibernateStatisticsDTO statistics() {
+        List<SlowQueryDTO> slowQueries = statistics.getSlowQueries().entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(MAX_SLOW_QUERIES)
+                .map(entry -> new SlowQueryDTO(entry.getKey(), entry.getValue()))
+                .toList();
+        return new HibernateStatisticsDTO(
+                statistics.isStatisticsEnabled(),
+                statistics.getPrepareStatementCount(),
+                statistics.getQueryExecutionCount(),
+                statistics.getEntityLoadCount(),
+                statistics.getEntityFetchCount(),
+                statistics.getCollectionLoadCount(),
+                statistics.getCollectionFetchCount(),
+                statistics.getTransactionCount(),
+                statistics.getQueryExecutionMaxTime(),
+                statistics.getQueryExecutionMaxTimeQueryString(),
+                slowQueries
+        );
+    }
+
+    /**
+     * Clears the Hibernate statistics.
+     */
+    @DeleteOperation
+    public void clear() {
+        statistics.clear();
+    }
+}
@@ -0,0 +1,65 @@
+package com.brodygaudel.securityservice.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Registered;
+import jdk.jfr.StackTrace;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Flight Recorder event timing a phase of a login: the resolution of an email to its username, the match of the
+ * password against its bcrypt hash, and the signature of the issued token.
+ * The event is not registered until the events are enabled, so that it costs nothing otherwise.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@Name("com.brodygaudel.securityservice.LoginPhase")
+@Label("Login Phase")
+@Category({"Security Service", "Authentication"})
+@Description("A phase of a login")
+@Registered(false)
+@StackTrace(false)
+public class LoginPhaseEvent extends jdk.jfr.Event {
+
+    public static final String RESOLVE = "resolve";
+    public static final String PASSWORD_MATCH = "password-match";
+    public static final String SIGN = "sign";
+
+    @Label("Phase")
+    private final String phase;
+
+    /**
+     * Constructs a new LoginPhaseEvent.
+     *
+     * @param phase The name of the phase.
+     */
+    private LoginPhaseEvent(String phase) {
+        this.phase = phase;
+    }
+
+    /**
+     * Starts timing a phase.
+     *
+     * @param phase The name of the phase.
+     * @return The started event.
+     */
+    public static @NotNull LoginPhaseEvent start(String phase) {
+        LoginPhaseEvent event = new LoginPhaseEvent(phase);
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Stops timing the phase and commits the event if it is recorded.
+     */
+    public void finish() {
+        end();
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.brodygaudel.securityservice.profiling;
+
+import jdk.jfr.FlightRecorder;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration class enabling the custom Flight Recorder events and the {@code Server-Timing} header.
+ * When {@code jfr-events-enabled} is set, the events are registered with the Flight Recorder, which instruments
+ * them so that a running recording captures them. Otherwise the events are never registered: their {@code begin()}
+ * and {@code commit()} stay empty. The {@link QueryCounter} is installed in Hibernate when the events, the
+ * {@code Server-Timing} header or the Hibernate statistics are enabled, and repository invocations are added to the
+ * {@link RequestTimings} of sampled requests when the header is enabled.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@Configuration
+@Slf4j
+public class ProfilingConfiguration {
+
+    private final boolean countQueries;
+
+    /**
+     * Constructs a new ProfilingConfiguration, registering the events if they are enabled.
+     *
+     * @param enabled           Whether the Flight Recorder events are enabled.
+     * @param sampleRate        The fraction of the responses getting a {@code Server-Timing} header.
+     * @param statisticsEnabled Whether the Hibernate statistics are enabled.
+     */
+    public ProfilingConfiguration(@Value("${jfr-events-enabled}") boolean enabled, @Value("${server-timing-sample-rate}") double sampleRate, @Value("${hibernate-statistics-enabled}") boolean statisticsEnabled) {
+        this.countQueries = enabled || sampleRate > 0 || statisticsEnabled;
+        if (enabled) {
+            FlightRecorder.register(LoginPhaseEvent.class);
+            FlightRecorder.register(TokenPhaseEvent.class);
+            FlightRecorder.register(UserOperationEvent.class);
+            log.info("Flight Recorder events registered");
+        }
+    }
+
+    /**
+     * Installs the {@link QueryCounter} in Hibernate when the events, the {@code Server-Timing} header or the
+     * Hibernate statistics are enabled.
+     *
+     * @return The HibernatePropertiesCustomizer.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer queryCounterCustomizer() {
+        return properties -> {
+            if (countQueries) {
+                properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCounter());
+            }
+        };
+    }
+
+    /**
+     * Adds the duration of repository invocations to the {@code db} phase of sampled requests when the
+     * {@code Server-Timing} header is enabled.
+     *
+     * @param sampleRate The fraction of the responses getting a {@code Server-Timing} header.
+     * @return The BeanPostProcessor customizing the repository factories.
+     */
+    @Bean
+    public static BeanPostProcessor repositoryTimingPostProcessor(@Value("${server-timing-sample-rate}") double sampleRate) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(@NotNull Object bean, @NotNull String beanName) {
+                if (sampleRate > 0 && bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addInvocationListener(
+                            invocation -> RequestTimings.add(RequestTimings.Phase.DB, invocation.getDuration(TimeUnit.NANOSECONDS))));
+                }
+                return bean;
+            }
+        };
+    }
+}
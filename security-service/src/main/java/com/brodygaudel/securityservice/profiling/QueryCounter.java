@@ -0,0 +1,39 @@
+package com.brodygaudel.securityservice.profiling;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector counting the SQL statements prepared by each thread.
+ * The {@link UserOperationEvent} and the {@link RequestTimings} read the counter before and after an operation
+ * to report its number of queries. Unlike the Hibernate statistics, the count is not disturbed by the statements
+ * of other threads. It is only installed when one of its readers is enabled, and returns every statement unchanged.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public class QueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    /**
+     * Counts a statement prepared by the current thread.
+     *
+     * @param sql The SQL of the statement.
+     * @return The unchanged SQL.
+     */
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * Returns the number of statements prepared by the current thread so far.
+     *
+     * @return The number of statements.
+     */
+    public static int count() {
+        return COUNT.get()[0];
+    }
+}
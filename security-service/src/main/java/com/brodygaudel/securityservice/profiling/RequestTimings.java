@@ -0,0 +1,137 @@
+package com.brodygaudel.securityservice.profiling;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Locale;
+
+/**
+ * Collector of the time spent by the current request in each of its phases, emitted as a {@code Server-Timing} header.
+ * A collector is only bound to the thread of the requests sampled by the {@code ServerTimingFilter}; for every other
+ * request {@link #record(Phase, long)} finds no collector and returns at once. The number of SQL statements is only
+ * reported to administrators: on unauthenticated endpoints such as the login, it would tell whether an account exists.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public final class RequestTimings {
+
+    /**
+     * The phases of a request reported in the {@code Server-Timing} header.
+     */
+    public enum Phase {
+        FILTER, DB, HASH, SERIALIZE;
+
+        private final String metric = name().toLowerCase(Locale.ROOT);
+    }
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final long[] durations = new long[Phase.values().length];
+    private final int queriesAtStart;
+    private long serializationStart;
+    private boolean queriesRevealed;
+
+    /**
+     * Constructs a new RequestTimings.
+     */
+    private RequestTimings() {
+        this.queriesAtStart = QueryCounter.count();
+    }
+
+    /**
+     * Binds a new collector to the current thread.
+     *
+     * @return The bound collector.
+     */
+    public static @NotNull RequestTimings start() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    /**
+     * Unbinds the collector of the current thread.
+     */
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Adds the time elapsed since a start to a phase of the current request, if it is sampled.
+     *
+     * @param phase The phase.
+     * @param start The start of the phase, as returned by {@link System#nanoTime()}.
+     */
+    public static void record(Phase phase, long start) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.durations[phase.ordinal()] += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Adds a duration to a phase of the current request, if it is sampled.
+     *
+     * @param phase    The phase.
+     * @param duration The duration in nanoseconds.
+     */
+    public static void add(Phase phase, long duration) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.durations[phase.ordinal()] += duration;
+        }
+    }
+
+    /**
+     * Lets the {@code Server-Timing} header of the current request, if it is sampled, describe its number of SQL
+     * statements. Called once the caller is authenticated as an administrator.
+     */
+    public static void revealQueries() {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.queriesRevealed = true;
+        }
+    }
+
+    /**
+     * Marks the start of the serialization of the response body of the current request, if it is sampled.
+     */
+    public static void startSerialization() {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.serializationStart = System.nanoTime();
+        }
+    }
+
+    /**
+     * Ends the serialization of the response body, if it was started.
+     */
+    public void endSerialization() {
+        if (serializationStart != 0) {
+            durations[Phase.SERIALIZE.ordinal()] += System.nanoTime() - serializationStart;
+            serializationStart = 0;
+        }
+    }
+
+    /**
+     * Formats the collected durations as the value of a {@code Server-Timing} header, in milliseconds.
+     * The {@code db} metric describes the number of SQL statements prepared by the request, if they are revealed.
+     *
+     * @return The header value.
+     */
+    public @NotNull String header() {
+        StringBuilder header = new StringBuilder(96);
+        for (Phase phase : Phase.values()) {
+            if (!header.isEmpty()) {
+                header.append(", ");
+            }
+            header.append(phase.metric).append(";dur=")
+                    .append(String.format(Locale.ROOT, "%.3f", durations[phase.ordinal()] / 1_000_000.0));
+            if (phase == Phase.DB && queriesRevealed) {
+                header.append(";desc=\"").append(QueryCounter.count() - queriesAtStart).append(" queries\"");
+            }
+        }
+        return header.toString();
+    }
+}
@@ -0,0 +1,52 @@
+package com.brodygaudel.securityservice.profiling;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Advice marking the start of the serialization of response bodies in the {@link RequestTimings} of sampled requests.
+ * It runs right before the message converter writes the body, so the time left until the end of the request is
+ * reported as the {@code serialize} phase.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@ControllerAdvice
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    /**
+     * Applies the advice to every response body.
+     *
+     * @param returnType    The return type of the controller method.
+     * @param converterType The selected converter type.
+     * @return {@code true}.
+     */
+    @Override
+    public boolean supports(@NotNull MethodParameter returnType, @NotNull Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    /**
+     * Marks the start of the serialization and returns the body unchanged.
+     *
+     * @param body                  The body to be written.
+     * @param returnType            The return type of the controller method.
+     * @param selectedContentType   The content type selected through content negotiation.
+     * @param selectedConverterType The converter type selected to write to the response.
+     * @param request               The current request.
+     * @param response              The current response.
+     * @return The unchanged body.
+     */
+    @Override
+    public Object beforeBodyWrite(Object body, @NotNull MethodParameter returnType, @NotNull MediaType selectedContentType, @NotNull Class<? extends HttpMessageConverter<?>> selectedConverterType, @NotNull ServerHttpRequest request, @NotNull ServerHttpResponse response) {
+        RequestTimings.startSerialization();
+        return body;
+    }
+}
@@ -0,0 +1,70 @@
+package com.brodygaudel.securityservice.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Registered;
+import jdk.jfr.StackTrace;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Flight Recorder event timing a phase of the inspection of a bearer token: its verification, served from the
+ * verified-token cache or not, and the build of its granted authorities.
+ * The event is not registered until the events are enabled, so that it costs nothing otherwise.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@Name("com.brodygaudel.securityservice.TokenPhase")
+@Label("Token Phase")
+@Category({"Security Service", "Authorization"})
+@Description("A phase of the inspection of a bearer token")
+@Registered(false)
+@StackTrace(false)
+public class TokenPhaseEvent extends jdk.jfr.Event {
+
+    public static final String VERIFY = "verify";
+    public static final String AUTHORITIES = "authorities";
+
+    @Label("Phase")
+    private final String phase;
+
+    @Label("Result")
+    private String result;
+
+    /**
+     * Constructs a new TokenPhaseEvent.
+     *
+     * @param phase The name of the phase.
+     */
+    private TokenPhaseEvent(String phase) {
+        this.phase = phase;
+    }
+
+    /**
+     * Starts timing a phase.
+     *
+     * @param phase The name of the phase.
+     * @return The started event.
+     */
+    public static @NotNull TokenPhaseEvent start(String phase) {
+        TokenPhaseEvent event = new TokenPhaseEvent(phase);
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Stops timing the phase and commits the event if it is recorded.
+     *
+     * @param result The result of the phase, such as {@code "valid"} or the reason of a rejection.
+     */
+    public void finish(String result) {
+        end();
+        if (shouldCommit()) {
+            this.result = result;
+            commit();
+        }
+    }
+}
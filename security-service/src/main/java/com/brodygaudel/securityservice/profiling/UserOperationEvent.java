@@ -0,0 +1,82 @@
+package com.brodygaudel.securityservice.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Registered;
+import jdk.jfr.StackTrace;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Flight Recorder event timing an operation of the user service, with the number of users it returned or modified
+ * and the number of SQL statements it prepared, as counted by the {@link QueryCounter}.
+ * The event is not registered until the events are enabled, so that it costs nothing otherwise.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@Name("com.brodygaudel.securityservice.UserOperation")
+@Label("User Operation")
+@Category({"Security Service", "Users"})
+@Description("An operation of the user service")
+@Registered(false)
+@StackTrace(false)
+public class UserOperationEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    private final String operation;
+
+    @Label("User Count")
+    private int userCount;
+
+    @Label("Query Count")
+    private int queryCount;
+
+    private transient int queriesAtStart;
+
+    /**
+     * Constructs a new UserOperationEvent.
+     *
+     * @param operation The name of the operation.
+     */
+    private UserOperationEvent(String operation) {
+        this.operation = operation;
+    }
+
+    /**
+     * Starts timing an operation.
+     *
+     * @param operation The name of the operation.
+     * @return The started event.
+     */
+    public static @NotNull UserOperationEvent start(String operation) {
+        UserOperationEvent event = new UserOperationEvent(operation);
+        if (event.isEnabled()) {
+            event.queriesAtStart = QueryCounter.count();
+        }
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Sets the number of users returned or modified by the operation.
+     *
+     * @param userCount The number of users.
+     */
+    public void users(int userCount) {
+        this.userCount = userCount;
+    }
+
+    /**
+     * Stops timing the operation and commits the event if it is recorded.
+     */
+    public void finish() {
+        end();
+        if (shouldCommit()) {
+            queryCount = QueryCounter.count() - queriesAtStart;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.brodygaudel.securityservice.repository;
+
+import com.brodygaudel.securityservice.dto.LoginActivityDTO;
+
+import java.util.List;
+
+/**
+ * Repository fragment writing the login activity of users in JDBC batches.
+ * It backs the write-behind tracking of the last login and failed attempts of users.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public interface LoginActivityBatchRepository {
+
+    /**
+     * Applies the accumulated login activity of users in a single batch.
+     *
+     * @param activities The login activity of each user.
+     */
+    void updateLoginActivities(List<LoginActivityDTO> activities);
+}
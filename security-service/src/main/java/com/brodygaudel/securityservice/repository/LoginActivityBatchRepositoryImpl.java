@@ -0,0 +1,54 @@
+package com.brodygaudel.securityservice.repository;
+
+import com.brodygaudel.securityservice.dto.LoginActivityDTO;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * JDBC implementation of the {@link LoginActivityBatchRepository} fragment.
+ * A single batched statement either resets the failure counter with the last login time, or adds the failures
+ * accumulated since the previous flush, so that concurrent instances never overwrite each other's counts.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public class LoginActivityBatchRepositoryImpl implements LoginActivityBatchRepository {
+
+    private static final String UPDATE = "update user set last_login = coalesce(?, last_login), "
+            + "failed_attempts = case when ? then ? else coalesce(failed_attempts, 0) + ? end where username = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructs a new LoginActivityBatchRepositoryImpl with the specified JdbcTemplate.
+     *
+     * @param jdbcTemplate The JdbcTemplate used to run the batches.
+     */
+    public LoginActivityBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Applies the accumulated login activity of users in a single batch.
+     *
+     * @param activities The login activity of each user.
+     */
+    @Override
+    public void updateLoginActivities(List<LoginActivityDTO> activities) {
+        jdbcTemplate.batchUpdate(UPDATE, activities, activities.size(), (statement, activity) -> {
+            if (activity.lastLogin() == null) {
+                statement.setNull(1, Types.TIMESTAMP);
+            } else {
+                statement.setTimestamp(1, Timestamp.valueOf(activity.lastLogin()));
+            }
+            statement.setBoolean(2, activity.reset());
+            statement.setInt(3, activity.failedAttempts());
+            statement.setInt(4, activity.failedAttempts());
+            statement.setString(5, activity.username());
+        });
+    }
+}
@@ -0,0 +1,29 @@
+package com.brodygaudel.securityservice.repository;
+
+import com.brodygaudel.securityservice.entity.RefreshToken;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Repository fragment writing refresh tokens in JDBC batches.
+ * It backs the write-behind store of refresh tokens, whose flushes mix new tokens and state changes of known ones.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public interface RefreshTokenBatchRepository {
+
+    /**
+     * Inserts the new refresh tokens, sets the revoked flag of the known ones, and marks the rotated ones consumed
+     * unless they were consumed or revoked already, in a single transaction.
+     *
+     * @param refreshTokens The refresh tokens to write.
+     * @return The families to revoke: those of the rotated tokens the database refused to mark consumed, which have
+     * been replayed, and those of the written tokens that another instance revoked.
+     */
+    @Transactional
+    Set<String> writeAll(List<RefreshToken> refreshTokens);
+}
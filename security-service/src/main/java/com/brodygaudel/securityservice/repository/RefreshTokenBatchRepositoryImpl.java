@@ -0,0 +1,80 @@
+package com.brodygaudel.securityservice.repository;
+
+import com.brodygaudel.securityservice.entity.RefreshToken;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * JDBC implementation of the {@link RefreshTokenBatchRepository} fragment.
+ * Rows are upserted with {@code INSERT ... ON DUPLICATE KEY UPDATE}, so that a flush costs one batched statement
+ * instead of the select and insert or update per entity of {@code saveAll}. The revoked flag is only ever set, so that
+ * a stale state written late cannot bring a revoked token back. The rotated flag is only set by a conditional update,
+ * so that a token is consumed once across every instance, and a token consumed on two instances is caught by the
+ * flush of the second one. A token written after its family was revoked on another instance is caught by the lookup of
+ * the revoked families that ends each batch.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public class RefreshTokenBatchRepositoryImpl implements RefreshTokenBatchRepository {
+
+    private static final String UPSERT = "insert into refresh_token (id, family, username, token_version, expires_at, rotated, revoked) "
+            + "values (?, ?, ?, ?, ?, false, ?) on duplicate key update revoked = revoked or values(revoked)";
+
+    private static final String MARK_ROTATED = "update refresh_token set rotated = true where id = ? and rotated = false and revoked = false";
+
+    private static final String REVOKED_FAMILIES = "select distinct family from refresh_token where revoked = true and family in ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructs a new RefreshTokenBatchRepositoryImpl with the specified JdbcTemplate.
+     *
+     * @param jdbcTemplate The JdbcTemplate used to run the batches.
+     */
+    public RefreshTokenBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts the new refresh tokens and sets the revoked flag of the known ones in a first batch, marks the rotated
+     * ones consumed in a second one, then looks up which families of the tokens not revoked here have been revoked.
+     *
+     * @param refreshTokens The refresh tokens to write.
+     * @return The families to revoke.
+     */
+    @Override
+    public Set<String> writeAll(List<RefreshToken> refreshTokens) {
+        jdbcTemplate.batchUpdate(UPSERT, refreshTokens, refreshTokens.size(), (statement, refreshToken) -> {
+            statement.setString(1, refreshToken.getId());
+            statement.setString(2, refreshToken.getFamily());
+            statement.setString(3, refreshToken.getUsername());
+            statement.setLong(4, refreshToken.getTokenVersion());
+            statement.setLong(5, refreshToken.getExpiresAt());
+            statement.setBoolean(6, refreshToken.isRevoked());
+        });
+        List<RefreshToken> live = refreshTokens.stream().filter(refreshToken -> !refreshToken.isRevoked()).toList();
+        Set<String> revoked = new HashSet<>();
+        List<RefreshToken> rotated = live.stream().filter(RefreshToken::isRotated).toList();
+        if (!rotated.isEmpty()) {
+            int[][] counts = jdbcTemplate.batchUpdate(MARK_ROTATED, rotated, rotated.size(),
+                    (statement, refreshToken) -> statement.setString(1, refreshToken.getId()));
+            for (int i = 0; i < rotated.size(); i++) {
+                if (counts[0][i] == 0) {
+                    revoked.add(rotated.get(i).getFamily());
+                }
+            }
+        }
+        List<String> families = live.stream().map(RefreshToken::getFamily).distinct().toList();
+        if (!families.isEmpty()) {
+            String placeholders = String.join(", ", Collections.nCopies(families.size(), "?"));
+            revoked.addAll(jdbcTemplate.queryForList(REVOKED_FAMILIES + "(" + placeholders + ")", String.class, families.toArray()));
+        }
+        return revoked;
+    }
+}
@@ -0,0 +1,42 @@
+package com.brodygaudel.securityservice.repository;
+
+import com.brodygaudel.securityservice.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository interface for managing refresh token entities in the database.
+ * This interface extends JpaRepository for lookups, and {@link RefreshTokenBatchRepository} for the batched
+ * writes of the write-behind store.
+ *
+ * @see JpaRepository
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String>, RefreshTokenBatchRepository {
+
+    /**
+     * Deletes the refresh tokens that expired before the given time.
+     *
+     * @param now The current time, in epoch milliseconds.
+     * @return The number of deleted refresh tokens.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken r where r.expiresAt < ?1")
+    int deleteExpired(long now);
+
+    /**
+     * Revokes every refresh token of a family.
+     *
+     * @param family The family of the refresh tokens.
+     * @return The number of revoked refresh tokens.
+     */
+    @Transactional
+    @Modifying
+    @Query("update RefreshToken r set r.revoked = true where r.family = ?1")
+    int revokeFamily(String family);
+}
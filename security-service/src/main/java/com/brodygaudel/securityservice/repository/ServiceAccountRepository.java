@@ -0,0 +1,63 @@
+package com.brodygaudel.securityservice.repository;
+
+import com.brodygaudel.securityservice.dto.UserTokenVersionDTO;
+import com.brodygaudel.securityservice.entity.ServiceAccount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Repository interface for managing service account entities in the database.
+ * This interface extends JpaRepository to provide CRUD operations for the ServiceAccount entity.
+ *
+ * @see JpaRepository
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public interface ServiceAccountRepository extends JpaRepository<ServiceAccount, String> {
+
+    /**
+     * Retrieves a service account by its client identifier.
+     * Read on the primary, so that a service account deleted or disabled there is never authenticated from a lagging replica.
+     *
+     * @param clientId The client identifier of the service account to retrieve.
+     * @return The service account with the specified client identifier, or null if not found.
+     */
+    @Transactional
+    @Query("select s from ServiceAccount s where s.clientId = ?1")
+    ServiceAccount findByClientId(String clientId);
+
+    /**
+     * Checks if a service account with the given client identifier already exists.
+     *
+     * @param clientId The client identifier to check for existence.
+     * @return True if a service account with the specified client identifier exists, false otherwise.
+     */
+    @Query("select case when count(s)>0 then true else false END from ServiceAccount s where s.clientId = ?1")
+    Boolean checkIfClientIdExists(String clientId);
+
+    /**
+     * Retrieves the token version and enabled status of every service account.
+     * The client identifier stands in place of the username.
+     * Read on the primary, so that a synchronization does not revoke service accounts the replication has not copied yet.
+     *
+     * @return A list of projections containing the client identifier, token version and enabled status of each service account.
+     */
+    @Transactional
+    @Query("select new com.brodygaudel.securityservice.dto.UserTokenVersionDTO(s.clientId, s.tokenVersion, s.enabled) from ServiceAccount s")
+    List<UserTokenVersionDTO> findAllTokenVersions();
+
+    /**
+     * Retrieves the token version and enabled status of the service account with the given client identifier.
+     * Read on the primary, so that a service account just created on another node is not rejected because of the replication lag.
+     *
+     * @param clientId The client identifier of the service account.
+     * @return A projection containing the client identifier, token version and enabled status, or null if not found.
+     */
+    @Transactional
+    @Query("select new com.brodygaudel.securityservice.dto.UserTokenVersionDTO(s.clientId, s.tokenVersion, s.enabled) from ServiceAccount s where s.clientId = ?1")
+    UserTokenVersionDTO findTokenVersionByClientId(String clientId);
+}
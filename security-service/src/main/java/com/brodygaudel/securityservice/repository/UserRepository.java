@@ -0,0 +1,112 @@
+package com.brodygaudel.securityservice.repository;
+
+import com.brodygaudel.securityservice.dto.UserTokenVersionDTO;
+import com.brodygaudel.securityservice.entity.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for managing user entities in the database.
+ * This interface extends JpaRepository to provide CRUD operations for the User entity, and
+ * {@link LoginActivityBatchRepository} for the batched writes of their login activity.
+ *
+ * @see JpaRepository
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public interface UserRepository extends JpaRepository<User, String>, LoginActivityBatchRepository {
+
+    /**
+     * Retrieves a user by their username.
+     * Read on the primary, so that a login never checks a password the replication has not updated yet.
+     *
+     * @param username The username of the user to retrieve.
+     * @return The user with the specified username, or null if not found.
+     */
+    @Transactional
+    @Query("select u from User u where u.username = ?1")
+    User findByUsername(String username);
+
+    /**
+     * Retrieves a user by their email address.
+     * Read on the primary, so that a login never checks a password the replication has not updated yet.
+     *
+     * @param email The email address of the user to retrieve.
+     * @return The user with the specified email address, or null if not found.
+     */
+    @Transactional
+    @Query("select u from User u where u.email = ?1")
+    User findByEmail(String email);
+
+    /**
+     * Checks if a user with the given username already exists.
+     *
+     * @param username The username to check for existence.
+     * @return True if a user with the specified username exists, false otherwise.
+     */
+    @Query("select case when count(u)>0 then true else false END from User u where u.username = ?1")
+    Boolean checkIfUsernameExists(String username);
+
+    /**
+     * Checks if a user with the given email address already exists.
+     *
+     * @param email The email address to check for existence.
+     * @return True if a user with the specified email address exists, false otherwise.
+     */
+    @Query("select case when count(u)>0 then true else false END from User u where u.email = ?1")
+    Boolean checkIfEmailExists(String email);
+
+    /**
+     * Retrieves the token version and enabled status of every user.
+     * Read on the primary, so that a synchronization does not revoke users the replication has not copied yet.
+     *
+     * @return A list of projections containing the username, token version and enabled status of each user.
+     */
+    @Transactional
+    @Query("select new com.brodygaudel.securityservice.dto.UserTokenVersionDTO(u.username, u.tokenVersion, u.enabled) from User u")
+    List<UserTokenVersionDTO> findAllTokenVersions();
+
+    /**
+     * Retrieves the token version and enabled status of the user with the given username.
+     * Read on the primary, so that a user just created on another node is not rejected because of the replication lag.
+     *
+     * @param username The username of the user.
+     * @return A projection containing the username, token version and enabled status of the user, or null if not found.
+     */
+    @Transactional
+    @Query("select new com.brodygaudel.securityservice.dto.UserTokenVersionDTO(u.username, u.tokenVersion, u.enabled) from User u where u.username = ?1")
+    UserTokenVersionDTO findTokenVersionByUsername(String username);
+
+    /**
+     * Retrieves the token version and enabled status of the users with the given identifiers.
+     * Read on the primary, so that a restored cache entry is checked against the latest token version.
+     *
+     * @param ids The identifiers of the users.
+     * @return A list of projections containing the username, token version and enabled status of each user found.
+     */
+    @Transactional
+    @Query("select new com.brodygaudel.securityservice.dto.UserTokenVersionDTO(u.username, u.tokenVersion, u.enabled) from User u where u.id in ?1")
+    List<UserTokenVersionDTO> findTokenVersionsByIds(Collection<String> ids);
+
+    /**
+     * Retrieves the usernames of the users who logged in most recently.
+     *
+     * @param pageable The page of users to retrieve, the first one holding the most recent logins.
+     * @return The usernames, by descending last login.
+     */
+    @Query("select u.username from User u where u.lastLogin is not null order by u.lastLogin desc")
+    List<String> findMostRecentlyActiveUsernames(Pageable pageable);
+
+    /**
+     * Checks if at least one user exists, reading a single row instead of loading or counting them all.
+     *
+     * @return True if the table of users is not empty, false otherwise.
+     */
+    boolean existsByIdNotNull();
+}
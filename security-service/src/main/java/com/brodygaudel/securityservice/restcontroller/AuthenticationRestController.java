@@ -0,0 +1,167 @@
+package com.brodygaudel.securityservice.restcontroller;
+
+import com.brodygaudel.securityservice.dto.ClientCredentialsRequestDTO;
+import com.brodygaudel.securityservice.dto.ClientTokenResponseDTO;
+import com.brodygaudel.securityservice.dto.IntrospectionRequestDTO;
+import com.brodygaudel.securityservice.dto.LoginRequestDTO;
+import com.brodygaudel.securityservice.dto.LoginResponseDTO;
+import com.brodygaudel.securityservice.dto.RefreshRequestDTO;
+import com.brodygaudel.securityservice.dto.TokenIntrospectionDTO;
+import com.brodygaudel.securityservice.exceptions.InvalidRefreshTokenException;
+import com.brodygaudel.securityservice.exceptions.LoginThrottledException;
+import com.brodygaudel.securityservice.exceptions.TooManyTokensException;
+import com.brodygaudel.securityservice.service.AuthenticationService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Rest controller for handling authentication-related HTTP requests.
+ * This controller exposes endpoints for authentication operations, such as user login.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@RestController
+@Profile("!edge")
+@RequestMapping("/authentication")
+public class AuthenticationRestController {
+
+    private static final String BEARER = "Bearer ";
+    private final AuthenticationService authenticationService;
+
+    /**
+     * Constructs a new AuthenticationRestController with the specified AuthenticationService dependency.
+     *
+     * @param authenticationService The AuthenticationService used for handling authentication operations.
+     */
+    public AuthenticationRestController(AuthenticationService authenticationService) {
+        this.authenticationService = authenticationService;
+    }
+
+    /**
+     * Handles HTTP POST requests for user login/authentication.
+     *
+     * @param loginRequestDTO The LoginRequestDTO containing user credentials for authentication.
+     * @param request         The HTTP request, providing the address of the client.
+     * @return The result of the login operation encapsulated in a LoginResponseDTO.
+     *         If the login is successful, the response may include user details and a JWT token.
+     *         If the login fails, appropriate error details may be included in the response.
+     * @throws LoginThrottledException If too many failed attempts were made for the username or from the client address.
+     */
+    @PostMapping("/login")
+    public LoginResponseDTO login(@RequestBody LoginRequestDTO loginRequestDTO, @NotNull HttpServletRequest request) throws LoginThrottledException {
+        return authenticationService.login(loginRequestDTO, request.getRemoteAddr());
+    }
+
+    /**
+     * Handles HTTP POST requests for exchanging a refresh token for a new JWT and refresh token.
+     *
+     * @param refreshRequestDTO The RefreshRequestDTO holding the refresh token.
+     * @return The issued tokens encapsulated in a LoginResponseDTO.
+     * @throws InvalidRefreshTokenException If the refresh token is unknown, expired, revoked or already used.
+     */
+    @PostMapping("/refresh")
+    public LoginResponseDTO refresh(@RequestBody RefreshRequestDTO refreshRequestDTO) throws InvalidRefreshTokenException {
+        return authenticationService.refresh(refreshRequestDTO);
+    }
+
+    /**
+     * Handles HTTP POST requests for the client-credentials grant of service accounts.
+     *
+     * @param clientCredentialsRequestDTO The ClientCredentialsRequestDTO containing the client credentials and the requested scope.
+     * @param request                     The HTTP request, providing the address of the client.
+     * @return The issued token encapsulated in a ClientTokenResponseDTO.
+     * @throws LoginThrottledException If too many failed attempts were made for the client or from the client address.
+     */
+    @PostMapping("/token")
+    public ClientTokenResponseDTO token(@RequestBody ClientCredentialsRequestDTO clientCredentialsRequestDTO, @NotNull HttpServletRequest request) throws LoginThrottledException {
+        return authenticationService.token(clientCredentialsRequestDTO, request.getRemoteAddr());
+    }
+
+    /**
+     * Handles HTTP POST requests for logging out, revoking the bearer token of the request.
+     *
+     * @param authorization The Authorization header of the request, holding the bearer token.
+     */
+    @PostMapping("/logout")
+    public void logout(@RequestHeader(HttpHeaders.AUTHORIZATION) @NotNull String authorization){
+        authenticationService.revoke(authorization.substring(BEARER.length()));
+    }
+
+    /**
+     * Handles HTTP POST requests for revoking a compromised token.
+     *
+     * @param jwt The token to revoke.
+     */
+    @PostMapping("/revoke")
+    public void revoke(@RequestBody String jwt){
+        authenticationService.revoke(jwt.strip());
+    }
+
+    /**
+     * Handles HTTP POST requests for introspecting a batch of tokens on behalf of a gateway.
+     *
+     * @param introspectionRequestDTO The IntrospectionRequestDTO holding the tokens to introspect.
+     * @return The introspection of each token, in the order of the request.
+     * @throws TooManyTokensException If the request holds more tokens than allowed per call.
+     */
+    @PostMapping("/introspect")
+    public List<TokenIntrospectionDTO> introspect(@RequestBody IntrospectionRequestDTO introspectionRequestDTO) throws TooManyTokensException {
+        return authenticationService.introspect(introspectionRequestDTO);
+    }
+
+    /**
+     * Exception handler for refresh tokens that cannot be exchanged.
+     *
+     * @param exception The exception to handle.
+     * @return A ResponseEntity with an error message and the HTTP status code 401.
+     */
+    @ExceptionHandler(InvalidRefreshTokenException.class)
+    public ResponseEntity<String> invalidRefreshTokenExceptionHandler(@NotNull InvalidRefreshTokenException exception) {
+        return new ResponseEntity<>(exception.getMessage(), HttpStatus.UNAUTHORIZED);
+    }
+
+    /**
+     * Exception handler for oversized introspection requests.
+     *
+     * @param exception The exception to handle.
+     * @return A ResponseEntity with an error message and the HTTP status code 400.
+     */
+    @ExceptionHandler(TooManyTokensException.class)
+    public ResponseEntity<String> tooManyTokensExceptionHandler(@NotNull TooManyTokensException exception) {
+        return new ResponseEntity<>(exception.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Exception handler for throttled login attempts.
+     *
+     * @param exception The exception to handle.
+     * @return A ResponseEntity with an error message, a Retry-After header and the HTTP status code 429.
+     */
+    @ExceptionHandler(LoginThrottledException.class)
+    public ResponseEntity<String> loginThrottledExceptionHandler(@NotNull LoginThrottledException exception) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
+                .body(exception.getMessage());
+    }
+
+    /**
+     * Exception handler for handling exceptions thrown within this controller.
+     *
+     * @param exception The exception to handle.
+     * @return A ResponseEntity with an error message and HTTP status code.
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<String> exceptionHandler(@NotNull Exception exception) {
+        return new ResponseEntity<>(exception.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+}
+
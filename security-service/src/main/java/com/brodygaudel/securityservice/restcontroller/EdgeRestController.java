@@ -0,0 +1,52 @@
+package com.brodygaudel.securityservice.restcontroller;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.stream.Collectors;
+
+/**
+ * REST controller of the verify-only {@code edge} profile.
+ * A reverse proxy forwards the Authorization header of each proxied request here (for example with an
+ * {@code auth_request} subrequest). Tokens are verified by the JWT authorization filter: a valid token
+ * yields a {@code 200} carrying the subject and the roles in headers, anything else a {@code 401} or {@code 403}.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@RestController
+@Profile("edge")
+@RequestMapping("/edge")
+public class EdgeRestController {
+
+    /**
+     * Header carrying the username of the verified token.
+     */
+    public static final String SUBJECT_HEADER = "X-Auth-Subject";
+
+    /**
+     * Header carrying the comma-separated roles of the verified token.
+     */
+    public static final String ROLES_HEADER = "X-Auth-Roles";
+
+    /**
+     * Endpoint for verifying the bearer token of a proxied request.
+     *
+     * @param authentication The authentication built from the verified token.
+     * @return An empty response carrying the subject and the roles of the token.
+     */
+    @GetMapping("/verify")
+    public ResponseEntity<Void> verify(@NotNull Authentication authentication) {
+        return ResponseEntity.ok()
+                .header(SUBJECT_HEADER, authentication.getName())
+                .header(ROLES_HEADER, authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.joining(",")))
+                .build();
+    }
+}
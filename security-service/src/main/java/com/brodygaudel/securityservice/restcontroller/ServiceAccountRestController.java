@@ -0,0 +1,109 @@
+package com.brodygaudel.securityservice.restcontroller;
+
+import com.brodygaudel.securityservice.dto.ServiceAccountRequestDTO;
+import com.brodygaudel.securityservice.dto.ServiceAccountResponseDTO;
+import com.brodygaudel.securityservice.exceptions.ItemAlreadyExistException;
+import com.brodygaudel.securityservice.exceptions.RoleNotFoundException;
+import com.brodygaudel.securityservice.exceptions.ServiceAccountNotFoundException;
+import com.brodygaudel.securityservice.service.ServiceAccountService;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for handling service account operations.
+ * Exposes endpoints for creating, listing and deleting the service accounts of the client-credentials grant, rotating
+ * their API keys and revoking their tokens.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@RestController
+@Profile("!edge")
+@RequestMapping("/service-accounts")
+public class ServiceAccountRestController {
+
+    private final ServiceAccountService serviceAccountService;
+
+    /**
+     * Constructs a new instance of {@code ServiceAccountRestController}.
+     *
+     * @param serviceAccountService The service account service to be used for handling service account operations.
+     */
+    public ServiceAccountRestController(ServiceAccountService serviceAccountService) {
+        this.serviceAccountService = serviceAccountService;
+    }
+
+    /**
+     * Endpoint for creating a new service account.
+     *
+     * @param serviceAccountRequestDTO The request payload containing the client identifier and roles.
+     * @return The response DTO containing the created service account and its API key.
+     * @throws ItemAlreadyExistException If a service account with the same client identifier already exists.
+     * @throws RoleNotFoundException     If one of the roles is not found.
+     */
+    @PostMapping("/create")
+    public ServiceAccountResponseDTO save(@RequestBody ServiceAccountRequestDTO serviceAccountRequestDTO) throws ItemAlreadyExistException, RoleNotFoundException {
+        return serviceAccountService.save(serviceAccountRequestDTO);
+    }
+
+    /**
+     * Endpoint for retrieving all service accounts.
+     *
+     * @return A list of response DTOs containing details of all service accounts.
+     */
+    @GetMapping("/all")
+    public List<ServiceAccountResponseDTO> findAll() {
+        return serviceAccountService.findAll();
+    }
+
+    /**
+     * Endpoint for generating a new API key for a service account, revoking the tokens issued with the former one.
+     *
+     * @param id The ID of the service account.
+     * @return The response DTO containing the service account and its new API key.
+     * @throws ServiceAccountNotFoundException If the service account with the specified ID is not found.
+     */
+    @PutMapping("/rotate-key/{id}")
+    public ServiceAccountResponseDTO rotateKey(@PathVariable String id) throws ServiceAccountNotFoundException {
+        return serviceAccountService.rotateKey(id);
+    }
+
+    /**
+     * Endpoint for revoking every token issued to a service account, keeping the account and its API key.
+     *
+     * @param id The ID of the service account.
+     * @throws ServiceAccountNotFoundException If the service account with the specified ID is not found.
+     */
+    @PutMapping("/revoke-tokens/{id}")
+    public void revokeTokens(@PathVariable String id) throws ServiceAccountNotFoundException {
+        serviceAccountService.revokeTokens(id);
+    }
+
+    /**
+     * Endpoint for deleting a service account by the specified ID.
+     *
+     * @param id The ID of the service account to be deleted.
+     * @throws ServiceAccountNotFoundException If the service account with the specified ID is not found.
+     */
+    @DeleteMapping("/delete/{id}")
+    public void deleteById(@PathVariable String id) throws ServiceAccountNotFoundException {
+        serviceAccountService.deleteById(id);
+    }
+
+    /**
+     * Exception handler for handling exceptions thrown within this controller.
+     *
+     * @param exception The exception to handle.
+     * @return A ResponseEntity with an error message and HTTP status code.
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<String> exceptionHandler(@NotNull Exception exception) {
+        return new ResponseEntity<>(exception.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+}
@@ -9,6 +9,7 @@ import com.brodygaudel.securityservice.exceptions.RoleNotFoundException;
 import com.brodygaudel.securityservice.exceptions.UserNotFoundException;
 import com.brodygaudel.securityservice.service.UserService;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -24,6 +25,7 @@ import java.util.List;
  * @version 1.0
  */
 @RestController
+@Profile("!edge")
 @RequestMapping("/users")
 public class UserRestController {
 
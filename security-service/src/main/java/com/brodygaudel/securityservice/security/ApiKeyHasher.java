@@ -0,0 +1,89 @@
+package com.brodygaudel.securityservice.security;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Generator and keyed hasher of the API keys of service accounts.
+ * API keys are 256-bit random values, so unlike passwords they need no deliberately slow hash: they are stored
+ * as an HMAC-SHA256 keyed by a server-side secret, which is checked in microseconds and does not consume the
+ * bcrypt capacity reserved for human logins.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@Component
+@Profile("!edge")
+public class ApiKeyHasher {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int KEY_BYTES = 32;
+
+    private final SecretKeySpec key;
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * Constructs a new ApiKeyHasher keyed by the specified security parameters.
+     *
+     * @param securityParameters The SecurityParameters providing the HMAC key.
+     */
+    public ApiKeyHasher(@NotNull SecurityParameters securityParameters) {
+        this.key = new SecretKeySpec(securityParameters.getClientSecretKey().getBytes(StandardCharsets.UTF_8), ALGORITHM);
+    }
+
+    /**
+     * Generates a new random API key.
+     *
+     * @return The API key, encoded in URL-safe Base64.
+     */
+    public String generate() {
+        byte[] bytes = new byte[KEY_BYTES];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Hashes an API key.
+     *
+     * @param apiKey The API key.
+     * @return The Base64-encoded HMAC of the API key.
+     */
+    public String hash(@NotNull String apiKey) {
+        return Base64.getEncoder().encodeToString(mac(apiKey));
+    }
+
+    /**
+     * Checks an API key against a stored hash in constant time.
+     *
+     * @param apiKey The API key presented by the client.
+     * @param hash   The stored hash, or {@code null} if the client is unknown.
+     * @return {@code true} if the API key matches the hash, {@code false} otherwise.
+     */
+    public boolean matches(String apiKey, String hash) {
+        if (apiKey == null) {
+            return false;
+        }
+        byte[] actual = mac(apiKey);
+        return hash != null && MessageDigest.isEqual(actual, Base64.getDecoder().decode(hash));
+    }
+
+    private byte[] mac(@NotNull String apiKey) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(apiKey.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.brodygaudel.securityservice.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Minimal Bloom filter over character sequences.
+ * Probes are computed by double hashing the cached {@link String#hashCode()} with an FNV-1a hash of the
+ * characters, so that a membership test neither allocates nor synchronizes. A negative answer is exact,
+ * a positive answer must be confirmed against an exact set.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+final class BloomFilter {
+
+    private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+
+    private final AtomicLongArray bits;
+    private final long size;
+    private final int hashFunctions;
+
+    /**
+     * Constructs a new BloomFilter sized for the expected number of entries with a 1% false positive rate.
+     *
+     * @param expectedEntries The number of entries the filter is expected to hold.
+     */
+    BloomFilter(int expectedEntries) {
+        int entries = Math.max(expectedEntries, 1);
+        long optimalSize = (long) Math.ceil(-entries * Math.log(FALSE_POSITIVE_PROBABILITY) / (Math.log(2) * Math.log(2)));
+        this.bits = new AtomicLongArray((int) ((optimalSize + 63) / 64));
+        this.size = bits.length() * 64L;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) size / entries * Math.log(2)));
+    }
+
+    /**
+     * Adds a value to the filter.
+     *
+     * @param value The value to add.
+     */
+    void add(String value) {
+        long first = value.hashCode();
+        long second = secondHash(value);
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = Math.floorMod(first + i * second, size);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current = bits.get(word);
+            while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+    }
+
+    /**
+     * Checks whether a value may have been added to the filter.
+     *
+     * @param value The value to check.
+     * @return {@code false} if the value was never added, {@code true} if it may have been.
+     */
+    boolean mightContain(String value) {
+        long first = value.hashCode();
+        long second = secondHash(value);
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = Math.floorMod(first + i * second, size);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computes an FNV-1a hash of the characters of a value, forced to be odd so that probes never collapse.
+     *
+     * @param value The value to hash.
+     * @return The secondary hash of the value.
+     */
+    private static long secondHash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash | 1L;
+    }
+}
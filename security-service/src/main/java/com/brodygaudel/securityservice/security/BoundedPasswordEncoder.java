@@ -0,0 +1,94 @@
+package com.brodygaudel.securityservice.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Password encoder bounding the number of hashes computed at once.
+ * Password hashing is deliberately CPU-bound: on virtual threads nothing else caps the number of concurrent
+ * logins, and thousands of simultaneous bcrypt rounds would only steal the carriers from every other request.
+ * Callers beyond the bound park on a fair {@link Semaphore}, which unmounts a virtual thread instead of pinning it.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Semaphore permits;
+
+    /**
+     * Constructs a new BoundedPasswordEncoder.
+     *
+     * @param delegate    The PasswordEncoder computing the hashes.
+     * @param concurrency The maximum number of hashes computed at once, or {@code 0} for the number of available processors.
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int concurrency) {
+        this.delegate = delegate;
+        this.permits = new Semaphore(concurrency > 0 ? concurrency : Runtime.getRuntime().availableProcessors(), true);
+    }
+
+    /**
+     * Encodes a raw password once a permit is available.
+     *
+     * @param rawPassword The password to encode.
+     * @return The encoded password.
+     */
+    @Override
+    public String encode(CharSequence rawPassword) {
+        acquire();
+        try {
+            return delegate.encode(rawPassword);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Verifies a raw password against an encoded one once a permit is available.
+     *
+     * @param rawPassword     The password to verify.
+     * @param encodedPassword The encoded password.
+     * @return {@code true} if the passwords match, {@code false} otherwise.
+     */
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        acquire();
+        try {
+            return delegate.matches(rawPassword, encodedPassword);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Checks whether an encoded password should be encoded again, which does not hash and needs no permit.
+     *
+     * @param encodedPassword The encoded password.
+     * @return {@code true} if the password should be encoded again, {@code false} otherwise.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Returns the number of hashes that can start right now.
+     *
+     * @return The number of available permits.
+     */
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    private void acquire() {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting to hash a password", e);
+        }
+    }
+}
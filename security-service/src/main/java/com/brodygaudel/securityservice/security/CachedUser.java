@@ -0,0 +1,22 @@
+package com.brodygaudel.securityservice.security;
+
+import java.util.Set;
+
+/**
+ * A record representing the credentials and roles of a user held by the {@link UserCache}.
+ * It only carries what authentications and token issuance need, so that it can be shared between threads and
+ * written to the snapshot of the cache.
+ *
+ * @param id           The identifier of the user.
+ * @param username     The username of the user.
+ * @param email        The email of the user.
+ * @param password     The password hash of the user.
+ * @param tokenVersion The token version of the user when it was read from the database.
+ * @param roles        The shared, immutable set of the role names of the user.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public record CachedUser(String id, String username, String email, String password, long tokenVersion, Set<String> roles) {
+}
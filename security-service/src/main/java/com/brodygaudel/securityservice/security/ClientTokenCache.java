@@ -0,0 +1,105 @@
+package com.brodygaudel.securityservice.security;
+
+import com.brodygaudel.securityservice.dto.ClientTokenResponseDTO;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of the tokens issued to service accounts, keyed by client and scope.
+ * A client asking again for the same scope gets its previous token back as long as at least a quarter of its
+ * lifetime remains and it has not been revoked, so that batch jobs authenticating on every run share a handful
+ * of tokens instead of minting one per run. A token is only reused for the token version it was issued with, so that
+ * a service account whose tokens were revoked, or which was deleted and created again, on another node never gets
+ * a revoked token back from this one.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@Component
+@Profile("!edge")
+public class ClientTokenCache {
+
+    private static final int PURGE_THRESHOLD = 1024;
+
+    private final Map<String, Entry> tokens = new ConcurrentHashMap<>();
+    private final TokenDenylist tokenDenylist;
+    private final SecurityParameters securityParameters;
+
+    /**
+     * Constructs a new ClientTokenCache with the specified dependencies.
+     *
+     * @param tokenDenylist      The TokenDenylist used to skip revoked tokens.
+     * @param securityParameters The SecurityParameters providing the lifetime of client tokens.
+     */
+    public ClientTokenCache(TokenDenylist tokenDenylist, SecurityParameters securityParameters) {
+        this.tokenDenylist = tokenDenylist;
+        this.securityParameters = securityParameters;
+    }
+
+    /**
+     * Returns the cached token of a client for a scope, if it is still worth reusing.
+     *
+     * @param clientId The client identifier.
+     * @param scope    The normalized scope of the token.
+     * @param version  The current token version of the client.
+     * @return The cached token, or {@code null} if a new one must be issued.
+     */
+    public ClientTokenResponseDTO get(String clientId, String scope, long version) {
+        Entry entry = tokens.get(key(clientId, scope));
+        if (entry == null || entry.version() != version) {
+            return null;
+        }
+        long remaining = entry.token().expiresAt() - System.currentTimeMillis();
+        if (remaining < securityParameters.getClientTokenExpiredTime() / 4 || tokenDenylist.isRevoked(entry.jti())) {
+            return null;
+        }
+        return entry.token();
+    }
+
+    /**
+     * Caches the token issued to a client for a scope.
+     *
+     * @param clientId The client identifier.
+     * @param scope    The normalized scope of the token.
+     * @param version  The token version the token was issued with.
+     * @param jti      The identifier of the token.
+     * @param token    The issued token.
+     */
+    public void put(String clientId, String scope, long version, String jti, ClientTokenResponseDTO token) {
+        if (tokens.size() >= PURGE_THRESHOLD) {
+            long now = System.currentTimeMillis();
+            tokens.values().removeIf(entry -> entry.token().expiresAt() <= now);
+        }
+        tokens.put(key(clientId, scope), new Entry(version, jti, token));
+    }
+
+    /**
+     * Forgets every token cached for a client, typically when its tokens are revoked or the client is deleted.
+     *
+     * @param clientId The client identifier.
+     */
+    public void invalidate(String clientId) {
+        tokens.values().removeIf(entry -> entry.token().clientId().equals(clientId));
+    }
+
+    /**
+     * Returns the number of cached tokens.
+     *
+     * @return The number of cached tokens.
+     */
+    public int size() {
+        return tokens.size();
+    }
+
+    private static @NotNull String key(String clientId, String scope) {
+        return clientId + '\n' + scope;
+    }
+
+    private record Entry(long version, String jti, ClientTokenResponseDTO token) {
+    }
+}
@@ -1,5 +1,7 @@
 package com.brodygaudel.securityservice.security;
 
+import com.brodygaudel.jwtverifier.BearerTokenParser;
+import com.brodygaudel.securityservice.profiling.RequestTimings;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,25 +10,21 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.auth0.jwt.JWT;
-import com.auth0.jwt.JWTVerifier;
-import com.auth0.jwt.algorithms.Algorithm;
-import com.auth0.jwt.interfaces.DecodedJWT;
-
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
 
 /**
  * Filter responsible for processing JWT-based authorization in Spring Security.
- * This filter extracts and verifies JWT tokens from the "Authorization" header, sets up
- * the authentication context, and delegates to the next filter in the chain.
+ * This filter inspects the bearer token of the "Authorization" header with the shared {@link TokenInspector},
+ * which checks the structure, the expiration, the signature and the revocation of tokens and caches verified ones.
+ * The authentication context is then set up, and the request is delegated to the next filter in the chain.
+ * Rejected tokens are answered directly with a precomputed {@link TokenRejection} response. The inspection is
+ * reported as the {@code filter} phase of the {@link RequestTimings} of sampled requests, which describe their number
+ * of SQL statements to administrators only.
  *
  * @since 2024
  * @author Brody Gaudel MOUNANGA BOUKA
@@ -35,18 +33,16 @@ import java.util.List;
 @Component
 public class JWTAuthorizationFilter extends OncePerRequestFilter {
 
-    private static final String BEARER = "Bearer ";
-    private static final String ROLES = "roles";
     private static final String AUTHORIZATION = "Authorization";
-    private final SecurityParameters securityParameters;
+    private final TokenInspector tokenInspector;
 
     /**
-     * Constructs a new JWTAuthorizationFilter with the specified security parameters.
+     * Constructs a new JWTAuthorizationFilter with the specified TokenInspector.
      *
-     * @param securityParameters The security parameters used for JWT verification.
+     * @param tokenInspector The TokenInspector used to verify bearer tokens.
      */
-    public JWTAuthorizationFilter(SecurityParameters securityParameters) {
-        this.securityParameters = securityParameters;
+    public JWTAuthorizationFilter(TokenInspector tokenInspector) {
+        this.tokenInspector = tokenInspector;
     }
 
     /**
@@ -61,25 +57,31 @@ public class JWTAuthorizationFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(@NotNull HttpServletRequest request, @NotNull HttpServletResponse response, @NotNull FilterChain filterChain) throws ServletException, IOException {
         String jwt = request.getHeader(AUTHORIZATION);
-        if (jwt == null || !jwt.startsWith(BEARER)) {
+        if (!BearerTokenParser.isBearer(jwt)) {
             filterChain.doFilter(request, response);
             return;
         }
-
-        JWTVerifier verifier = JWT.require(Algorithm.HMAC256(securityParameters.getSecret())).build();
-        jwt = jwt.substring(7);
-        DecodedJWT decodedJWT = verifier.verify(jwt);
-
-        String username = decodedJWT.getSubject();
-        List<String> roles = decodedJWT.getClaims().get(ROLES).asList(String.class);
-        Collection<GrantedAuthority> grantedAuthorities = new ArrayList<>();
-
-        for (String r : roles) {
-            grantedAuthorities.add(new SimpleGrantedAuthority(r));
+        long start = System.nanoTime();
+        TokenInspection inspection = tokenInspector.inspect(jwt);
+        RequestTimings.record(RequestTimings.Phase.FILTER, start);
+        if (!inspection.isActive()) {
+            inspection.rejection().write(response);
+            return;
         }
-
-        UsernamePasswordAuthenticationToken user = new UsernamePasswordAuthenticationToken(username, null, grantedAuthorities);
+        if (isAdministrator(inspection.authorities())) {
+            RequestTimings.revealQueries();
+        }
+        UsernamePasswordAuthenticationToken user = new UsernamePasswordAuthenticationToken(inspection.token().getSubject(), null, inspection.authorities());
         SecurityContextHolder.getContext().setAuthentication(user);
         filterChain.doFilter(request, response);
     }
+
+    private static boolean isAdministrator(@NotNull Collection<GrantedAuthority> authorities) {
+        for (GrantedAuthority authority : authorities) {
+            if (StaticParameters.ADMIN.equals(authority.getAuthority()) || StaticParameters.SUPER_ADMIN.equals(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
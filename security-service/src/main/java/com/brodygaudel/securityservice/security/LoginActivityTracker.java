@@ -0,0 +1,114 @@
+package com.brodygaudel.securityservice.security;
+
+import com.brodygaudel.securityservice.dto.LoginActivityDTO;
+import com.brodygaudel.securityservice.repository.UserRepository;
+import com.brodygaudel.securityservice.util.WriteBehindBuffer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Write-behind tracker of the last login and failed login attempts of users.
+ * Login outcomes are coalesced in memory per user and flushed in periodic JDBC batches, so that a login never
+ * waits on an UPDATE of its user row and a burst of attempts on the same account costs a single write. The buffer
+ * is bounded: once full, the outcomes of users not pending yet are dropped and counted. It is flushed on shutdown;
+ * the values read through the user endpoints lag by at most one flush.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@Slf4j
+@Component
+@Profile("!edge")
+public class LoginActivityTracker {
+
+    private final WriteBehindBuffer<String, LoginActivityDTO> buffer;
+
+    /**
+     * Constructs a new LoginActivityTracker with the specified dependencies.
+     *
+     * @param userRepository     The UserRepository writing the login activity.
+     * @param securityParameters The SecurityParameters providing the size of the buffer.
+     */
+    public LoginActivityTracker(@NotNull UserRepository userRepository, @NotNull SecurityParameters securityParameters) {
+        this.buffer = new WriteBehindBuffer<>(securityParameters.getLoginActivityBufferSize(), LoginActivityTracker::combine, userRepository::updateLoginActivities);
+    }
+
+    /**
+     * Records a successful login, resetting the failure counter of the user.
+     *
+     * @param username The username of the user.
+     */
+    public void onSuccess(String username) {
+        buffer.merge(username, new LoginActivityDTO(username, true, LocalDateTime.now(), 0));
+    }
+
+    /**
+     * Records a failed login attempt on an existing user.
+     * Callers only report users that exist, so that attempts on random usernames cannot fill the buffer.
+     *
+     * @param username The username of the user.
+     */
+    public void onFailure(@NotNull String username) {
+        buffer.merge(username, new LoginActivityDTO(username, false, null, 1));
+    }
+
+    /**
+     * Returns the number of users whose login activity is waiting to be written.
+     *
+     * @return The number of pending writes.
+     */
+    public int pendingWrites() {
+        return buffer.size();
+    }
+
+    /**
+     * Returns the number of login outcomes dropped because the buffer was full.
+     *
+     * @return The number of dropped login outcomes.
+     */
+    public long droppedWrites() {
+        return buffer.refused();
+    }
+
+    /**
+     * Writes the pending login activity to the database.
+     */
+    @Scheduled(fixedDelayString = "${login-activity-flush-interval}")
+    public void flush() {
+        int written = buffer.flush();
+        if (written > 0) {
+            log.debug("login activity of " + written + " user(s) written");
+        }
+    }
+
+    /**
+     * Writes the pending login activity before shutdown.
+     */
+    @PreDestroy
+    public void close() {
+        flush();
+    }
+
+    /**
+     * Folds a login outcome into the pending activity of a user.
+     *
+     * @param pending The pending activity.
+     * @param change  The new login outcome.
+     * @return The combined activity.
+     */
+    @Contract("_, _ -> new")
+    private static @NotNull LoginActivityDTO combine(@NotNull LoginActivityDTO pending, @NotNull LoginActivityDTO change) {
+        if (change.reset()) {
+            return change;
+        }
+        return new LoginActivityDTO(pending.username(), pending.reset(), pending.lastLogin(), pending.failedAttempts() + change.failedAttempts());
+    }
+}
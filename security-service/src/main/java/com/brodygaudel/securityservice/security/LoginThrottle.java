@@ -0,0 +1,273 @@
+package com.brodygaudel.securityservice.security;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+
+/**
+ * Throttle of failed login attempts, counted per username and per client address.
+ * Failures are counted in sliding windows held by two fixed-size tables, so memory stays bounded
+ * whatever the number of distinct usernames or addresses an attacker cycles through: idle entries
+ * decay and are reused, and colliding entries are evicted. Once a key exceeds its limit it is locked
+ * out for an exponentially growing duration, and throttled attempts are rejected before any database
+ * lookup or password hash. Keys are hashed with a key drawn at startup, so that an attacker cannot craft
+ * usernames or addresses colliding with a victim's entry to evict it or lock it out.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@Component
+@Profile("!edge")
+public class LoginThrottle {
+
+    private final long k0;
+    private final long k1;
+    private final SlidingWindowTable usernames;
+    private final SlidingWindowTable addresses;
+
+    /**
+     * Constructs a new LoginThrottle configured by the specified security parameters.
+     *
+     * @param securityParameters The SecurityParameters providing the limits of the throttle.
+     */
+    public LoginThrottle(SecurityParameters securityParameters) {
+        long window = securityParameters.getLoginThrottleWindow();
+        long baseLockout = securityParameters.getLoginThrottleBaseLockout();
+        long maxLockout = securityParameters.getLoginThrottleMaxLockout();
+        int slots = securityParameters.getLoginThrottleSlots();
+        SecureRandom random = new SecureRandom();
+        this.k0 = random.nextLong();
+        this.k1 = random.nextLong();
+        this.usernames = new SlidingWindowTable(slots, window, securityParameters.getLoginThrottleUsernameLimit(), baseLockout, maxLockout);
+        this.addresses = new SlidingWindowTable(slots, window, securityParameters.getLoginThrottleAddressLimit(), baseLockout, maxLockout);
+    }
+
+    /**
+     * Returns how long a login attempt must wait before being allowed.
+     *
+     * @param username The username of the attempt.
+     * @param address  The client address of the attempt.
+     * @return The remaining lockout in milliseconds, or {@code 0} if the attempt is allowed.
+     */
+    public long retryAfter(String username, String address) {
+        long now = System.currentTimeMillis();
+        return Math.max(usernames.retryAfter(hash(username), now), addresses.retryAfter(hash(address), now));
+    }
+
+    /**
+     * Records a failed login attempt.
+     *
+     * @param username The username of the attempt.
+     * @param address  The client address of the attempt.
+     */
+    public void onFailure(String username, String address) {
+        long now = System.currentTimeMillis();
+        usernames.fail(hash(username), now);
+        addresses.fail(hash(address), now);
+    }
+
+    /**
+     * Records a successful login, clearing the failures of the username.
+     * Failures of the address are kept, since a credential-stuffing run eventually succeeds on some accounts.
+     *
+     * @param username The username of the attempt.
+     */
+    public void onSuccess(String username) {
+        usernames.reset(hash(username));
+    }
+
+    /**
+     * Computes a case-insensitive keyed hash of a key without allocating.
+     * The hash is SipHash-2-4 over the lower-cased UTF-16 code units of the key, packed four per word.
+     *
+     * @param key The key to hash.
+     * @return The hash of the key, never {@code 0}.
+     */
+    private long hash(String key) {
+        int length = key == null ? 0 : key.length();
+        int words = length / 4 + 1;
+        long v0 = k0 ^ 0x736f6d6570736575L;
+        long v1 = k1 ^ 0x646f72616e646f6dL;
+        long v2 = k0 ^ 0x6c7967656e657261L;
+        long v3 = k1 ^ 0x7465646279746573L;
+        for (int w = 0; w <= words; w++) {
+            long m = 0;
+            int rounds = 4;
+            if (w < words) {
+                for (int i = w * 4, end = Math.min(i + 4, length); i < end; i++) {
+                    m |= (long) Character.toLowerCase(key.charAt(i)) << ((i & 3) << 4);
+                }
+                if (w == words - 1) {
+                    m |= (long) (length << 1) << 56;
+                }
+                v3 ^= m;
+                rounds = 2;
+            } else {
+                v2 ^= 0xff;
+            }
+            for (int r = 0; r < rounds; r++) {
+                v0 += v1;
+                v1 = Long.rotateLeft(v1, 13) ^ v0;
+                v0 = Long.rotateLeft(v0, 32);
+                v2 += v3;
+                v3 = Long.rotateLeft(v3, 16) ^ v2;
+                v0 += v3;
+                v3 = Long.rotateLeft(v3, 21) ^ v0;
+                v2 += v1;
+                v1 = Long.rotateLeft(v1, 17) ^ v2;
+                v2 = Long.rotateLeft(v2, 32);
+            }
+            v0 ^= m;
+        }
+        long hash = v0 ^ v1 ^ v2 ^ v3;
+        return hash == 0 ? 1 : hash;
+    }
+
+    /**
+     * Fixed-size, two-way associative table of sliding-window failure counters.
+     * Slots are held in parallel primitive arrays and guarded by striped locks.
+     */
+    private static final class SlidingWindowTable {
+
+        private static final int STRIPES = 64;
+
+        private final long window;
+        private final int limit;
+        private final long baseLockout;
+        private final long maxLockout;
+        private final int mask;
+        private final Object[] locks = new Object[STRIPES];
+        private final long[] keys;
+        private final long[] windowStarts;
+        private final long[] lockedUntil;
+        private final int[] previousCounts;
+        private final int[] currentCounts;
+        private final int[] strikes;
+
+        SlidingWindowTable(int slots, long window, int limit, long baseLockout, long maxLockout) {
+            int size = Integer.highestOneBit(Math.max(slots, STRIPES * 2) - 1) << 1;
+            this.window = window;
+            this.limit = limit;
+            this.baseLockout = baseLockout;
+            this.maxLockout = maxLockout;
+            this.mask = size - 1;
+            this.keys = new long[size];
+            this.windowStarts = new long[size];
+            this.lockedUntil = new long[size];
+            this.previousCounts = new int[size];
+            this.currentCounts = new int[size];
+            this.strikes = new int[size];
+            for (int i = 0; i < STRIPES; i++) {
+                locks[i] = new Object();
+            }
+        }
+
+        long retryAfter(long key, long now) {
+            int first = first(key);
+            synchronized (lock(first)) {
+                int slot = find(key, first);
+                return slot < 0 ? 0 : Math.max(0, lockedUntil[slot] - now);
+            }
+        }
+
+        void fail(long key, long now) {
+            int first = first(key);
+            synchronized (lock(first)) {
+                int slot = acquire(key, first, now);
+                roll(slot, now);
+                currentCounts[slot]++;
+                if (estimate(slot, now) > limit && lockedUntil[slot] <= now) {
+                    int strike = Math.min(strikes[slot]++, 30);
+                    lockedUntil[slot] = now + Math.min(maxLockout, baseLockout << strike);
+                }
+            }
+        }
+
+        void reset(long key) {
+            int first = first(key);
+            synchronized (lock(first)) {
+                int slot = find(key, first);
+                if (slot >= 0) {
+                    clear(slot, 0);
+                }
+            }
+        }
+
+        private Object lock(int first) {
+            return locks[(first >>> 1) & (STRIPES - 1)];
+        }
+
+        /**
+         * Returns the first candidate slot of a key. The second candidate is its neighbour,
+         * so that both candidates are guarded by the same stripe.
+         */
+        private int first(long key) {
+            return (int) (key ^ (key >>> 32)) & mask & ~1;
+        }
+
+        private int find(long key, int first) {
+            if (keys[first] == key) {
+                return first;
+            }
+            return keys[first + 1] == key ? first + 1 : -1;
+        }
+
+        /**
+         * Finds the slot of a key, taking over a decayed slot or evicting the least threatening entry
+         * when the key has none. Entries under lockout are only evicted when both candidates are locked.
+         */
+        private int acquire(long key, int first, long now) {
+            int found = find(key, first);
+            if (found >= 0) {
+                return found;
+            }
+            int victim = weight(first, now) <= weight(first + 1, now) ? first : first + 1;
+            clear(victim, key);
+            windowStarts[victim] = now;
+            return victim;
+        }
+
+        private long weight(int slot, long now) {
+            if (keys[slot] == 0 || isDecayed(slot, now)) {
+                return Long.MIN_VALUE;
+            }
+            long weight = (long) previousCounts[slot] + currentCounts[slot];
+            return lockedUntil[slot] > now ? weight + Integer.MAX_VALUE : weight;
+        }
+
+        private boolean isDecayed(int slot, long now) {
+            return lockedUntil[slot] <= now && now - windowStarts[slot] >= Math.max(2 * window, maxLockout);
+        }
+
+        private void roll(int slot, long now) {
+            if (isDecayed(slot, now)) {
+                strikes[slot] = 0;
+            }
+            long elapsed = now - windowStarts[slot];
+            if (elapsed >= 2 * window) {
+                previousCounts[slot] = 0;
+                currentCounts[slot] = 0;
+                windowStarts[slot] = now;
+            } else if (elapsed >= window) {
+                previousCounts[slot] = currentCounts[slot];
+                currentCounts[slot] = 0;
+                windowStarts[slot] += window;
+            }
+        }
+
+        private double estimate(int slot, long now) {
+            double remaining = 1.0 - (double) (now - windowStarts[slot]) / window;
+            return previousCounts[slot] * Math.max(0.0, remaining) + currentCounts[slot];
+        }
+
+        private void clear(int slot, long key) {
+            keys[slot] = key;
+            previousCounts[slot] = 0;
+            currentCounts[slot] = 0;
+            strikes[slot] = 0;
+            lockedUntil[slot] = 0;
+        }
+    }
+}
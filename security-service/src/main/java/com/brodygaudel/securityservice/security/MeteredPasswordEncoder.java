@@ -0,0 +1,88 @@
+package com.brodygaudel.securityservice.security;
+
+import com.brodygaudel.securityservice.profiling.LoginPhaseEvent;
+import com.brodygaudel.securityservice.profiling.RequestTimings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password encoder timing the hashes and matches of its delegate.
+ * It wraps the bcrypt encoder inside the {@link BoundedPasswordEncoder}, so that {@code security.password.hash}
+ * and {@code security.password.match} measure the hashing work alone, while the waiting for a permit shows up in
+ * the latency of the login endpoint and in the available permits gauge. Matches are also recorded as the
+ * password match phase of the {@link LoginPhaseEvent}, and both are reported as the {@code hash} phase of the
+ * {@link RequestTimings} of sampled requests.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public class MeteredPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Timer hashTimer;
+    private final Timer matchTimer;
+
+    /**
+     * Constructs a new MeteredPasswordEncoder.
+     *
+     * @param delegate      The PasswordEncoder computing the hashes.
+     * @param meterRegistry The registry of the timers.
+     */
+    public MeteredPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.hashTimer = Timer.builder("security.password.hash").description("Hashing of passwords").register(meterRegistry);
+        this.matchTimer = Timer.builder("security.password.match").description("Matching of passwords against their hash").register(meterRegistry);
+    }
+
+    /**
+     * Encodes a raw password.
+     *
+     * @param rawPassword The password to encode.
+     * @return The encoded password.
+     */
+    @Override
+    public String encode(CharSequence rawPassword) {
+        long start = System.nanoTime();
+        try {
+            return delegate.encode(rawPassword);
+        } finally {
+            hashTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            RequestTimings.record(RequestTimings.Phase.HASH, start);
+        }
+    }
+
+    /**
+     * Verifies a raw password against an encoded one.
+     *
+     * @param rawPassword     The password to verify.
+     * @param encodedPassword The encoded password.
+     * @return {@code true} if the passwords match, {@code false} otherwise.
+     */
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        LoginPhaseEvent event = LoginPhaseEvent.start(LoginPhaseEvent.PASSWORD_MATCH);
+        long start = System.nanoTime();
+        try {
+            return delegate.matches(rawPassword, encodedPassword);
+        } finally {
+            matchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            RequestTimings.record(RequestTimings.Phase.HASH, start);
+            event.finish();
+        }
+    }
+
+    /**
+     * Checks whether an encoded password should be encoded again.
+     *
+     * @param encodedPassword The encoded password.
+     * @return {@code true} if the password should be encoded again, {@code false} otherwise.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -1,38 +1,37 @@
 package com.brodygaudel.securityservice.security;
 
-import com.brodygaudel.securityservice.entity.User;
-import com.brodygaudel.securityservice.repository.UserRepository;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.context.annotation.Profile;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Custom implementation of the Spring Security UserDetailsService interface.
  * This service is responsible for loading user details by username and converting
  * the retrieved user information into a UserDetails object for authentication.
+ * Users are read through the {@link UserCache}, so that repeated logins do not query the database.
  *
  * @since 2024
  * @author Brody Gaudel MOUNANGA BOUKA
  * @version 1.0
  */
 @Service
+@Profile("!edge")
 public class MyUserDetailsService implements UserDetailsService {
 
-    private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final RoleRegistry roleRegistry;
 
     /**
-     * Constructs a new MyUserDetailsService with the specified UserRepository.
+     * Constructs a new MyUserDetailsService with the specified dependencies.
      *
-     * @param userRepository The UserRepository used for retrieving user information.
+     * @param userCache    The UserCache used for retrieving user information.
+     * @param roleRegistry The RoleRegistry providing shared authority collections.
      */
-    public MyUserDetailsService(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    public MyUserDetailsService(UserCache userCache, RoleRegistry roleRegistry) {
+        this.userCache = userCache;
+        this.roleRegistry = roleRegistry;
     }
 
     /**
@@ -45,18 +44,11 @@ public class MyUserDetailsService implements UserDetailsService {
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
 
-        User user = userRepository.findByUsername(username);
+        CachedUser user = userCache.get(username);
         if(user == null){
             throw new UsernameNotFoundException("User not found");
         }
-        List<GrantedAuthority> grantedAuthorities = new ArrayList<>();
-        user.getRoles().forEach(
-                role -> {
-                    GrantedAuthority grantedAuthority = new SimpleGrantedAuthority(role.getName());
-                    grantedAuthorities.add(grantedAuthority);
-                }
-        );
         return new org.springframework.security.core.userdetails.
-                User(user.getUsername(), user.getPassword(), grantedAuthorities);
+                User(user.username(), user.password(), roleRegistry.authorities(user.roles()));
     }
 }
@@ -0,0 +1,306 @@
+package com.brodygaudel.securityservice.security;
+
+import com.brodygaudel.securityservice.entity.RefreshToken;
+import com.brodygaudel.securityservice.exceptions.InvalidRefreshTokenException;
+import com.brodygaudel.securityservice.repository.RefreshTokenRepository;
+import com.brodygaudel.securityservice.util.WriteBehindBuffer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Store of the refresh tokens, rotated on every use with reuse detection.
+ * Refresh tokens are opaque random values; only their SHA-256 hash is kept. Each login starts a family, and each
+ * refresh consumes the presented token and issues the next one of the family. Presenting a consumed token again
+ * means it leaked, so the whole family is revoked. Tokens are held in an in-memory index, and written behind in
+ * periodic JDBC batches, or at once while the buffer is full.
+ * A token is consumed in memory, after reading its row, if it has one, so that a token consumed or revoked on another
+ * instance is rejected; a refresh thus costs one read but no write and no bcrypt hash. The flush marks the consumed
+ * tokens with a conditional update, so that a token consumed on two instances before either flushed is caught by the
+ * second flush, which revokes its family. A token issued by another instance is only known here once that instance
+ * has written it.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@Slf4j
+@Component
+@Profile("!edge")
+public class RefreshTokenStore {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final SecurityParameters securityParameters;
+    private final Map<String, RefreshToken> index = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> families = new ConcurrentHashMap<>();
+    private final Map<String, Long> revokedFamilies = new ConcurrentHashMap<>();
+    private final WriteBehindBuffer<String, RefreshToken> buffer;
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * Constructs a new RefreshTokenStore with the specified dependencies.
+     *
+     * @param refreshTokenRepository The RefreshTokenRepository persisting refresh tokens.
+     * @param securityParameters     The SecurityParameters providing the lifetime of refresh tokens and the buffer size.
+     */
+    public RefreshTokenStore(RefreshTokenRepository refreshTokenRepository, @NotNull SecurityParameters securityParameters) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.securityParameters = securityParameters;
+        this.buffer = new WriteBehindBuffer<>(securityParameters.getRefreshTokenBufferSize(), RefreshTokenStore::combine, this::write);
+    }
+
+    /**
+     * Issues a refresh token.
+     *
+     * @param username     The username of the user.
+     * @param tokenVersion The token version of the user, so that a password or role change invalidates the token.
+     * @param family       The family of the token, or {@code null} to start a new one at login.
+     * @return The opaque refresh token.
+     */
+    public String issue(String username, long tokenVersion, String family) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        RefreshToken refreshToken = RefreshToken.builder()
+                .id(hash(token))
+                .family(family == null ? UUID.randomUUID().toString() : family)
+                .username(username)
+                .tokenVersion(tokenVersion)
+                .expiresAt(System.currentTimeMillis() + securityParameters.getRefreshExpiredTime())
+                .build();
+        index.put(refreshToken.getId(), refreshToken);
+        addToFamily(refreshToken);
+        if (!buffer.put(refreshToken.getId(), refreshToken)) {
+            // an unwritten token would be unknown to the other instances, so it is written rather than dropped
+            write(List.of(refreshToken));
+        }
+        return token;
+    }
+
+    /**
+     * Consumes a refresh token, so that it cannot be used again.
+     * The token is marked consumed in memory and written behind, unless the buffer is full. A token that was already
+     * consumed, here or on another instance, has been replayed, and revokes its whole family.
+     *
+     * @param token The opaque refresh token.
+     * @return The consumed refresh token, whose family and user the next token is issued for.
+     * @throws InvalidRefreshTokenException If the token is unknown, expired, revoked or already consumed.
+     */
+    public RefreshToken consume(String token) throws InvalidRefreshTokenException {
+        if (token == null) {
+            throw new InvalidRefreshTokenException("Invalid refresh token");
+        }
+        String id = hash(token);
+        RefreshToken current = find(id);
+        if (current == null || current.getExpiresAt() <= System.currentTimeMillis()) {
+            throw new InvalidRefreshTokenException("Invalid refresh token");
+        }
+        if (current.isRevoked() || revokedFamilies.containsKey(current.getFamily())) {
+            throw new InvalidRefreshTokenException("Refresh token revoked");
+        }
+        if (!current.isRotated()) {
+            RefreshToken rotated = current.toBuilder().rotated(true).build();
+            // recorded before the index, so that the purge never evicts a consumed token whose consumption is unwritten
+            boolean recorded = buffer.merge(id, rotated) || refreshTokenRepository.writeAll(List.of(rotated)).isEmpty();
+            if (recorded && index.replace(id, current, rotated)) {
+                return current;
+            }
+        }
+        log.warn("refresh token reused, family revoked : " + current.getFamily());
+        revokeFamily(current.getFamily(), current.getExpiresAt());
+        throw new InvalidRefreshTokenException("Refresh token already used");
+    }
+
+    /**
+     * Revokes every refresh token of a family.
+     * The tokens of the family known here are revoked in memory and written behind, and those issued by other
+     * instances with a single update.
+     *
+     * @param family    The family of the refresh tokens.
+     * @param expiresAt The time after which no token of the family can be valid anymore.
+     */
+    public void revokeFamily(String family, long expiresAt) {
+        revokedFamilies.put(family, expiresAt + securityParameters.getRefreshExpiredTime());
+        List<RefreshToken> unbuffered = new ArrayList<>();
+        for (String id : families.getOrDefault(family, Set.of())) {
+            RefreshToken revoked = index.computeIfPresent(id, (key, refreshToken) -> refreshToken.toBuilder().revoked(true).build());
+            if (revoked != null && !buffer.merge(id, revoked)) {
+                unbuffered.add(revoked);
+            }
+        }
+        if (!unbuffered.isEmpty()) {
+            refreshTokenRepository.writeAll(unbuffered);
+        }
+        refreshTokenRepository.revokeFamily(family);
+    }
+
+    /**
+     * Returns the number of refresh tokens held in the in-memory index.
+     *
+     * @return The number of indexed refresh tokens.
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Returns the number of refresh tokens waiting to be written.
+     *
+     * @return The number of pending writes.
+     */
+    public int pendingWrites() {
+        return buffer.size();
+    }
+
+    /**
+     * Returns the number of refresh tokens written as they were issued because the buffer was full.
+     *
+     * @return The number of refresh tokens not written behind.
+     */
+    public long overflowWrites() {
+        return buffer.refused();
+    }
+
+    /**
+     * Writes the pending refresh tokens to the database.
+     */
+    @Scheduled(fixedDelayString = "${refresh-token-flush-interval}")
+    public void flush() {
+        int written = buffer.flush();
+        if (written > 0) {
+            log.debug(written + " refresh token(s) written");
+        }
+    }
+
+    /**
+     * Forgets the refresh tokens and revoked families that expired, in memory and in the database.
+     * Consumed and revoked tokens already written are also evicted from the index, which keeps it sized by the
+     * number of live sessions; replaying one of them is still detected through the database.
+     */
+    @Scheduled(fixedDelayString = "${refresh-token-purge-interval}")
+    public void purge() {
+        long now = System.currentTimeMillis();
+        index.values().removeIf(refreshToken -> {
+            if ((refreshToken.getExpiresAt() <= now || refreshToken.isRotated() || refreshToken.isRevoked()) && buffer.get(refreshToken.getId()) == null) {
+                removeFromFamily(refreshToken);
+                return true;
+            }
+            return false;
+        });
+        revokedFamilies.values().removeIf(expiresAt -> expiresAt <= now);
+        int deleted = refreshTokenRepository.deleteExpired(now);
+        log.debug(deleted + " expired refresh token(s) deleted");
+    }
+
+    /**
+     * Writes the pending refresh tokens before shutdown.
+     */
+    @PreDestroy
+    public void close() {
+        flush();
+    }
+
+    /**
+     * Finds a refresh token, with the consumed and revoked flags of its row if it has been written.
+     * A token consumed or revoked here, or not written yet, is served from the index alone.
+     *
+     * @param id The hash of the refresh token.
+     * @return The refresh token, or {@code null} if not found.
+     */
+    private RefreshToken find(String id) {
+        RefreshToken refreshToken = index.get(id);
+        if (refreshToken != null && (refreshToken.isRotated() || refreshToken.isRevoked() || buffer.get(id) != null)) {
+            return refreshToken;
+        }
+        RefreshToken stored = refreshTokenRepository.findById(id).orElse(null);
+        if (stored == null) {
+            return refreshToken;
+        }
+        if (refreshToken == null) {
+            refreshToken = index.putIfAbsent(id, stored);
+            if (refreshToken == null) {
+                addToFamily(stored);
+                return stored;
+            }
+        }
+        RefreshToken current = combine(refreshToken, stored);
+        return current == refreshToken || index.replace(id, refreshToken, current) ? current : index.get(id);
+    }
+
+    /**
+     * Writes a batch of refresh tokens, revoking here the families found revoked on another instance, or whose consumed
+     * tokens turn out to have been consumed there too. A failed revocation is logged rather than thrown, since the
+     * batch itself has been written and must not be put back.
+     *
+     * @param refreshTokens The refresh tokens to write.
+     */
+    private void write(List<RefreshToken> refreshTokens) {
+        Set<String> revoked = new HashSet<>(refreshTokenRepository.writeAll(refreshTokens));
+        for (RefreshToken refreshToken : refreshTokens) {
+            if (revoked.remove(refreshToken.getFamily())) {
+                log.warn("refresh token family revoked or replayed on another instance : " + refreshToken.getFamily());
+                try {
+                    revokeFamily(refreshToken.getFamily(), refreshToken.getExpiresAt());
+                } catch (RuntimeException e) {
+                    log.error("unable to revoke the refresh token family " + refreshToken.getFamily() + " : " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void addToFamily(@NotNull RefreshToken refreshToken) {
+        families.compute(refreshToken.getFamily(), (family, ids) -> {
+            Set<String> members = ids == null ? ConcurrentHashMap.newKeySet() : ids;
+            members.add(refreshToken.getId());
+            return members;
+        });
+    }
+
+    private void removeFromFamily(@NotNull RefreshToken refreshToken) {
+        families.computeIfPresent(refreshToken.getFamily(), (family, ids) -> {
+            ids.remove(refreshToken.getId());
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    /**
+     * Combines two states of the same refresh token. The consumed and revoked flags are only ever set.
+     *
+     * @param state The current state.
+     * @param other The other state.
+     * @return The current state if it already holds the flags of the other one, a combined state otherwise.
+     */
+    private static RefreshToken combine(@NotNull RefreshToken state, @NotNull RefreshToken other) {
+        if ((state.isRotated() || !other.isRotated()) && (state.isRevoked() || !other.isRevoked())) {
+            return state;
+        }
+        return state.toBuilder().rotated(state.isRotated() || other.isRotated()).revoked(state.isRevoked() || other.isRevoked()).build();
+    }
+
+    private static String hash(@NotNull String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
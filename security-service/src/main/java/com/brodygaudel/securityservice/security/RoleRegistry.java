@@ -0,0 +1,203 @@
+package com.brodygaudel.securityservice.security;
+
+import com.brodygaudel.securityservice.entity.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Registry assigning a stable bit to each known role name, and canonical cache of role combinations.
+ * The position of a role in the configured {@code role-registry} defines its bit, so every node sharing
+ * the configuration encodes and decodes the same compact role masks. Each combination of roles is mapped
+ * to a shared, immutable set of role names and collection of authorities computed once, so that mapping
+ * users and tokens reuses a handful of instances instead of allocating new ones on every call.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@Component
+public class RoleRegistry {
+
+    /**
+     * The maximum number of roles the registry can hold.
+     */
+    public static final int MAX_ROLES = 16;
+
+    /**
+     * The maximum number of combinations containing unregistered roles that are canonicalized.
+     */
+    private static final int MAX_UNREGISTERED_COMBINATIONS = 256;
+
+    private final String[] roleNames;
+    private final Map<String, Integer> bits = new HashMap<>();
+    private final AtomicReferenceArray<RoleCombination> combinations;
+    private final Map<Set<String>, RoleCombination> unregisteredCombinations = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new RoleRegistry from the role names configured in the security parameters.
+     *
+     * @param securityParameters The SecurityParameters providing the ordered list of role names.
+     */
+    public RoleRegistry(SecurityParameters securityParameters) {
+        List<String> names = securityParameters.getRegisteredRoles().stream().map(String::strip).filter(name -> !name.isEmpty()).toList();
+        if (names.size() > MAX_ROLES) {
+            throw new IllegalArgumentException("the role registry cannot hold more than " + MAX_ROLES + " roles");
+        }
+        this.roleNames = names.toArray(new String[0]);
+        for (int i = 0; i < roleNames.length; i++) {
+            bits.putIfAbsent(roleNames[i], i);
+        }
+        this.combinations = new AtomicReferenceArray<>(1 << roleNames.length);
+    }
+
+    /**
+     * Encodes a collection of role names as a bitmask.
+     *
+     * @param names The role names to encode.
+     * @return The bitmask of the roles, or {@code -1} if one of the roles is not registered.
+     */
+    public long mask(Collection<String> names) {
+        long mask = 0L;
+        if (names != null) {
+            for (String name : names) {
+                Integer bit = bits.get(name);
+                if (bit == null) {
+                    return -1L;
+                }
+                mask |= 1L << bit;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the shared, immutable authority collection of a bitmask.
+     *
+     * @param mask The bitmask of the roles.
+     * @return The granted authorities of the roles encoded in the mask.
+     * @throws IllegalArgumentException If the mask contains a bit that is not registered.
+     */
+    public List<GrantedAuthority> authorities(long mask) {
+        return combination(mask).authorities();
+    }
+
+    /**
+     * Returns the shared, immutable authority collection of a collection of role names.
+     *
+     * @param names The role names.
+     * @return The granted authorities of the roles.
+     */
+    public List<GrantedAuthority> authorities(Collection<String> names) {
+        long mask = mask(names);
+        return mask >= 0 ? combination(mask).authorities() : unregisteredCombination(Set.copyOf(names)).authorities();
+    }
+
+    /**
+     * Returns the shared, immutable authority collection of a list of roles.
+     *
+     * @param roles The roles.
+     * @return The granted authorities of the roles.
+     */
+    public List<GrantedAuthority> authoritiesOf(List<Role> roles) {
+        return combinationOf(roles).authorities();
+    }
+
+    /**
+     * Returns the shared, immutable set of names of a list of roles.
+     *
+     * @param roles The roles.
+     * @return The names of the roles, or an empty set if the list is null or empty.
+     */
+    public Set<String> namesOf(List<Role> roles) {
+        return combinationOf(roles).names();
+    }
+
+    /**
+     * Finds the canonical combination of a list of roles.
+     *
+     * @param roles The roles.
+     * @return The canonical combination of the roles.
+     */
+    private RoleCombination combinationOf(List<Role> roles) {
+        long mask = 0L;
+        if (roles != null) {
+            for (Role role : roles) {
+                Integer bit = bits.get(role.getName());
+                if (bit == null) {
+                    return unregisteredCombination(Set.copyOf(roles.stream().map(Role::getName).toList()));
+                }
+                mask |= 1L << bit;
+            }
+        }
+        return combination(mask);
+    }
+
+    /**
+     * Finds or computes the canonical combination of a bitmask of registered roles.
+     *
+     * @param mask The bitmask of the roles.
+     * @return The canonical combination of the roles.
+     */
+    private RoleCombination combination(long mask) {
+        if (mask < 0 || mask >= combinations.length()) {
+            throw new IllegalArgumentException("unknown role mask " + mask);
+        }
+        int index = (int) mask;
+        RoleCombination cached = combinations.get(index);
+        if (cached != null) {
+            return cached;
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (int bit = 0; bit < roleNames.length; bit++) {
+            if ((mask & (1L << bit)) != 0) {
+                names.add(roleNames[bit]);
+            }
+        }
+        combinations.compareAndSet(index, null, RoleCombination.of(names));
+        return combinations.get(index);
+    }
+
+    /**
+     * Finds or computes the canonical combination of a set of role names containing unregistered roles.
+     * Once the cache is full, new combinations are computed without being cached.
+     *
+     * @param names The role names.
+     * @return The canonical combination of the roles.
+     */
+    private RoleCombination unregisteredCombination(Set<String> names) {
+        RoleCombination cached = unregisteredCombinations.get(names);
+        if (cached != null) {
+            return cached;
+        }
+        if (unregisteredCombinations.size() >= MAX_UNREGISTERED_COMBINATIONS) {
+            return RoleCombination.of(names);
+        }
+        return unregisteredCombinations.computeIfAbsent(names, RoleCombination::of);
+    }
+
+    /**
+     * Immutable role names and authorities of a combination of roles.
+     *
+     * @param names       The names of the roles.
+     * @param authorities The granted authorities of the roles.
+     */
+    private record RoleCombination(Set<String> names, List<GrantedAuthority> authorities) {
+
+        private static RoleCombination of(Set<String> names) {
+            return new RoleCombination(
+                    Set.copyOf(names),
+                    names.stream().<GrantedAuthority>map(SimpleGrantedAuthority::new).toList()
+            );
+        }
+    }
+}
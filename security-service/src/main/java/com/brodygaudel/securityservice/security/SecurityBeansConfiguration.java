@@ -1,8 +1,10 @@
 package com.brodygaudel.securityservice.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -21,17 +23,24 @@ import org.springframework.security.crypto.password.PasswordEncoder;
  * @version 1.0
  */
 @Configuration
+@Profile("!edge")
 public class SecurityBeansConfiguration {
 
     private final UserDetailsService userDetailsService;
+    private final SecurityParameters securityParameters;
+    private final MeterRegistry meterRegistry;
 
     /**
-     * Constructs a new SecurityBeansConfiguration with the specified UserDetailsService.
+     * Constructs a new SecurityBeansConfiguration with the specified UserDetailsService, security parameters and meter registry.
      *
      * @param userDetailsService The UserDetailsService used for authentication.
+     * @param securityParameters The SecurityParameters providing the password hashing concurrency.
+     * @param meterRegistry      The MeterRegistry timing password hashes.
      */
-    public SecurityBeansConfiguration(UserDetailsService userDetailsService) {
+    public SecurityBeansConfiguration(UserDetailsService userDetailsService, SecurityParameters securityParameters, MeterRegistry meterRegistry) {
         this.userDetailsService = userDetailsService;
+        this.securityParameters = securityParameters;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
@@ -48,13 +57,14 @@ public class SecurityBeansConfiguration {
     }
 
     /**
-     * Provides a PasswordEncoder bean for password hashing.
+     * Provides a PasswordEncoder bean for password hashing, bounded so that concurrent logins cannot saturate the CPU,
+     * and timed.
      *
      * @return The configured PasswordEncoder bean.
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(new MeteredPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry), securityParameters.getPasswordHashingConcurrency());
     }
 
     /**
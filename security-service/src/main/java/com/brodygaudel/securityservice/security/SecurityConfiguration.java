@@ -60,7 +60,16 @@ public class SecurityConfiguration {
                         .requestMatchers("/users/remove-role/**").hasAuthority(StaticParameters.SUPER_ADMIN)
                         .requestMatchers("/users/delete/**").hasAnyAuthority(StaticParameters.SUPER_ADMIN)
                         .requestMatchers("/users/delete-all/**").hasAuthority(StaticParameters.SUPER_ADMIN)
-                        .requestMatchers("/authentication/login").permitAll())
+                        .requestMatchers("/authentication/logout").authenticated()
+                        .requestMatchers("/authentication/revoke").hasAuthority(StaticParameters.SUPER_ADMIN)
+                        .requestMatchers("/authentication/introspect").hasAnyAuthority(StaticParameters.SUPER_ADMIN, StaticParameters.ADMIN)
+                        .requestMatchers("/authentication/login").permitAll()
+                        .requestMatchers("/authentication/token").permitAll()
+                        .requestMatchers("/authentication/refresh").permitAll()
+                        .requestMatchers("/service-accounts/**").hasAuthority(StaticParameters.SUPER_ADMIN)
+                        .requestMatchers("/edge/verify").authenticated()
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasAuthority(StaticParameters.SUPER_ADMIN))
                 .addFilterBefore(authorizationFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
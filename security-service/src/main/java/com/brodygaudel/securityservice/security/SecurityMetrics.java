@@ -0,0 +1,102 @@
+package com.brodygaudel.securityservice.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Binder of the gauges exposing the state of the in-memory security structures.
+ * Gauges are sampled when the registry is scraped, so they add nothing to the request path. Structures that do not
+ * exist in the running profile, such as the stores of the full application in the {@code edge} profile, are skipped.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@Component
+public class SecurityMetrics implements MeterBinder {
+
+    private final TokenInspector tokenInspector;
+    private final TokenDenylist tokenDenylist;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final ObjectProvider<RefreshTokenStore> refreshTokenStore;
+    private final ObjectProvider<ClientTokenCache> clientTokenCache;
+    private final ObjectProvider<LoginActivityTracker> loginActivityTracker;
+    private final ObjectProvider<PasswordEncoder> passwordEncoder;
+    private final ObjectProvider<UserCache> userCache;
+
+    /**
+     * Constructs a new SecurityMetrics with the specified structures.
+     *
+     * @param tokenInspector       The TokenInspector owning the verified-token cache.
+     * @param tokenDenylist        The TokenDenylist of revoked tokens.
+     * @param tokenVersionRegistry The TokenVersionRegistry of minimum token versions.
+     * @param refreshTokenStore    The RefreshTokenStore, if any.
+     * @param clientTokenCache     The ClientTokenCache, if any.
+     * @param loginActivityTracker The LoginActivityTracker, if any.
+     * @param passwordEncoder      The PasswordEncoder, if any.
+     * @param userCache            The UserCache, if any.
+     */
+    public SecurityMetrics(TokenInspector tokenInspector, TokenDenylist tokenDenylist, TokenVersionRegistry tokenVersionRegistry, ObjectProvider<RefreshTokenStore> refreshTokenStore, ObjectProvider<ClientTokenCache> clientTokenCache, ObjectProvider<LoginActivityTracker> loginActivityTracker, ObjectProvider<PasswordEncoder> passwordEncoder, ObjectProvider<UserCache> userCache) {
+        this.tokenInspector = tokenInspector;
+        this.tokenDenylist = tokenDenylist;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.refreshTokenStore = refreshTokenStore;
+        this.clientTokenCache = clientTokenCache;
+        this.loginActivityTracker = loginActivityTracker;
+        this.passwordEncoder = passwordEncoder;
+        this.userCache = userCache;
+    }
+
+    /**
+     * Registers the gauges and function counters of the security structures.
+     *
+     * @param registry The registry to bind to.
+     */
+    @Override
+    public void bindTo(@NotNull MeterRegistry registry) {
+        FunctionCounter.builder("security.jwt.cache.requests", tokenInspector, TokenInspector::cacheHits)
+                .tag("result", "hit").description("Tokens served from the verified-token cache").register(registry);
+        FunctionCounter.builder("security.jwt.cache.requests", tokenInspector, TokenInspector::cacheMisses)
+                .tag("result", "miss").description("Tokens decoded and verified").register(registry);
+        Gauge.builder("security.token.denylist.entries", tokenDenylist, TokenDenylist::size)
+                .description("Revoked tokens not expired yet").register(registry);
+        Gauge.builder("security.token.versions.subjects", tokenVersionRegistry, TokenVersionRegistry::size)
+                .description("Subjects with a registered minimum token version").register(registry);
+        refreshTokenStore.ifAvailable(store -> {
+            Gauge.builder("security.refresh.tokens.indexed", store, RefreshTokenStore::size)
+                    .description("Refresh tokens held in memory").register(registry);
+            Gauge.builder("security.refresh.tokens.pending", store, RefreshTokenStore::pendingWrites)
+                    .description("Refresh tokens waiting to be written").register(registry);
+            FunctionCounter.builder("security.refresh.tokens.overflow", store, RefreshTokenStore::overflowWrites)
+                    .description("Refresh tokens written as issued because the buffer was full").register(registry);
+        });
+        clientTokenCache.ifAvailable(cache -> Gauge.builder("security.client.tokens.cached", cache, ClientTokenCache::size)
+                .description("Tokens of service accounts kept for reuse").register(registry));
+        loginActivityTracker.ifAvailable(tracker -> {
+            Gauge.builder("security.login.activity.pending", tracker, LoginActivityTracker::pendingWrites)
+                    .description("Users whose login activity is waiting to be written").register(registry);
+            FunctionCounter.builder("security.login.activity.dropped", tracker, LoginActivityTracker::droppedWrites)
+                    .description("Login outcomes dropped because the buffer was full").register(registry);
+        });
+        userCache.ifAvailable(cache -> {
+            FunctionCounter.builder("security.user.cache.requests", cache, UserCache::hits)
+                    .tag("result", "hit").description("Users served from the user cache").register(registry);
+            FunctionCounter.builder("security.user.cache.requests", cache, UserCache::misses)
+                    .tag("result", "miss").description("Users read from the database").register(registry);
+            Gauge.builder("security.user.cache.entries", cache, UserCache::size)
+                    .description("Users held in the user cache").register(registry);
+        });
+        passwordEncoder.ifAvailable(encoder -> {
+            if (encoder instanceof BoundedPasswordEncoder bounded) {
+                Gauge.builder("security.password.permits.available", bounded, BoundedPasswordEncoder::availablePermits)
+                        .description("Password hashes that can start right now").register(registry);
+            }
+        });
+    }
+}
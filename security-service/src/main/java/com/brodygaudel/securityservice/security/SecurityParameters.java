@@ -0,0 +1,173 @@
+package com.brodygaudel.securityservice.security;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Configuration class representing security parameters for authentication.
+ * This class is annotated with {@code @Component} to indicate that it is a Spring-managed component.
+ * The security parameters include a secret key and an expiration time for authentication tokens.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@NoArgsConstructor
+@Getter
+@Component
+public class SecurityParameters {
+
+    /**
+     * The secret key used for generating and validating authentication tokens.
+     */
+    @Value("${secret}")
+    private String secret;
+
+    /**
+     * The expiration time (in milliseconds) for authentication tokens.
+     */
+    @Value("${expired-time}")
+    private Long expiredTime;
+
+    /**
+     * The allowed origins for Cross-Origin Resource Sharing (CORS) configuration.
+     */
+    @Value("#{'${allowed-origins}'.split(',')}")
+    private List<String> allowedOrigins;
+
+    /**
+     * The path of the memory-mapped file persisting revoked token identifiers.
+     */
+    @Value("${token-denylist-file}")
+    private String denylistFile;
+
+    /**
+     * The number of revoked tokens the denylist is sized for before it has to grow.
+     */
+    @Value("${token-denylist-expected-entries}")
+    private Integer denylistExpectedEntries;
+
+    /**
+     * The profile of the tokens issued by the application.
+     */
+    @Value("${token-profile}")
+    private TokenProfile tokenProfile;
+
+    /**
+     * The ordered list of role names whose position defines their bit in the compact role mask.
+     */
+    @Value("#{'${role-registry}'.split(',')}")
+    private List<String> registeredRoles;
+
+    /**
+     * The duration (in milliseconds) of the sliding window counting failed login attempts.
+     */
+    @Value("${login-throttle-window}")
+    private Long loginThrottleWindow;
+
+    /**
+     * The number of failed login attempts allowed per username within a window.
+     */
+    @Value("${login-throttle-username-limit}")
+    private Integer loginThrottleUsernameLimit;
+
+    /**
+     * The number of failed login attempts allowed per client address within a window.
+     */
+    @Value("${login-throttle-address-limit}")
+    private Integer loginThrottleAddressLimit;
+
+    /**
+     * The duration (in milliseconds) of the first lockout, doubled on each further lockout.
+     */
+    @Value("${login-throttle-base-lockout}")
+    private Long loginThrottleBaseLockout;
+
+    /**
+     * The maximum duration (in milliseconds) of a lockout.
+     */
+    @Value("${login-throttle-max-lockout}")
+    private Long loginThrottleMaxLockout;
+
+    /**
+     * The number of counters held for usernames and for client addresses, bounding the memory of the throttle.
+     */
+    @Value("${login-throttle-slots}")
+    private Integer loginThrottleSlots;
+
+    /**
+     * The maximum number of password hashes computed at once, or {@code 0} for the number of available processors.
+     */
+    @Value("${password-hashing-concurrency}")
+    private Integer passwordHashingConcurrency;
+
+    /**
+     * The number of verified tokens kept in cache by the token verifier.
+     */
+    @Value("${token-cache-size}")
+    private Integer tokenCacheSize;
+
+    /**
+     * The maximum number of tokens introspected per call.
+     */
+    @Value("${introspection-max-tokens}")
+    private Integer introspectionMaxTokens;
+
+    /**
+     * The key of the HMAC hashing the API keys of service accounts.
+     */
+    @Value("${client-secret-key}")
+    private String clientSecretKey;
+
+    /**
+     * The expiration time (in milliseconds) for tokens issued to service accounts.
+     */
+    @Value("${client-token-expired-time}")
+    private Long clientTokenExpiredTime;
+
+    /**
+     * The expiration time (in milliseconds) for refresh tokens.
+     */
+    @Value("${refresh-expired-time}")
+    private Long refreshExpiredTime;
+
+    /**
+     * The maximum number of pending refresh token writes, beyond which refresh tokens are written as they are issued.
+     */
+    @Value("${refresh-token-buffer-size}")
+    private Integer refreshTokenBufferSize;
+
+    /**
+     * The maximum number of users with pending login activity, beyond which the activity of other users is dropped.
+     */
+    @Value("${login-activity-buffer-size}")
+    private Integer loginActivityBufferSize;
+
+    /**
+     * The number of users whose credentials and roles are kept in cache.
+     */
+    @Value("${user-cache-size}")
+    private Integer userCacheSize;
+
+    /**
+     * The time (in milliseconds) after which a cached user is read again from the database.
+     */
+    @Value("${user-cache-ttl}")
+    private Long userCacheTtl;
+
+    /**
+     * The path of the memory-mapped snapshot of the user cache, or an empty path to disable it.
+     */
+    @Value("${user-cache-snapshot-file}")
+    private String userCacheSnapshotFile;
+
+    /**
+     * The time (in milliseconds) a lookup waits for a concurrent load of the same user before running its own.
+     */
+    @Value("${single-flight-timeout}")
+    private Long singleFlightTimeout;
+}
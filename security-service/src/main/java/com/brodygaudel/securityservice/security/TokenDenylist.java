@@ -0,0 +1,232 @@
+package com.brodygaudel.securityservice.security;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Store of revoked token identifiers ({@code jti} claims).
+ * Lookups go through a {@link BloomFilter} first, so that the common case of a token that was never revoked
+ * costs a single probe without allocation. Positive answers are confirmed against an exact in-memory set, which
+ * is persisted to a memory-mapped file of fixed-size records so that it survives restarts without a slow reload.
+ * Entries are purged once the token they revoke has expired. Writers are serialized by a {@link ReentrantLock}
+ * rather than a monitor, so that file I/O never pins the carrier of a virtual thread.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class TokenDenylist {
+
+    private static final int MAGIC = 0x4A544944;
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_SIZE = 24;
+
+    private final SecurityParameters securityParameters;
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile BloomFilter bloomFilter;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int capacity;
+    private int count;
+
+    /**
+     * Constructs a new TokenDenylist with the specified security parameters.
+     *
+     * @param securityParameters The SecurityParameters providing the location and size of the denylist.
+     */
+    public TokenDenylist(SecurityParameters securityParameters) {
+        this.securityParameters = securityParameters;
+    }
+
+    /**
+     * Maps the denylist file and loads the entries that have not expired yet.
+     */
+    @PostConstruct
+    public void load() {
+        lock.lock();
+        try {
+            bloomFilter = new BloomFilter(securityParameters.getDenylistExpectedEntries());
+            try {
+                Path path = Path.of(securityParameters.getDenylistFile());
+                if (path.getParent() != null) {
+                    Files.createDirectories(path.getParent());
+                }
+                channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                boolean existing = channel.size() >= HEADER_SIZE;
+                map(Math.max(securityParameters.getDenylistExpectedEntries(), existing ? recordsIn(channel.size()) : 0));
+                if (existing && buffer.getInt(0) == MAGIC) {
+                    long now = System.currentTimeMillis();
+                    int stored = Math.min(buffer.getInt(4), capacity);
+                    for (int i = 0; i < stored; i++) {
+                        int offset = HEADER_SIZE + i * RECORD_SIZE;
+                        long expiresAt = buffer.getLong(offset + 16);
+                        if (expiresAt > now) {
+                            String jti = new UUID(buffer.getLong(offset), buffer.getLong(offset + 8)).toString();
+                            revoked.put(jti, expiresAt);
+                            bloomFilter.add(jti);
+                        }
+                    }
+                }
+                rewrite();
+                log.info(revoked.size() + " revoked token(s) loaded");
+            } catch (IOException e) {
+                throw new UncheckedIOException("unable to open the token denylist", e);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks whether a token identifier has been revoked.
+     *
+     * @param jti The identifier of the token.
+     * @return {@code true} if the token has been revoked, {@code false} otherwise.
+     */
+    public boolean isRevoked(String jti) {
+        return bloomFilter.mightContain(jti) && revoked.containsKey(jti);
+    }
+
+    /**
+     * Revokes a token identifier until the expiration of the token.
+     *
+     * @param jti       The identifier of the token, in UUID format.
+     * @param expiresAt The expiration time of the token, in milliseconds since the epoch.
+     */
+    public void revoke(String jti, long expiresAt) {
+        lock.lock();
+        try {
+            UUID uuid = UUID.fromString(jti);
+            if (expiresAt <= System.currentTimeMillis() || revoked.putIfAbsent(jti, expiresAt) != null) {
+                return;
+            }
+            bloomFilter.add(jti);
+            if (count == capacity) {
+                purge();
+                if (count == capacity) {
+                    map(capacity * 2);
+                }
+            }
+            write(count++, uuid, expiresAt);
+            buffer.putInt(4, count);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the entries whose token has expired, rebuilds the Bloom filter and compacts the file.
+     */
+    @Scheduled(fixedDelayString = "${token-denylist-purge-interval}")
+    public void purge() {
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            revoked.values().removeIf(expiresAt -> expiresAt <= now);
+            BloomFilter rebuilt = new BloomFilter(Math.max(securityParameters.getDenylistExpectedEntries(), revoked.size()));
+            revoked.keySet().forEach(rebuilt::add);
+            bloomFilter = rebuilt;
+            rewrite();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of revoked tokens that have not expired yet.
+     *
+     * @return The number of entries of the denylist.
+     */
+    public int size() {
+        return revoked.size();
+    }
+
+    /**
+     * Flushes the mapped file to disk and closes it.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (buffer != null) {
+                buffer.force();
+            }
+            if (channel != null) {
+                channel.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Maps the denylist file with room for the given number of records, growing the file if needed.
+     *
+     * @param records The number of records the mapping must hold.
+     */
+    private void map(int records) {
+        try {
+            capacity = records;
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) records * RECORD_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("unable to map the token denylist", e);
+        }
+    }
+
+    /**
+     * Rewrites every entry of the exact set to the mapped file.
+     */
+    private void rewrite() {
+        if (revoked.size() > capacity) {
+            map(revoked.size() * 2);
+        }
+        count = 0;
+        revoked.forEach((jti, expiresAt) -> write(count++, UUID.fromString(jti), expiresAt));
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, count);
+    }
+
+    /**
+     * Writes a record at the given index of the mapped file.
+     *
+     * @param index     The index of the record.
+     * @param jti       The identifier of the revoked token.
+     * @param expiresAt The expiration time of the revoked token.
+     */
+    private void write(int index, UUID jti, long expiresAt) {
+        int offset = HEADER_SIZE + index * RECORD_SIZE;
+        buffer.putLong(offset, jti.getMostSignificantBits());
+        buffer.putLong(offset + 8, jti.getLeastSignificantBits());
+        buffer.putLong(offset + 16, expiresAt);
+    }
+
+    /**
+     * Computes the number of records held by a file of the given size.
+     *
+     * @param fileSize The size of the file, in bytes.
+     * @return The number of records the file can hold.
+     */
+    private static int recordsIn(long fileSize) {
+        return (int) ((fileSize - HEADER_SIZE) / RECORD_SIZE);
+    }
+}
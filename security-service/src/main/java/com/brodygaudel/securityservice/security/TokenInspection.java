@@ -0,0 +1,52 @@
+package com.brodygaudel.securityservice.security;
+
+import com.brodygaudel.jwtverifier.VerifiedToken;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+/**
+ * A record representing the outcome of the inspection of a bearer token by the {@link TokenInspector}.
+ * An active inspection holds the verified token and its granted authorities. A rejected one holds the
+ * reason of the rejection and, when the token was authentic but revoked, its token and authorities too.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public record TokenInspection(VerifiedToken token, Collection<GrantedAuthority> authorities, TokenRejection rejection) {
+
+    /**
+     * Creates the inspection of an active token.
+     *
+     * @param token       The verified token.
+     * @param authorities The granted authorities of the token.
+     * @return The active inspection.
+     */
+    @Contract("_, _ -> new")
+    static @NotNull TokenInspection active(VerifiedToken token, Collection<GrantedAuthority> authorities) {
+        return new TokenInspection(token, authorities, null);
+    }
+
+    /**
+     * Creates the inspection of a rejected token.
+     *
+     * @param rejection The reason of the rejection.
+     * @return The rejected inspection.
+     */
+    @Contract("_ -> new")
+    static @NotNull TokenInspection rejected(TokenRejection rejection) {
+        return new TokenInspection(null, null, rejection);
+    }
+
+    /**
+     * Indicates whether the token is active, that is authentic, unexpired and not revoked.
+     *
+     * @return {@code true} if the token is active, {@code false} otherwise.
+     */
+    public boolean isActive() {
+        return rejection == null;
+    }
+}
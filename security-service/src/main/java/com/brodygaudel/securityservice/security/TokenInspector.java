@@ -0,0 +1,155 @@
+package com.brodygaudel.securityservice.security;
+
+import com.brodygaudel.jwtverifier.BearerTokenParser;
+import com.brodygaudel.jwtverifier.TokenVerificationException;
+import com.brodygaudel.jwtverifier.TokenVerifier;
+import com.brodygaudel.jwtverifier.VerifiedToken;
+import com.brodygaudel.securityservice.profiling.TokenPhaseEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Component inspecting bearer tokens, shared by the {@link JWTAuthorizationFilter} and the introspection endpoint.
+ * A shared {@link TokenVerifier} checks the structure, the expiration and the signature of tokens and caches
+ * verified ones, then the token version and the denylist are checked for revocation and the role mask or role
+ * names are decoded into granted authorities. Tokens introspected on behalf of a gateway therefore hit the same
+ * cache as the tokens presented directly to this service. Each inspection is timed as {@code security.jwt.verify},
+ * and its verification and authority build phases are recorded as {@link TokenPhaseEvent}s.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@Component
+public class TokenInspector {
+
+    private static final String VALID = "VALID";
+
+    private final TokenVerifier verifier;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final TokenDenylist tokenDenylist;
+    private final RoleRegistry roleRegistry;
+    private final Timer verifyTimer;
+
+    /**
+     * Constructs a new TokenInspector with the specified dependencies.
+     *
+     * @param securityParameters   The security parameters used for JWT verification.
+     * @param tokenVersionRegistry The registry used to reject tokens invalidated since their issuance.
+     * @param tokenDenylist        The denylist used to reject individually revoked tokens.
+     * @param roleRegistry         The registry used to decode compact role masks.
+     * @param meterRegistry        The registry of the verification timer.
+     */
+    public TokenInspector(@NotNull SecurityParameters securityParameters, TokenVersionRegistry tokenVersionRegistry, TokenDenylist tokenDenylist, RoleRegistry roleRegistry, MeterRegistry meterRegistry) {
+        this.verifier = TokenVerifier.builder(securityParameters.getSecret())
+                .rolesClaim(StaticParameters.ROLES_CLAIM)
+                .roleMaskClaim(StaticParameters.ROLE_MASK_CLAIM)
+                .versionClaim(StaticParameters.TOKEN_VERSION_CLAIM)
+                .cacheSize(securityParameters.getTokenCacheSize())
+                .build();
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.tokenDenylist = tokenDenylist;
+        this.roleRegistry = roleRegistry;
+        this.verifyTimer = Timer.builder("security.jwt.verify")
+                .description("Verification of bearer tokens, including revocation checks")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Inspects the bearer token of an {@code Authorization} header.
+     *
+     * @param header The {@code Authorization} header, starting with {@code "Bearer "}.
+     * @return The inspection of the token.
+     */
+    public @NotNull TokenInspection inspect(String header) {
+        long start = System.nanoTime();
+        try {
+            return doInspect(header);
+        } finally {
+            verifyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Returns the number of tokens served from the verified-token cache.
+     *
+     * @return The number of cache hits.
+     */
+    public long cacheHits() {
+        return verifier.cacheHits();
+    }
+
+    /**
+     * Returns the number of tokens that had to be decoded and verified.
+     *
+     * @return The number of cache misses.
+     */
+    public long cacheMisses() {
+        return verifier.cacheMisses();
+    }
+
+    /**
+     * Inspects the bearer token of an {@code Authorization} header, untimed.
+     *
+     * @param header The {@code Authorization} header, starting with {@code "Bearer "}.
+     * @return The inspection of the token.
+     */
+    private @NotNull TokenInspection doInspect(String header) {
+        TokenPhaseEvent verifyEvent = TokenPhaseEvent.start(TokenPhaseEvent.VERIFY);
+        VerifiedToken token;
+        try {
+            token = verifier.verify(header);
+        } catch (TokenVerificationException e) {
+            verifyEvent.finish(e.getReason().name());
+            return TokenInspection.rejected(TokenRejection.of(e.getReason()));
+        }
+        verifyEvent.finish(VALID);
+        TokenPhaseEvent authoritiesEvent = TokenPhaseEvent.start(TokenPhaseEvent.AUTHORITIES);
+        Collection<GrantedAuthority> grantedAuthorities = grantedAuthorities(token);
+        authoritiesEvent.finish(grantedAuthorities == null ? TokenRejection.INVALID.name() : VALID);
+        if (grantedAuthorities == null) {
+            return TokenInspection.rejected(TokenRejection.INVALID);
+        }
+        String jti = token.getId();
+        if (!tokenVersionRegistry.isCurrent(token.getSubject(), token.getVersion())
+                || (jti != null && tokenDenylist.isRevoked(jti))) {
+            return new TokenInspection(token, grantedAuthorities, TokenRejection.REVOKED);
+        }
+        return TokenInspection.active(token, grantedAuthorities);
+    }
+
+    /**
+     * Inspects a bare token, as submitted to the introspection endpoint.
+     *
+     * @param jwt The token, without the {@code "Bearer "} prefix.
+     * @return The inspection of the token.
+     */
+    public @NotNull TokenInspection inspectToken(String jwt) {
+        return inspect(jwt == null ? null : BearerTokenParser.BEARER + jwt);
+    }
+
+    /**
+     * Builds the granted authorities carried by a token, either as a compact role mask or as a list of role names.
+     * A token carrying neither was not issued by this service, whatever its profile, and is rejected like in the
+     * reactive variant instead of being authenticated without roles.
+     *
+     * @param token The verified token.
+     * @return The granted authorities of the token, or {@code null} if it carries no roles or an unregistered role mask.
+     */
+    private Collection<GrantedAuthority> grantedAuthorities(@NotNull VerifiedToken token) {
+        if (!token.hasRoles()) {
+            return null;
+        }
+        try {
+            return token.hasRoleMask() ? roleRegistry.authorities(token.getRoleMask()) : roleRegistry.authorities(token.getRoles());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.brodygaudel.securityservice.security;
+
+/**
+ * Enumeration of the token profiles the application can issue.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public enum TokenProfile {
+
+    /**
+     * Tokens carry the roles of the user as an array of role names.
+     */
+    STANDARD,
+
+    /**
+     * Tokens carry the roles of the user as a bitmask mapped through the {@link RoleRegistry},
+     * falling back to the standard array when a role is not registered.
+     */
+    COMPACT
+}
@@ -0,0 +1,89 @@
+package com.brodygaudel.securityservice.security;
+
+import com.brodygaudel.jwtverifier.TokenVerificationException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Enumeration of the reasons a bearer token is rejected, each with a precomputed {@code 401} response.
+ * The {@code WWW-Authenticate} header and the body are built once, so that rejecting a token writes
+ * a few constant bytes without going through Spring's error handling.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public enum TokenRejection {
+
+    /**
+     * The token is not a well-formed JWT.
+     */
+    MALFORMED("The access token is malformed"),
+
+    /**
+     * The token has expired.
+     */
+    EXPIRED("The access token expired"),
+
+    /**
+     * The signature or the claims of the token are invalid.
+     */
+    INVALID("The access token is invalid"),
+
+    /**
+     * The token has been revoked.
+     */
+    REVOKED("The access token has been revoked");
+
+    private final String description;
+    private final String authenticateHeader;
+    private final byte[] body;
+
+    TokenRejection(String description) {
+        this.description = description;
+        this.authenticateHeader = "Bearer error=\"invalid_token\", error_description=\"" + description + "\"";
+        this.body = ("{\"error\":\"invalid_token\",\"error_description\":\"" + description + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the rejection matching the reason a token failed verification.
+     *
+     * @param reason The reason of the verification failure.
+     * @return The corresponding rejection.
+     */
+    public static TokenRejection of(@NotNull TokenVerificationException.Reason reason) {
+        return switch (reason) {
+            case MALFORMED -> MALFORMED;
+            case EXPIRED -> EXPIRED;
+            case INVALID -> INVALID;
+        };
+    }
+
+    /**
+     * Returns the human-readable description of the rejection.
+     *
+     * @return The description of the rejection.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Writes the precomputed {@code 401} response of this rejection.
+     *
+     * @param response The HTTP response.
+     * @throws IOException If an I/O error occurs while writing the body.
+     */
+    public void write(@NotNull HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setHeader(HttpHeaders.WWW_AUTHENTICATE, authenticateHeader);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
@@ -0,0 +1,224 @@
+package com.brodygaudel.securityservice.security;
+
+import com.brodygaudel.securityservice.dto.UserTokenVersionDTO;
+import com.brodygaudel.securityservice.repository.ServiceAccountRepository;
+import com.brodygaudel.securityservice.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory registry of the minimum valid token version of each user and service account.
+ * Every token carries the version of its subject at issuance time; a token whose version is lower
+ * than the one registered here has been invalidated by a password update, a role change, a key rotation or a deletion.
+ * The registry is kept up to date by the service layer and periodically synchronized from the database,
+ * so that {@link JWTAuthorizationFilter} can reject stale tokens with a single hash lookup.
+ * Service accounts are registered under their {@code client:} subject, so that revoking the tokens of a service account
+ * or deleting it on another node revokes its tokens here at the next synchronization.
+ * Once synchronized, the registry fails closed: a subject it does not know, such as a user created and deleted on
+ * another node between two synchronizations, is looked up in the database once and revoked if it is missing or
+ * disabled. Without a database, as in the verify-only {@code edge} profile, the registry is never synchronized and only
+ * rejects what it is told to.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class TokenVersionRegistry {
+
+    private static final long REVOKED = Long.MAX_VALUE;
+
+    private final UserRepository userRepository;
+    private final ServiceAccountRepository serviceAccountRepository;
+    private final SecurityParameters securityParameters;
+    private final Map<String, Long> minimumVersions = new ConcurrentHashMap<>();
+    private final Map<String, Tombstone> tombstones = new ConcurrentHashMap<>();
+    private volatile boolean synchronizedOnce;
+
+    /**
+     * Constructs a new TokenVersionRegistry with the specified dependencies.
+     *
+     * @param userRepository           The UserRepository used to synchronize the registry with the database, if any.
+     * @param serviceAccountRepository The ServiceAccountRepository used to synchronize the service accounts, if any.
+     * @param securityParameters       The SecurityParameters providing the token lifetime.
+     */
+    public TokenVersionRegistry(ObjectProvider<UserRepository> userRepository, ObjectProvider<ServiceAccountRepository> serviceAccountRepository, SecurityParameters securityParameters) {
+        this.userRepository = userRepository.getIfAvailable();
+        this.serviceAccountRepository = serviceAccountRepository.getIfAvailable();
+        this.securityParameters = securityParameters;
+    }
+
+    /**
+     * Checks whether a token issued with the given version is still valid for the given subject.
+     * Subjects unknown to the registry are accepted until the first synchronization, and looked up in the database
+     * afterwards.
+     *
+     * @param subject The subject carried by the token.
+     * @param version The token version carried by the token.
+     * @return {@code true} if the token version is still valid, {@code false} otherwise.
+     */
+    public boolean isCurrent(String subject, long version) {
+        Long minimum = minimumVersions.get(subject);
+        if (minimum == null) {
+            if (!synchronizedOnce) {
+                return true;
+            }
+            minimum = load(subject);
+        }
+        return version >= minimum;
+    }
+
+    /**
+     * Registers the current token version of a subject, invalidating all tokens issued with a lower version.
+     *
+     * @param subject The username of the user.
+     * @param version The current token version of the user.
+     */
+    public void update(String subject, long version) {
+        tombstones.remove(subject);
+        minimumVersions.compute(subject, (key, current) -> current == null || current == REVOKED ? version : Math.max(current, version));
+    }
+
+    /**
+     * Invalidates every token issued for a subject, regardless of its version.
+     *
+     * @param subject The username of the deleted or disabled user.
+     */
+    public void revoke(String subject) {
+        revoke(subject, false);
+    }
+
+    /**
+     * Invalidates every token issued for all users known to the registry, leaving service accounts untouched.
+     */
+    public void revokeAll() {
+        minimumVersions.keySet().stream()
+                .filter(subject -> !subject.startsWith(StaticParameters.CLIENT_SUBJECT_PREFIX))
+                .forEach(this::revoke);
+    }
+
+    /**
+     * Returns the number of subjects whose minimum token version is registered.
+     *
+     * @return The number of registered subjects.
+     */
+    public int size() {
+        return minimumVersions.size();
+    }
+
+    /**
+     * Synchronizes the registry with the token versions of the users and service accounts stored in the database.
+     * Subjects missing from the database or disabled are revoked. A revocation made on this node is only lifted by a
+     * row with a higher token version than the one it revoked, or once the database has shown the subject missing or
+     * disabled, so that a snapshot read before the deletion or the disabling committed does not undo it. Revocations
+     * recorded while the synchronization was running are kept, and revocations older than the token lifetime are
+     * forgotten since every token they could apply to has expired.
+     */
+    @Scheduled(fixedDelayString = "${token-version-sync-interval}")
+    public void synchronize() {
+        if (userRepository == null || serviceAccountRepository == null) {
+            return;
+        }
+        long startedAt = System.currentTimeMillis();
+        List<UserTokenVersionDTO> versions = new ArrayList<>(userRepository.findAllTokenVersions());
+        for (UserTokenVersionDTO version : serviceAccountRepository.findAllTokenVersions()) {
+            versions.add(new UserTokenVersionDTO(StaticParameters.CLIENT_SUBJECT_PREFIX + version.username(), version.tokenVersion(), version.enabled()));
+        }
+        Set<String> subjects = new HashSet<>(versions.size() * 2);
+        for (UserTokenVersionDTO version : versions) {
+            subjects.add(version.username());
+            Tombstone tombstone = tombstones.get(version.username());
+            if (tombstone != null && tombstone.revokedAt() >= startedAt) {
+                continue;
+            }
+            if (!Boolean.TRUE.equals(version.enabled())) {
+                confirm(version.username(), tombstone);
+            } else if (tombstone == null || tombstone.confirmed() || version.tokenVersion() > tombstone.version()) {
+                update(version.username(), version.tokenVersion());
+            }
+        }
+        for (String subject : minimumVersions.keySet()) {
+            Tombstone tombstone = tombstones.get(subject);
+            if (!subjects.contains(subject) && (tombstone == null || tombstone.revokedAt() < startedAt)) {
+                confirm(subject, tombstone);
+            }
+        }
+        long expiredBefore = startedAt - securityParameters.getExpiredTime();
+        tombstones.entrySet().removeIf(tombstone -> {
+            if (tombstone.getValue().revokedAt() < expiredBefore && !subjects.contains(tombstone.getKey())) {
+                minimumVersions.remove(tombstone.getKey());
+                return true;
+            }
+            return false;
+        });
+        synchronizedOnce = true;
+        log.debug("token versions synchronized : " + versions.size() + " subject(s)");
+    }
+
+    /**
+     * Registers the token version of a subject unknown to the registry, read from the database.
+     *
+     * @param subject The username of the user, or the {@code client:} subject of the service account.
+     * @return The minimum valid token version of the subject, {@link #REVOKED} if it is missing or disabled.
+     */
+    private long load(String subject) {
+        UserTokenVersionDTO version = subject.startsWith(StaticParameters.CLIENT_SUBJECT_PREFIX)
+                ? serviceAccountRepository.findTokenVersionByClientId(subject.substring(StaticParameters.CLIENT_SUBJECT_PREFIX.length()))
+                : userRepository.findTokenVersionByUsername(subject);
+        if (version == null || !Boolean.TRUE.equals(version.enabled())) {
+            log.info("token of unknown subject rejected");
+            revoke(subject, true);
+        } else {
+            update(subject, version.tokenVersion());
+        }
+        return minimumVersions.getOrDefault(subject, REVOKED);
+    }
+
+    /**
+     * Invalidates every token issued for a subject, remembering the token version the revocation applies to.
+     *
+     * @param subject   The subject to revoke.
+     * @param confirmed Whether the database showed the subject missing or disabled.
+     */
+    private void revoke(String subject, boolean confirmed) {
+        Long current = minimumVersions.put(subject, REVOKED);
+        tombstones.compute(subject, (key, tombstone) -> {
+            long version = current != null && current != REVOKED ? current : tombstone != null ? tombstone.version() : REVOKED;
+            return new Tombstone(System.currentTimeMillis(), version, confirmed);
+        });
+    }
+
+    /**
+     * Records that the database showed a subject missing or disabled, revoking it if it was not revoked yet.
+     *
+     * @param subject   The subject.
+     * @param tombstone The revocation of the subject, if any.
+     */
+    private void confirm(String subject, Tombstone tombstone) {
+        if (tombstone == null) {
+            revoke(subject, true);
+        } else if (!tombstone.confirmed()) {
+            tombstones.replace(subject, tombstone, new Tombstone(tombstone.revokedAt(), tombstone.version(), true));
+        }
+    }
+
+    /**
+     * The revocation of a subject.
+     *
+     * @param revokedAt The time of the revocation, in milliseconds since the epoch.
+     * @param version   The last token version the revocation applies to, {@link #REVOKED} if it was not known.
+     * @param confirmed Whether the database has shown the subject missing or disabled since the revocation.
+     */
+    private record Tombstone(long revokedAt, long version, boolean confirmed) {
+    }
+}
@@ -0,0 +1,520 @@
+package com.brodygaudel.securityservice.security;
+
+import com.brodygaudel.securityservice.dto.UserTokenVersionDTO;
+import com.brodygaudel.securityservice.entity.User;
+import com.brodygaudel.securityservice.repository.UserRepository;
+import com.brodygaudel.securityservice.util.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed-size, direct-mapped cache of the credentials and roles of users, looked up by username or by email.
+ * An entry is served until its time to live elapses or until the {@link TokenVersionRegistry} no longer accepts its
+ * token version, which happens when the user changes password or roles, is deleted or is disabled: at once on this
+ * node, and at the next synchronization of the registry on the others, since the registry looks up in the database any
+ * user it has not synchronized yet. Colliding users simply replace each other, which only costs a new query.
+ * Concurrent misses of the same user share a single query through a {@link SingleFlight}, so a burst of logins of a
+ * popular account does not reach the database at once.
+ * <p>
+ * The live entries can be written periodically and on shutdown to a snapshot, a compact memory-mapped file of
+ * variable-size records, so that a restarted node comes back warm. The snapshot is loaded lazily, on the first lookup
+ * or during the warm-up, and each entry is kept only if the database still holds the same user with the same token
+ * version, which costs one query per batch of users instead of one per user.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@Slf4j
+@Component
+@Profile("!edge")
+public class UserCache {
+
+    private static final int MAGIC = 0x55534552;
+    private static final int FORMAT = 1;
+    private static final int HEADER_SIZE = 20;
+    private static final int VALIDATION_BATCH = 500;
+    private static final int MAX_STRING_BYTES = 0xFFFF;
+    private static final int MAX_ROLES = 0xFF;
+
+    private final UserRepository userRepository;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final RoleRegistry roleRegistry;
+    private final SecurityParameters securityParameters;
+    private final AtomicReferenceArray<Entry> byUsername;
+    private final AtomicReferenceArray<Entry> byEmail;
+    private final int mask;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final SingleFlight<String, CachedUser> usernameLoads;
+    private final SingleFlight<String, CachedUser> emailLoads;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile boolean restored;
+
+    /**
+     * Constructs a new UserCache with the specified dependencies.
+     *
+     * @param userRepository       The UserRepository used to load missing users and to validate the snapshot.
+     * @param tokenVersionRegistry The TokenVersionRegistry telling whether a cached user is still current.
+     * @param roleRegistry         The RoleRegistry providing shared role name sets.
+     * @param securityParameters   The SecurityParameters providing the size, time to live and snapshot of the cache.
+     * @param meterRegistry        The MeterRegistry counting the coalesced loads.
+     */
+    public UserCache(UserRepository userRepository, TokenVersionRegistry tokenVersionRegistry, RoleRegistry roleRegistry, SecurityParameters securityParameters, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.roleRegistry = roleRegistry;
+        this.securityParameters = securityParameters;
+        int size = securityParameters.getUserCacheSize();
+        int capacity = size <= 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+        this.byUsername = new AtomicReferenceArray<>(capacity);
+        this.byEmail = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.usernameLoads = new SingleFlight<>("user.username", securityParameters.getSingleFlightTimeout());
+        this.emailLoads = new SingleFlight<>("user.email", securityParameters.getSingleFlightTimeout());
+        usernameLoads.bindTo(meterRegistry);
+        emailLoads.bindTo(meterRegistry);
+    }
+
+    /**
+     * Returns the cached user with the given username, loading it from the database on a miss.
+     *
+     * @param username The username of the user.
+     * @return The user, or {@code null} if there is no user with this username.
+     */
+    public CachedUser get(String username) {
+        if (username == null) {
+            return null;
+        }
+        restore();
+        CachedUser cached = lookup(byUsername, username, true);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+        return usernameLoads.load(username, () -> put(userRepository.findByUsername(username)));
+    }
+
+    /**
+     * Returns the cached user with the given email, loading it from the database on a miss.
+     * Emails that belong to no user are not cached.
+     *
+     * @param email The email of the user.
+     * @return The user, or {@code null} if there is no user with this email.
+     */
+    public CachedUser getByEmail(String email) {
+        if (email == null) {
+            return null;
+        }
+        restore();
+        CachedUser cached = lookup(byEmail, email, false);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+        return emailLoads.load(email, () -> put(userRepository.findByEmail(email)));
+    }
+
+    /**
+     * Removes a user from the cache.
+     *
+     * @param username The username of the user.
+     */
+    public void evict(String username) {
+        if (username == null) {
+            return;
+        }
+        int slot = slot(username);
+        Entry entry = byUsername.get(slot);
+        if (entry != null && entry.user().username().equals(username)) {
+            byUsername.compareAndSet(slot, entry, null);
+            byEmail.compareAndSet(slot(entry.user().email()), entry, null);
+        }
+    }
+
+    /**
+     * Removes every user from the cache.
+     */
+    public void clear() {
+        for (int i = 0; i < byUsername.length(); i++) {
+            byUsername.set(i, null);
+            byEmail.set(i, null);
+        }
+    }
+
+    /**
+     * Returns the number of users held by the cache, including expired ones not evicted yet.
+     *
+     * @return The number of cached users.
+     */
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < byUsername.length(); i++) {
+            if (byUsername.get(i) != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns the number of lookups served from the cache.
+     *
+     * @return The number of hits.
+     */
+    public long hits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of lookups that went to the database.
+     *
+     * @return The number of misses.
+     */
+    public long misses() {
+        return misses.get();
+    }
+
+    /**
+     * Loads the snapshot of the cache, once, keeping the users whose token version still matches the database.
+     * Lookups made while it runs wait for it, so that they are served by the restored entries instead of all going
+     * to the database. A missing, unreadable or outdated snapshot is ignored.
+     */
+    public void restore() {
+        if (restored) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (restored) {
+                return;
+            }
+            Path path = snapshotPath();
+            if (path != null && Files.exists(path)) {
+                long start = System.currentTimeMillis();
+                int count = load(path);
+                log.info(count + " cached user(s) restored in " + (System.currentTimeMillis() - start) + " ms");
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("unable to restore the user cache : " + e.getMessage());
+        } finally {
+            restored = true;
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes the live entries of the cache to the snapshot, if one is configured.
+     * Nothing is written until the previous snapshot has been restored, so that an idle node does not replace it
+     * with an empty one.
+     */
+    @Scheduled(fixedDelayString = "${user-cache-snapshot-interval}")
+    public void snapshot() {
+        Path path = snapshotPath();
+        if (path == null || !restored) {
+            return;
+        }
+        lock.lock();
+        try {
+            int count = write(path);
+            log.debug(count + " cached user(s) written to the snapshot");
+        } catch (IOException | RuntimeException e) {
+            log.warn("unable to write the user cache snapshot : " + e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes the snapshot on shutdown.
+     */
+    @PreDestroy
+    public void close() {
+        snapshot();
+    }
+
+    /**
+     * Returns the user cached in a slot for a key, removing it if it is no longer current.
+     *
+     * @param slots      The slots to look in.
+     * @param key        The username or the email.
+     * @param isUsername Whether the key is a username.
+     * @return The cached user, or {@code null} if there is none.
+     */
+    private CachedUser lookup(AtomicReferenceArray<Entry> slots, String key, boolean isUsername) {
+        int slot = slot(key);
+        Entry entry = slots.get(slot);
+        if (entry == null || !key.equals(isUsername ? entry.user().username() : entry.user().email())) {
+            return null;
+        }
+        if (!isCurrent(entry, System.currentTimeMillis())) {
+            slots.compareAndSet(slot, entry, null);
+            return null;
+        }
+        return entry.user();
+    }
+
+    /**
+     * Caches a user read from the database.
+     *
+     * @param user The user, or {@code null} if none was found.
+     * @return The cached user, or {@code null} if none was found.
+     */
+    private CachedUser put(User user) {
+        if (user == null) {
+            return null;
+        }
+        CachedUser cached = new CachedUser(user.getId(), user.getUsername(), user.getEmail(), user.getPassword(),
+                user.getTokenVersion(), roleRegistry.namesOf(user.getRoles()));
+        store(new Entry(cached, System.currentTimeMillis()));
+        return cached;
+    }
+
+    /**
+     * Stores an entry in the slots of its username and of its email.
+     *
+     * @param entry The entry.
+     */
+    private void store(Entry entry) {
+        byUsername.set(slot(entry.user().username()), entry);
+        byEmail.set(slot(entry.user().email()), entry);
+    }
+
+    /**
+     * Checks whether an entry can still be served.
+     *
+     * @param entry The entry.
+     * @param now   The current time, in milliseconds since the epoch.
+     * @return {@code true} if the entry has not expired and its token version is current, {@code false} otherwise.
+     */
+    private boolean isCurrent(Entry entry, long now) {
+        return now - entry.loadedAt() < securityParameters.getUserCacheTtl()
+                && tokenVersionRegistry.isCurrent(entry.user().username(), entry.user().tokenVersion());
+    }
+
+    /**
+     * Reads the snapshot and restores its entries that are still valid.
+     *
+     * @param path The path of the snapshot.
+     * @return The number of restored users.
+     * @throws IOException If the snapshot cannot be read.
+     */
+    private int load(Path path) throws IOException {
+        List<CachedUser> users = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                return 0;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT) {
+                log.warn("user cache snapshot ignored : unknown format");
+                return 0;
+            }
+            int count = buffer.getInt();
+            buffer.getLong();
+            for (int i = 0; i < count && users.size() < byUsername.length(); i++) {
+                users.add(decode(buffer));
+            }
+        }
+        return validate(users);
+    }
+
+    /**
+     * Restores the users whose token version is still the one stored in the database, batch by batch.
+     * Users that have been deleted, renamed, disabled or modified since the snapshot are dropped.
+     *
+     * @param users The users read from the snapshot.
+     * @return The number of restored users.
+     */
+    private int validate(List<CachedUser> users) {
+        long now = System.currentTimeMillis();
+        int count = 0;
+        for (int from = 0; from < users.size(); from += VALIDATION_BATCH) {
+            List<CachedUser> batch = users.subList(from, Math.min(users.size(), from + VALIDATION_BATCH));
+            Map<String, UserTokenVersionDTO> versions = new HashMap<>(batch.size() * 2);
+            for (UserTokenVersionDTO version : userRepository.findTokenVersionsByIds(batch.stream().map(CachedUser::id).toList())) {
+                versions.put(version.username(), version);
+            }
+            for (CachedUser user : batch) {
+                UserTokenVersionDTO version = versions.get(user.username());
+                if (version != null && version.tokenVersion() == user.tokenVersion() && Boolean.TRUE.equals(version.enabled())) {
+                    store(new Entry(user, now));
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Writes the live entries to a temporary file, then moves it over the snapshot.
+     * The snapshot holds password hashes, so the temporary file is created readable by its owner only, where the file
+     * system supports POSIX permissions.
+     *
+     * @param path The path of the snapshot.
+     * @return The number of written users.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    private int write(Path path) throws IOException {
+        long now = System.currentTimeMillis();
+        List<byte[]> records = new ArrayList<>();
+        long size = HEADER_SIZE;
+        for (int i = 0; i < byUsername.length(); i++) {
+            Entry entry = byUsername.get(i);
+            if (entry != null && isCurrent(entry, now)) {
+                byte[] record = encode(entry.user());
+                if (record != null) {
+                    records.add(record);
+                    size += record.length;
+                }
+            }
+        }
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.deleteIfExists(temporary);
+        try (FileChannel channel = FileChannel.open(temporary, Set.of(StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE), ownerOnly(temporary))) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(MAGIC).putInt(FORMAT).putInt(records.size()).putLong(now);
+            records.forEach(buffer::put);
+            buffer.force();
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return records.size();
+    }
+
+    /**
+     * Returns the attributes creating a file readable and writable by its owner only, if the file system supports them.
+     *
+     * @param path The path of the file.
+     * @return The attributes, empty if the file system has no POSIX permissions.
+     */
+    private static FileAttribute<?>[] ownerOnly(Path path) {
+        if (!path.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            return new FileAttribute<?>[0];
+        }
+        return new FileAttribute<?>[]{PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------"))};
+    }
+
+    /**
+     * Encodes a user as a record of the snapshot: its identifier, username, email and password as UTF-8 strings
+     * prefixed by their length on two bytes, its token version, then the number of its roles on one byte followed
+     * by their names.
+     *
+     * @param user The user.
+     * @return The record, or {@code null} if a string or the number of roles does not fit.
+     */
+    private static byte[] encode(CachedUser user) {
+        if (user.roles().size() > MAX_ROLES) {
+            return null;
+        }
+        List<byte[]> strings = new ArrayList<>(4 + user.roles().size());
+        strings.add(user.id().getBytes(StandardCharsets.UTF_8));
+        strings.add(user.username().getBytes(StandardCharsets.UTF_8));
+        strings.add(user.email().getBytes(StandardCharsets.UTF_8));
+        strings.add(user.password().getBytes(StandardCharsets.UTF_8));
+        for (String role : user.roles()) {
+            strings.add(role.getBytes(StandardCharsets.UTF_8));
+        }
+        int size = Long.BYTES + 1;
+        for (byte[] string : strings) {
+            if (string.length > MAX_STRING_BYTES) {
+                return null;
+            }
+            size += Short.BYTES + string.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (int i = 0; i < 4; i++) {
+            putString(buffer, strings.get(i));
+        }
+        buffer.putLong(user.tokenVersion());
+        buffer.put((byte) user.roles().size());
+        for (int i = 4; i < strings.size(); i++) {
+            putString(buffer, strings.get(i));
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Decodes the record at the position of the buffer, written by {@link #encode(CachedUser)}.
+     *
+     * @param buffer The buffer, positioned at the start of the record.
+     * @return The user.
+     */
+    private static CachedUser decode(ByteBuffer buffer) {
+        String id = getString(buffer);
+        String username = getString(buffer);
+        String email = getString(buffer);
+        String password = getString(buffer);
+        long tokenVersion = buffer.getLong();
+        int roleCount = Byte.toUnsignedInt(buffer.get());
+        String[] roles = new String[roleCount];
+        for (int i = 0; i < roleCount; i++) {
+            roles[i] = getString(buffer);
+        }
+        return new CachedUser(id, username, email, password, tokenVersion, Set.of(roles));
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] string) {
+        buffer.putShort((short) string.length);
+        buffer.put(string);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] string = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(string);
+        return new String(string, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the path of the snapshot.
+     *
+     * @return The path, or {@code null} if no snapshot is configured.
+     */
+    private Path snapshotPath() {
+        String file = securityParameters.getUserCacheSnapshotFile();
+        return file == null || file.isBlank() ? null : Path.of(file);
+    }
+
+    private int slot(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * A cached user and the time it was read from the database or validated against it.
+     *
+     * @param user     The cached user.
+     * @param loadedAt The load time, in milliseconds since the epoch.
+     */
+    private record Entry(CachedUser user, long loadedAt) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.brodygaudel.securityservice.security;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Configuration applied when the application runs on virtual threads ({@code spring.threads.virtual.enabled=true}).
+ * Each servlet request, and thus every call it makes to the service layer, already runs on its own virtual thread,
+ * so the thread-local security context stays correct there. Work handed to the application task executor is
+ * decorated so that it runs with the security context of the submitting thread; the context is captured by value
+ * and no lock is involved, so nothing pins the carrier.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfiguration {
+
+    /**
+     * Provides a TaskDecorator propagating the security context to the tasks of the application task executor.
+     *
+     * @return The configured TaskDecorator bean.
+     */
+    @Bean
+    public TaskDecorator securityContextTaskDecorator() {
+        return runnable -> new DelegatingSecurityContextRunnable(runnable, SecurityContextHolder.getContext());
+    }
+}
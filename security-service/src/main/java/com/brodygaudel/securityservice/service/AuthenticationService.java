@@ -0,0 +1,78 @@
+package com.brodygaudel.securityservice.service;
+
+import com.brodygaudel.securityservice.dto.ClientCredentialsRequestDTO;
+import com.brodygaudel.securityservice.dto.ClientTokenResponseDTO;
+import com.brodygaudel.securityservice.dto.IntrospectionRequestDTO;
+import com.brodygaudel.securityservice.dto.LoginRequestDTO;
+import com.brodygaudel.securityservice.dto.LoginResponseDTO;
+import com.brodygaudel.securityservice.dto.RefreshRequestDTO;
+import com.brodygaudel.securityservice.dto.TokenIntrospectionDTO;
+import com.brodygaudel.securityservice.exceptions.InvalidRefreshTokenException;
+import com.brodygaudel.securityservice.exceptions.LoginThrottledException;
+import com.brodygaudel.securityservice.exceptions.TooManyTokensException;
+
+import java.util.List;
+
+/**
+ * Service interface for handling user authentication operations.
+ * This interface defines methods related to user login/authentication.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public interface AuthenticationService {
+
+    /**
+     * Performs user login/authentication based on the provided LoginRequestDTO.
+     * This method attempts to authenticate a user using the information provided in the LoginRequestDTO.
+     *
+     * @param loginRequestDTO The LoginRequestDTO containing user credentials for authentication.
+     * @param clientAddress   The address of the client attempting to log in.
+     * @return The result of the login operation encapsulated in a LoginResponseDTO.
+     *         If the login is successful, the response may include user details and a JWT token.
+     *         If the login fails, appropriate error details may be included in the response.
+     * @throws LoginThrottledException If too many failed attempts were made for the username or from the client address.
+     */
+    LoginResponseDTO login(LoginRequestDTO loginRequestDTO, String clientAddress) throws LoginThrottledException;
+
+    /**
+     * Exchanges a refresh token for a new JWT and the next refresh token of its family.
+     * A refresh token can only be used once; using it again revokes its whole family.
+     *
+     * @param refreshRequestDTO The RefreshRequestDTO holding the refresh token.
+     * @return The issued tokens encapsulated in a LoginResponseDTO.
+     * @throws InvalidRefreshTokenException If the refresh token is unknown, expired, revoked or already used.
+     */
+    LoginResponseDTO refresh(RefreshRequestDTO refreshRequestDTO) throws InvalidRefreshTokenException;
+
+    /**
+     * Issues a token to a service account authenticating with the client-credentials grant.
+     * A still valid token previously issued to the same client for the same scope is returned instead of a new one.
+     *
+     * @param clientCredentialsRequestDTO The ClientCredentialsRequestDTO containing the client credentials and the requested scope.
+     * @param clientAddress               The address of the client requesting the token.
+     * @return The issued token encapsulated in a ClientTokenResponseDTO.
+     * @throws LoginThrottledException If too many failed attempts were made for the client or from the client address.
+     */
+    ClientTokenResponseDTO token(ClientCredentialsRequestDTO clientCredentialsRequestDTO, String clientAddress) throws LoginThrottledException;
+
+    /**
+     * Revokes a token so that it is rejected for the rest of its lifetime, along with the refresh tokens of its login.
+     * This method is used both to log out and to revoke a compromised token.
+     *
+     * @param jwt The token to revoke.
+     */
+    void revoke(String jwt);
+
+    /**
+     * Introspects a batch of tokens with the same verification, cache and revocation checks as incoming requests.
+     *
+     * @param introspectionRequestDTO The IntrospectionRequestDTO holding the tokens to introspect.
+     * @return The introspection of each token, in the order of the request.
+     * @throws TooManyTokensException If the request holds more tokens than allowed per call.
+     */
+    List<TokenIntrospectionDTO> introspect(IntrospectionRequestDTO introspectionRequestDTO) throws TooManyTokensException;
+
+}
+
@@ -0,0 +1,63 @@
+package com.brodygaudel.securityservice.service;
+
+import com.brodygaudel.securityservice.dto.ServiceAccountRequestDTO;
+import com.brodygaudel.securityservice.dto.ServiceAccountResponseDTO;
+import com.brodygaudel.securityservice.exceptions.ItemAlreadyExistException;
+import com.brodygaudel.securityservice.exceptions.RoleNotFoundException;
+import com.brodygaudel.securityservice.exceptions.ServiceAccountNotFoundException;
+
+import java.util.List;
+
+/**
+ * Service interface for managing the service accounts authenticating with the client-credentials grant.
+ * This interface defines methods for creating, listing and deleting service accounts, rotating their API keys and
+ * revoking their tokens.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public interface ServiceAccountService {
+
+    /**
+     * Creates a new service account with a freshly generated API key.
+     *
+     * @param serviceAccountRequestDTO The DTO containing the client identifier and the roles of the service account.
+     * @return The response DTO containing the service account and its API key, returned only this once.
+     * @throws ItemAlreadyExistException If a service account with the same client identifier already exists.
+     * @throws RoleNotFoundException     If one of the roles is not found.
+     */
+    ServiceAccountResponseDTO save(ServiceAccountRequestDTO serviceAccountRequestDTO) throws ItemAlreadyExistException, RoleNotFoundException;
+
+    /**
+     * Retrieves all service accounts, without their API keys.
+     *
+     * @return A list of response DTOs containing details of all service accounts.
+     */
+    List<ServiceAccountResponseDTO> findAll();
+
+    /**
+     * Generates a new API key for a service account and revokes every token issued with the former one.
+     *
+     * @param id The ID of the service account.
+     * @return The response DTO containing the service account and its new API key, returned only this once.
+     * @throws ServiceAccountNotFoundException If the service account with the specified ID is not found.
+     */
+    ServiceAccountResponseDTO rotateKey(String id) throws ServiceAccountNotFoundException;
+
+    /**
+     * Revokes every token issued to a service account, keeping the account and its API key.
+     *
+     * @param id The ID of the service account.
+     * @throws ServiceAccountNotFoundException If the service account with the specified ID is not found.
+     */
+    void revokeTokens(String id) throws ServiceAccountNotFoundException;
+
+    /**
+     * Deletes a service account and revokes every token issued to it.
+     *
+     * @param id The ID of the service account to be deleted.
+     * @throws ServiceAccountNotFoundException If the service account with the specified ID is not found.
+     */
+    void deleteById(String id) throws ServiceAccountNotFoundException;
+}
@@ -0,0 +1,454 @@
+package com.brodygaudel.securityservice.service.implementation;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTCreator;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.brodygaudel.jwtverifier.HmacKeys;
+import com.brodygaudel.securityservice.dto.ClientCredentialsRequestDTO;
+import com.brodygaudel.securityservice.dto.ClientTokenResponseDTO;
+import com.brodygaudel.securityservice.dto.IntrospectionRequestDTO;
+import com.brodygaudel.securityservice.dto.LoginRequestDTO;
+import com.brodygaudel.securityservice.dto.LoginResponseDTO;
+import com.brodygaudel.securityservice.dto.RefreshRequestDTO;
+import com.brodygaudel.securityservice.dto.TokenIntrospectionDTO;
+import com.brodygaudel.securityservice.entity.RefreshToken;
+import com.brodygaudel.securityservice.entity.ServiceAccount;
+import com.brodygaudel.securityservice.entity.User;
+import com.brodygaudel.securityservice.exceptions.InvalidRefreshTokenException;
+import com.brodygaudel.securityservice.exceptions.LoginThrottledException;
+import com.brodygaudel.securityservice.exceptions.TooManyTokensException;
+import com.brodygaudel.securityservice.profiling.LoginPhaseEvent;
+import com.brodygaudel.securityservice.repository.ServiceAccountRepository;
+import com.brodygaudel.securityservice.repository.UserRepository;
+import com.brodygaudel.securityservice.security.ApiKeyHasher;
+import com.brodygaudel.securityservice.security.CachedUser;
+import com.brodygaudel.securityservice.security.ClientTokenCache;
+import com.brodygaudel.securityservice.security.LoginActivityTracker;
+import com.brodygaudel.securityservice.security.LoginThrottle;
+import com.brodygaudel.securityservice.security.RefreshTokenStore;
+import com.brodygaudel.securityservice.security.RoleRegistry;
+import com.brodygaudel.securityservice.security.SecurityParameters;
+import com.brodygaudel.securityservice.security.StaticParameters;
+import com.brodygaudel.securityservice.security.TokenDenylist;
+import com.brodygaudel.securityservice.security.TokenInspection;
+import com.brodygaudel.securityservice.security.TokenInspector;
+import com.brodygaudel.securityservice.security.TokenProfile;
+import com.brodygaudel.securityservice.security.UserCache;
+import com.brodygaudel.securityservice.service.AuthenticationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service implementation for handling user authentication operations.
+ * This class provides the implementation for the AuthenticationService interface,
+ * performing user login/authentication based on the provided LoginRequestDTO.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@Service
+@Profile("!edge")
+@Slf4j
+public class AuthenticationServiceImpl implements AuthenticationService {
+
+    private final AuthenticationManager authenticationManager;
+    private final UserRepository userRepository;
+    private final SecurityParameters securityParameters;
+    private final TokenDenylist tokenDenylist;
+    private final RoleRegistry roleRegistry;
+    private final LoginThrottle loginThrottle;
+    private final TokenInspector tokenInspector;
+    private final ServiceAccountRepository serviceAccountRepository;
+    private final ApiKeyHasher apiKeyHasher;
+    private final ClientTokenCache clientTokenCache;
+    private final RefreshTokenStore refreshTokenStore;
+    private final LoginActivityTracker loginActivityTracker;
+    private final UserCache userCache;
+    private final MeterRegistry meterRegistry;
+    private final Timer signTimer;
+    private final Counter loginSuccessCounter;
+
+    /**
+     * Constructs a new AuthenticationServiceImpl with the specified dependencies.
+     *
+     * @param authenticationManager The AuthenticationManager for user authentication.
+     * @param userRepository       The UserRepository for accessing user data.
+     * @param securityParameters   The SecurityParameters containing security-related configurations.
+     * @param tokenDenylist        The TokenDenylist recording revoked tokens.
+     * @param roleRegistry         The RoleRegistry encoding roles in compact tokens.
+     * @param loginThrottle        The LoginThrottle rejecting brute-force attempts.
+     * @param tokenInspector       The TokenInspector verifying introspected tokens.
+     * @param serviceAccountRepository The ServiceAccountRepository for accessing service account data.
+     * @param apiKeyHasher         The ApiKeyHasher checking the API keys of service accounts.
+     * @param clientTokenCache     The ClientTokenCache reusing the tokens issued to service accounts.
+     * @param refreshTokenStore    The RefreshTokenStore issuing and rotating refresh tokens.
+     * @param loginActivityTracker The LoginActivityTracker recording the last login and failed attempts of users.
+     * @param userCache            The UserCache serving the credentials and roles of users.
+     * @param meterRegistry        The MeterRegistry timing token signatures and counting login outcomes.
+     */
+    public AuthenticationServiceImpl(AuthenticationManager authenticationManager, UserRepository userRepository, SecurityParameters securityParameters, TokenDenylist tokenDenylist, RoleRegistry roleRegistry, LoginThrottle loginThrottle, TokenInspector tokenInspector, ServiceAccountRepository serviceAccountRepository, ApiKeyHasher apiKeyHasher, ClientTokenCache clientTokenCache, RefreshTokenStore refreshTokenStore, LoginActivityTracker loginActivityTracker, UserCache userCache, MeterRegistry meterRegistry) {
+        this.authenticationManager = authenticationManager;
+        this.userRepository = userRepository;
+        this.securityParameters = securityParameters;
+        this.tokenDenylist = tokenDenylist;
+        this.roleRegistry = roleRegistry;
+        this.loginThrottle = loginThrottle;
+        this.tokenInspector = tokenInspector;
+        this.serviceAccountRepository = serviceAccountRepository;
+        this.apiKeyHasher = apiKeyHasher;
+        this.clientTokenCache = clientTokenCache;
+        this.refreshTokenStore = refreshTokenStore;
+        this.loginActivityTracker = loginActivityTracker;
+        this.userCache = userCache;
+        this.meterRegistry = meterRegistry;
+        this.signTimer = Timer.builder("security.jwt.sign").description("Signature of issued tokens").register(meterRegistry);
+        this.loginSuccessCounter = loginCounter("success", "none");
+    }
+
+
+    /**
+     * Performs user login/authentication based on the provided LoginRequestDTO.
+     * This method attempts to authenticate a user using the information provided in the LoginRequestDTO.
+     *
+     * Failures are throttled per account, whether the user logs in with their username or their email, and per
+     * client address. Throttled attempts are rejected before any password hash, and before any database lookup
+     * unless the user logs in with an email missing from the cache. The outcome is recorded in the login activity
+     * of the user, written behind.
+     *
+     * @param loginRequestDTO The LoginRequestDTO containing user credentials for authentication.
+     * @param clientAddress   The address of the client attempting to log in.
+     * @return The result of the login operation encapsulated in a LoginResponseDTO.
+     *         If the login is successful, the response may include user details and a JWT token.
+     *         If the login fails, appropriate error details may be included in the response.
+     * @throws LoginThrottledException If too many failed attempts were made for the username or from the client address.
+     */
+    @Override
+    public LoginResponseDTO login(@NotNull LoginRequestDTO loginRequestDTO, String clientAddress) throws LoginThrottledException {
+        log.info("In login() :");
+        checkThrottle(loginRequestDTO.username(), clientAddress);
+        //checks if he tries to authenticate with his email instead of his username
+        LoginPhaseEvent resolveEvent = LoginPhaseEvent.start(LoginPhaseEvent.RESOLVE);
+        CachedUser user = userCache.getByEmail(loginRequestDTO.username());
+        String username = user == null ? loginRequestDTO.username() : user.username();
+        resolveEvent.finish();
+        if (user != null && !username.equalsIgnoreCase(loginRequestDTO.username())) {
+            checkThrottle(username, clientAddress);
+        }
+        try {
+            LoginResponseDTO response = authentication(username, loginRequestDTO.password());
+            loginThrottle.onSuccess(username);
+            loginActivityTracker.onSuccess(username);
+            loginSuccessCounter.increment();
+            return response;
+        } catch (AuthenticationException e) {
+            loginThrottle.onFailure(username, clientAddress);
+            CachedUser resolved = user == null ? userCache.get(username) : user;
+            if (resolved != null) {
+                loginActivityTracker.onFailure(resolved.username());
+            }
+            loginCounter("failure", reasonOf(e)).increment();
+            throw e;
+        }
+    }
+
+    /**
+     * Issues a token to a service account authenticating with the client-credentials grant.
+     * The API key is checked with a keyed hash instead of bcrypt, failures are throttled like logins, and the token
+     * only carries the roles of the requested scope. Like user tokens, it carries the token version of the service
+     * account, so that revoking its tokens, rotating its key or deleting it invalidates every token issued so far. A
+     * still valid token previously issued to the same client for the same scope and version is returned instead of a
+     * new one.
+     *
+     * @param clientCredentialsRequestDTO The ClientCredentialsRequestDTO containing the client credentials and the requested scope.
+     * @param clientAddress               The address of the client requesting the token.
+     * @return The issued token encapsulated in a ClientTokenResponseDTO.
+     * @throws LoginThrottledException If too many failed attempts were made for the client or from the client address.
+     */
+    @Override
+    public ClientTokenResponseDTO token(@NotNull ClientCredentialsRequestDTO clientCredentialsRequestDTO, String clientAddress) throws LoginThrottledException {
+        log.info("In token() :");
+        String clientId = clientCredentialsRequestDTO.clientId();
+        String subject = StaticParameters.CLIENT_SUBJECT_PREFIX + clientId;
+        long retryAfter = loginThrottle.retryAfter(subject, clientAddress);
+        if (retryAfter > 0) {
+            log.warn("token request throttled");
+            throw new LoginThrottledException("Too many failed token requests", (retryAfter + 999) / 1000);
+        }
+        ServiceAccount serviceAccount = clientId == null ? null : serviceAccountRepository.findByClientId(clientId);
+        if (!apiKeyHasher.matches(clientCredentialsRequestDTO.clientSecret(), serviceAccount == null ? null : serviceAccount.getApiKeyHash())
+                || !Boolean.TRUE.equals(serviceAccount.getEnabled())) {
+            loginThrottle.onFailure(subject, clientAddress);
+            throw new BadCredentialsException("Bad client credentials");
+        }
+        loginThrottle.onSuccess(subject);
+
+        Set<String> roles = scope(roleRegistry.namesOf(serviceAccount.getRoles()), clientCredentialsRequestDTO.scope());
+        String scope = String.join(" ", roles);
+        ClientTokenResponseDTO cached = clientTokenCache.get(clientId, scope, serviceAccount.getTokenVersion());
+        if (cached != null) {
+            log.info("cached token returned");
+            return cached;
+        }
+        String jti = UUID.randomUUID().toString();
+        long expiresAt = System.currentTimeMillis() + securityParameters.getClientTokenExpiredTime();
+        String jwt = sign(withRoles(JWT.create().withSubject(subject), roles)
+                .withClaim(StaticParameters.TOKEN_VERSION_CLAIM, serviceAccount.getTokenVersion())
+                .withJWTId(jti)
+                .withExpiresAt(new Date(expiresAt)));
+        ClientTokenResponseDTO response = new ClientTokenResponseDTO(clientId, jwt, roles, expiresAt);
+        clientTokenCache.put(clientId, scope, serviceAccount.getTokenVersion(), jti, response);
+        log.info("token issued");
+        return response;
+    }
+
+    /**
+     * Exchanges a refresh token for a new JWT and the next refresh token of its family.
+     * No password is checked, so a refresh costs no bcrypt hash; the refresh token is checked against its row, if it
+     * has been written, then marked consumed in memory and written behind by the {@link RefreshTokenStore}. The token
+     * is rejected, and its family revoked, if the user has been disabled, deleted, or has changed password or roles
+     * since the family started.
+     *
+     * @param refreshRequestDTO The RefreshRequestDTO holding the refresh token.
+     * @return The issued tokens encapsulated in a LoginResponseDTO.
+     * @throws InvalidRefreshTokenException If the refresh token is unknown, expired, revoked or already used.
+     */
+    @Transactional
+    @Override
+    public LoginResponseDTO refresh(@NotNull RefreshRequestDTO refreshRequestDTO) throws InvalidRefreshTokenException {
+        log.info("In refresh() :");
+        RefreshToken refreshToken = refreshTokenStore.consume(refreshRequestDTO.refreshToken());
+        User user = userRepository.findByUsername(refreshToken.getUsername());
+        if (user == null || !Boolean.TRUE.equals(user.getEnabled()) || user.getTokenVersion() != refreshToken.getTokenVersion()) {
+            refreshTokenStore.revokeFamily(refreshToken.getFamily(), refreshToken.getExpiresAt());
+            throw new InvalidRefreshTokenException("Refresh token revoked");
+        }
+        log.info("token refreshed");
+        return tokens(user.getUsername(), user.getTokenVersion(), roleRegistry.namesOf(user.getRoles()), refreshToken.getFamily());
+    }
+
+    /**
+     * Revokes a token so that it is rejected for the rest of its lifetime, along with the refresh token family it was
+     * issued with, so that the session cannot be extended through {@code /refresh} either.
+     * The token is verified first, so that only genuine tokens can fill the denylist.
+     *
+     * @param jwt The token to revoke.
+     */
+    @Override
+    public void revoke(String jwt) {
+        log.info("In revoke() :");
+        DecodedJWT decodedJWT = JWT.require(HmacKeys.hmac256(securityParameters.getSecret())).build().verify(jwt);
+        if (decodedJWT.getId() == null) {
+            throw new IllegalArgumentException("token cannot be revoked individually");
+        }
+        tokenDenylist.revoke(decodedJWT.getId(), decodedJWT.getExpiresAt().getTime());
+        String session = decodedJWT.getClaim(StaticParameters.SESSION_CLAIM).asString();
+        if (session != null) {
+            refreshTokenStore.revokeFamily(session, decodedJWT.getExpiresAt().getTime());
+        }
+        log.info("token revoked");
+    }
+
+    /**
+     * Introspects a batch of tokens with the same verification, cache and revocation checks as incoming requests.
+     * The subject, roles and expiry are only disclosed for authentic tokens, that is active or revoked ones.
+     *
+     * @param introspectionRequestDTO The IntrospectionRequestDTO holding the tokens to introspect.
+     * @return The introspection of each token, in the order of the request.
+     * @throws TooManyTokensException If the request holds more tokens than allowed per call.
+     */
+    @Override
+    public List<TokenIntrospectionDTO> introspect(@NotNull IntrospectionRequestDTO introspectionRequestDTO) throws TooManyTokensException {
+        List<String> tokens = introspectionRequestDTO.tokens() == null ? List.of() : introspectionRequestDTO.tokens();
+        if (tokens.size() > securityParameters.getIntrospectionMaxTokens()) {
+            throw new TooManyTokensException("At most " + securityParameters.getIntrospectionMaxTokens() + " tokens can be introspected per call");
+        }
+        List<TokenIntrospectionDTO> introspections = new ArrayList<>(tokens.size());
+        for (String jwt : tokens) {
+            introspections.add(introspection(tokenInspector.inspectToken(jwt)));
+        }
+        return introspections;
+    }
+
+
+    /**
+     * Performs user authentication based on the provided username and password.
+     *
+     * @param username The username for authentication.
+     * @param password The password for authentication.
+     * @return The result of the authentication operation encapsulated in a LoginResponseDTO.
+     */
+    @Contract("_, _ -> new")
+    private @NotNull LoginResponseDTO authentication(String username, String password){
+        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(username, password));
+        CachedUser user = userCache.get(username);
+        log.info("user authenticated");
+        return tokens(user.username(), user.tokenVersion(), user.roles(), null);
+    }
+
+    /**
+     * Issues a JWT and the next refresh token of a family to a user.
+     *
+     * @param username     The username of the authenticated user.
+     * @param tokenVersion The token version of the user.
+     * @param roles        The role names of the user.
+     * @param family       The family of the refresh token, or {@code null} to start a new one.
+     * @return The issued tokens encapsulated in a LoginResponseDTO.
+     */
+    @Contract("_, _, _, _ -> new")
+    private @NotNull LoginResponseDTO tokens(String username, long tokenVersion, Set<String> roles, String family) {
+        String session = family == null ? UUID.randomUUID().toString() : family;
+        String jwt = sign(withRoles(JWT.create().withSubject(username), roles)
+                .withClaim(StaticParameters.TOKEN_VERSION_CLAIM, tokenVersion)
+                .withClaim(StaticParameters.SESSION_CLAIM, session)
+                .withJWTId(UUID.randomUUID().toString())
+                .withExpiresAt(new Date(System.currentTimeMillis()+ securityParameters.getExpiredTime())));
+        String refreshToken = refreshTokenStore.issue(username, tokenVersion, session);
+        return new LoginResponseDTO(username, jwt, roles, refreshToken);
+    }
+
+    /**
+     * Signs a token, timing the signature and recording it as a {@link LoginPhaseEvent}.
+     *
+     * @param builder The token builder holding the claims.
+     * @return The signed token.
+     */
+    private String sign(@NotNull JWTCreator.Builder builder) {
+        LoginPhaseEvent event = LoginPhaseEvent.start(LoginPhaseEvent.SIGN);
+        long start = System.nanoTime();
+        try {
+            return builder.sign(HmacKeys.hmac256(securityParameters.getSecret()));
+        } finally {
+            signTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.finish();
+        }
+    }
+
+    /**
+     * Rejects a login attempt if the username or the client address is locked out.
+     *
+     * @param username      The username the attempt is throttled under.
+     * @param clientAddress The address of the client attempting to log in.
+     * @throws LoginThrottledException If too many failed attempts were made for the username or from the client address.
+     */
+    private void checkThrottle(String username, String clientAddress) throws LoginThrottledException {
+        long retryAfter = loginThrottle.retryAfter(username, clientAddress);
+        if (retryAfter > 0) {
+            log.warn("login throttled");
+            loginCounter("failure", "throttled").increment();
+            throw new LoginThrottledException("Too many failed login attempts", (retryAfter + 999) / 1000);
+        }
+    }
+
+    /**
+     * Returns the counter of login attempts with the given outcome and reason.
+     *
+     * @param outcome The outcome of the attempt, {@code success} or {@code failure}.
+     * @param reason  The reason of a failure, or {@code none}.
+     * @return The counter.
+     */
+    private Counter loginCounter(String outcome, String reason) {
+        return Counter.builder("security.login").tag("outcome", outcome).tag("reason", reason)
+                .description("Login attempts").register(meterRegistry);
+    }
+
+    /**
+     * Returns the reason of a failed login attempt, as a metric tag.
+     *
+     * @param exception The exception the attempt failed with.
+     * @return The reason of the failure.
+     */
+    private static @NotNull String reasonOf(AuthenticationException exception) {
+        if (exception instanceof BadCredentialsException) {
+            return "bad_credentials";
+        }
+        if (exception instanceof DisabledException) {
+            return "disabled";
+        }
+        if (exception instanceof LockedException) {
+            return "locked";
+        }
+        return "error";
+    }
+
+    /**
+     * Restricts the roles of a service account to a requested scope.
+     *
+     * @param granted The role names granted to the service account.
+     * @param scope   The requested role names, separated by spaces, or {@code null} for every granted role.
+     * @return The sorted role names of the scope.
+     */
+    private static @NotNull Set<String> scope(Set<String> granted, String scope) {
+        if (scope == null || scope.isBlank()) {
+            return new TreeSet<>(granted);
+        }
+        Set<String> roles = new TreeSet<>();
+        for (String role : scope.trim().split("\\s+")) {
+            if (!granted.contains(role)) {
+                throw new BadCredentialsException("Scope not granted to the client : " + role);
+            }
+            roles.add(role);
+        }
+        return roles;
+    }
+
+    /**
+     * Maps the inspection of a token to its introspection.
+     *
+     * @param inspection The inspection of the token.
+     * @return The introspection of the token.
+     */
+    @Contract("_ -> new")
+    private static @NotNull TokenIntrospectionDTO introspection(@NotNull TokenInspection inspection) {
+        String status = inspection.isActive() ? "ACTIVE" : inspection.rejection().name();
+        if (inspection.token() == null) {
+            return new TokenIntrospectionDTO(false, status, null, null, null);
+        }
+        Set<String> roles = new HashSet<>();
+        for (GrantedAuthority authority : inspection.authorities()) {
+            roles.add(authority.getAuthority());
+        }
+        return new TokenIntrospectionDTO(inspection.isActive(), status, inspection.token().getSubject(), roles, inspection.token().getExpiresAt());
+    }
+
+    /**
+     * Adds the roles of the user to a token, as a bitmask for the compact profile when every role is registered,
+     * or as an array of role names otherwise.
+     *
+     * @param builder The token builder.
+     * @param roles   The role names of the user.
+     * @return The token builder carrying the roles.
+     */
+    private JWTCreator.Builder withRoles(JWTCreator.Builder builder, Set<String> roles) {
+        if (securityParameters.getTokenProfile() == TokenProfile.COMPACT) {
+            long mask = roleRegistry.mask(roles);
+            if (mask >= 0) {
+                return builder.withClaim(StaticParameters.ROLE_MASK_CLAIM, mask);
+            }
+        }
+        return builder.withArrayClaim(StaticParameters.ROLES_CLAIM, roles.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,224 @@
+package com.brodygaudel.securityservice.service.implementation;
+
+import com.brodygaudel.securityservice.dto.ServiceAccountRequestDTO;
+import com.brodygaudel.securityservice.dto.ServiceAccountResponseDTO;
+import com.brodygaudel.securityservice.entity.Role;
+import com.brodygaudel.securityservice.entity.ServiceAccount;
+import com.brodygaudel.securityservice.exceptions.ItemAlreadyExistException;
+import com.brodygaudel.securityservice.exceptions.RoleNotFoundException;
+import com.brodygaudel.securityservice.exceptions.ServiceAccountNotFoundException;
+import com.brodygaudel.securityservice.repository.RoleRepository;
+import com.brodygaudel.securityservice.repository.ServiceAccountRepository;
+import com.brodygaudel.securityservice.security.ApiKeyHasher;
+import com.brodygaudel.securityservice.security.ClientTokenCache;
+import com.brodygaudel.securityservice.security.RoleRegistry;
+import com.brodygaudel.securityservice.security.StaticParameters;
+import com.brodygaudel.securityservice.security.TokenVersionRegistry;
+import com.brodygaudel.securityservice.service.ServiceAccountService;
+import com.brodygaudel.securityservice.util.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service implementation for managing service accounts.
+ * Only the keyed hash of the API key of a service account is stored; the key itself is returned once, at creation or
+ * rotation.
+ * Like users, service accounts have a token version signed into their tokens. It starts at the creation time in
+ * milliseconds and is bumped to at least the current time whenever the tokens are revoked or the key is rotated, so that
+ * a service account deleted and created again under the same client identifier does not revive the tokens issued to
+ * the former one. The {@link TokenVersionRegistry} and the {@link ClientTokenCache} are only updated once the write has
+ * committed.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@Service
+@Profile("!edge")
+@Slf4j
+public class ServiceAccountServiceImpl implements ServiceAccountService {
+
+    private final ServiceAccountRepository serviceAccountRepository;
+    private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
+    private final ApiKeyHasher apiKeyHasher;
+    private final ClientTokenCache clientTokenCache;
+    private final TokenVersionRegistry tokenVersionRegistry;
+
+    /**
+     * Constructs a new ServiceAccountServiceImpl with the specified dependencies.
+     *
+     * @param serviceAccountRepository The ServiceAccountRepository for accessing service account data.
+     * @param roleRepository           The RoleRepository for accessing role data.
+     * @param roleRegistry             The RoleRegistry naming the roles of service accounts.
+     * @param apiKeyHasher             The ApiKeyHasher generating and hashing API keys.
+     * @param clientTokenCache         The ClientTokenCache forgetting the revoked tokens of service accounts.
+     * @param tokenVersionRegistry     The TokenVersionRegistry invalidating the tokens of modified or deleted service accounts.
+     */
+    public ServiceAccountServiceImpl(ServiceAccountRepository serviceAccountRepository, RoleRepository roleRepository, RoleRegistry roleRegistry, ApiKeyHasher apiKeyHasher, ClientTokenCache clientTokenCache, TokenVersionRegistry tokenVersionRegistry) {
+        this.serviceAccountRepository = serviceAccountRepository;
+        this.roleRepository = roleRepository;
+        this.roleRegistry = roleRegistry;
+        this.apiKeyHasher = apiKeyHasher;
+        this.clientTokenCache = clientTokenCache;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+    }
+
+    /**
+     * Creates a new service account with a freshly generated API key.
+     *
+     * @param serviceAccountRequestDTO The DTO containing the client identifier and the roles of the service account.
+     * @return The response DTO containing the service account and its API key, returned only this once.
+     * @throws ItemAlreadyExistException If a service account with the same client identifier already exists.
+     * @throws RoleNotFoundException     If one of the roles is not found.
+     */
+    @Transactional
+    @Override
+    public ServiceAccountResponseDTO save(@NotNull ServiceAccountRequestDTO serviceAccountRequestDTO) throws ItemAlreadyExistException, RoleNotFoundException {
+        log.info("In save()");
+        if (Boolean.TRUE.equals(serviceAccountRepository.checkIfClientIdExists(serviceAccountRequestDTO.clientId()))) {
+            throw new ItemAlreadyExistException("Client id already exists");
+        }
+        List<Role> roles = new ArrayList<>();
+        for (String name : serviceAccountRequestDTO.roles()) {
+            Role role = roleRepository.findByName(name);
+            if (role == null) {
+                throw new RoleNotFoundException("Role not found");
+            }
+            roles.add(role);
+        }
+        String apiKey = apiKeyHasher.generate();
+        ServiceAccount serviceAccount = serviceAccountRepository.save(ServiceAccount.builder()
+                .clientId(serviceAccountRequestDTO.clientId())
+                .apiKeyHash(apiKeyHasher.hash(apiKey))
+                .enabled(true)
+                .creation(LocalDateTime.now())
+                .tokenVersion(nextTokenVersion(0))
+                .roles(roles)
+                .build());
+        AfterCommit.run(() -> tokenVersionRegistry.update(subject(serviceAccount), serviceAccount.getTokenVersion()));
+        log.info("service account saved");
+        return response(serviceAccount, apiKey);
+    }
+
+    /**
+     * Retrieves all service accounts, without their API keys.
+     *
+     * @return A list of response DTOs containing details of all service accounts.
+     */
+    @Override
+    public List<ServiceAccountResponseDTO> findAll() {
+        log.info("In findAll()");
+        List<ServiceAccount> serviceAccounts = serviceAccountRepository.findAll();
+        log.info(serviceAccounts.size()+" found(s)");
+        return serviceAccounts.stream().map(serviceAccount -> response(serviceAccount, null)).toList();
+    }
+
+    /**
+     * Generates a new API key for a service account and revokes every token issued with the former one.
+     *
+     * @param id The ID of the service account.
+     * @return The response DTO containing the service account and its new API key, returned only this once.
+     * @throws ServiceAccountNotFoundException If the service account with the specified ID is not found.
+     */
+    @Transactional
+    @Override
+    public ServiceAccountResponseDTO rotateKey(String id) throws ServiceAccountNotFoundException {
+        log.info("In rotateKey()");
+        ServiceAccount serviceAccount = serviceAccountRepository.findById(id)
+                .orElseThrow(() -> new ServiceAccountNotFoundException("Service account not found"));
+        String apiKey = apiKeyHasher.generate();
+        serviceAccount.setApiKeyHash(apiKeyHasher.hash(apiKey));
+        ServiceAccount rotated = bumpTokenVersion(serviceAccount);
+        log.info("service account key rotated");
+        return response(rotated, apiKey);
+    }
+
+    /**
+     * Revokes every token issued to a service account, keeping the account and its API key.
+     *
+     * @param id The ID of the service account.
+     * @throws ServiceAccountNotFoundException If the service account with the specified ID is not found.
+     */
+    @Transactional
+    @Override
+    public void revokeTokens(String id) throws ServiceAccountNotFoundException {
+        log.info("In revokeTokens()");
+        ServiceAccount serviceAccount = serviceAccountRepository.findById(id)
+                .orElseThrow(() -> new ServiceAccountNotFoundException("Service account not found"));
+        bumpTokenVersion(serviceAccount);
+        log.info("service account tokens revoked");
+    }
+
+    /**
+     * Deletes a service account and revokes every token issued to it.
+     *
+     * @param id The ID of the service account to be deleted.
+     * @throws ServiceAccountNotFoundException If the service account with the specified ID is not found.
+     */
+    @Transactional
+    @Override
+    public void deleteById(String id) throws ServiceAccountNotFoundException {
+        log.info("In deleteById()");
+        ServiceAccount serviceAccount = serviceAccountRepository.findById(id)
+                .orElseThrow(() -> new ServiceAccountNotFoundException("Service account not found"));
+        serviceAccountRepository.delete(serviceAccount);
+        AfterCommit.run(() -> {
+            clientTokenCache.invalidate(serviceAccount.getClientId());
+            tokenVersionRegistry.revoke(subject(serviceAccount));
+        });
+        log.info("service account deleted");
+    }
+
+    /**
+     * Bumps the token version of a service account, invalidating every token issued so far once the write commits.
+     *
+     * @param serviceAccount The service account.
+     * @return The saved service account.
+     */
+    private ServiceAccount bumpTokenVersion(@NotNull ServiceAccount serviceAccount) {
+        serviceAccount.setTokenVersion(nextTokenVersion(serviceAccount.getTokenVersion()));
+        ServiceAccount saved = serviceAccountRepository.save(serviceAccount);
+        AfterCommit.run(() -> {
+            clientTokenCache.invalidate(saved.getClientId());
+            tokenVersionRegistry.update(subject(saved), saved.getTokenVersion());
+        });
+        return saved;
+    }
+
+    /**
+     * Returns the token version following the given one, at least the current time in milliseconds, so that it is
+     * higher than any version a former service account with the same client identifier could have had.
+     *
+     * @param tokenVersion The current token version.
+     * @return The next token version.
+     */
+    private static long nextTokenVersion(long tokenVersion) {
+        return Math.max(tokenVersion + 1, System.currentTimeMillis());
+    }
+
+    private static @NotNull String subject(@NotNull ServiceAccount serviceAccount) {
+        return StaticParameters.CLIENT_SUBJECT_PREFIX + serviceAccount.getClientId();
+    }
+
+    /**
+     * Maps a service account to its response DTO.
+     *
+     * @param serviceAccount The service account.
+     * @param apiKey         The API key, only known at creation.
+     * @return The response DTO.
+     */
+    @Contract("_, _ -> new")
+    private @NotNull ServiceAccountResponseDTO response(@NotNull ServiceAccount serviceAccount, String apiKey) {
+        return new ServiceAccountResponseDTO(serviceAccount.getId(), serviceAccount.getClientId(), apiKey,
+                roleRegistry.namesOf(serviceAccount.getRoles()), serviceAccount.getCreation());
+    }
+}
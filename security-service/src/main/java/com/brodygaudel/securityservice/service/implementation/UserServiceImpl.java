@@ -9,12 +9,20 @@ import com.brodygaudel.securityservice.entity.User;
 import com.brodygaudel.securityservice.exceptions.ItemAlreadyExistException;
 import com.brodygaudel.securityservice.exceptions.RoleNotFoundException;
 import com.brodygaudel.securityservice.exceptions.UserNotFoundException;
+import com.brodygaudel.securityservice.profiling.UserOperationEvent;
 import com.brodygaudel.securityservice.repository.RoleRepository;
 import com.brodygaudel.securityservice.repository.UserRepository;
+import com.brodygaudel.securityservice.security.SecurityParameters;
+import com.brodygaudel.securityservice.security.TokenVersionRegistry;
+import com.brodygaudel.securityservice.security.UserCache;
 import com.brodygaudel.securityservice.service.UserService;
+import com.brodygaudel.securityservice.util.AfterCommit;
 import com.brodygaudel.securityservice.util.Mappers;
+import com.brodygaudel.securityservice.util.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -25,15 +33,22 @@ import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Service implementation for managing user-related operations.
+ * Each operation is recorded as a {@link UserOperationEvent} when the Flight Recorder events are enabled.
+ * Concurrent lookups of the same user by id share a single query through a {@link SingleFlight}. The lookups of
+ * the role operations are not coalesced, since each of them modifies the entity it loaded in its own transaction.
+ * The {@link TokenVersionRegistry} and the {@link UserCache} are only updated once the write has committed, so that a
+ * rolled back write leaves them in line with the database.
  *
  * @since 2024
  * @author Brody Gaudel MOUNANGA BOUKA
  * @version 1.0
  */
 @Service
+@Profile("!edge")
 @Slf4j
 public class UserServiceImpl implements UserService {
 
@@ -41,20 +56,32 @@ public class UserServiceImpl implements UserService {
     private final RoleRepository roleRepository;
     private final Mappers mappers;
     private final PasswordEncoder passwordEncoder;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final UserCache userCache;
+    private final SingleFlight<String, Optional<UserResponseDTO>> idLoads;
 
     /**
      * Constructs a new UserServiceImpl with the specified dependencies.
      *
-     * @param userRepository    The UserRepository for accessing user data.
-     * @param roleRepository    The RoleRepository for accessing role data.
-     * @param mappers           The Mappers utility for mapping between DTOs and entities.
-     * @param passwordEncoder   The PasswordEncoder for encoding user passwords.
+     * @param userRepository       The UserRepository for accessing user data.
+     * @param roleRepository       The RoleRepository for accessing role data.
+     * @param mappers              The Mappers utility for mapping between DTOs and entities.
+     * @param passwordEncoder      The PasswordEncoder for encoding user passwords.
+     * @param tokenVersionRegistry The TokenVersionRegistry invalidating tokens of modified users.
+     * @param userCache            The UserCache evicting modified users.
+     * @param meterRegistry        The MeterRegistry counting the coalesced lookups.
+     * @param securityParameters   The SecurityParameters providing the time a lookup waits for a concurrent lookup of the same user.
      */
-    public UserServiceImpl(UserRepository userRepository, RoleRepository roleRepository, Mappers mappers, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepository userRepository, RoleRepository roleRepository, Mappers mappers, PasswordEncoder passwordEncoder, TokenVersionRegistry tokenVersionRegistry, UserCache userCache,
+                           MeterRegistry meterRegistry, @NotNull SecurityParameters securityParameters) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.mappers = mappers;
         this.passwordEncoder = passwordEncoder;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.userCache = userCache;
+        this.idLoads = new SingleFlight<>("user.id", securityParameters.getSingleFlightTimeout());
+        idLoads.bindTo(meterRegistry);
     }
 
 
@@ -65,20 +92,28 @@ public class UserServiceImpl implements UserService {
      * @return The response DTO containing details of the saved user.
      * @throws ItemAlreadyExistException If an attempt to save the user fails because the user already exists.
      */
+    @Transactional
     @Override
     public UserResponseDTO save(@NotNull UserRequestDTO userRequestDTO) throws ItemAlreadyExistException {
         log.info("In save()");
-        checkIfUsernameOrEmailAlreadyExists(userRequestDTO.username(), userRequestDTO.email());
-        User user = mappers.fromUserRequestDTO(userRequestDTO);
-        user.setEnabled(true);
-        user.setRoles(Collections.singletonList(getUserRole()));
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
-        user.setCreation(LocalDateTime.now());
-        user.setLastUpdate(null);
+        UserOperationEvent event = UserOperationEvent.start("save");
+        try {
+            checkIfUsernameOrEmailAlreadyExists(userRequestDTO.username(), userRequestDTO.email());
+            User user = mappers.fromUserRequestDTO(userRequestDTO);
+            user.setEnabled(true);
+            user.setRoles(Collections.singletonList(getUserRole()));
+            user.setPassword(passwordEncoder.encode(user.getPassword()));
+            user.setCreation(LocalDateTime.now());
+            user.setLastUpdate(null);
 
-        User userSaved = userRepository.save(user);
-        log.info("user saved");
-        return mappers.fromUser(userSaved);
+            User userSaved = userRepository.save(user);
+            AfterCommit.run(() -> tokenVersionRegistry.update(userSaved.getUsername(), userSaved.getTokenVersion()));
+            event.users(1);
+            log.info("user saved");
+            return mappers.fromUser(userSaved);
+        } finally {
+            event.finish();
+        }
     }
 
     /**
@@ -90,19 +125,35 @@ public class UserServiceImpl implements UserService {
      * @throws UserNotFoundException     If the user with the specified ID is not found.
      * @throws ItemAlreadyExistException If an attempt to update the user fails because the updated user already exists.
      */
+    @Transactional
     @Override
     public UserResponseDTO update(String id, @NotNull UserRequestDTO userRequestDTO) throws UserNotFoundException, ItemAlreadyExistException {
         log.info("In update()");
-        User user = userRepository.findById(id).orElseThrow( () -> new UserNotFoundException("user with id '"+id+"' not found"));
-        checkingBeforeUpdate(user, userRequestDTO);
-        user.setPassword(passwordEncoder.encode(userRequestDTO.password()));
-        user.setEmail(userRequestDTO.email());
-        user.setUsername(userRequestDTO.username());
-        user.setLastUpdate(LocalDateTime.now());
+        UserOperationEvent event = UserOperationEvent.start("update");
+        try {
+            User user = userRepository.findById(id).orElseThrow( () -> new UserNotFoundException("user with id '"+id+"' not found"));
+            checkingBeforeUpdate(user, userRequestDTO);
+            String previousUsername = user.getUsername();
+            user.setPassword(passwordEncoder.encode(userRequestDTO.password()));
+            user.setEmail(userRequestDTO.email());
+            user.setUsername(userRequestDTO.username());
+            user.setLastUpdate(LocalDateTime.now());
+            user.setTokenVersion(user.getTokenVersion() + 1);
 
-        User userUpdated = userRepository.save(user);
-        log.info("user updated");
-        return mappers.fromUser(userUpdated);
+            User userUpdated = userRepository.save(user);
+            AfterCommit.run(() -> {
+                if (!previousUsername.equals(userUpdated.getUsername())) {
+                    tokenVersionRegistry.revoke(previousUsername);
+                }
+                tokenVersionRegistry.update(userUpdated.getUsername(), userUpdated.getTokenVersion());
+                userCache.evict(previousUsername);
+            });
+            event.users(1);
+            log.info("user updated");
+            return mappers.fromUser(userUpdated);
+        } finally {
+            event.finish();
+        }
     }
 
     /**
@@ -112,13 +163,20 @@ public class UserServiceImpl implements UserService {
      * @return The response DTO containing details of the found user.
      * @throws UserNotFoundException If the user with the specified ID is not found.
      */
+    @Transactional(readOnly = true)
     @Override
     public UserResponseDTO findById(String id) throws UserNotFoundException {
         log.info("In findById()");
-        User user = userRepository.findById(id)
-                .orElseThrow( () -> new UserNotFoundException("user with id '"+id+"' not found"));
-        log.info("user found");
-        return mappers.fromUser(user);
+        UserOperationEvent event = UserOperationEvent.start("findById");
+        try {
+            UserResponseDTO user = idLoads.load(id, () -> userRepository.findById(id).map(mappers::fromUser))
+                    .orElseThrow( () -> new UserNotFoundException("user with id '"+id+"' not found"));
+            event.users(1);
+            log.info("user found");
+            return user;
+        } finally {
+            event.finish();
+        }
     }
 
     /**
@@ -126,12 +184,19 @@ public class UserServiceImpl implements UserService {
      *
      * @return A list of response DTOs containing details of all users.
      */
+    @Transactional(readOnly = true)
     @Override
     public List<UserResponseDTO> findAll() {
         log.info("In findAll()");
-        List<User> users = userRepository.findAll();
-        log.info(users.size()+" found(s)");
-        return mappers.fromListOfUsers(users);
+        UserOperationEvent event = UserOperationEvent.start("findAll");
+        try {
+            List<User> users = userRepository.findAll();
+            event.users(users.size());
+            log.info(users.size()+" found(s)");
+            return mappers.fromListOfUsers(users);
+        } finally {
+            event.finish();
+        }
     }
 
     /**
@@ -141,15 +206,22 @@ public class UserServiceImpl implements UserService {
      * @param size The size of the page.
      * @return A response DTO containing a page of users.
      */
+    @Transactional(readOnly = true)
     @Override
     public UsersPageResponseDTO findAll(int page, int size) {
         log.info("In findAll()");
-        Page<User> userPage = userRepository.findAll(PageRequest.of(page, size));
-        List<User> users = userPage.getContent();
-        log.info(users.size()+" found(s)");
-        return new UsersPageResponseDTO(
-              userPage.getTotalPages(), page, size, mappers.fromListOfUsers(users)
-        );
+        UserOperationEvent event = UserOperationEvent.start("findPage");
+        try {
+            Page<User> userPage = userRepository.findAll(PageRequest.of(page, size));
+            List<User> users = userPage.getContent();
+            event.users(users.size());
+            log.info(users.size()+" found(s)");
+            return new UsersPageResponseDTO(
+                  userPage.getTotalPages(), page, size, mappers.fromListOfUsers(users)
+            );
+        } finally {
+            event.finish();
+        }
     }
 
     /**
@@ -157,11 +229,23 @@ public class UserServiceImpl implements UserService {
      *
      * @param id The ID of the user to be deleted.
      */
+    @Transactional
     @Override
     public void deleteById(String id) {
         log.info("In deleteById()");
-        userRepository.deleteById(id);
-        log.info("user deleted");
+        UserOperationEvent event = UserOperationEvent.start("deleteById");
+        try {
+            Optional<String> username = userRepository.findById(id).map(User::getUsername);
+            userRepository.deleteById(id);
+            username.ifPresent(deleted -> AfterCommit.run(() -> {
+                tokenVersionRegistry.revoke(deleted);
+                userCache.evict(deleted);
+            }));
+            event.users(username.isPresent() ? 1 : 0);
+            log.info("user deleted");
+        } finally {
+            event.finish();
+        }
     }
 
     /**
@@ -170,8 +254,15 @@ public class UserServiceImpl implements UserService {
     @Override
     public void deleteAll() {
         log.info("In deleteAll()");
-        userRepository.deleteAll();
-        log.info("users deleted");
+        UserOperationEvent event = UserOperationEvent.start("deleteAll");
+        try {
+            userRepository.deleteAll();
+            tokenVersionRegistry.revokeAll();
+            userCache.clear();
+            log.info("users deleted");
+        } finally {
+            event.finish();
+        }
     }
 
     /**
@@ -186,16 +277,29 @@ public class UserServiceImpl implements UserService {
     @Override
     public Boolean addRoleToUser(@NotNull UserRoleRequestDTO userRoleRequestDTO) throws UserNotFoundException, RoleNotFoundException {
         log.info("In addRoleToUser()");
-        User user = checkingIfUserExist(userRoleRequestDTO.username());
-        Role role = checkingIfRoleExist(userRoleRequestDTO.roleName());
-        try{
-            user.getRoles().add(role);
-            userRepository.save(user);
-            log.info("role added");
-            return true;
-        }catch (Exception e){
-            log.error("role not added : "+e.getMessage());
-            return false;
+        UserOperationEvent event = UserOperationEvent.start("addRoleToUser");
+        try {
+            User user = checkingIfUserExist(userRoleRequestDTO.username());
+            Role role = checkingIfRoleExist(userRoleRequestDTO.roleName());
+            try{
+                user.getRoles().add(role);
+                user.setTokenVersion(user.getTokenVersion() + 1);
+                userRepository.save(user);
+                String username = user.getUsername();
+                long tokenVersion = user.getTokenVersion();
+                AfterCommit.run(() -> {
+                    tokenVersionRegistry.update(username, tokenVersion);
+                    userCache.evict(username);
+                });
+                event.users(1);
+                log.info("role added");
+                return true;
+            }catch (Exception e){
+                log.error("role not added : "+e.getMessage());
+                return false;
+            }
+        } finally {
+            event.finish();
         }
     }
 
@@ -210,16 +314,29 @@ public class UserServiceImpl implements UserService {
     @Transactional
     @Override
     public Boolean removeRoleToUser(@NotNull UserRoleRequestDTO userRoleRequestDTO) throws UserNotFoundException, RoleNotFoundException {
-        User user = checkingIfUserExist(userRoleRequestDTO.username());
-        Role role = checkingIfRoleExist(userRoleRequestDTO.roleName());
-        try{
-            user.getRoles().remove(role);
-            userRepository.save(user);
-            log.info("role removed");
-            return true;
-        }catch (Exception e){
-            log.error("role not removed : "+e.getMessage());
-            return false;
+        UserOperationEvent event = UserOperationEvent.start("removeRoleToUser");
+        try {
+            User user = checkingIfUserExist(userRoleRequestDTO.username());
+            Role role = checkingIfRoleExist(userRoleRequestDTO.roleName());
+            try{
+                user.getRoles().remove(role);
+                user.setTokenVersion(user.getTokenVersion() + 1);
+                userRepository.save(user);
+                String username = user.getUsername();
+                long tokenVersion = user.getTokenVersion();
+                AfterCommit.run(() -> {
+                    tokenVersionRegistry.update(username, tokenVersion);
+                    userCache.evict(username);
+                });
+                event.users(1);
+                log.info("role removed");
+                return true;
+            }catch (Exception e){
+                log.error("role not removed : "+e.getMessage());
+                return false;
+            }
+        } finally {
+            event.finish();
         }
 
     }
@@ -0,0 +1,39 @@
+package com.brodygaudel.securityservice.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utility deferring the in-memory side effects of a write until its transaction commits.
+ * The registries and caches of this node must only reflect rows the database actually holds: applied before the
+ * commit, a rolled back write would leave them ahead of the database. Outside a transaction, the action runs at once.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /**
+     * Runs an action once the current transaction has committed, or at once if there is no transaction.
+     * The action is dropped if the transaction rolls back.
+     *
+     * @param action The action to run.
+     */
+    public static void run(@NotNull Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,191 @@
+package com.brodygaudel.securityservice.util;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalescer of concurrent loads of the same key.
+ * The first caller asking for a key runs the load, and the callers asking for the same key while it runs wait for
+ * its result instead of running the same query, so a burst of identical lookups costs a single one. Nothing is kept
+ * once the load completes: a caller arriving afterwards runs a new load. A failed load is rethrown to every waiting
+ * caller. A caller that waited longer than the timeout stops waiting and runs the load itself, so a stuck load
+ * never holds more than its own caller.
+ *
+ * @param <K> The type of the keys loads are coalesced on.
+ * @param <V> The type of the loaded values, shared by the callers of a load, so preferably immutable.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@Slf4j
+public class SingleFlight<K, V> implements MeterBinder {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final String name;
+    private final long timeout;
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    /**
+     * Constructs a new SingleFlight.
+     *
+     * @param name    The name of the coalesced lookup, used as the tag of its metrics.
+     * @param timeout The time (in milliseconds) a caller waits for the load of another one before running its own.
+     */
+    public SingleFlight(String name, long timeout) {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("timeout must not be negative");
+        }
+        this.name = name;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Returns the value of a key, joining the load of the key already in flight, if any.
+     *
+     * @param key    The key.
+     * @param loader The load of the key, run if no load of the key is in flight.
+     * @return The loaded value, which may be {@code null}.
+     */
+    public V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, flight);
+        if (running == null) {
+            return run(key, flight, loader);
+        }
+        try {
+            V value = running.get(timeout, TimeUnit.MILLISECONDS);
+            shared.increment();
+            return value;
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            log.warn("load of {} '{}' still running after {} ms, loading it again", name, key, timeout);
+            loads.increment();
+            return loader.get();
+        } catch (ExecutionException e) {
+            shared.increment();
+            throw propagate(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for the load of " + name + " '" + key + "'", e);
+        }
+    }
+
+    /**
+     * Returns the number of loads run.
+     *
+     * @return The number of loads.
+     */
+    public long loads() {
+        return loads.sum();
+    }
+
+    /**
+     * Returns the number of callers served by the load of another one.
+     *
+     * @return The number of shared results.
+     */
+    public long shared() {
+        return shared.sum();
+    }
+
+    /**
+     * Returns the number of callers that stopped waiting for the load of another one.
+     *
+     * @return The number of timeouts.
+     */
+    public long timeouts() {
+        return timeouts.sum();
+    }
+
+    /**
+     * Returns the share of the callers served by the load of another one.
+     *
+     * @return The coalescing ratio, from 0 to 1, or 0 before the first call.
+     */
+    public double ratio() {
+        long sharedCount = shared.sum();
+        long total = sharedCount + loads.sum();
+        return total == 0 ? 0.0 : (double) sharedCount / total;
+    }
+
+    /**
+     * Returns the number of loads in flight.
+     *
+     * @return The number of keys being loaded.
+     */
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    /**
+     * Registers the counters of loads and shared results and the gauge of the coalescing ratio, tagged with the
+     * name of the lookup.
+     *
+     * @param registry The registry to bind to.
+     */
+    @Override
+    public void bindTo(@NotNull MeterRegistry registry) {
+        FunctionCounter.builder("single.flight.requests", this, SingleFlight::loads).tag("lookup", name).tag("result", "loaded")
+                .description("Lookups that ran their own load").register(registry);
+        FunctionCounter.builder("single.flight.requests", this, SingleFlight::shared).tag("lookup", name).tag("result", "shared")
+                .description("Lookups served by a concurrent load of the same key").register(registry);
+        FunctionCounter.builder("single.flight.timeouts", this, SingleFlight::timeouts).tag("lookup", name)
+                .description("Lookups that stopped waiting for a concurrent load").register(registry);
+        Gauge.builder("single.flight.ratio", this, SingleFlight::ratio).tag("lookup", name)
+                .description("Share of the lookups served by a concurrent load").register(registry);
+    }
+
+    /**
+     * Runs the load of a key and publishes its outcome to the callers waiting for it.
+     *
+     * @param key    The key.
+     * @param flight The future of the load, registered for the key.
+     * @param loader The load of the key.
+     * @return The loaded value.
+     */
+    private V run(K key, CompletableFuture<V> flight, Supplier<V> loader) {
+        loads.increment();
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Returns the failure of a load as an unchecked exception to rethrow.
+     *
+     * @param cause The failure of the load.
+     * @return The failure itself if it is unchecked, wrapped otherwise.
+     */
+    private static RuntimeException propagate(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+}
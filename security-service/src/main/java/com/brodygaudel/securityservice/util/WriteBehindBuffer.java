@@ -0,0 +1,174 @@
+package com.brodygaudel.securityservice.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+
+/**
+ * Bounded buffer of pending writes, coalesced per key and flushed in batches.
+ * Callers record the latest state of an entity with {@link #put}, or fold a change into the pending one with
+ * {@link #merge}, so a hot row costs one write per flush whatever the number of updates in between. The owner
+ * flushes the buffer periodically and on shutdown; writers never flush it. Once the buffer holds {@code capacity}
+ * keys, writes of other keys are refused and counted, which bounds memory when the database lags, and the owner
+ * decides whether to drop them or write them otherwise. A failed batch is put back, folded with the combiner into
+ * any state of the same key recorded meanwhile.
+ *
+ * @param <K> The type of the keys writes are coalesced on.
+ * @param <V> The type of the pending states.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@Slf4j
+public class WriteBehindBuffer<K, V> {
+
+    private final Map<K, V> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final LongAdder refused = new LongAdder();
+    private final int capacity;
+    private final BinaryOperator<V> combiner;
+    private final Consumer<List<V>> writer;
+
+    /**
+     * Constructs a new WriteBehindBuffer.
+     *
+     * @param capacity The maximum number of pending keys.
+     * @param combiner The function combining a pending state with a newer change of the same key.
+     * @param writer   The batch writer, called with the pending states of a flush.
+     */
+    public WriteBehindBuffer(int capacity, BinaryOperator<V> combiner, Consumer<List<V>> writer) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.combiner = combiner;
+        this.writer = writer;
+    }
+
+    /**
+     * Records the latest state of a key, replacing any pending state of the same key.
+     *
+     * @param key   The key of the state.
+     * @param value The state to write.
+     * @return {@code true} if the state was recorded, {@code false} if the buffer is full.
+     */
+    public boolean put(K key, V value) {
+        if (!hasRoomFor(key)) {
+            refused.increment();
+            return false;
+        }
+        pending.put(key, value);
+        return true;
+    }
+
+    /**
+     * Folds a change into the pending state of a key with the combiner, or records it if none is pending.
+     *
+     * @param key   The key of the state.
+     * @param value The change to record.
+     * @return {@code true} if the change was recorded, {@code false} if the buffer is full.
+     */
+    public boolean merge(K key, V value) {
+        if (!hasRoomFor(key)) {
+            refused.increment();
+            return false;
+        }
+        pending.merge(key, value, combiner);
+        return true;
+    }
+
+    /**
+     * Returns the pending state of a key, if any.
+     *
+     * @param key The key of the state.
+     * @return The pending state, or {@code null} if none.
+     */
+    public V get(K key) {
+        return pending.get(key);
+    }
+
+    /**
+     * Returns the number of pending keys.
+     *
+     * @return The number of pending keys.
+     */
+    public int size() {
+        return pending.size();
+    }
+
+    /**
+     * Returns the number of writes refused because the buffer was full.
+     *
+     * @return The number of refused writes.
+     */
+    public long refused() {
+        return refused.sum();
+    }
+
+    /**
+     * Writes every pending state in a single batch.
+     *
+     * @return The number of states written.
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            if (pending.isEmpty()) {
+                return 0;
+            }
+            List<K> keys = new ArrayList<>(pending.keySet());
+            List<V> batch = new ArrayList<>(keys.size());
+            List<K> written = new ArrayList<>(keys.size());
+            for (K key : keys) {
+                V value = pending.remove(key);
+                if (value != null) {
+                    batch.add(value);
+                    written.add(key);
+                }
+            }
+            try {
+                writer.accept(batch);
+            } catch (RuntimeException e) {
+                int kept = 0;
+                for (int i = 0; i < batch.size(); i++) {
+                    if (requeue(written.get(i), batch.get(i))) {
+                        kept++;
+                    }
+                }
+                log.error("write-behind flush failed, " + kept + " of " + batch.size() + " write(s) kept : " + e.getMessage());
+                return 0;
+            }
+            return batch.size();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Puts back the state of a failed batch, folding the changes recorded meanwhile into it.
+     *
+     * @param key    The key of the state.
+     * @param failed The state that failed to be written.
+     * @return {@code true} if the state was put back, {@code false} if the buffer is full.
+     */
+    private boolean requeue(K key, V failed) {
+        if (!hasRoomFor(key)) {
+            refused.increment();
+            return false;
+        }
+        pending.merge(key, failed, (newer, older) -> combiner.apply(older, newer));
+        return true;
+    }
+
+    private boolean hasRoomFor(K key) {
+        return pending.size() < capacity || pending.containsKey(key);
+    }
+}
@@ -2,16 +2,14 @@ package com.brodygaudel.securityservice.util.implementation;
 
 import com.brodygaudel.securityservice.dto.UserRequestDTO;
 import com.brodygaudel.securityservice.dto.UserResponseDTO;
-import com.brodygaudel.securityservice.entity.Role;
 import com.brodygaudel.securityservice.entity.User;
+import com.brodygaudel.securityservice.security.RoleRegistry;
 import com.brodygaudel.securityservice.util.Mappers;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Implementation of the Mappers interface providing methods for mapping between DTOs and entities.
@@ -22,7 +20,20 @@ import java.util.stream.Collectors;
  * @version 1.0
  */
 @Component
+@Profile("!edge")
 public class MappersImpl implements Mappers {
+
+    private final RoleRegistry roleRegistry;
+
+    /**
+     * Constructs a new MappersImpl with the specified RoleRegistry.
+     *
+     * @param roleRegistry The RoleRegistry providing shared role name sets.
+     */
+    public MappersImpl(RoleRegistry roleRegistry) {
+        this.roleRegistry = roleRegistry;
+    }
+
     /**
      * Converts a UserRequestDTO to a User entity.
      *
@@ -52,9 +63,11 @@ public class MappersImpl implements Mappers {
                 user.getUsername(),
                 user.getEmail(),
                 user.getEnabled(),
-                rolesToStrings(user.getRoles()),
+                roleRegistry.namesOf(user.getRoles()),
                 user.getCreation(),
-                user.getLastUpdate()
+                user.getLastUpdate(),
+                user.getLastLogin(),
+                user.getFailedAttempts() == null ? 0 : user.getFailedAttempts()
         );
     }
 
@@ -68,18 +81,4 @@ public class MappersImpl implements Mappers {
     public List<UserResponseDTO> fromListOfUsers(@NotNull List<User> users) {
         return users.stream().map(this::fromUser).toList();
     }
-
-    /**
-     * Converts a list of Role objects to a set of their corresponding names.
-     *
-     * @param roles The list of Role objects to convert.
-     * @return A set of strings representing the names of the roles.
-     *         Returns an empty set if the input list is null or empty.
-     */
-    private Set<String> rolesToStrings(List<Role> roles){
-        if(roles == null || roles.isEmpty()){
-            return new HashSet<>();
-        }
-        return roles.stream().map(Role::getName).collect(Collectors.toSet());
-    }
 }
@@ -0,0 +1,96 @@
+package com.brodygaudel.securityservice;
+
+import com.brodygaudel.securityservice.repository.UserRepository;
+import com.brodygaudel.securityservice.security.RoleRegistry;
+import com.brodygaudel.securityservice.security.SecurityParameters;
+import com.brodygaudel.securityservice.security.TokenInspector;
+import com.brodygaudel.securityservice.security.TokenVersionRegistry;
+import com.brodygaudel.securityservice.security.UserCache;
+import com.brodygaudel.securityservice.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the {@link ApplicationWarmUp} class.
+ * These tests validate that every step runs within the budget and that the application is ready afterwards.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@SpringBootTest(properties = {"warm-up-enabled=true", "warm-up-iterations=50", "warm-up-query-rounds=5"})
+class ApplicationWarmUpTest {
+
+    @Autowired
+    private ApplicationWarmUp applicationWarmUp;
+
+    @Autowired
+    private ApplicationAvailability applicationAvailability;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TokenInspector tokenInspector;
+
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    @Autowired
+    private SecurityParameters securityParameters;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Test that the application accepts traffic once the warm-up ran at startup.
+     */
+    @Test
+    void testReadyAfterWarmUp() {
+        assertEquals(ReadinessState.ACCEPTING_TRAFFIC, applicationAvailability.getReadinessState());
+    }
+
+    /**
+     * Test that every step completes its iterations when the budget allows it, the queries only running their own
+     * smaller number of rounds.
+     */
+    @Test
+    void testWarmUpRunsEveryStep() {
+        ApplicationWarmUp.Result result = applicationWarmUp.warmUp();
+        assertEquals(50, result.tokenCycles());
+        assertEquals(50, result.serializations());
+        assertEquals(5, result.queryRounds());
+        assertEquals(4, result.passwordMatches());
+        assertTrue(tokenInspector.cacheHits() > 0);
+    }
+
+    /**
+     * Test that an exhausted budget skips the remaining steps.
+     */
+    @Test
+    void testWarmUpStopsAtTheBudget() {
+        ApplicationWarmUp warmUp = new ApplicationWarmUp(userRepository, userService, passwordEncoder, tokenInspector,
+                tokenVersionRegistry, userCache, roleRegistry, securityParameters, objectMapper, true, 0, 50, 5, 100);
+        ApplicationWarmUp.Result result = warmUp.warmUp();
+        assertEquals(new ApplicationWarmUp.Result(0, 0, 0, 0, 0, result.elapsedMillis()), result);
+    }
+}
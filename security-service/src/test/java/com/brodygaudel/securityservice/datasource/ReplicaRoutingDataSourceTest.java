@@ -0,0 +1,141 @@
+package com.brodygaudel.securityservice.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ReplicaRoutingDataSource} class.
+ * These tests run against embedded databases, each holding the name of its node, and validate the routing of the
+ * read-only transactions, the skipping of unavailable replicas and the read-your-writes window.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private static final String NODE = "select name from node";
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * Test that read-only transactions are spread over the healthy replicas and read-write ones go to the primary.
+     */
+    @Test
+    void routing() {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(node("primary"),
+                List.of(node("replica-0"), broken(), node("replica-1")), 60000, 5000);
+        Cluster cluster = new Cluster(routing);
+
+        Set<String> readers = new HashSet<>();
+        for (int i = 0; i < 6; i++) {
+            readers.add(cluster.read());
+        }
+        assertEquals(Set.of("replica-0", "replica-1"), readers);
+        assertEquals(2, routing.availableReplicas());
+        long primaryConnections = routing.primaryConnections();
+        assertEquals("primary", cluster.write());
+        assertEquals(6, routing.replicaConnections());
+        assertEquals(primaryConnections + 1, routing.primaryConnections());
+    }
+
+    /**
+     * Test that the reads of a user go to the primary after a write of the same user, and not those of other users.
+     *
+     * @throws InterruptedException If interrupted while waiting for the window to close.
+     */
+    @Test
+    void readYourWrites() throws InterruptedException {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(node("primary"), List.of(node("replica-0")), 60000, 200);
+        Cluster cluster = new Cluster(routing);
+
+        authenticate("alice");
+        assertEquals("replica-0", cluster.read());
+        assertEquals("primary", cluster.write());
+        assertEquals("primary", cluster.read());
+        authenticate("bob");
+        assertEquals("replica-0", cluster.read());
+
+        Thread.sleep(300);
+        authenticate("alice");
+        assertEquals("replica-0", cluster.read());
+    }
+
+    /**
+     * Test that the primary serves the reads when no replica is available, and that the health check brings a
+     * replica back.
+     */
+    @Test
+    void fallbackToPrimary() {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(node("primary"), List.of(broken()), 60000, 5000);
+        Cluster cluster = new Cluster(routing);
+        assertEquals("primary", cluster.read());
+        assertEquals(0, routing.availableReplicas());
+
+        ReplicaRoutingDataSource recovering = new ReplicaRoutingDataSource(node("primary"), List.of(node("replica-0")), 60000, 5000);
+        recovering.checkHealth();
+        assertEquals(1, recovering.availableReplicas());
+        assertEquals("replica-0", new Cluster(recovering).read());
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(username, null, List.of()));
+    }
+
+    private static DataSource node(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists node (name varchar(20))");
+        jdbcTemplate.execute("delete from node");
+        jdbcTemplate.update("insert into node values (?)", name);
+        return dataSource;
+    }
+
+    private static DataSource broken() {
+        return new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/broken", "sa", "");
+    }
+
+    /**
+     * The routing DataSource wired the way the application uses it.
+     */
+    private static final class Cluster {
+
+        private final JdbcTemplate jdbcTemplate;
+        private final TransactionTemplate readOnly;
+        private final TransactionTemplate readWrite;
+
+        private Cluster(ReplicaRoutingDataSource routing) {
+            DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+            DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+            this.jdbcTemplate = new JdbcTemplate(dataSource);
+            this.readOnly = new TransactionTemplate(transactionManager);
+            this.readOnly.setReadOnly(true);
+            this.readWrite = new TransactionTemplate(transactionManager);
+        }
+
+        private String read() {
+            return readOnly.execute(status -> jdbcTemplate.queryForObject(NODE, String.class));
+        }
+
+        private String write() {
+            return readWrite.execute(status -> jdbcTemplate.queryForObject(NODE, String.class));
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.brodygaudel.securityservice.datasource;
+
+import com.brodygaudel.securityservice.dto.UserRequestDTO;
+import com.brodygaudel.securityservice.dto.UsersPageResponseDTO;
+import com.brodygaudel.securityservice.exceptions.ItemAlreadyExistException;
+import com.brodygaudel.securityservice.exceptions.UserNotFoundException;
+import com.brodygaudel.securityservice.repository.UserRepository;
+import com.brodygaudel.securityservice.security.CachedUser;
+import com.brodygaudel.securityservice.security.TokenVersionRegistry;
+import com.brodygaudel.securityservice.security.UserCache;
+import com.brodygaudel.securityservice.service.UserService;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests of the read replica routing, with a second embedded database as the replica.
+ * The replica gets the schema of the primary but none of its rows, so a read that finds no user was served by the
+ * replica. These tests validate that read-only service transactions go to the replica and read-write ones to the
+ * primary through the JPA transaction manager, with connections released at the end of each transaction, and that
+ * the startup seeding, the logins and the token version lookups are not misled by the empty replica, which stands
+ * for a replica lagging behind the primary.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+        "replica-datasource-urls=" + ReplicaRoutingIntegrationTest.REPLICA_URL
+})
+class ReplicaRoutingIntegrationTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    /**
+     * Test that the startup seeding read the primary, so that the administrator got every role inserted before it.
+     */
+    @Test
+    void seedingReadsThePrimary() {
+        JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+        assertEquals(1, primary.queryForObject("select count(*) from user", Integer.class));
+        assertEquals(3, primary.queryForObject("select count(*) from user_role", Integer.class));
+    }
+
+    /**
+     * Test that a page of users is read from the replica and that an update is written to the primary.
+     *
+     * @throws UserNotFoundException    If the seeded user is not found.
+     * @throws ItemAlreadyExistException If the new username or email is taken.
+     */
+    @Test
+    void readsFromReplicaAndWritesToPrimary() throws UserNotFoundException, ItemAlreadyExistException {
+        JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+        String adminId = primary.queryForObject("select id from user where username = 'admin'", String.class);
+
+        long primaryConnections = replicaRoutingDataSource.primaryConnections();
+        long replicaConnections = replicaRoutingDataSource.replicaConnections();
+        UsersPageResponseDTO page = userService.findAll(0, 20);
+        assertTrue(page.users().isEmpty());
+        assertTrue(replicaRoutingDataSource.replicaConnections() > replicaConnections);
+        assertEquals(primaryConnections, replicaRoutingDataSource.primaryConnections());
+
+        replicaConnections = replicaRoutingDataSource.replicaConnections();
+        userService.update(adminId, new UserRequestDTO(adminId, "routed-admin", "routed-admin@spring.io", "password"));
+        assertTrue(replicaRoutingDataSource.primaryConnections() > primaryConnections);
+        assertEquals(replicaConnections, replicaRoutingDataSource.replicaConnections());
+        assertEquals("routed-admin", primary.queryForObject("select username from user where id = ?", String.class, adminId));
+    }
+
+    /**
+     * Test that the token version of a subject unknown to the registry is read from the primary, so that a user
+     * missing from the replica is not rejected.
+     */
+    @Test
+    void tokenVersionLookupReadsThePrimary() {
+        String username = new JdbcTemplate(primaryDataSource).queryForObject("select username from user", String.class);
+        long primaryConnections = replicaRoutingDataSource.primaryConnections();
+        assertNotNull(userRepository.findTokenVersionByUsername(username));
+        assertTrue(replicaRoutingDataSource.primaryConnections() > primaryConnections);
+    }
+
+    /**
+     * Test that the reads of logins and of the token version synchronization ignore a lagging replica, here one that
+     * never received any row: a user created and updated on this node is authenticated with its latest password and
+     * is not revoked by the synchronization.
+     *
+     * @throws ItemAlreadyExistException If the username or email is taken.
+     * @throws UserNotFoundException     If the created user is not found.
+     */
+    @Test
+    void securityReadsIgnoreReplicaLag() throws ItemAlreadyExistException, UserNotFoundException {
+        JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+        String id = userService.save(new UserRequestDTO(null, "lagging", "lagging@spring.io", "password")).id();
+        try {
+            userService.update(id, new UserRequestDTO(id, "lagging", "lagging@spring.io", "changed"));
+            String password = primary.queryForObject("select password from user where id = ?", String.class, id);
+
+            long replicaConnections = replicaRoutingDataSource.replicaConnections();
+            userCache.evict("lagging");
+            CachedUser user = userCache.getByEmail("lagging@spring.io");
+            assertNotNull(user);
+            assertEquals(password, user.password());
+            assertEquals(1L, user.tokenVersion());
+
+            tokenVersionRegistry.synchronize();
+            assertTrue(tokenVersionRegistry.isCurrent("lagging", 1L));
+            assertFalse(tokenVersionRegistry.isCurrent("lagging", 0L));
+            assertEquals(replicaConnections, replicaRoutingDataSource.replicaConnections());
+        } finally {
+            primary.update("delete from user_role where user_id = ?", id);
+            primary.update("delete from user where id = ?", id);
+        }
+    }
+
+    /**
+     * Copies the schema created by Hibernate on the primary to the replica, before anything reads from it.
+     */
+    @TestConfiguration
+    static class ReplicaSchema {
+
+        @Bean
+        InitializingBean replicaSchema(EntityManagerFactory entityManagerFactory, HikariDataSource primaryDataSource) {
+            return () -> {
+                JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+                for (String statement : new JdbcTemplate(primaryDataSource).queryForList("script nodata", String.class)) {
+                    replica.execute(statement);
+                }
+            };
+        }
+    }
+}
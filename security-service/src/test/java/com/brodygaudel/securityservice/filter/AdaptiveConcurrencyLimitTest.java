@@ -0,0 +1,80 @@
+package com.brodygaudel.securityservice.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link AdaptiveConcurrencyLimit} class.
+ * These tests validate admission, growth and shrinking of the limit.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /**
+     * Test that requests beyond the limit are rejected until a slot is released.
+     */
+    @Test
+    void tryAcquire() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("test", 2, 1, 10, 2.0);
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        limit.release(FAST, false);
+        assertTrue(limit.tryAcquire());
+        assertEquals(2, limit.getInFlight());
+    }
+
+    /**
+     * Test that the limit grows while the latency stays stable and the limit is used.
+     */
+    @Test
+    void growsWhileHealthy() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("test", 4, 1, 50, 2.0);
+        for (int i = 0; i < 200; i++) {
+            saturate(limit, FAST);
+        }
+        assertEquals(50, limit.getLimit());
+    }
+
+    /**
+     * Test that the limit shrinks when the latency degrades and when requests fail.
+     */
+    @Test
+    void shrinksUnderOverload() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("test", 40, 2, 50, 2.0);
+        for (int i = 0; i < 100; i++) {
+            saturate(limit, FAST);
+        }
+        int healthy = limit.getLimit();
+        for (int i = 0; i < 30; i++) {
+            saturate(limit, SLOW);
+        }
+        assertTrue(limit.getLimit() < healthy / 2);
+
+        AdaptiveConcurrencyLimit failing = new AdaptiveConcurrencyLimit("test", 40, 2, 50, 2.0);
+        for (int i = 0; i < 20; i++) {
+            assertTrue(failing.tryAcquire());
+            failing.release(FAST, true);
+        }
+        assertTrue(failing.getLimit() < 10);
+    }
+
+    private static void saturate(AdaptiveConcurrencyLimit limit, long rtt) {
+        int admitted = 0;
+        while (limit.tryAcquire()) {
+            admitted++;
+        }
+        for (int i = 0; i < admitted; i++) {
+            limit.release(rtt, false);
+        }
+    }
+}
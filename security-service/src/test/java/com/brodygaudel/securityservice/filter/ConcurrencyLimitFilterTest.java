@@ -0,0 +1,86 @@
+package com.brodygaudel.securityservice.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the {@link ConcurrencyLimitFilter} class.
+ * These tests validate which limit every request counts against, and that health probes are never shed.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+class ConcurrencyLimitFilterTest {
+
+    /**
+     * Test that the health probes pass through while every limit is exhausted.
+     *
+     * @throws Exception If the filter fails.
+     */
+    @Test
+    void neverShedsHealthProbes() throws Exception {
+        ConcurrencyLimitFilter filter = filter();
+        filter.getLimits().forEach(ConcurrencyLimitFilterTest::exhaust);
+
+        for (String path : new String[]{"/actuator/health", "/actuator/health/liveness", "/actuator/health/readiness"}) {
+            MockHttpServletResponse response = send(filter, "GET", path);
+            assertEquals(200, response.getStatus(), path);
+        }
+        assertEquals(503, send(filter, "GET", "/users/get/1").getStatus());
+    }
+
+    /**
+     * Test that only logins count against the login limit, the other authentication requests against the read limit.
+     *
+     * @throws Exception If the filter fails.
+     */
+    @Test
+    void keepsLoginLimitForLogins() throws Exception {
+        ConcurrencyLimitFilter filter = filter();
+        exhaust(filter.getLimits().get(0));
+
+        assertEquals(503, send(filter, "POST", "/authentication/login").getStatus());
+        for (String path : new String[]{"/authentication/refresh", "/authentication/logout", "/authentication/introspect", "/authentication/token"}) {
+            assertEquals(200, send(filter, "POST", path).getStatus(), path);
+        }
+
+        exhaust(filter.getLimits().get(1));
+        assertEquals(503, send(filter, "POST", "/authentication/introspect").getStatus());
+        assertEquals(200, send(filter, "POST", "/users/save").getStatus());
+    }
+
+    private static ConcurrencyLimitFilter filter() {
+        ConcurrencyLimitParameters parameters = mock(ConcurrencyLimitParameters.class);
+        when(parameters.getEnabled()).thenReturn(true);
+        when(parameters.getMinLimit()).thenReturn(1);
+        when(parameters.getTolerance()).thenReturn(2.0);
+        when(parameters.getLoginInitialLimit()).thenReturn(2);
+        when(parameters.getLoginMaxLimit()).thenReturn(2);
+        when(parameters.getReadInitialLimit()).thenReturn(2);
+        when(parameters.getReadMaxLimit()).thenReturn(2);
+        when(parameters.getWriteInitialLimit()).thenReturn(2);
+        when(parameters.getWriteMaxLimit()).thenReturn(2);
+        return new ConcurrencyLimitFilter(parameters);
+    }
+
+    private static void exhaust(AdaptiveConcurrencyLimit limit) {
+        while (limit.tryAcquire()) {
+            // holds every slot
+        }
+    }
+
+    private static MockHttpServletResponse send(ConcurrencyLimitFilter filter, String method, String path) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/security" + path);
+        request.setContextPath("/security");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> {
+        });
+        return response;
+    }
+}
@@ -0,0 +1,86 @@
+package com.brodygaudel.securityservice.filter;
+
+import com.brodygaudel.securityservice.profiling.QueryCounter;
+import com.brodygaudel.securityservice.profiling.RequestTimings;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ServerTimingFilter} class.
+ * These tests validate that sampled responses carry the timings of their phases and that others are left untouched.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+class ServerTimingFilterTest {
+
+    private static final List<String> ORIGINS = List.of("http://localhost:4200");
+
+    /**
+     * Test that a sampled response carries every phase, the number of queries once revealed, the allowed origin and
+     * its unchanged body.
+     *
+     * @throws Exception If the filter fails.
+     */
+    @Test
+    void addsServerTiming() throws Exception {
+        ServerTimingFilter filter = new ServerTimingFilter(1.0, ORIGINS);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Origin", "http://localhost:4200");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> {
+            RequestTimings.record(RequestTimings.Phase.FILTER, System.nanoTime());
+            RequestTimings.revealQueries();
+            new QueryCounter().inspect("select * from user");
+            RequestTimings.add(RequestTimings.Phase.DB, 2_500_000);
+            RequestTimings.startSerialization();
+            res.getOutputStream().write("{}".getBytes(StandardCharsets.UTF_8));
+        });
+
+        String header = response.getHeader("Server-Timing");
+        assertNotNull(header);
+        assertTrue(header.startsWith("filter;dur="));
+        assertTrue(header.contains("db;dur=2.500;desc=\"1 queries\""));
+        assertTrue(header.contains("hash;dur=0.000"));
+        assertTrue(header.contains("serialize;dur="));
+        assertEquals("http://localhost:4200", response.getHeader("Timing-Allow-Origin"));
+        assertEquals("{}", response.getContentAsString());
+    }
+
+    /**
+     * Test that the number of queries is left out unless revealed, as on the unauthenticated endpoints.
+     *
+     * @throws Exception If the filter fails.
+     */
+    @Test
+    void hidesQueriesUnlessRevealed() throws Exception {
+        ServerTimingFilter filter = new ServerTimingFilter(1.0, ORIGINS);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(), response, (req, res) -> new QueryCounter().inspect("select * from user"));
+
+        String header = response.getHeader("Server-Timing");
+        assertNotNull(header);
+        assertTrue(header.contains("db;dur="));
+        assertFalse(header.contains("queries"));
+    }
+
+    /**
+     * Test that no header is added when sampling is disabled, and that timings are then ignored.
+     *
+     * @throws Exception If the filter fails.
+     */
+    @Test
+    void skipsWhenDisabled() throws Exception {
+        ServerTimingFilter filter = new ServerTimingFilter(0, ORIGINS);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(), response, (req, res) -> RequestTimings.add(RequestTimings.Phase.DB, 1));
+        assertNull(response.getHeader("Server-Timing"));
+    }
+}
@@ -0,0 +1,42 @@
+package com.brodygaudel.securityservice.profiling;
+
+import com.brodygaudel.securityservice.dto.HibernateStatisticsDTO;
+import com.brodygaudel.securityservice.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the {@link HibernateStatisticsEndpoint} class.
+ * These tests validate that the statistics enabled for the tests are exposed and can be cleared.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@SpringBootTest(properties = "hibernate-slow-query-threshold=0")
+class HibernateStatisticsEndpointTest {
+
+    @Autowired
+    private HibernateStatisticsEndpoint endpoint;
+
+    @Autowired
+    private UserService userService;
+
+    /**
+     * Test that executed queries are counted and sampled, and that clearing resets the counts.
+     */
+    @Test
+    void statistics() {
+        userService.findAll(0, 10);
+        HibernateStatisticsDTO statistics = endpoint.statistics();
+        assertTrue(statistics.enabled());
+        assertTrue(statistics.prepareStatementCount() > 0);
+        assertTrue(statistics.queryExecutionCount() > 0);
+
+        endpoint.clear();
+        assertEquals(0, endpoint.statistics().queryExecutionCount());
+    }
+}
@@ -0,0 +1,62 @@
+package com.brodygaudel.securityservice.profiling;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link UserOperationEvent} class.
+ * These tests validate that the event stays disabled until registered, then records the users and queries of an operation.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+class UserOperationEventTest {
+
+    @AfterEach
+    void tearDown() {
+        FlightRecorder.unregister(UserOperationEvent.class);
+    }
+
+    /**
+     * Test that an unregistered event is disabled, and that a registered one is recorded with its fields.
+     *
+     * @throws Exception If the recording cannot be written or read.
+     */
+    @Test
+    void recordOperation() throws Exception {
+        assertFalse(UserOperationEvent.start("findAll").isEnabled());
+
+        FlightRecorder.register(UserOperationEvent.class);
+        QueryCounter queryCounter = new QueryCounter();
+        Path file = Files.createTempFile("user-operation", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(UserOperationEvent.class);
+            recording.start();
+            UserOperationEvent event = UserOperationEvent.start("findAll");
+            queryCounter.inspect("select * from user");
+            queryCounter.inspect("select * from user_roles");
+            event.users(3);
+            event.finish();
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+
+        assertEquals(1, events.size());
+        assertEquals("findAll", events.get(0).getString("operation"));
+        assertEquals(3, events.get(0).getInt("userCount"));
+        assertEquals(2, events.get(0).getInt("queryCount"));
+    }
+}
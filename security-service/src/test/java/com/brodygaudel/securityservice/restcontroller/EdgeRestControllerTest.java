@@ -0,0 +1,86 @@
+package com.brodygaudel.securityservice.restcontroller;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.brodygaudel.securityservice.security.StaticParameters;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests of the verify-only {@code edge} profile, which starts without any database.
+ * These tests validate that tokens are verified and that no persistence bean is created.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@SpringBootTest(properties = {"secret=edge-secret", "token-denylist-file=target/edge-token-denylist.bin"})
+@AutoConfigureMockMvc
+@ActiveProfiles("edge")
+class EdgeRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    /**
+     * Test that the edge profile starts without a datasource nor the user services.
+     */
+    @Test
+    void noPersistence() {
+        assertEquals(0, applicationContext.getBeanNamesForType(DataSource.class).length);
+        assertFalse(applicationContext.containsBean("userServiceImpl"));
+        assertFalse(applicationContext.containsBean("commandLineRunner"));
+    }
+
+    /**
+     * Test that a valid token is verified and its subject and roles are returned in headers.
+     *
+     * @throws Exception If the request fails.
+     */
+    @Test
+    void verifyValidToken() throws Exception {
+        mockMvc.perform(get("/edge/verify").header(HttpHeaders.AUTHORIZATION, "Bearer " + token("edge-secret")))
+                .andExpect(status().isOk())
+                .andExpect(header().string(EdgeRestController.SUBJECT_HEADER, "username"))
+                .andExpect(header().string(EdgeRestController.ROLES_HEADER, "USER"));
+    }
+
+    /**
+     * Test that missing and invalid tokens are rejected.
+     *
+     * @throws Exception If the request fails.
+     */
+    @Test
+    void rejectInvalidTokens() throws Exception {
+        mockMvc.perform(get("/edge/verify"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/edge/verify").header(HttpHeaders.AUTHORIZATION, "Bearer " + token("other-secret")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private static String token(String secret) {
+        return JWT.create().withSubject("username")
+                .withArrayClaim(StaticParameters.ROLES_CLAIM, new String[]{"USER"})
+                .withJWTId(UUID.randomUUID().toString())
+                .withExpiresAt(new Date(System.currentTimeMillis() + 60000))
+                .sign(Algorithm.HMAC256(secret));
+    }
+}
@@ -0,0 +1,54 @@
+package com.brodygaudel.securityservice.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link ApiKeyHasher} class.
+ * These tests validate the generation and the keyed hashing of API keys.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+class ApiKeyHasherTest {
+
+    private ApiKeyHasher apiKeyHasher;
+
+    @BeforeEach
+    void setUp() {
+        apiKeyHasher = hasher("client-secret");
+    }
+
+    /**
+     * Test that a generated API key matches its own hash and no other.
+     */
+    @Test
+    void matches() {
+        String apiKey = apiKeyHasher.generate();
+        String hash = apiKeyHasher.hash(apiKey);
+        assertNotEquals(apiKey, apiKeyHasher.generate());
+        assertTrue(apiKeyHasher.matches(apiKey, hash));
+        assertFalse(apiKeyHasher.matches(apiKeyHasher.generate(), hash));
+        assertFalse(apiKeyHasher.matches(apiKey, null));
+        assertFalse(apiKeyHasher.matches(null, hash));
+    }
+
+    /**
+     * Test that hashes depend on the server-side key.
+     */
+    @Test
+    void keyed() {
+        String apiKey = apiKeyHasher.generate();
+        assertFalse(hasher("other-secret").matches(apiKey, apiKeyHasher.hash(apiKey)));
+    }
+
+    private static ApiKeyHasher hasher(String key) {
+        SecurityParameters securityParameters = mock(SecurityParameters.class);
+        when(securityParameters.getClientSecretKey()).thenReturn(key);
+        return new ApiKeyHasher(securityParameters);
+    }
+}
@@ -0,0 +1,66 @@
+package com.brodygaudel.securityservice.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link BoundedPasswordEncoder} class.
+ * These tests validate that no more hashes than the bound run at once, even from many virtual threads.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+class BoundedPasswordEncoderTest {
+
+    /**
+     * Test that concurrent hashes never exceed the bound.
+     *
+     * @throws Exception If a thread is interrupted.
+     */
+    @Test
+    void boundsConcurrentHashes() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        PasswordEncoder slow = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(slow, 2);
+        CountDownLatch done = new CountDownLatch(50);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            threads.add(Thread.ofVirtual().start(() -> {
+                assertTrue(encoder.matches("password", "password"));
+                done.countDown();
+            }));
+        }
+        done.await();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(peak.get() <= 2);
+        assertEquals(2, encoder.availablePermits());
+    }
+}
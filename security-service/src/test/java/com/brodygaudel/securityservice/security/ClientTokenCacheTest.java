@@ -0,0 +1,68 @@
+package com.brodygaudel.securityservice.security;
+
+import com.brodygaudel.securityservice.dto.ClientTokenResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link ClientTokenCache} class.
+ * These tests validate when the tokens of service accounts are reused.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+class ClientTokenCacheTest {
+
+    private static final long LIFETIME = 900000;
+
+    private TokenDenylist tokenDenylist;
+    private ClientTokenCache clientTokenCache;
+
+    @BeforeEach
+    void setUp() {
+        SecurityParameters securityParameters = mock(SecurityParameters.class);
+        when(securityParameters.getClientTokenExpiredTime()).thenReturn(LIFETIME);
+        tokenDenylist = mock(TokenDenylist.class);
+        clientTokenCache = new ClientTokenCache(tokenDenylist, securityParameters);
+    }
+
+    /**
+     * Test that a fresh token is reused for the same client, scope and token version only.
+     */
+    @Test
+    void reusedPerClientAndScope() {
+        ClientTokenResponseDTO token = token("batch", LIFETIME);
+        clientTokenCache.put("batch", "USER", 1L, "jti", token);
+        assertSame(token, clientTokenCache.get("batch", "USER", 1L));
+        assertNull(clientTokenCache.get("batch", "ADMIN USER", 1L));
+        assertNull(clientTokenCache.get("other", "USER", 1L));
+        assertNull(clientTokenCache.get("batch", "USER", 2L));
+    }
+
+    /**
+     * Test that tokens close to their expiry, revoked or invalidated are not reused.
+     */
+    @Test
+    void notReused() {
+        clientTokenCache.put("batch", "USER", 1L, "jti", token("batch", LIFETIME / 8));
+        assertNull(clientTokenCache.get("batch", "USER", 1L));
+
+        clientTokenCache.put("batch", "USER", 1L, "jti", token("batch", LIFETIME));
+        when(tokenDenylist.isRevoked("jti")).thenReturn(true);
+        assertNull(clientTokenCache.get("batch", "USER", 1L));
+
+        clientTokenCache.put("batch", "ADMIN", 1L, "other-jti", token("batch", LIFETIME));
+        clientTokenCache.invalidate("batch");
+        assertNull(clientTokenCache.get("batch", "ADMIN", 1L));
+    }
+
+    private static ClientTokenResponseDTO token(String clientId, long lifetime) {
+        return new ClientTokenResponseDTO(clientId, "jwt", Set.of("USER"), System.currentTimeMillis() + lifetime);
+    }
+}
@@ -0,0 +1,161 @@
+package com.brodygaudel.securityservice.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.brodygaudel.securityservice.profiling.RequestTimings;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link JWTAuthorizationFilter} class.
+ * These tests validate the authentication of valid tokens and the rejection of invalid ones.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+class JWTAuthorizationFilterTest {
+
+    private static final String SECRET = "secret";
+
+    private TokenVersionRegistry tokenVersionRegistry;
+    private TokenDenylist tokenDenylist;
+    private JWTAuthorizationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        SecurityParameters securityParameters = mock(SecurityParameters.class);
+        when(securityParameters.getSecret()).thenReturn(SECRET);
+        when(securityParameters.getRegisteredRoles()).thenReturn(List.of("USER", "ADMIN", "SUPER_ADMIN"));
+        tokenVersionRegistry = mock(TokenVersionRegistry.class);
+        tokenDenylist = mock(TokenDenylist.class);
+        when(tokenVersionRegistry.isCurrent(anyString(), anyLong())).thenReturn(true);
+        filter = new JWTAuthorizationFilter(new TokenInspector(securityParameters, tokenVersionRegistry, tokenDenylist, new RoleRegistry(securityParameters), new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * Test that a valid token authenticates the request with the authorities of its roles.
+     *
+     * @throws Exception If the filter fails.
+     */
+    @Test
+    void validToken() throws Exception {
+        MockHttpServletResponse response = filter(token(SECRET, 60000));
+        assertEquals(200, response.getStatus());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals("username", authentication.getName());
+        assertEquals(2, authentication.getAuthorities().size());
+    }
+
+    /**
+     * Test that malformed, expired and wrongly signed tokens are rejected with a 401 and a WWW-Authenticate header.
+     *
+     * @throws Exception If the filter fails.
+     */
+    @Test
+    void rejectedTokens() throws Exception {
+        assertRejected(filter("not-a-token"), TokenRejection.MALFORMED);
+        assertRejected(filter("a.b"), TokenRejection.MALFORMED);
+        assertRejected(filter("a..c"), TokenRejection.MALFORMED);
+        assertRejected(filter(token(SECRET, -60000)), TokenRejection.EXPIRED);
+        assertRejected(filter(token("other-secret", 60000)), TokenRejection.INVALID);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    /**
+     * Test that authentic tokens carrying neither a roles claim nor a role mask are rejected, while a subject without
+     * any role still authenticates.
+     *
+     * @throws Exception If the filter fails.
+     */
+    @Test
+    void tokenWithoutRoles() throws Exception {
+        Date expiresAt = new Date(System.currentTimeMillis() + 60000);
+        assertRejected(filter(JWT.create().withSubject("username").withExpiresAt(expiresAt).sign(Algorithm.HMAC256(SECRET))), TokenRejection.INVALID);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+
+        MockHttpServletResponse response = filter(JWT.create().withSubject("username").withArrayClaim(StaticParameters.ROLES_CLAIM, new String[0])
+                .withExpiresAt(expiresAt).sign(Algorithm.HMAC256(SECRET)));
+        assertEquals(200, response.getStatus());
+        assertTrue(SecurityContextHolder.getContext().getAuthentication().getAuthorities().isEmpty());
+    }
+
+    /**
+     * Test that revoked tokens are rejected.
+     *
+     * @throws Exception If the filter fails.
+     */
+    @Test
+    void revokedToken() throws Exception {
+        when(tokenDenylist.isRevoked(anyString())).thenReturn(true);
+        assertRejected(filter(token(SECRET, 60000)), TokenRejection.REVOKED);
+    }
+
+    /**
+     * Test that the number of queries of a sampled request is revealed to administrators only.
+     *
+     * @throws Exception If the filter fails.
+     */
+    @Test
+    void queriesRevealedToAdministrators() throws Exception {
+        RequestTimings timings = RequestTimings.start();
+        try {
+            filter(token(SECRET, 60000));
+        } finally {
+            RequestTimings.stop();
+        }
+        assertTrue(timings.header().contains("queries"));
+
+        RequestTimings userTimings = RequestTimings.start();
+        try {
+            filter(JWT.create().withSubject("username").withArrayClaim(StaticParameters.ROLES_CLAIM, new String[]{"USER"})
+                    .withExpiresAt(new Date(System.currentTimeMillis() + 60000)).sign(Algorithm.HMAC256(SECRET)));
+        } finally {
+            RequestTimings.stop();
+        }
+        assertFalse(userTimings.header().contains("queries"));
+    }
+
+    private MockHttpServletResponse filter(String jwt) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + jwt);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static void assertRejected(MockHttpServletResponse response, TokenRejection rejection) throws Exception {
+        assertEquals(401, response.getStatus());
+        assertTrue(response.getHeader(HttpHeaders.WWW_AUTHENTICATE).contains(rejection.getDescription()));
+        assertTrue(response.getContentAsString().contains(rejection.getDescription()));
+    }
+
+    private static String token(String secret, long lifetime) {
+        return JWT.create().withSubject("username")
+                .withArrayClaim(StaticParameters.ROLES_CLAIM, new String[]{"USER", "ADMIN"})
+                .withJWTId(UUID.randomUUID().toString())
+                .withExpiresAt(new Date(System.currentTimeMillis() + lifetime))
+                .sign(Algorithm.HMAC256(secret));
+    }
+}
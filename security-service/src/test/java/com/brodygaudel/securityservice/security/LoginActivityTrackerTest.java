@@ -0,0 +1,77 @@
+package com.brodygaudel.securityservice.security;
+
+import com.brodygaudel.securityservice.dto.LoginActivityDTO;
+import com.brodygaudel.securityservice.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link LoginActivityTracker} class.
+ * These tests validate the coalescing of login outcomes into a single write per user and flush.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+class LoginActivityTrackerTest {
+
+    private UserRepository userRepository;
+    private LoginActivityTracker loginActivityTracker;
+
+    @BeforeEach
+    void setUp() {
+        SecurityParameters securityParameters = mock(SecurityParameters.class);
+        when(securityParameters.getLoginActivityBufferSize()).thenReturn(100);
+        userRepository = mock(UserRepository.class);
+        loginActivityTracker = new LoginActivityTracker(userRepository, securityParameters);
+    }
+
+    /**
+     * Test that failures are summed, a success resets them, and each user is written once per flush.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void coalesced() {
+        loginActivityTracker.onFailure("alice");
+        loginActivityTracker.onFailure("alice");
+        loginActivityTracker.onFailure("bob");
+        loginActivityTracker.onSuccess("bob");
+        loginActivityTracker.onFailure("bob");
+        verifyNoInteractions(userRepository);
+
+        loginActivityTracker.flush();
+        ArgumentCaptor<List<LoginActivityDTO>> captor = ArgumentCaptor.forClass(List.class);
+        verify(userRepository).updateLoginActivities(captor.capture());
+        List<LoginActivityDTO> batch = captor.getValue();
+        assertEquals(2, batch.size());
+        LoginActivityDTO alice = batch.stream().filter(activity -> activity.username().equals("alice")).findFirst().orElseThrow();
+        assertFalse(alice.reset());
+        assertEquals(2, alice.failedAttempts());
+        LoginActivityDTO bob = batch.stream().filter(activity -> activity.username().equals("bob")).findFirst().orElseThrow();
+        assertTrue(bob.reset());
+        assertNotNull(bob.lastLogin());
+        assertEquals(1, bob.failedAttempts());
+    }
+
+    /**
+     * Test that the outcomes of new users are dropped and counted once the buffer is full.
+     */
+    @Test
+    void bounded() {
+        SecurityParameters securityParameters = mock(SecurityParameters.class);
+        when(securityParameters.getLoginActivityBufferSize()).thenReturn(1);
+        LoginActivityTracker tracker = new LoginActivityTracker(userRepository, securityParameters);
+        tracker.onFailure("alice");
+        tracker.onFailure("bob");
+        tracker.onFailure("alice");
+        assertEquals(1, tracker.pendingWrites());
+        assertEquals(1, tracker.droppedWrites());
+        verifyNoInteractions(userRepository);
+    }
+}
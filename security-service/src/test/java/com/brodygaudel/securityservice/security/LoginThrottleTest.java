@@ -0,0 +1,76 @@
+package com.brodygaudel.securityservice.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link LoginThrottle} class.
+ * These tests validate the lockout rules applied to usernames and client addresses.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+class LoginThrottleTest {
+
+    private LoginThrottle loginThrottle;
+
+    @BeforeEach
+    void setUp() {
+        SecurityParameters securityParameters = mock(SecurityParameters.class);
+        when(securityParameters.getLoginThrottleWindow()).thenReturn(60000L);
+        when(securityParameters.getLoginThrottleUsernameLimit()).thenReturn(3);
+        when(securityParameters.getLoginThrottleAddressLimit()).thenReturn(10);
+        when(securityParameters.getLoginThrottleBaseLockout()).thenReturn(30000L);
+        when(securityParameters.getLoginThrottleMaxLockout()).thenReturn(60000L);
+        when(securityParameters.getLoginThrottleSlots()).thenReturn(1024);
+        loginThrottle = new LoginThrottle(securityParameters);
+    }
+
+    /**
+     * Test that a username is locked out once it exceeds its limit, case-insensitively, and is released by a success.
+     */
+    @Test
+    void usernameLockout() {
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.onFailure("Username", "10.0.0." + i);
+            assertEquals(0, loginThrottle.retryAfter("username", "10.0.0.100"));
+        }
+        loginThrottle.onFailure("username", "10.0.0.3");
+        long retryAfter = loginThrottle.retryAfter("USERNAME", "10.0.0.100");
+        assertTrue(retryAfter > 0 && retryAfter <= 30000);
+        assertEquals(0, loginThrottle.retryAfter("other", "10.0.0.100"));
+
+        loginThrottle.onSuccess("username");
+        assertEquals(0, loginThrottle.retryAfter("username", "10.0.0.100"));
+    }
+
+    /**
+     * Test that a client address is locked out once it exceeds its limit, whatever the usernames it tries.
+     */
+    @Test
+    void addressLockout() {
+        for (int i = 0; i <= 10; i++) {
+            loginThrottle.onFailure("user" + i, "10.0.0.1");
+        }
+        assertTrue(loginThrottle.retryAfter("someone", "10.0.0.1") > 0);
+        assertEquals(0, loginThrottle.retryAfter("someone", "10.0.0.2"));
+    }
+
+    /**
+     * Test that memory stays bounded and the throttle keeps working when millions of distinct keys are seen.
+     */
+    @Test
+    void boundedUnderManyKeys() {
+        for (int i = 0; i < 4; i++) {
+            loginThrottle.onFailure("victim", "10.0.0.1");
+        }
+        for (int i = 0; i < 1_000_000; i++) {
+            loginThrottle.onFailure("user" + i, "address" + i);
+        }
+        assertTrue(loginThrottle.retryAfter("victim", "10.0.0.2") > 0);
+    }
+}
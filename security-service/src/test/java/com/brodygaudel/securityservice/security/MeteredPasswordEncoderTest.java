@@ -0,0 +1,35 @@
+package com.brodygaudel.securityservice.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link MeteredPasswordEncoder} class.
+ * These tests validate that hashes and matches are delegated and timed separately.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+class MeteredPasswordEncoderTest {
+
+    /**
+     * Test that each hash and each match is recorded by its own timer.
+     */
+    @Test
+    @SuppressWarnings("deprecation")
+    void timesHashesAndMatches() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PasswordEncoder encoder = new MeteredPasswordEncoder(NoOpPasswordEncoder.getInstance(), meterRegistry);
+        assertEquals("password", encoder.encode("password"));
+        assertTrue(encoder.matches("password", "password"));
+        assertFalse(encoder.matches("password", "other"));
+        assertEquals(1, meterRegistry.get("security.password.hash").timer().count());
+        assertEquals(2, meterRegistry.get("security.password.match").timer().count());
+    }
+}
@@ -0,0 +1,211 @@
+package com.brodygaudel.securityservice.security;
+
+import com.brodygaudel.securityservice.entity.RefreshToken;
+import com.brodygaudel.securityservice.exceptions.InvalidRefreshTokenException;
+import com.brodygaudel.securityservice.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link RefreshTokenStore} class.
+ * These tests validate the rotation of refresh tokens and the detection of their reuse, against an in-memory database
+ * shared by the instances.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+class RefreshTokenStoreTest {
+
+    private SecurityParameters securityParameters;
+    private Map<String, RefreshToken> database;
+    private RefreshTokenRepository refreshTokenRepository;
+    private RefreshTokenStore refreshTokenStore;
+
+    @BeforeEach
+    void setUp() {
+        securityParameters = mock(SecurityParameters.class);
+        when(securityParameters.getRefreshExpiredTime()).thenReturn(60000L);
+        when(securityParameters.getRefreshTokenBufferSize()).thenReturn(100);
+        database = new ConcurrentHashMap<>();
+        refreshTokenRepository = mock(RefreshTokenRepository.class);
+        when(refreshTokenRepository.findById(anyString())).thenAnswer(invocation -> Optional.ofNullable(database.get(invocation.<String>getArgument(0))));
+        when(refreshTokenRepository.writeAll(anyList())).thenAnswer(invocation -> {
+            List<RefreshToken> batch = invocation.getArgument(0);
+            batch.forEach(refreshToken -> database.merge(refreshToken.getId(), refreshToken.toBuilder().rotated(false).build(),
+                    (stored, written) -> stored.toBuilder().revoked(stored.isRevoked() || written.isRevoked()).build()));
+            Set<String> revoked = new HashSet<>();
+            for (RefreshToken refreshToken : batch) {
+                if (refreshToken.isRevoked()) {
+                    continue;
+                }
+                RefreshToken stored = database.get(refreshToken.getId());
+                if (refreshToken.isRotated()) {
+                    if (stored.isRotated() || stored.isRevoked()) {
+                        revoked.add(refreshToken.getFamily());
+                    } else {
+                        database.put(stored.getId(), stored.toBuilder().rotated(true).build());
+                    }
+                }
+                if (database.values().stream().anyMatch(other -> other.getFamily().equals(refreshToken.getFamily()) && other.isRevoked())) {
+                    revoked.add(refreshToken.getFamily());
+                }
+            }
+            return revoked;
+        });
+        when(refreshTokenRepository.revokeFamily(anyString())).thenAnswer(invocation -> {
+            String family = invocation.getArgument(0);
+            database.replaceAll((id, stored) -> stored.getFamily().equals(family) ? stored.toBuilder().revoked(true).build() : stored);
+            return 0;
+        });
+        refreshTokenStore = new RefreshTokenStore(refreshTokenRepository, securityParameters);
+    }
+
+    /**
+     * Test that a refresh token is consumed once, in memory, and that the consumption is written behind.
+     *
+     * @throws InvalidRefreshTokenException If the refresh token is rejected.
+     */
+    @Test
+    void rotation() throws InvalidRefreshTokenException {
+        String token = refreshTokenStore.issue("username", 1, null);
+        RefreshToken consumed = refreshTokenStore.consume(token);
+        assertEquals("username", consumed.getUsername());
+        String next = refreshTokenStore.issue("username", 1, consumed.getFamily());
+        assertEquals(consumed.getFamily(), refreshTokenStore.consume(next).getFamily());
+        verify(refreshTokenRepository, never()).writeAll(anyList());
+        assertEquals(2, refreshTokenStore.pendingWrites());
+
+        refreshTokenStore.flush();
+        verify(refreshTokenRepository).writeAll(argThat(batch -> batch.size() == 2));
+        assertEquals(0, refreshTokenStore.pendingWrites());
+        assertTrue(database.values().stream().allMatch(RefreshToken::isRotated));
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenStore.consume(next));
+    }
+
+    /**
+     * Test that replaying a consumed refresh token revokes its whole family.
+     *
+     * @throws InvalidRefreshTokenException If the first use of the refresh token is rejected.
+     */
+    @Test
+    void reuseRevokesFamily() throws InvalidRefreshTokenException {
+        String token = refreshTokenStore.issue("username", 1, null);
+        String family = refreshTokenStore.consume(token).getFamily();
+        String next = refreshTokenStore.issue("username", 1, family);
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenStore.consume(token));
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenStore.consume(next));
+        verify(refreshTokenRepository).revokeFamily(family);
+    }
+
+    /**
+     * Test that a refresh token consumed on one instance, once written, is detected as replayed on another one that
+     * still holds it in its index, and that the family revoked there is rejected here.
+     *
+     * @throws InvalidRefreshTokenException If the first use of the refresh token is rejected.
+     */
+    @Test
+    void reuseDetectedAcrossInstances() throws InvalidRefreshTokenException {
+        RefreshTokenStore other = new RefreshTokenStore(refreshTokenRepository, securityParameters);
+        String token = refreshTokenStore.issue("username", 1, null);
+        refreshTokenStore.flush();
+
+        String family = other.consume(token).getFamily();
+        String next = other.issue("username", 1, family);
+        other.flush();
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenStore.consume(token));
+        verify(refreshTokenRepository).revokeFamily(family);
+        assertThrows(InvalidRefreshTokenException.class, () -> other.consume(next));
+        assertTrue(database.values().stream().allMatch(RefreshToken::isRevoked));
+    }
+
+    /**
+     * Test that a refresh token consumed on two instances before either wrote it revokes its family when the second
+     * one writes it.
+     *
+     * @throws InvalidRefreshTokenException If a first use of the refresh token is rejected.
+     */
+    @Test
+    void concurrentUseDetectedOnWrite() throws InvalidRefreshTokenException {
+        RefreshTokenStore other = new RefreshTokenStore(refreshTokenRepository, securityParameters);
+        String token = refreshTokenStore.issue("username", 1, null);
+        refreshTokenStore.flush();
+
+        String family = refreshTokenStore.consume(token).getFamily();
+        String next = refreshTokenStore.issue("username", 1, family);
+        other.consume(token);
+        String stolen = other.issue("username", 1, family);
+        refreshTokenStore.flush();
+        other.flush();
+
+        verify(refreshTokenRepository).revokeFamily(family);
+        assertTrue(database.values().stream().allMatch(RefreshToken::isRevoked));
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenStore.consume(next));
+        assertThrows(InvalidRefreshTokenException.class, () -> other.consume(stolen));
+    }
+
+    /**
+     * Test that the tokens of a revoked family are rejected, including on an instance that indexed them before or had
+     * not written them yet, without writing anything on the request.
+     *
+     * @throws InvalidRefreshTokenException If the refresh token is rejected before the revocation.
+     */
+    @Test
+    void revokedFamily() throws InvalidRefreshTokenException {
+        RefreshTokenStore other = new RefreshTokenStore(refreshTokenRepository, securityParameters);
+        String token = refreshTokenStore.issue("username", 1, null);
+        refreshTokenStore.flush();
+        String family = refreshTokenStore.consume(token).getFamily();
+        String next = refreshTokenStore.issue("username", 1, family);
+        String last = other.issue("username", 1, family);
+        other.flush();
+        clearInvocations(refreshTokenRepository);
+
+        other.revokeFamily(family, System.currentTimeMillis());
+        verify(refreshTokenRepository, never()).writeAll(anyList());
+        assertEquals(1, other.pendingWrites());
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenStore.consume(last));
+        refreshTokenStore.flush();
+        other.flush();
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenStore.consume(next));
+        assertTrue(database.values().stream().allMatch(RefreshToken::isRevoked));
+    }
+
+    /**
+     * Test that refresh tokens issued while the buffer is full are written right away rather than dropped.
+     *
+     * @throws InvalidRefreshTokenException If a refresh token is rejected.
+     */
+    @Test
+    void overflowWritten() throws InvalidRefreshTokenException {
+        when(securityParameters.getRefreshTokenBufferSize()).thenReturn(1);
+        RefreshTokenStore bounded = new RefreshTokenStore(refreshTokenRepository, securityParameters);
+        bounded.issue("username", 1, null);
+        String overflow = bounded.issue("username", 1, null);
+        assertEquals(1, bounded.pendingWrites());
+        assertEquals(1, bounded.overflowWrites());
+        assertEquals(1, database.size());
+        assertEquals("username", bounded.consume(overflow).getUsername());
+    }
+
+    /**
+     * Test that unknown refresh tokens are rejected.
+     */
+    @Test
+    void unknownToken() {
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenStore.consume("unknown"));
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenStore.consume(null));
+    }
+}
@@ -0,0 +1,71 @@
+package com.brodygaudel.securityservice.security;
+
+import com.brodygaudel.securityservice.entity.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link RoleRegistry} class.
+ * These tests validate the encoding of role masks and the sharing of role combinations.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+class RoleRegistryTest {
+
+    private RoleRegistry roleRegistry;
+
+    @BeforeEach
+    void setUp() {
+        SecurityParameters securityParameters = mock(SecurityParameters.class);
+        when(securityParameters.getRegisteredRoles()).thenReturn(List.of("USER", "ADMIN", "SUPER_ADMIN"));
+        roleRegistry = new RoleRegistry(securityParameters);
+    }
+
+    /**
+     * Test that registered roles are encoded as a bitmask and decoded back to their authorities.
+     */
+    @Test
+    void mask() {
+        long mask = roleRegistry.mask(List.of("ADMIN", "USER"));
+        assertEquals(3L, mask);
+        assertEquals(-1L, roleRegistry.mask(List.of("ADMIN", "UNKNOWN")));
+        List<GrantedAuthority> authorities = roleRegistry.authorities(mask);
+        assertEquals(List.of("USER", "ADMIN"), authorities.stream().map(GrantedAuthority::getAuthority).toList());
+        assertThrows(IllegalArgumentException.class, () -> roleRegistry.authorities(8L));
+    }
+
+    /**
+     * Test that the same combination of roles always maps to the same instances, whatever its order.
+     */
+    @Test
+    void combinationsAreShared() {
+        List<Role> roles = List.of(new Role(1L, "ADMIN"), new Role(2L, "USER"));
+        List<Role> reversed = List.of(new Role(2L, "USER"), new Role(1L, "ADMIN"));
+
+        Set<String> names = roleRegistry.namesOf(roles);
+        assertEquals(Set.of("ADMIN", "USER"), names);
+        assertSame(names, roleRegistry.namesOf(reversed));
+        assertSame(roleRegistry.authoritiesOf(roles), roleRegistry.authorities(List.of("USER", "ADMIN")));
+        assertSame(roleRegistry.namesOf(null), roleRegistry.namesOf(List.of()));
+        assertThrows(UnsupportedOperationException.class, () -> names.add("SUPER_ADMIN"));
+    }
+
+    /**
+     * Test that combinations containing unregistered roles are canonicalized as well.
+     */
+    @Test
+    void unregisteredCombinations() {
+        List<Role> roles = List.of(new Role(1L, "AUDITOR"), new Role(2L, "USER"));
+        assertEquals(Set.of("AUDITOR", "USER"), roleRegistry.namesOf(roles));
+        assertSame(roleRegistry.namesOf(roles), roleRegistry.namesOf(List.of(new Role(2L, "USER"), new Role(1L, "AUDITOR"))));
+    }
+}
@@ -0,0 +1,88 @@
+package com.brodygaudel.securityservice.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link TokenDenylist} class.
+ * These tests validate revocation, persistence and purging of revoked tokens.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+class TokenDenylistTest {
+
+    @TempDir
+    Path directory;
+
+    private SecurityParameters securityParameters;
+
+    @BeforeEach
+    void setUp() {
+        securityParameters = mock(SecurityParameters.class);
+        when(securityParameters.getDenylistFile()).thenReturn(directory.resolve("denylist.bin").toString());
+        when(securityParameters.getDenylistExpectedEntries()).thenReturn(2);
+    }
+
+    /**
+     * Test that revoked tokens are detected and survive a reload of the file, including after it has grown.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @Test
+    void revokeAndReload() throws IOException {
+        TokenDenylist denylist = new TokenDenylist(securityParameters);
+        denylist.load();
+        long expiresAt = System.currentTimeMillis() + 60000;
+        String first = UUID.randomUUID().toString();
+        String second = UUID.randomUUID().toString();
+        String third = UUID.randomUUID().toString();
+        denylist.revoke(first, expiresAt);
+        denylist.revoke(second, expiresAt);
+        denylist.revoke(third, expiresAt);
+        assertTrue(denylist.isRevoked(first));
+        assertFalse(denylist.isRevoked(UUID.randomUUID().toString()));
+        denylist.close();
+
+        TokenDenylist reloaded = new TokenDenylist(securityParameters);
+        reloaded.load();
+        assertEquals(3, reloaded.size());
+        assertTrue(reloaded.isRevoked(first));
+        assertTrue(reloaded.isRevoked(second));
+        assertTrue(reloaded.isRevoked(third));
+        reloaded.close();
+    }
+
+    /**
+     * Test that tokens already expired are not recorded and that expired entries are purged.
+     *
+     * @throws Exception If the test is interrupted or the file cannot be closed.
+     */
+    @Test
+    void purge() throws Exception {
+        TokenDenylist denylist = new TokenDenylist(securityParameters);
+        denylist.load();
+        String expired = UUID.randomUUID().toString();
+        String expiring = UUID.randomUUID().toString();
+        denylist.revoke(expired, System.currentTimeMillis() - 1);
+        denylist.revoke(expiring, System.currentTimeMillis() + 50);
+        assertFalse(denylist.isRevoked(expired));
+        assertTrue(denylist.isRevoked(expiring));
+
+        Thread.sleep(100);
+        denylist.purge();
+
+        assertFalse(denylist.isRevoked(expiring));
+        assertEquals(0, denylist.size());
+        denylist.close();
+    }
+}
@@ -0,0 +1,85 @@
+package com.brodygaudel.securityservice.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link TokenInspector} class.
+ * These tests validate the inspection of bare tokens as submitted to the introspection endpoint.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+class TokenInspectorTest {
+
+    private static final String SECRET = "secret";
+
+    private TokenVersionRegistry tokenVersionRegistry;
+    private TokenInspector tokenInspector;
+
+    @BeforeEach
+    void setUp() {
+        SecurityParameters securityParameters = mock(SecurityParameters.class);
+        when(securityParameters.getSecret()).thenReturn(SECRET);
+        when(securityParameters.getRegisteredRoles()).thenReturn(List.of("USER", "ADMIN", "SUPER_ADMIN"));
+        when(securityParameters.getTokenCacheSize()).thenReturn(16);
+        tokenVersionRegistry = mock(TokenVersionRegistry.class);
+        when(tokenVersionRegistry.isCurrent(anyString(), anyLong())).thenReturn(true);
+        tokenInspector = new TokenInspector(securityParameters, tokenVersionRegistry, mock(TokenDenylist.class), new RoleRegistry(securityParameters), new SimpleMeterRegistry());
+    }
+
+    /**
+     * Test that an active token is inspected with its subject and authorities.
+     */
+    @Test
+    void activeToken() {
+        TokenInspection inspection = tokenInspector.inspectToken(token(60000));
+        assertTrue(inspection.isActive());
+        assertEquals("username", inspection.token().getSubject());
+        assertEquals(2, inspection.authorities().size());
+    }
+
+    /**
+     * Test that a revoked token is rejected but keeps its claims, checked again even when cached.
+     */
+    @Test
+    void revokedToken() {
+        String jwt = token(60000);
+        assertTrue(tokenInspector.inspectToken(jwt).isActive());
+        when(tokenVersionRegistry.isCurrent(anyString(), anyLong())).thenReturn(false);
+        TokenInspection inspection = tokenInspector.inspectToken(jwt);
+        assertEquals(TokenRejection.REVOKED, inspection.rejection());
+        assertEquals("username", inspection.token().getSubject());
+    }
+
+    /**
+     * Test that expired and malformed tokens are rejected without claims.
+     */
+    @Test
+    void rejectedTokens() {
+        TokenInspection expired = tokenInspector.inspectToken(token(-60000));
+        assertEquals(TokenRejection.EXPIRED, expired.rejection());
+        assertNull(expired.token());
+        assertEquals(TokenRejection.MALFORMED, tokenInspector.inspectToken("not-a-token").rejection());
+        assertEquals(TokenRejection.MALFORMED, tokenInspector.inspectToken(null).rejection());
+    }
+
+    private static String token(long lifetime) {
+        return JWT.create().withSubject("username")
+                .withArrayClaim(StaticParameters.ROLES_CLAIM, new String[]{"USER", "ADMIN"})
+                .withJWTId(UUID.randomUUID().toString())
+                .withExpiresAt(new Date(System.currentTimeMillis() + lifetime))
+                .sign(Algorithm.HMAC256(SECRET));
+    }
+}
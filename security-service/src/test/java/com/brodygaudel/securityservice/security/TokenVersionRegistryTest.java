@@ -0,0 +1,197 @@
+package com.brodygaudel.securityservice.security;
+
+import com.brodygaudel.securityservice.dto.UserTokenVersionDTO;
+import com.brodygaudel.securityservice.repository.ServiceAccountRepository;
+import com.brodygaudel.securityservice.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link TokenVersionRegistry} class.
+ * These tests validate the revocation rules applied to token versions.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+class TokenVersionRegistryTest {
+
+    private UserRepository userRepository;
+    private ServiceAccountRepository serviceAccountRepository;
+    private TokenVersionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        serviceAccountRepository = mock(ServiceAccountRepository.class);
+        SecurityParameters securityParameters = mock(SecurityParameters.class);
+        when(securityParameters.getExpiredTime()).thenReturn(3600000L);
+        registry = new TokenVersionRegistry(provider(userRepository), provider(serviceAccountRepository), securityParameters);
+    }
+
+    /**
+     * Test that tokens of unknown subjects are accepted and that lower versions are rejected after an update.
+     */
+    @Test
+    void update() {
+        assertTrue(registry.isCurrent("username", 0L));
+        registry.update("username", 2L);
+        assertFalse(registry.isCurrent("username", 1L));
+        assertTrue(registry.isCurrent("username", 2L));
+        registry.update("username", 1L);
+        assertFalse(registry.isCurrent("username", 1L));
+    }
+
+    /**
+     * Test that a revoked subject rejects every token until it is registered again.
+     */
+    @Test
+    void revoke() {
+        registry.update("username", 3L);
+        registry.revoke("username");
+        assertFalse(registry.isCurrent("username", 3L));
+        registry.update("username", 0L);
+        assertTrue(registry.isCurrent("username", 0L));
+    }
+
+    /**
+     * Test that the synchronization registers versions and revokes disabled and deleted users.
+     */
+    @Test
+    void synchronize() {
+        registry.update("deleted", 0L);
+        when(userRepository.findAllTokenVersions()).thenReturn(List.of(
+                new UserTokenVersionDTO("username", 4L, true),
+                new UserTokenVersionDTO("disabled", 0L, false)
+        ));
+
+        registry.synchronize();
+
+        assertFalse(registry.isCurrent("username", 3L));
+        assertTrue(registry.isCurrent("username", 4L));
+        assertFalse(registry.isCurrent("disabled", 0L));
+        assertFalse(registry.isCurrent("deleted", 0L));
+    }
+
+    /**
+     * Test that a node fails closed for subjects created and deleted or disabled on another node between two
+     * synchronizations, looking each of them up once in the database the nodes share.
+     */
+    @Test
+    void unknownSubjectsLookedUpAfterSynchronization() {
+        Map<String, UserTokenVersionDTO> database = new ConcurrentHashMap<>();
+        UserRepository sharedRepository = mock(UserRepository.class);
+        when(sharedRepository.findAllTokenVersions()).thenAnswer(invocation -> List.copyOf(database.values()));
+        when(sharedRepository.findTokenVersionByUsername(anyString())).thenAnswer(invocation -> database.get(invocation.<String>getArgument(0)));
+        SecurityParameters securityParameters = mock(SecurityParameters.class);
+        when(securityParameters.getExpiredTime()).thenReturn(3600000L);
+        TokenVersionRegistry nodeA = new TokenVersionRegistry(provider(sharedRepository), provider(serviceAccountRepository), securityParameters);
+        TokenVersionRegistry nodeB = new TokenVersionRegistry(provider(sharedRepository), provider(serviceAccountRepository), securityParameters);
+        nodeA.synchronize();
+        nodeB.synchronize();
+
+        database.put("created", new UserTokenVersionDTO("created", 2L, true));
+        nodeA.update("created", 2L);
+        database.put("deleted", new UserTokenVersionDTO("deleted", 0L, true));
+        nodeA.update("deleted", 0L);
+        database.remove("deleted");
+        nodeA.revoke("deleted");
+        database.put("disabled", new UserTokenVersionDTO("disabled", 0L, false));
+
+        assertTrue(nodeB.isCurrent("created", 2L));
+        assertFalse(nodeB.isCurrent("created", 1L));
+        assertFalse(nodeB.isCurrent("deleted", 0L));
+        assertFalse(nodeB.isCurrent("disabled", 0L));
+        assertFalse(nodeB.isCurrent("deleted", 0L));
+        verify(sharedRepository, times(1)).findTokenVersionByUsername("created");
+        verify(sharedRepository, times(1)).findTokenVersionByUsername("deleted");
+    }
+
+    /**
+     * Test that service accounts are synchronized under their client subject: the deletion of a service account on
+     * another node revokes its tokens, an unknown client is looked up, and deleting every user leaves them untouched.
+     */
+    @Test
+    void synchronizeServiceAccounts() {
+        when(serviceAccountRepository.findAllTokenVersions()).thenReturn(List.of(new UserTokenVersionDTO("batch", 0L, true)));
+        registry.synchronize();
+        assertTrue(registry.isCurrent("client:batch", 0L));
+        registry.revokeAll();
+        assertTrue(registry.isCurrent("client:batch", 0L));
+
+        when(serviceAccountRepository.findAllTokenVersions()).thenReturn(List.of());
+        registry.synchronize();
+        assertFalse(registry.isCurrent("client:batch", 0L));
+
+        when(serviceAccountRepository.findTokenVersionByClientId("report")).thenReturn(new UserTokenVersionDTO("report", 0L, true));
+        assertTrue(registry.isCurrent("client:report", 0L));
+        assertFalse(registry.isCurrent("client:unknown", 0L));
+        verify(userRepository, never()).findTokenVersionByUsername(anyString());
+    }
+
+    /**
+     * Test that a revocation recorded during a synchronization is not undone by it.
+     */
+    @Test
+    void synchronizeKeepsConcurrentRevocations() {
+        when(userRepository.findAllTokenVersions()).thenAnswer(invocation -> {
+            registry.revoke("username");
+            return List.of(new UserTokenVersionDTO("username", 0L, true));
+        });
+
+        registry.synchronize();
+
+        assertFalse(registry.isCurrent("username", 0L));
+    }
+
+    /**
+     * Test that a revocation is not lifted by a snapshot read before the deletion committed, but is by a higher token
+     * version or, once the database has shown the subject missing, by its creation again.
+     *
+     * @throws InterruptedException If interrupted while letting the revocation age.
+     */
+    @Test
+    void synchronizeKeepsRevocationsAgainstStaleSnapshots() throws InterruptedException {
+        registry.update("deleted", 3L);
+        registry.update("updated", 3L);
+        registry.revoke("deleted");
+        registry.revoke("updated");
+        Thread.sleep(5);
+
+        when(userRepository.findAllTokenVersions()).thenReturn(List.of(
+                new UserTokenVersionDTO("deleted", 3L, true),
+                new UserTokenVersionDTO("updated", 3L, true)
+        ));
+        registry.synchronize();
+        assertFalse(registry.isCurrent("deleted", 3L));
+        assertFalse(registry.isCurrent("updated", 3L));
+
+        when(userRepository.findAllTokenVersions()).thenReturn(List.of(new UserTokenVersionDTO("updated", 4L, true)));
+        registry.synchronize();
+        assertFalse(registry.isCurrent("deleted", 3L));
+        assertFalse(registry.isCurrent("updated", 3L));
+        assertTrue(registry.isCurrent("updated", 4L));
+
+        when(userRepository.findAllTokenVersions()).thenReturn(List.of(
+                new UserTokenVersionDTO("deleted", 0L, true),
+                new UserTokenVersionDTO("updated", 4L, true)
+        ));
+        registry.synchronize();
+        assertTrue(registry.isCurrent("deleted", 0L));
+    }
+
+    private static <T> ObjectProvider<T> provider(T repository) {
+        ObjectProvider<T> provider = mock();
+        when(provider.getIfAvailable()).thenReturn(repository);
+        return provider;
+    }
+}
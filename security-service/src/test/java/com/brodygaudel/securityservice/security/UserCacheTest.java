@@ -0,0 +1,169 @@
+package com.brodygaudel.securityservice.security;
+
+import com.brodygaudel.securityservice.dto.UserTokenVersionDTO;
+import com.brodygaudel.securityservice.entity.Role;
+import com.brodygaudel.securityservice.entity.User;
+import com.brodygaudel.securityservice.repository.ServiceAccountRepository;
+import com.brodygaudel.securityservice.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link UserCache} class.
+ * These tests validate the invalidation of cached users and the restoration of the snapshot.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+class UserCacheTest {
+
+    @TempDir
+    Path directory;
+
+    private UserRepository userRepository;
+    private SecurityParameters securityParameters;
+    private TokenVersionRegistry tokenVersionRegistry;
+    private RoleRegistry roleRegistry;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        securityParameters = mock(SecurityParameters.class);
+        when(securityParameters.getRegisteredRoles()).thenReturn(List.of("USER", "ADMIN"));
+        when(securityParameters.getUserCacheSize()).thenReturn(64);
+        when(securityParameters.getUserCacheTtl()).thenReturn(60000L);
+        when(securityParameters.getSingleFlightTimeout()).thenReturn(1000L);
+        when(securityParameters.getUserCacheSnapshotFile()).thenReturn(directory.resolve("users.bin").toString());
+        tokenVersionRegistry = new TokenVersionRegistry(mock(), mock(), securityParameters);
+        roleRegistry = new RoleRegistry(securityParameters);
+    }
+
+    /**
+     * Test that a user is read once, found by username and by email, and read again once its token version changed.
+     */
+    @Test
+    void getAndInvalidate() {
+        when(userRepository.findByUsername("alice")).thenReturn(user("1", "alice", 0));
+        UserCache cache = new UserCache(userRepository, tokenVersionRegistry, roleRegistry, securityParameters, new SimpleMeterRegistry());
+
+        CachedUser cached = cache.get("alice");
+        assertEquals(Set.of("USER", "ADMIN"), cached.roles());
+        assertSame(cached, cache.get("alice"));
+        assertSame(cached, cache.getByEmail("alice@spring.io"));
+        verify(userRepository, times(1)).findByUsername("alice");
+        verify(userRepository, never()).findByEmail(any());
+
+        tokenVersionRegistry.update("alice", 1);
+        cache.get("alice");
+        verify(userRepository, times(2)).findByUsername("alice");
+
+        cache.evict("alice");
+        assertEquals(0, cache.size());
+        assertEquals(2, cache.hits());
+        assertEquals(2, cache.misses());
+    }
+
+    /**
+     * Test that a user cached after the last synchronization is dropped at the next one once another node changed it.
+     */
+    @Test
+    void invalidatedByAnotherNode() {
+        ObjectProvider<UserRepository> users = mock();
+        when(users.getIfAvailable()).thenReturn(userRepository);
+        ObjectProvider<ServiceAccountRepository> serviceAccounts = mock();
+        when(serviceAccounts.getIfAvailable()).thenReturn(mock(ServiceAccountRepository.class));
+        TokenVersionRegistry registry = new TokenVersionRegistry(users, serviceAccounts, securityParameters);
+        registry.synchronize();
+
+        when(userRepository.findByUsername("alice")).thenReturn(user("1", "alice", 0));
+        when(userRepository.findTokenVersionByUsername("alice")).thenReturn(new UserTokenVersionDTO("alice", 0, true));
+        UserCache cache = new UserCache(userRepository, registry, roleRegistry, securityParameters, new SimpleMeterRegistry());
+        assertSame(cache.get("alice"), cache.get("alice"));
+
+        when(userRepository.findAllTokenVersions()).thenReturn(List.of(new UserTokenVersionDTO("alice", 1, true)));
+        when(userRepository.findByUsername("alice")).thenReturn(user("1", "alice", 1));
+        registry.synchronize();
+
+        assertEquals(1, cache.get("alice").tokenVersion());
+        verify(userRepository, times(2)).findByUsername("alice");
+    }
+
+    /**
+     * Test that the snapshot is readable by its owner only, restores the users whose token version still matches the
+     * database, and drops the modified and deleted ones.
+     *
+     * @throws IOException If the permissions of the snapshot cannot be read.
+     */
+    @Test
+    void snapshotAndRestore() throws IOException {
+        when(userRepository.findByUsername("alice")).thenReturn(user("1", "alice", 3));
+        when(userRepository.findByUsername("bob")).thenReturn(user("2", "bob", 0));
+        when(userRepository.findByUsername("carol")).thenReturn(user("3", "carol", 0));
+        UserCache cache = new UserCache(userRepository, tokenVersionRegistry, roleRegistry, securityParameters, new SimpleMeterRegistry());
+        cache.get("alice");
+        cache.get("bob");
+        cache.get("carol");
+        cache.close();
+        Path snapshot = directory.resolve("users.bin");
+        if (snapshot.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            assertEquals(PosixFilePermissions.fromString("rw-------"), Files.getPosixFilePermissions(snapshot));
+        }
+
+        UserRepository restarted = mock(UserRepository.class);
+        when(restarted.findTokenVersionsByIds(any())).thenReturn(List.of(
+                new UserTokenVersionDTO("alice", 3, true),
+                new UserTokenVersionDTO("bob", 1, true)));
+        UserCache restored = new UserCache(restarted, new TokenVersionRegistry(mock(), mock(), securityParameters), roleRegistry, securityParameters, new SimpleMeterRegistry());
+        restored.restore();
+        assertEquals(1, restored.size());
+
+        CachedUser alice = restored.get("alice");
+        assertEquals(new CachedUser("1", "alice", "alice@spring.io", "hash-alice", 3, Set.of("USER", "ADMIN")), alice);
+        verify(restarted, never()).findByUsername("alice");
+        restored.get("bob");
+        verify(restarted, times(1)).findByUsername("bob");
+    }
+
+    /**
+     * Test that an unreadable snapshot is ignored and replaced by the next one.
+     *
+     * @throws IOException If the snapshot cannot be written or read.
+     */
+    @Test
+    void corruptedSnapshot() throws IOException {
+        Path snapshot = directory.resolve("users.bin");
+        Files.write(snapshot, new byte[64]);
+        when(userRepository.findByUsername("alice")).thenReturn(user("1", "alice", 0));
+        UserCache cache = new UserCache(userRepository, tokenVersionRegistry, roleRegistry, securityParameters, new SimpleMeterRegistry());
+        assertNotNull(cache.get("alice"));
+        verify(userRepository, never()).findTokenVersionsByIds(any());
+
+        cache.snapshot();
+        when(userRepository.findTokenVersionsByIds(any())).thenReturn(List.of(new UserTokenVersionDTO("alice", 0, true)));
+        UserCache restored = new UserCache(userRepository, tokenVersionRegistry, roleRegistry, securityParameters, new SimpleMeterRegistry());
+        restored.restore();
+        assertEquals(1, restored.size());
+    }
+
+    private static User user(String id, String username, long tokenVersion) {
+        return User.builder().id(id).username(username).email(username + "@spring.io").password("hash-" + username)
+                .enabled(true).tokenVersion(tokenVersion)
+                .roles(new ArrayList<>(List.of(new Role(1L, "USER"), new Role(2L, "ADMIN")))).build();
+    }
+}
@@ -0,0 +1,398 @@
+package com.brodygaudel.securityservice.service.implementation;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.brodygaudel.securityservice.dto.ClientCredentialsRequestDTO;
+import com.brodygaudel.securityservice.dto.ClientTokenResponseDTO;
+import com.brodygaudel.securityservice.dto.IntrospectionRequestDTO;
+import com.brodygaudel.securityservice.dto.LoginRequestDTO;
+import com.brodygaudel.securityservice.dto.LoginResponseDTO;
+import com.brodygaudel.securityservice.dto.TokenIntrospectionDTO;
+import com.brodygaudel.securityservice.entity.Role;
+import com.brodygaudel.securityservice.entity.ServiceAccount;
+import com.brodygaudel.securityservice.entity.User;
+import com.brodygaudel.securityservice.exceptions.LoginThrottledException;
+import com.brodygaudel.securityservice.exceptions.TooManyTokensException;
+import com.brodygaudel.securityservice.repository.ServiceAccountRepository;
+import com.brodygaudel.securityservice.repository.UserRepository;
+import com.brodygaudel.securityservice.security.ApiKeyHasher;
+import com.brodygaudel.securityservice.security.ClientTokenCache;
+import com.brodygaudel.securityservice.security.LoginActivityTracker;
+import com.brodygaudel.securityservice.security.LoginThrottle;
+import com.brodygaudel.securityservice.security.RefreshTokenStore;
+import com.brodygaudel.securityservice.security.RoleRegistry;
+import com.brodygaudel.securityservice.security.SecurityParameters;
+import com.brodygaudel.securityservice.security.TokenDenylist;
+import com.brodygaudel.securityservice.security.TokenInspector;
+import com.brodygaudel.securityservice.security.TokenVersionRegistry;
+import com.brodygaudel.securityservice.security.UserCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Integration tests for the {@link AuthenticationServiceImpl} class.
+ * These tests validate the behavior of authentication functionality.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@SpringBootTest
+class AuthenticationServiceImplTest {
+
+    @Mock
+    private AuthenticationManager authenticationManager;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private SecurityParameters securityParameters;
+
+    @Mock
+    private TokenDenylist tokenDenylist;
+
+    @Mock
+    private LoginThrottle loginThrottle;
+
+    @Mock
+    private ServiceAccountRepository serviceAccountRepository;
+
+    @Mock
+    private ApiKeyHasher apiKeyHasher;
+
+    @Mock
+    private ClientTokenCache clientTokenCache;
+
+    @Mock
+    private RefreshTokenStore refreshTokenStore;
+
+    @Mock
+    private LoginActivityTracker loginActivityTracker;
+
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    private AuthenticationServiceImpl authenticationService;
+
+    @BeforeEach
+    void setUp() {
+        when(securityParameters.getRegisteredRoles()).thenReturn(List.of("USER", "ADMIN", "SUPER_ADMIN"));
+        when(securityParameters.getUserCacheSize()).thenReturn(16);
+        when(securityParameters.getUserCacheTtl()).thenReturn(60000L);
+        when(securityParameters.getSingleFlightTimeout()).thenReturn(1000L);
+        when(securityParameters.getSecret()).thenReturn("secret");
+        when(securityParameters.getTokenCacheSize()).thenReturn(16);
+        when(securityParameters.getIntrospectionMaxTokens()).thenReturn(4);
+        RoleRegistry roleRegistry = new RoleRegistry(securityParameters);
+        tokenVersionRegistry = new TokenVersionRegistry(mock(), mock(), securityParameters);
+        TokenInspector tokenInspector = new TokenInspector(securityParameters, tokenVersionRegistry, tokenDenylist, roleRegistry, new SimpleMeterRegistry());
+        UserCache userCache = new UserCache(userRepository, tokenVersionRegistry, roleRegistry, securityParameters, new SimpleMeterRegistry());
+        authenticationService = new AuthenticationServiceImpl(
+                authenticationManager,
+                userRepository,
+                securityParameters,
+                tokenDenylist,
+                roleRegistry,
+                loginThrottle,
+                tokenInspector,
+                serviceAccountRepository,
+                apiKeyHasher,
+                clientTokenCache,
+                refreshTokenStore,
+                loginActivityTracker,
+                userCache,
+                new SimpleMeterRegistry()
+        );
+    }
+
+    /**
+     * Test the login functionality by providing a username.
+     * This test ensures proper authentication and response generation.
+     */
+    @Test
+    void testLoginByUsername() throws LoginThrottledException {
+        // Arrange
+        LoginRequestDTO loginRequestDTO = new LoginRequestDTO("username", "password");
+        List<Role> roles = List.of(new Role(1L, "ADMIN"), new Role(2L, "USER"));
+
+        User user = User.builder().id("id").password("password").username("username").email("email").enabled(true)
+                .roles(roles).lastUpdate(LocalDateTime.now()).creation(LocalDateTime.now())
+                .build();
+
+        when(userRepository.findByEmail("username")).thenReturn(null);
+        when(userRepository.findByUsername("username")).thenReturn(user);
+        when(securityParameters.getExpiredTime()).thenReturn(3600000L);
+        when(securityParameters.getSecret()).thenReturn("secret");
+
+        // Act
+        LoginResponseDTO response = authenticationService.login(loginRequestDTO, "127.0.0.1");
+
+        // Assert
+        assertEquals("username", response.username());
+        // Add more assertions based on your expected behavior
+        verify(authenticationManager, times(1)).authenticate(any(UsernamePasswordAuthenticationToken.class));
+    }
+
+    /**
+     * Test the login functionality by providing an email address.
+     * This test ensures proper authentication and response generation.
+     */
+    @Test
+    void testLoginByEmail() throws LoginThrottledException {
+        // Arrange
+        LoginRequestDTO loginRequestDTO = new LoginRequestDTO("email@example.com", "password");
+        List<Role> roles = List.of(new Role(1L, "ADMIN"), new Role(2L, "USER"));
+
+        User user = User.builder().id("id").password("password").username("username").email("email@example.com").enabled(true)
+                .roles(roles).lastUpdate(LocalDateTime.now()).creation(LocalDateTime.now())
+                .build();
+
+        when(userRepository.findByEmail("email@example.com")).thenReturn(user);
+        when(userRepository.findByUsername("username")).thenReturn(user);
+        when(securityParameters.getExpiredTime()).thenReturn(3600000L);
+        when(securityParameters.getSecret()).thenReturn("secret");
+
+        // Act
+        LoginResponseDTO response = authenticationService.login(loginRequestDTO, "127.0.0.1");
+
+        // Assert
+        assertEquals("username", response.username());
+        // Add more assertions based on your expected behavior
+        verify(authenticationManager, times(1)).authenticate(any(UsernamePasswordAuthenticationToken.class));
+    }
+
+    /**
+     * Test that logging out revokes the access token and the refresh token family started by the login.
+     */
+    @Test
+    void testLogoutRevokesRefreshFamily() throws LoginThrottledException {
+        User user = User.builder().id("id").password("password").username("username").email("email").enabled(true)
+                .roles(List.of(new Role(2L, "USER"))).lastUpdate(LocalDateTime.now()).creation(LocalDateTime.now())
+                .build();
+        when(userRepository.findByUsername("username")).thenReturn(user);
+        when(securityParameters.getExpiredTime()).thenReturn(3600000L);
+        when(refreshTokenStore.issue(eq("username"), anyLong(), anyString())).thenReturn("refresh-token");
+
+        LoginResponseDTO response = authenticationService.login(new LoginRequestDTO("username", "password"), "127.0.0.1");
+        ArgumentCaptor<String> family = ArgumentCaptor.forClass(String.class);
+        verify(refreshTokenStore).issue(eq("username"), anyLong(), family.capture());
+
+        authenticationService.revoke(response.jwt());
+
+        DecodedJWT decodedJWT = JWT.decode(response.jwt());
+        verify(tokenDenylist).revoke(decodedJWT.getId(), decodedJWT.getExpiresAt().getTime());
+        verify(refreshTokenStore).revokeFamily(family.getValue(), decodedJWT.getExpiresAt().getTime());
+    }
+
+    /**
+     * Test that failed logins are recorded in the login activity of existing users only.
+     */
+    @Test
+    void testLoginFailureRecordedForExistingUsers() {
+        User user = User.builder().id("id").password("password").username("username").email("email").enabled(true)
+                .roles(List.of(new Role(2L, "USER"))).lastUpdate(LocalDateTime.now()).creation(LocalDateTime.now())
+                .build();
+        when(userRepository.findByUsername("username")).thenReturn(user);
+        when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        assertThrows(BadCredentialsException.class, () -> authenticationService.login(new LoginRequestDTO("username", "wrong"), "127.0.0.1"));
+        assertThrows(BadCredentialsException.class, () -> authenticationService.login(new LoginRequestDTO("unknown", "wrong"), "127.0.0.1"));
+
+        verify(loginActivityTracker).onFailure("username");
+        verify(loginActivityTracker, never()).onFailure("unknown");
+    }
+
+    /**
+     * Test that a throttled login is rejected before any repository lookup or authentication.
+     */
+    @Test
+    void testLoginThrottled() {
+        LoginRequestDTO loginRequestDTO = new LoginRequestDTO("username", "password");
+        when(loginThrottle.retryAfter("username", "127.0.0.1")).thenReturn(1500L);
+
+        LoginThrottledException exception = assertThrows(LoginThrottledException.class,
+                () -> authenticationService.login(loginRequestDTO, "127.0.0.1"));
+
+        assertEquals(2L, exception.getRetryAfterSeconds());
+        verifyNoInteractions(userRepository, authenticationManager);
+    }
+
+    /**
+     * Test that logins by email are throttled under the username of the account, so that failures by username and
+     * by email count against the same lockout.
+     */
+    @Test
+    void testLoginThrottledByResolvedUsername() {
+        User user = User.builder().id("id").password("password").username("username").email("email@example.com").enabled(true)
+                .roles(List.of(new Role(2L, "USER"))).lastUpdate(LocalDateTime.now()).creation(LocalDateTime.now())
+                .build();
+        when(userRepository.findByEmail("email@example.com")).thenReturn(user);
+        when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        assertThrows(BadCredentialsException.class, () -> authenticationService.login(new LoginRequestDTO("email@example.com", "wrong"), "127.0.0.1"));
+        verify(loginThrottle).onFailure("username", "127.0.0.1");
+        verify(loginThrottle, never()).onFailure(eq("email@example.com"), anyString());
+
+        when(loginThrottle.retryAfter("username", "127.0.0.1")).thenReturn(1500L);
+        assertThrows(LoginThrottledException.class, () -> authenticationService.login(new LoginRequestDTO("email@example.com", "password"), "127.0.0.1"));
+        verify(authenticationManager, times(1)).authenticate(any());
+    }
+
+    /**
+     * Test that a service account gets a token carrying its roles, narrowed to the requested scope, and its token
+     * version, and that a still valid token issued for the same scope and version is reused.
+     */
+    @Test
+    void testTokenScopeAndReuse() throws LoginThrottledException {
+        when(serviceAccountRepository.findByClientId("batch")).thenReturn(serviceAccount(true));
+        when(apiKeyHasher.matches("key", "hash")).thenReturn(true);
+        when(securityParameters.getClientTokenExpiredTime()).thenReturn(600000L);
+
+        ClientTokenResponseDTO narrowed = authenticationService.token(new ClientCredentialsRequestDTO("batch", "key", "USER"), "127.0.0.1");
+
+        assertEquals(Set.of("USER"), narrowed.roles());
+        DecodedJWT decodedJWT = JWT.decode(narrowed.jwt());
+        assertEquals("client:batch", decodedJWT.getSubject());
+        assertEquals(List.of("USER"), decodedJWT.getClaim("roles").asList(String.class));
+        assertEquals(7L, decodedJWT.getClaim("ver").asLong());
+        verify(clientTokenCache).put(eq("batch"), eq("USER"), eq(7L), eq(decodedJWT.getId()), eq(narrowed));
+        verify(loginThrottle).onSuccess("client:batch");
+
+        when(clientTokenCache.get("batch", "ADMIN USER", 7L)).thenReturn(narrowed);
+        assertSame(narrowed, authenticationService.token(new ClientCredentialsRequestDTO("batch", "key", null), "127.0.0.1"));
+        verify(clientTokenCache, times(1)).put(anyString(), anyString(), anyLong(), anyString(), any());
+    }
+
+    /**
+     * Test that a scope beyond the roles of the service account is refused.
+     */
+    @Test
+    void testTokenScopeNotGranted() {
+        when(serviceAccountRepository.findByClientId("batch")).thenReturn(serviceAccount(true));
+        when(apiKeyHasher.matches("key", "hash")).thenReturn(true);
+        ClientCredentialsRequestDTO request = new ClientCredentialsRequestDTO("batch", "key", "USER SUPER_ADMIN");
+
+        assertThrows(BadCredentialsException.class, () -> authenticationService.token(request, "127.0.0.1"));
+        verify(clientTokenCache, never()).put(anyString(), anyString(), anyLong(), anyString(), any());
+    }
+
+    /**
+     * Test that a wrong API key, an unknown client and a disabled service account are refused and counted as
+     * failures by the throttle.
+     */
+    @Test
+    void testTokenBadCredentials() {
+        when(serviceAccountRepository.findByClientId("batch")).thenReturn(serviceAccount(true));
+        when(serviceAccountRepository.findByClientId("disabled")).thenReturn(serviceAccount(false));
+        when(apiKeyHasher.matches("key", "hash")).thenReturn(true);
+
+        assertThrows(BadCredentialsException.class, () -> authenticationService.token(new ClientCredentialsRequestDTO("batch", "wrong", null), "127.0.0.1"));
+        assertThrows(BadCredentialsException.class, () -> authenticationService.token(new ClientCredentialsRequestDTO("unknown", "key", null), "127.0.0.1"));
+        assertThrows(BadCredentialsException.class, () -> authenticationService.token(new ClientCredentialsRequestDTO("disabled", "key", null), "127.0.0.1"));
+
+        verify(loginThrottle).onFailure("client:batch", "127.0.0.1");
+        verify(loginThrottle).onFailure("client:unknown", "127.0.0.1");
+        verify(loginThrottle).onFailure("client:disabled", "127.0.0.1");
+        verify(loginThrottle, never()).onSuccess(anyString());
+    }
+
+    /**
+     * Test that a throttled client is refused before its credentials are checked.
+     */
+    @Test
+    void testTokenThrottled() {
+        when(loginThrottle.retryAfter("client:batch", "127.0.0.1")).thenReturn(2500L);
+        ClientCredentialsRequestDTO request = new ClientCredentialsRequestDTO("batch", "key", null);
+
+        LoginThrottledException exception = assertThrows(LoginThrottledException.class, () -> authenticationService.token(request, "127.0.0.1"));
+
+        assertEquals(3L, exception.getRetryAfterSeconds());
+        verifyNoInteractions(serviceAccountRepository, apiKeyHasher);
+    }
+
+    /**
+     * Test that an authentic token is introspected as active with its subject, roles and expiry.
+     */
+    @Test
+    void testIntrospectActive() throws TooManyTokensException {
+        long expiresAt = (System.currentTimeMillis() + 60000) / 1000 * 1000;
+        String jwt = token("jti-active", 1L, expiresAt);
+
+        List<TokenIntrospectionDTO> introspections = authenticationService.introspect(new IntrospectionRequestDTO(List.of(jwt)));
+
+        assertEquals(List.of(new TokenIntrospectionDTO(true, "ACTIVE", "username", Set.of("USER", "ADMIN"), expiresAt)), introspections);
+    }
+
+    /**
+     * Test that expired, malformed and forged tokens are introspected as inactive, without disclosing their claims.
+     */
+    @Test
+    void testIntrospectRejected() throws TooManyTokensException {
+        String expired = token("jti-expired", 1L, System.currentTimeMillis() - 60000);
+        String forged = JWT.create().withSubject("username").sign(Algorithm.HMAC256("other"));
+
+        List<TokenIntrospectionDTO> introspections = authenticationService.introspect(new IntrospectionRequestDTO(List.of(expired, "not-a-token", forged)));
+
+        assertEquals(List.of(
+                new TokenIntrospectionDTO(false, "EXPIRED", null, null, null),
+                new TokenIntrospectionDTO(false, "MALFORMED", null, null, null),
+                new TokenIntrospectionDTO(false, "INVALID", null, null, null)), introspections);
+    }
+
+    /**
+     * Test that tokens revoked individually or by a token version bump are introspected as revoked with their subject.
+     */
+    @Test
+    void testIntrospectRevoked() throws TooManyTokensException {
+        String denylisted = token("jti-denylisted", 1L, System.currentTimeMillis() + 60000);
+        String outdated = token("jti-outdated", 1L, System.currentTimeMillis() + 60000);
+        when(tokenDenylist.isRevoked("jti-denylisted")).thenReturn(true);
+        assertTrue(authenticationService.introspect(new IntrospectionRequestDTO(List.of(outdated))).get(0).active());
+
+        tokenVersionRegistry.update("username", 2L);
+        List<TokenIntrospectionDTO> introspections = authenticationService.introspect(new IntrospectionRequestDTO(List.of(denylisted, outdated)));
+
+        for (TokenIntrospectionDTO introspection : introspections) {
+            assertFalse(introspection.active());
+            assertEquals("REVOKED", introspection.status());
+            assertEquals("username", introspection.subject());
+        }
+    }
+
+    /**
+     * Test that a batch larger than allowed is refused.
+     */
+    @Test
+    void testIntrospectTooManyTokens() {
+        IntrospectionRequestDTO request = new IntrospectionRequestDTO(List.of("a", "b", "c", "d", "e"));
+        assertThrows(TooManyTokensException.class, () -> authenticationService.introspect(request));
+    }
+
+    private static ServiceAccount serviceAccount(boolean enabled) {
+        return ServiceAccount.builder().id("id").clientId("batch").apiKeyHash("hash").enabled(enabled)
+                .roles(List.of(new Role(1L, "ADMIN"), new Role(2L, "USER"))).creation(LocalDateTime.now()).tokenVersion(7L).build();
+    }
+
+    private static String token(String jti, long version, long expiresAt) {
+        return JWT.create().withSubject("username").withArrayClaim("roles", new String[]{"USER", "ADMIN"})
+                .withClaim("ver", version).withJWTId(jti).withExpiresAt(new Date(expiresAt))
+                .sign(Algorithm.HMAC256("secret"));
+    }
+}
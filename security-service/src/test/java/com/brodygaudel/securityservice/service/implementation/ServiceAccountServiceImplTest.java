@@ -0,0 +1,168 @@
+package com.brodygaudel.securityservice.service.implementation;
+
+import com.brodygaudel.securityservice.dto.ServiceAccountRequestDTO;
+import com.brodygaudel.securityservice.dto.ServiceAccountResponseDTO;
+import com.brodygaudel.securityservice.entity.Role;
+import com.brodygaudel.securityservice.entity.ServiceAccount;
+import com.brodygaudel.securityservice.exceptions.ItemAlreadyExistException;
+import com.brodygaudel.securityservice.exceptions.RoleNotFoundException;
+import com.brodygaudel.securityservice.exceptions.ServiceAccountNotFoundException;
+import com.brodygaudel.securityservice.repository.RoleRepository;
+import com.brodygaudel.securityservice.repository.ServiceAccountRepository;
+import com.brodygaudel.securityservice.security.ApiKeyHasher;
+import com.brodygaudel.securityservice.security.ClientTokenCache;
+import com.brodygaudel.securityservice.security.RoleRegistry;
+import com.brodygaudel.securityservice.security.TokenVersionRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Integration tests for the {@link ServiceAccountServiceImpl} class.
+ * These tests validate the token versions of service accounts and the revocation of their tokens.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@SpringBootTest
+class ServiceAccountServiceImplTest {
+
+    @Mock
+    private ServiceAccountRepository serviceAccountRepository;
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private RoleRegistry roleRegistry;
+
+    @Mock
+    private ApiKeyHasher apiKeyHasher;
+
+    @Mock
+    private ClientTokenCache clientTokenCache;
+
+    @Mock
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    private ServiceAccountServiceImpl serviceAccountService;
+
+    @BeforeEach
+    void setUp() {
+        serviceAccountService = new ServiceAccountServiceImpl(serviceAccountRepository, roleRepository, roleRegistry, apiKeyHasher, clientTokenCache, tokenVersionRegistry);
+        when(serviceAccountRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(apiKeyHasher.generate()).thenReturn("key");
+        when(apiKeyHasher.hash("key")).thenReturn("hash");
+    }
+
+    /**
+     * Test that a new service account starts at a token version no lower than the current time, so that a former
+     * service account with the same client identifier cannot have had a higher one.
+     *
+     * @throws ItemAlreadyExistException If the client identifier already exists.
+     * @throws RoleNotFoundException     If one of the roles is not found.
+     */
+    @Test
+    void save() throws ItemAlreadyExistException, RoleNotFoundException {
+        when(serviceAccountRepository.checkIfClientIdExists("batch")).thenReturn(false);
+        when(roleRepository.findByName("USER")).thenReturn(new Role(2L, "USER"));
+        long before = System.currentTimeMillis();
+
+        ServiceAccountResponseDTO response = serviceAccountService.save(new ServiceAccountRequestDTO("batch", List.of("USER")));
+
+        assertEquals("key", response.apiKey());
+        ArgumentCaptor<ServiceAccount> saved = ArgumentCaptor.forClass(ServiceAccount.class);
+        verify(serviceAccountRepository).save(saved.capture());
+        assertTrue(saved.getValue().getTokenVersion() >= before);
+        verify(tokenVersionRegistry).update("client:batch", saved.getValue().getTokenVersion());
+    }
+
+    /**
+     * Test that rotating the key of a service account bumps its token version, once the write has committed.
+     *
+     * @throws ServiceAccountNotFoundException If the service account is not found.
+     */
+    @Test
+    void rotateKey() throws ServiceAccountNotFoundException {
+        ServiceAccount serviceAccount = serviceAccount(Long.MAX_VALUE - 1);
+        when(serviceAccountRepository.findById("id")).thenReturn(Optional.of(serviceAccount));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            ServiceAccountResponseDTO response = serviceAccountService.rotateKey("id");
+            assertEquals("key", response.apiKey());
+            assertEquals("hash", serviceAccount.getApiKeyHash());
+            assertEquals(Long.MAX_VALUE, serviceAccount.getTokenVersion());
+            verifyNoInteractions(tokenVersionRegistry, clientTokenCache);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(clientTokenCache).invalidate("batch");
+        verify(tokenVersionRegistry).update("client:batch", Long.MAX_VALUE);
+    }
+
+    /**
+     * Test that revoking the tokens of a service account keeps the account and its key, and bumps its token version
+     * to at least the current time.
+     *
+     * @throws ServiceAccountNotFoundException If the service account is not found.
+     */
+    @Test
+    void revokeTokens() throws ServiceAccountNotFoundException {
+        ServiceAccount serviceAccount = serviceAccount(3L);
+        when(serviceAccountRepository.findById("id")).thenReturn(Optional.of(serviceAccount));
+        long before = System.currentTimeMillis();
+
+        serviceAccountService.revokeTokens("id");
+
+        assertTrue(serviceAccount.getTokenVersion() >= before);
+        assertEquals("old-hash", serviceAccount.getApiKeyHash());
+        verify(serviceAccountRepository, never()).delete(any());
+        verify(clientTokenCache).invalidate("batch");
+        verify(tokenVersionRegistry).update("client:batch", serviceAccount.getTokenVersion());
+        assertThrows(ServiceAccountNotFoundException.class, () -> serviceAccountService.revokeTokens("unknown"));
+    }
+
+    /**
+     * Test that deleting a service account only revokes its tokens once the deletion has committed.
+     *
+     * @throws ServiceAccountNotFoundException If the service account is not found.
+     */
+    @Test
+    void deleteById() throws ServiceAccountNotFoundException {
+        when(serviceAccountRepository.findById("id")).thenReturn(Optional.of(serviceAccount(3L)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            serviceAccountService.deleteById("id");
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verifyNoInteractions(tokenVersionRegistry, clientTokenCache);
+
+        serviceAccountService.deleteById("id");
+        verify(clientTokenCache).invalidate("batch");
+        verify(tokenVersionRegistry).revoke("client:batch");
+    }
+
+    private static ServiceAccount serviceAccount(long tokenVersion) {
+        return ServiceAccount.builder().id("id").clientId("batch").apiKeyHash("old-hash").enabled(true)
+                .roles(List.of(new Role(2L, "USER"))).creation(LocalDateTime.now()).tokenVersion(tokenVersion).build();
+    }
+}
@@ -0,0 +1,116 @@
+package com.brodygaudel.securityservice.service.implementation;
+
+import com.brodygaudel.securityservice.dto.LoginRequestDTO;
+import com.brodygaudel.securityservice.dto.UserRequestDTO;
+import com.brodygaudel.securityservice.dto.UserResponseDTO;
+import com.brodygaudel.securityservice.dto.UserRoleRequestDTO;
+import com.brodygaudel.securityservice.profiling.QueryCounter;
+import com.brodygaudel.securityservice.repository.UserRepository;
+import com.brodygaudel.securityservice.service.AuthenticationService;
+import com.brodygaudel.securityservice.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests of the number of SQL statements prepared by the service methods on the embedded database.
+ * Statements are counted on the test thread by the {@link QueryCounter}, so scheduled flushes running meanwhile
+ * do not interfere. A budget that no longer holds means a query was added, typically an N+1 select of the eager roles,
+ * and must be either fixed or consciously raised.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+@SpringBootTest
+class StatementCountIntegrationTest {
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    /**
+     * Test the statements of a login by username and by email: the lookup by email, then the user and its roles
+     * loaded once into the user cache, which serves both the authentication manager and the token issuance.
+     * The cached user is found by its email too, so afterwards only the lookup by email of a username, which matches
+     * no user, reaches the database.
+     */
+    @Test
+    void login() throws Exception {
+        UserResponseDTO user = newUser();
+        assertStatements(3, () -> authenticationService.login(new LoginRequestDTO(user.username(), "password"), "127.0.0.1"));
+        assertStatements(0, () -> authenticationService.login(new LoginRequestDTO(user.email(), "password"), "127.0.0.1"));
+        assertStatements(1, () -> authenticationService.login(new LoginRequestDTO(user.username(), "password"), "127.0.0.1"));
+    }
+
+    /**
+     * Test the statements of the creation of a user: the username and email checks, the role lookup and the inserts
+     * of the user and of its role.
+     */
+    @Test
+    void save() throws Exception {
+        assertStatements(5, this::newUser);
+    }
+
+    /**
+     * Test the statements of the update of a user: the user and its roles, the username and email checks and the update.
+     * The user stays managed in the transaction of the update, so its save selects no detached copy to merge.
+     */
+    @Test
+    void update() throws Exception {
+        UserResponseDTO user = newUser();
+        String name = UUID.randomUUID().toString();
+        assertStatements(4, () -> userService.update(user.id(), new UserRequestDTO(user.id(), name, name + "@spring.io", "password")));
+    }
+
+    /**
+     * Test the statements of a page of users: the page, the count, and the roles of each of the two users.
+     */
+    @Test
+    void findAllPage() throws Exception {
+        newUser();
+        newUser();
+        assertStatements(4, () -> userService.findAll(0, 2));
+    }
+
+    /**
+     * Test the statements of the addition of a role to a user: the user and its roles, the role lookup, the update
+     * of the user, and the roles of the user deleted and inserted again since they are mapped as a bag.
+     */
+    @Test
+    void addRoleToUser() throws Exception {
+        UserResponseDTO user = newUser();
+        assertStatements(7, () -> userService.addRoleToUser(new UserRoleRequestDTO(user.username(), "ADMIN")));
+    }
+
+    /**
+     * Test the statement of the existence check of the startup seeding: a single row is read, whatever the number of users.
+     */
+    @Test
+    void existsUser() throws Exception {
+        newUser();
+        newUser();
+        assertStatements(1, userRepository::existsByIdNotNull);
+    }
+
+    private UserResponseDTO newUser() throws Exception {
+        String name = UUID.randomUUID().toString();
+        return userService.save(new UserRequestDTO(null, name, name + "@spring.io", "password"));
+    }
+
+    private static void assertStatements(int expected, Callable<?> operation) throws Exception {
+        int start = QueryCounter.count();
+        operation.call();
+        assertEquals(expected, QueryCounter.count() - start);
+    }
+}
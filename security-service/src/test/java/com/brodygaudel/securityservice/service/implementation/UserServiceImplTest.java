@@ -11,15 +11,20 @@ import com.brodygaudel.securityservice.exceptions.RoleNotFoundException;
 import com.brodygaudel.securityservice.exceptions.UserNotFoundException;
 import com.brodygaudel.securityservice.repository.RoleRepository;
 import com.brodygaudel.securityservice.repository.UserRepository;
+import com.brodygaudel.securityservice.security.SecurityParameters;
+import com.brodygaudel.securityservice.security.TokenVersionRegistry;
+import com.brodygaudel.securityservice.security.UserCache;
 import com.brodygaudel.securityservice.util.Mappers;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -54,16 +59,29 @@ class UserServiceImplTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
-    @InjectMocks
+    @Mock
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Mock
+    private UserCache userCache;
+
+    @Mock
+    private SecurityParameters securityParameters;
+
     private UserServiceImpl userService;
 
     @BeforeEach
     void setUp() {
+        when(securityParameters.getSingleFlightTimeout()).thenReturn(1000L);
         userService = new UserServiceImpl(
                 userRepository,
                 roleRepository,
                 mappers,
-                passwordEncoder
+                passwordEncoder,
+                tokenVersionRegistry,
+                userCache,
+                new SimpleMeterRegistry(),
+                securityParameters
         );
 
     }
@@ -89,7 +107,7 @@ class UserServiceImplTest {
                 User.builder().id("id").password("encodedPassword").username("username").email("email@example.com").enabled(true).roles(roles).creation(LocalDateTime.now()).build()
         );
         when(mappers.fromUser(any())).thenReturn(
-                new UserResponseDTO("id", "username", "email@exemple.com", true, new HashSet<>(), LocalDateTime.now(), null)
+                new UserResponseDTO("id", "username", "email@exemple.com", true, new HashSet<>(), LocalDateTime.now(), null, null, 0)
         );
 
         UserResponseDTO response = userService.save(request);
@@ -119,7 +137,7 @@ class UserServiceImplTest {
                 User.builder().id(id).password("encodedPassword").username("username").email("email@example.com").enabled(true).roles(roles).creation(LocalDateTime.now()).lastUpdate(LocalDateTime.now()).build()
         );
         when(mappers.fromUser(any())).thenReturn(
-                new UserResponseDTO(id, "username", "email@exemple.com", true, new HashSet<>(), LocalDateTime.now(), LocalDateTime.now())
+                new UserResponseDTO(id, "username", "email@exemple.com", true, new HashSet<>(), LocalDateTime.now(), LocalDateTime.now(), null, 0)
         );
 
         UserResponseDTO response = userService.update(id, request);
@@ -141,7 +159,7 @@ class UserServiceImplTest {
         User user = User.builder().id("id").password("password").username("username").email("email@example.com").enabled(true).roles(roles).creation(LocalDateTime.now()).build();
         when(userRepository.findById(id)).thenReturn(Optional.of(user));
         when(mappers.fromUser(any())).thenReturn(
-                new UserResponseDTO(id, "username", "email@exemple.com", true, new HashSet<>(), LocalDateTime.now(), LocalDateTime.now())
+                new UserResponseDTO(id, "username", "email@exemple.com", true, new HashSet<>(), LocalDateTime.now(), LocalDateTime.now(), null, 0)
         );
 
         UserResponseDTO response = userService.findById(id);
@@ -163,8 +181,8 @@ class UserServiceImplTest {
 
         when(userRepository.findAll()).thenReturn(users);
         when(mappers.fromListOfUsers(anyList())).thenReturn(List.of(
-                new UserResponseDTO("id1", "1username", "1email@exemple.com", true, new HashSet<>(), LocalDateTime.now(), LocalDateTime.now()),
-                new UserResponseDTO("id2", "2username", "2email@exemple.com", true, new HashSet<>(), LocalDateTime.now(), LocalDateTime.now())
+                new UserResponseDTO("id1", "1username", "1email@exemple.com", true, new HashSet<>(), LocalDateTime.now(), LocalDateTime.now(), null, 0),
+                new UserResponseDTO("id2", "2username", "2email@exemple.com", true, new HashSet<>(), LocalDateTime.now(), LocalDateTime.now(), null, 0)
         ));
 
         List<UserResponseDTO> response = userService.findAll();
@@ -188,8 +206,8 @@ class UserServiceImplTest {
         List<User> users = List.of(user1, user2);
         when(userRepository.findAll(PageRequest.of(page, size))).thenReturn( new PageImpl<>(users, PageRequest.of(page, size), 2));
         when(mappers.fromListOfUsers(anyList())).thenReturn(List.of(
-                new UserResponseDTO("id1", "1username", "1email@exemple.com", true, new HashSet<>(), LocalDateTime.now(), LocalDateTime.now()),
-                new UserResponseDTO("id2", "2username", "2email@exemple.com", true, new HashSet<>(), LocalDateTime.now(), LocalDateTime.now())
+                new UserResponseDTO("id1", "1username", "1email@exemple.com", true, new HashSet<>(), LocalDateTime.now(), LocalDateTime.now(), null, 0),
+                new UserResponseDTO("id2", "2username", "2email@exemple.com", true, new HashSet<>(), LocalDateTime.now(), LocalDateTime.now(), null, 0)
         ));
         UsersPageResponseDTO response = userService.findAll(page, size);
         assertNotNull(response);
@@ -277,4 +295,40 @@ class UserServiceImplTest {
         assertTrue(response);
         verify(userRepository, times(1)).save(user);
     }
-}
\ No newline at end of file
+
+    /**
+     * Test that the token version registry and the user cache are only updated once the transaction commits, and
+     * left untouched when it rolls back.
+     *
+     * @throws UserNotFoundException If the specified user is not found.
+     * @throws RoleNotFoundException If the specified role is not found.
+     */
+    @Test
+    void sideEffectsAfterCommit() throws UserNotFoundException, RoleNotFoundException {
+        UserRoleRequestDTO request = new UserRoleRequestDTO("username", "ADMIN");
+        when(userRepository.findByUsername(anyString())).thenAnswer(invocation ->
+                User.builder().id("id").password("password").username("username").email("email@example.com").enabled(true).roles(new ArrayList<>()).creation(LocalDateTime.now()).build());
+        when(roleRepository.findByName(anyString())).thenReturn(new Role(1L, "ADMIN"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertTrue(userService.addRoleToUser(request));
+            verifyNoInteractions(tokenVersionRegistry, userCache);
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verifyNoInteractions(tokenVersionRegistry, userCache);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertTrue(userService.addRoleToUser(request));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(tokenVersionRegistry).update("username", 1L);
+        verify(userCache).evict("username");
+    }
+}
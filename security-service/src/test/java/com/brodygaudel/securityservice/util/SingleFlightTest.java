@@ -0,0 +1,126 @@
+package com.brodygaudel.securityservice.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link SingleFlight} class.
+ * These tests validate the sharing, the error propagation and the timeout of coalesced loads.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+class SingleFlightTest {
+
+    /**
+     * Test that concurrent callers of the same key share one load, and that a later caller runs a new one.
+     */
+    @Test
+    void shared() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("test", 10000);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = executor.submit(() -> singleFlight.load("a", () -> {
+                loads.incrementAndGet();
+                await(release);
+                return "value";
+            }));
+            while (singleFlight.inFlight() == 0) {
+                Thread.onSpinWait();
+            }
+            List<Future<String>> followers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                followers.add(executor.submit(() -> singleFlight.load("a", () -> {
+                    loads.incrementAndGet();
+                    return "other";
+                })));
+            }
+            Thread.sleep(200);
+            release.countDown();
+            assertEquals("value", leader.get());
+            for (Future<String> follower : followers) {
+                assertEquals("value", follower.get());
+            }
+        }
+        assertEquals(1, loads.get());
+        assertEquals(4, singleFlight.shared());
+        assertEquals(0.8, singleFlight.ratio(), 1e-9);
+        assertEquals(0, singleFlight.inFlight());
+        assertEquals("next", singleFlight.load("a", () -> "next"));
+        assertEquals(2, singleFlight.loads());
+    }
+
+    /**
+     * Test that the failure of a load is rethrown to the callers waiting for it.
+     */
+    @Test
+    void failurePropagated() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("test", 10000);
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = executor.submit(() -> singleFlight.load("a", () -> {
+                await(release);
+                throw new IllegalStateException("database unavailable");
+            }));
+            while (singleFlight.inFlight() == 0) {
+                Thread.onSpinWait();
+            }
+            Future<String> follower = executor.submit(() -> singleFlight.load("a", () -> "other"));
+            Thread.sleep(100);
+            release.countDown();
+            ExecutionException leaderFailure = assertThrows(ExecutionException.class, leader::get);
+            ExecutionException followerFailure = assertThrows(ExecutionException.class, follower::get);
+            assertInstanceOf(IllegalStateException.class, leaderFailure.getCause());
+            assertSame(leaderFailure.getCause(), followerFailure.getCause());
+        }
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    /**
+     * Test that a caller waiting longer than the timeout runs its own load, and that the metrics are registered.
+     */
+    @Test
+    void timeout() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("test", 50);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        singleFlight.bindTo(registry);
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = executor.submit(() -> singleFlight.load("a", () -> {
+                await(release);
+                return "stuck";
+            }));
+            while (singleFlight.inFlight() == 0) {
+                Thread.onSpinWait();
+            }
+            assertEquals("own", singleFlight.load("a", () -> "own"));
+            release.countDown();
+            assertEquals("stuck", leader.get());
+        }
+        assertEquals(1, singleFlight.timeouts());
+        assertEquals(2, singleFlight.loads());
+        assertEquals(2.0, registry.get("single.flight.requests").tag("lookup", "test").tag("result", "loaded").functionCounter().count());
+        assertEquals(1.0, registry.get("single.flight.timeouts").tag("lookup", "test").functionCounter().count());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
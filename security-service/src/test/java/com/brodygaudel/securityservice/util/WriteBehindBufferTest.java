@@ -0,0 +1,74 @@
+package com.brodygaudel.securityservice.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link WriteBehindBuffer} class.
+ * These tests validate the coalescing, the bound and the retry of buffered writes.
+ *
+ * @since 2024
+ * @author Brody Gaudel MOUNANGA BOUKA
+ * @version 1.0
+ */
+class WriteBehindBufferTest {
+
+    /**
+     * Test that writes of the same key are coalesced into the latest one.
+     */
+    @Test
+    void coalesced() {
+        List<List<String>> batches = new ArrayList<>();
+        WriteBehindBuffer<String, String> buffer = new WriteBehindBuffer<>(10, (pending, latest) -> latest, batches::add);
+        buffer.put("a", "a1");
+        buffer.put("a", "a2");
+        buffer.put("b", "b1");
+        assertEquals(2, buffer.flush());
+        assertEquals(1, batches.size());
+        assertTrue(batches.get(0).containsAll(List.of("a2", "b1")));
+        assertEquals(0, buffer.flush());
+    }
+
+    /**
+     * Test that a full buffer refuses and counts the writes of new keys, without flushing, and still accepts the
+     * writes of pending keys.
+     */
+    @Test
+    void bounded() {
+        List<List<Integer>> batches = new ArrayList<>();
+        WriteBehindBuffer<Integer, Integer> buffer = new WriteBehindBuffer<>(2, Integer::sum, batches::add);
+        assertTrue(buffer.put(1, 1));
+        assertTrue(buffer.merge(2, 1));
+        assertFalse(buffer.put(3, 1));
+        assertFalse(buffer.merge(3, 1));
+        assertTrue(buffer.merge(2, 1));
+        assertTrue(batches.isEmpty());
+        assertEquals(2, buffer.size());
+        assertEquals(2, buffer.refused());
+        assertEquals(2, buffer.get(2));
+    }
+
+    /**
+     * Test that a failed batch is put back, folded with the changes recorded while it was being written.
+     */
+    @Test
+    void failedFlushKept() {
+        AtomicReference<WriteBehindBuffer<String, Integer>> reference = new AtomicReference<>();
+        WriteBehindBuffer<String, Integer> buffer = new WriteBehindBuffer<>(10, Integer::sum, batch -> {
+            reference.get().merge("a", 1);
+            throw new IllegalStateException("database unavailable");
+        });
+        reference.set(buffer);
+        buffer.merge("a", 2);
+        buffer.merge("b", 1);
+        assertEquals(0, buffer.flush());
+        assertEquals(3, buffer.get("a"));
+        assertEquals(1, buffer.get("b"));
+        assertEquals(0, buffer.refused());
+    }
+}
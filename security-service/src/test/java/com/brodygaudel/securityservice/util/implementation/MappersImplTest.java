@@ -54,6 +54,7 @@ class MappersImplTest {
         List<Role> roles = List.of(new Role(1L, "ADMIN"), new Role(2L, "USER"));
         User user = User.builder().id("id").password("password").username("username").email("email").enabled(true)
                 .roles(roles).lastUpdate(LocalDateTime.now()).creation(LocalDateTime.now())
+                .lastLogin(LocalDateTime.now()).failedAttempts(2)
                 .build();
 
         // Perform mapping
@@ -67,6 +68,8 @@ class MappersImplTest {
         assertEquals(user.getEnabled(), userResponseDTO.enabled());
         assertEquals(user.getCreation(), userResponseDTO.creation());
         assertEquals(user.getLastUpdate(), userResponseDTO.lastUpdate());
+        assertEquals(user.getLastLogin(), userResponseDTO.lastLogin());
+        assertEquals(2, userResponseDTO.failedAttempts());
 
         // Check roles mapping
         Set<String> roleList = userResponseDTO.roles();